@@ -0,0 +1,201 @@
+package com.kiteclass.core.common.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BiConsumer;
+
+/**
+ * Cache reading from an in-process cache first and from a shared remote cache on a
+ * miss.
+ *
+ * <p>Writes and evictions go to the remote cache, drop the local entry and are
+ * announced, so that other instances drop their local copy too. Local entries are
+ * keyed by the string form of the cache key, which is what announcements carry.
+ *
+ * <p>A value read from the remote cache is kept locally only if no invalidation of
+ * its key arrived during the read; otherwise an announcement landing between the
+ * read and the local write would be lost, and the old value served until the local
+ * entry expires. Invalidations are counted per stripe of keys, plus once for
+ * clearing the whole cache.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+public class TwoLevelCache implements Cache {
+
+    private static final int GENERATION_STRIPES = 64;
+
+    private final String name;
+    private final Cache remote;
+    private final com.github.benmanes.caffeine.cache.Cache<String, Object> local;
+    private final BiConsumer<String, String> announcer;
+    private final AtomicLongArray keyGenerations = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong clearGeneration = new AtomicLong();
+
+    /**
+     * Create a two-level cache.
+     *
+     * @param name      cache name
+     * @param remote    shared cache
+     * @param local     in-process cache
+     * @param announcer called with the cache name and the changed key, or a null key
+     *                  when the whole cache was cleared
+     */
+    public TwoLevelCache(String name,
+                         Cache remote,
+                         com.github.benmanes.caffeine.cache.Cache<String, Object> local,
+                         BiConsumer<String, String> announcer) {
+        this.name = name;
+        this.remote = remote;
+        this.local = local;
+        this.announcer = announcer;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return remote.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return new SimpleValueWrapper(value);
+        }
+        long generation = generation(localKey);
+        ValueWrapper wrapper = remote.get(key);
+        if (wrapper != null && wrapper.get() != null) {
+            populate(localKey, wrapper.get(), generation);
+        }
+        return wrapper;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException(
+                    "Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        String localKey = localKey(key);
+        Object value = local.getIfPresent(localKey);
+        if (value != null) {
+            return (T) value;
+        }
+        long generation = generation(localKey);
+        T loaded = remote.get(key, valueLoader);
+        if (loaded != null) {
+            populate(localKey, loaded, generation);
+        }
+        return loaded;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        remote.put(key, value);
+        // Reads that started before the write must not replace the new value
+        invalidateLocal(localKey(key));
+        local.put(localKey(key), value);
+        announcer.accept(name, localKey(key));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = remote.putIfAbsent(key, value);
+        invalidateLocal(localKey(key));
+        announcer.accept(name, localKey(key));
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        remote.evict(key);
+        invalidateLocal(localKey(key));
+        announcer.accept(name, localKey(key));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean evicted = remote.evictIfPresent(key);
+        invalidateLocal(localKey(key));
+        announcer.accept(name, localKey(key));
+        return evicted;
+    }
+
+    @Override
+    public void clear() {
+        remote.clear();
+        invalidateLocal(null);
+        announcer.accept(name, null);
+    }
+
+    @Override
+    public boolean invalidate() {
+        boolean invalidated = remote.invalidate();
+        invalidateLocal(null);
+        announcer.accept(name, null);
+        return invalidated;
+    }
+
+    /**
+     * Drop a local entry changed on another instance.
+     *
+     * @param key string form of the key, or null to drop all local entries
+     */
+    void dropLocal(String key) {
+        invalidateLocal(key);
+    }
+
+    private void invalidateLocal(String key) {
+        // Count first, so that a read populating concurrently sees the invalidation
+        if (key == null) {
+            clearGeneration.incrementAndGet();
+            local.invalidateAll();
+        } else {
+            keyGenerations.incrementAndGet(stripe(key));
+            local.invalidate(key);
+        }
+    }
+
+    /**
+     * Keep a value read from the remote cache, unless its key was invalidated since
+     * the read started. Checked after the write, so that an invalidation racing with
+     * the write either sees the entry or is seen here.
+     */
+    private void populate(String key, Object value, long generation) {
+        local.put(key, value);
+        if (generation(key) != generation) {
+            local.invalidate(key);
+        }
+    }
+
+    private long generation(String key) {
+        return keyGenerations.get(stripe(key)) + clearGeneration.get();
+    }
+
+    private static int stripe(String key) {
+        return Math.floorMod(key.hashCode(), GENERATION_STRIPES);
+    }
+
+    private static String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,102 @@
+package com.kiteclass.core.common.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kiteclass.core.common.config.TwoLevelCacheProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Cache manager putting a size-bounded in-process cache in front of each cache of a
+ * shared remote cache manager.
+ *
+ * <p>Hits on the local level cost no network round trip and no deserialization. A
+ * change to an entry on one instance is published as
+ * {@code <instance id>|<cache name>|<key>} (without the key when a whole cache is
+ * cleared); {@link #onInvalidation(String)} drops the matching local entries on the
+ * receiving instances. Local entries expire after
+ * {@code cache.local-ttl} regardless, in case an announcement is missed.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@Slf4j
+public class TwoLevelCacheManager implements CacheManager {
+
+    private static final String SEPARATOR = "|";
+
+    private final CacheManager remote;
+    private final TwoLevelCacheProperties properties;
+    private final Consumer<String> publisher;
+    // Identifies this instance's own announcements, whose changes are already applied
+    private final String instanceId = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, TwoLevelCache> caches = new ConcurrentHashMap<>();
+
+    /**
+     * Create a two-level cache manager.
+     *
+     * @param remote     shared cache manager
+     * @param properties cache properties
+     * @param publisher  publishes an invalidation message to every instance
+     */
+    public TwoLevelCacheManager(CacheManager remote, TwoLevelCacheProperties properties, Consumer<String> publisher) {
+        this.remote = remote;
+        this.properties = properties;
+        this.publisher = publisher;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        TwoLevelCache cache = caches.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache remoteCache = remote.getCache(name);
+        if (remoteCache == null) {
+            return null;
+        }
+        return caches.computeIfAbsent(name, key -> new TwoLevelCache(key, remoteCache,
+                Caffeine.newBuilder()
+                        .maximumSize(properties.getLocalMaxSize())
+                        .expireAfterWrite(properties.getLocalTtl())
+                        .build(),
+                this::announce));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return remote.getCacheNames();
+    }
+
+    /**
+     * Apply an invalidation published by an instance.
+     *
+     * @param message invalidation message
+     */
+    public void onInvalidation(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        if (parts.length < 2 || instanceId.equals(parts[0])) {
+            return;
+        }
+        TwoLevelCache cache = caches.get(parts[1]);
+        if (cache != null) {
+            cache.dropLocal(parts.length > 2 ? parts[2] : null);
+        }
+    }
+
+    private void announce(String cacheName, String key) {
+        String message = instanceId + SEPARATOR + cacheName + (key != null ? SEPARATOR + key : "");
+        try {
+            publisher.accept(message);
+        } catch (RuntimeException e) {
+            log.warn("Could not announce change to cache {}, other instances expire it after {}: {}",
+                    cacheName, properties.getLocalTtl(), e.getMessage());
+        }
+    }
+}
@@ -1,38 +1,43 @@
 package com.kiteclass.core.common.config;
 
+import com.kiteclass.core.common.cache.TwoLevelCacheManager;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.cache.RedisCacheManager;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.RedisSerializationContext;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
-import java.time.Duration;
+import java.nio.charset.StandardCharsets;
 
 /**
- * Redis cache configuration.
+ * Two-level cache configuration.
  *
- * <p>Configures Spring Cache with Redis backend:
+ * <p>Configures Spring Cache with an in-process cache in front of Redis:
  * <ul>
- *   <li>Default TTL: 1 hour</li>
+ *   <li>Local level: Caffeine, bounded by {@code cache.local-max-size} per cache</li>
+ *   <li>Redis level TTL: {@code cache.ttl} (default 1 hour)</li>
  *   <li>Key serializer: String</li>
  *   <li>Value serializer: JSON (Jackson)</li>
  *   <li>Null values not cached</li>
+ *   <li>Changes announced on {@code cache.invalidation-channel}, dropping the
+ *       local copies on every instance</li>
  * </ul>
  *
- * <p>Usage in services:
+ * <p>Usage in services (evict by key; {@code allEntries} clears the cache on
+ * every instance and scans Redis):
  * <pre>
  * {@code @Cacheable(value = "students", key = "#id")}
  * public StudentDTO getStudentById(Long id) { ... }
  *
  * {@code @CacheEvict(value = "students", key = "#id")}
  * public void updateStudent(Long id, StudentDTO dto) { ... }
- *
- * {@code @CacheEvict(value = "students", allEntries = true)}
- * public void deleteStudent(Long id) { ... }
  * </pre>
  *
  * @author KiteClass Team
@@ -43,15 +48,19 @@ import java.time.Duration;
 public class CacheConfig {
 
     /**
-     * Configures Redis cache manager with default settings.
+     * Configures the two-level cache manager over Redis.
      *
      * @param connectionFactory Redis connection factory
-     * @return configured RedisCacheManager
+     * @param redisTemplate     template publishing invalidations
+     * @param properties        cache properties
+     * @return configured TwoLevelCacheManager
      */
     @Bean
-    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory) {
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate redisTemplate,
+                                             TwoLevelCacheProperties properties) {
         RedisCacheConfiguration config = RedisCacheConfiguration.defaultCacheConfig()
-                .entryTtl(Duration.ofHours(1))  // Default TTL: 1 hour
+                .entryTtl(properties.getTtl())
                 .disableCachingNullValues()  // Don't cache null values
                 .serializeKeysWith(
                         RedisSerializationContext.SerializationPair.fromSerializer(new StringRedisSerializer())
@@ -62,8 +71,32 @@ public class CacheConfig {
                         )
                 );
 
-        return RedisCacheManager.builder(connectionFactory)
+        RedisCacheManager redisCacheManager = RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(config)
                 .build();
+        redisCacheManager.initializeCaches();
+
+        return new TwoLevelCacheManager(redisCacheManager, properties,
+                message -> redisTemplate.convertAndSend(properties.getInvalidationChannel(), message));
+    }
+
+    /**
+     * Listens for cache invalidations announced by any instance.
+     *
+     * @param connectionFactory Redis connection factory
+     * @param cacheManager      two-level cache manager
+     * @param properties        cache properties
+     * @return listener container
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListener(RedisConnectionFactory connectionFactory,
+                                                                   TwoLevelCacheManager cacheManager,
+                                                                   TwoLevelCacheProperties properties) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.addMessageListener(
+                (message, pattern) -> cacheManager.onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(properties.getInvalidationChannel()));
+        return container;
     }
 }
@@ -1,9 +1,12 @@
 package com.kiteclass.core.common.config;
 
+import com.kiteclass.core.config.CallerIdentity;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.AuditorAware;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.util.Optional;
 
@@ -18,8 +21,8 @@ import java.util.Optional;
  *   <li>updatedBy - updated via AuditorAware bean</li>
  * </ul>
  *
- * <p>Currently uses a simple implementation that returns null for auditor.
- * This will be replaced with actual user ID from SecurityContext when authentication is integrated.
+ * <p>The auditor is the user the Gateway vouched for in the request's identity
+ * envelope (see {@link com.kiteclass.core.config.IdentityEnvelopeFilter}).
  *
  * @author KiteClass Team
  * @since 2.2.0
@@ -31,22 +34,18 @@ public class JpaConfig {
     /**
      * Provides the current auditor (user) for JPA auditing.
      *
-     * <p>TODO: Replace with actual user ID from SecurityContext when authentication is integrated.
-     * For now, returns empty Optional to allow auditing to work without authentication.
+     * <p>Returns the user ID of the {@link CallerIdentity} in the SecurityContext, or an
+     * empty Optional outside requests, for unauthenticated requests and for calls the
+     * Gateway makes on its own behalf.
      *
      * @return AuditorAware that provides current user ID
      */
     @Bean
     public AuditorAware<Long> auditorProvider() {
-        return () -> {
-            // TODO: Get user ID from SecurityContext
-            // Example: return Optional.ofNullable(SecurityContextHolder.getContext())
-            //     .map(SecurityContext::getAuthentication)
-            //     .filter(Authentication::isAuthenticated)
-            //     .map(Authentication::getPrincipal)
-            //     .map(principal -> ((UserDetails) principal).getUserId());
-
-            return Optional.empty(); // Return null for now until authentication is integrated
-        };
+        return () -> Optional.ofNullable(SecurityContextHolder.getContext().getAuthentication())
+                .filter(Authentication::isAuthenticated)
+                .map(Authentication::getPrincipal)
+                .filter(CallerIdentity.class::isInstance)
+                .map(principal -> ((CallerIdentity) principal).userId());
     }
 }
@@ -0,0 +1,62 @@
+package com.kiteclass.core.common.config;
+
+import com.kiteclass.core.config.IdentityEnvelopeFilter;
+import com.kiteclass.core.config.IdentityEnvelopeVerifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+/**
+ * Spring Security configuration.
+ *
+ * <p>Core does not authenticate users itself: the Gateway does, and vouches for the
+ * caller with a signed identity envelope that {@link IdentityEnvelopeFilter} turns
+ * into the security context. The configuration is therefore stateless, without
+ * sessions, CSRF protection or login mechanisms:
+ * <ul>
+ *   <li>{@code /api/**} requires an authenticated caller (401 otherwise)</li>
+ *   <li>{@code /internal/**} is guarded by {@link com.kiteclass.core.config.InternalRequestFilter}</li>
+ *   <li>everything else (actuator, API docs) is open</li>
+ * </ul>
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@Configuration
+@EnableWebSecurity
+public class SecurityConfig {
+
+    /**
+     * Security filter chain authenticating callers by identity envelope.
+     *
+     * @param http HttpSecurity to configure
+     * @param identityEnvelopeVerifier verifier of Gateway identity envelopes
+     * @return configured SecurityFilterChain
+     * @throws Exception if configuration fails
+     */
+    @Bean
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+                                                   IdentityEnvelopeVerifier identityEnvelopeVerifier) throws Exception {
+        return http
+                .csrf(AbstractHttpConfigurer::disable)
+                .httpBasic(AbstractHttpConfigurer::disable)
+                .formLogin(AbstractHttpConfigurer::disable)
+                .logout(AbstractHttpConfigurer::disable)
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .addFilterBefore(new IdentityEnvelopeFilter(identityEnvelopeVerifier),
+                        AnonymousAuthenticationFilter.class)
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/**").authenticated()
+                        .anyRequest().permitAll())
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .build();
+    }
+}
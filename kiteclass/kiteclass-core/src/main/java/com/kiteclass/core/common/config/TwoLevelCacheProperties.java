@@ -0,0 +1,41 @@
+package com.kiteclass.core.common.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the two-level cache: an in-process cache per
+ * instance in front of the shared Redis cache.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "cache")
+public class TwoLevelCacheProperties {
+
+    /**
+     * Lifetime of entries in Redis.
+     */
+    private Duration ttl = Duration.ofHours(1);
+
+    /**
+     * Maximum number of entries kept in memory, per cache.
+     */
+    private long localMaxSize = 10_000;
+
+    /**
+     * Lifetime of entries in memory. Bounds how long an instance can serve an entry
+     * changed elsewhere if the invalidation announcing the change was missed.
+     */
+    private Duration localTtl = Duration.ofMinutes(5);
+
+    /**
+     * Redis channel on which changed entries are announced to every instance.
+     */
+    private String invalidationChannel = "cache:invalidate";
+}
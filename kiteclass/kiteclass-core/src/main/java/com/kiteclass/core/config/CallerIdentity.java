@@ -0,0 +1,31 @@
+package com.kiteclass.core.config;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.List;
+
+/**
+ * Caller of a request, as vouched for by the Gateway's identity envelope.
+ *
+ * <p>Set as the principal of the request's {@code Authentication}.
+ *
+ * @param userId ID of the user the Gateway authenticated, or null for calls the
+ *               Gateway makes on its own behalf
+ * @param roles  role codes of the user
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+public record CallerIdentity(Long userId, List<String> roles) {
+
+    /**
+     * Roles as Spring Security authorities ({@code ROLE_<code>}).
+     *
+     * @return granted authorities
+     */
+    public List<GrantedAuthority> authorities() {
+        return roles.stream()
+                .<GrantedAuthority>map(role -> new SimpleGrantedAuthority("ROLE_" + role))
+                .toList();
+    }
+}
@@ -0,0 +1,70 @@
+package com.kiteclass.core.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Security filter authenticating requests by the Gateway's identity envelope.
+ *
+ * <p>A request carrying a valid {@code X-Identity} envelope is authenticated as the
+ * {@link CallerIdentity} in it, with its roles as authorities. A request carrying an
+ * invalid or expired envelope is rejected with 401; a request without one continues
+ * unauthenticated.
+ *
+ * <p>Registered in the Spring Security filter chain by
+ * {@link com.kiteclass.core.common.config.SecurityConfig}, not as a servlet filter of
+ * its own, so the security context it sets is the one the chain keeps.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@Slf4j
+public class IdentityEnvelopeFilter extends OncePerRequestFilter {
+
+    private final IdentityEnvelopeVerifier verifier;
+
+    public IdentityEnvelopeFilter(IdentityEnvelopeVerifier verifier) {
+        this.verifier = verifier;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        String envelope = request.getHeader(IdentityEnvelopeVerifier.IDENTITY_HEADER);
+        if (envelope == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        CallerIdentity identity = verifier.verify(envelope);
+        if (identity == null) {
+            log.warn("Invalid identity envelope: {} from IP: {}", request.getRequestURI(), request.getRemoteAddr());
+            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+            response.setContentType("application/json");
+            response.getWriter().write(
+                    "{\"success\":false," +
+                    "\"message\":\"Invalid or expired caller identity\"," +
+                    "\"errorCode\":\"IDENTITY_INVALID\"}"
+            );
+            return;
+        }
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(identity, null, identity.authorities()));
+        SecurityContextHolder.setContext(context);
+
+        filterChain.doFilter(request, response);
+    }
+}
@@ -0,0 +1,29 @@
+package com.kiteclass.core.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for verifying identity envelopes signed by the Gateway.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "identity-envelope")
+public class IdentityEnvelopeProperties {
+
+    /**
+     * HMAC-SHA256 key shared with the Gateway, at least 32 bytes.
+     */
+    private String secret;
+
+    /**
+     * Allowance for clock differences between Gateway and Core when checking expiry.
+     */
+    private Duration clockSkew = Duration.ofSeconds(5);
+}
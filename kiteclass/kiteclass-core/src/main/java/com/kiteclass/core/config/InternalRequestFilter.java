@@ -6,6 +6,8 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.core.annotation.Order;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
@@ -14,21 +16,14 @@ import java.io.IOException;
 /**
  * Security filter for internal API endpoints.
  *
- * <p>This filter protects {@code /internal/**} endpoints by requiring
- * the {@code X-Internal-Request} header to be present with value "true".
- * This provides basic protection for service-to-service communication.
+ * <p>This filter protects {@code /internal/**} endpoints by requiring the
+ * request to be authenticated by a valid identity envelope signed by the Gateway
+ * (see {@link IdentityEnvelopeFilter}). Unlike a fixed header, the envelope cannot
+ * be forged or replayed after it expires without the key shared with the Gateway.
  *
- * <p><strong>Security Note:</strong> In production environments, additional
- * security measures should be implemented:
- * <ul>
- *   <li>IP whitelist (only accept from Gateway IP)</li>
- *   <li>Service-to-service JWT authentication</li>
- *   <li>mTLS (mutual TLS) for encrypted communication</li>
- * </ul>
- *
- * <p>The current implementation is suitable for internal network deployments
- * where services are deployed in a trusted environment (e.g., same VPC,
- * same Kubernetes cluster).
+ * <p><strong>Security Note:</strong> The envelope authenticates the caller but does
+ * not encrypt the request; use mTLS where traffic between Gateway and Core crosses
+ * an untrusted network.
  *
  * @author KiteClass Team
  * @since 2.11.0
@@ -38,16 +33,6 @@ import java.io.IOException;
 @Order(1)
 public class InternalRequestFilter extends OncePerRequestFilter {
 
-    /**
-     * Header name for internal request verification.
-     */
-    public static final String INTERNAL_REQUEST_HEADER = "X-Internal-Request";
-
-    /**
-     * Expected header value for internal requests.
-     */
-    public static final String INTERNAL_REQUEST_VALUE = "true";
-
     /**
      * Path prefix for internal API endpoints.
      */
@@ -62,9 +47,9 @@ public class InternalRequestFilter extends OncePerRequestFilter {
 
         // Only apply filter to /internal/** paths
         if (requestURI.startsWith(INTERNAL_PATH_PREFIX)) {
-            String headerValue = request.getHeader(INTERNAL_REQUEST_HEADER);
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
 
-            if (!INTERNAL_REQUEST_VALUE.equals(headerValue)) {
+            if (authentication == null || !(authentication.getPrincipal() instanceof CallerIdentity)) {
                 log.warn("Unauthorized internal API access attempt: {} from IP: {}",
                         requestURI, request.getRemoteAddr());
                 response.setStatus(HttpServletResponse.SC_FORBIDDEN);
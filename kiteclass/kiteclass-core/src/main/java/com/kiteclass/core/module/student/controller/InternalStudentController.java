@@ -25,8 +25,8 @@ import org.springframework.web.bind.annotation.*;
  * </ul>
  *
  * <p><strong>Security:</strong> These endpoints are protected by {@link com.kiteclass.core.config.InternalRequestFilter}
- * and require {@code X-Internal-Request: true} header. They are NOT accessible
- * from public internet.
+ * and require a valid {@code X-Identity} envelope signed by the Gateway. They are NOT
+ * accessible from public internet.
  *
  * <p><strong>Note:</strong> These endpoints are hidden from public Swagger documentation
  * using {@code @Hidden} annotation.
@@ -50,19 +50,17 @@ public class InternalStudentController {
      * <p>Called by Gateway during login flow to retrieve student profile
      * when {@code userType = STUDENT}.
      *
-     * <p><strong>Authentication:</strong> Requires {@code X-Internal-Request: true} header.
+     * <p><strong>Authentication:</strong> Requires a Gateway identity envelope.
      *
      * @param id the student ID (matches {@code User.referenceId} in Gateway)
-     * @param internalHeader the internal request header (validated by filter)
      * @return the student profile wrapped in ApiResponse
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get student profile by ID (Internal)",
                description = "Retrieve student profile for Gateway authentication flow. " +
-                           "Requires X-Internal-Request header.")
+                           "Requires Gateway identity envelope.")
     public ResponseEntity<ApiResponse<StudentResponse>> getStudent(
-            @PathVariable Long id,
-            @RequestHeader("X-Internal-Request") String internalHeader) {
+            @PathVariable Long id) {
 
         log.info("Internal API: Get student profile, id={}", id);
 
@@ -86,19 +84,17 @@ public class InternalStudentController {
      *   <li>Gateway updates User.referenceId with Student.id</li>
      * </ol>
      *
-     * <p><strong>Authentication:</strong> Requires {@code X-Internal-Request: true} header.
+     * <p><strong>Authentication:</strong> Requires a Gateway identity envelope.
      *
      * @param request the student creation request
-     * @param internalHeader the internal request header (validated by filter)
      * @return the created student profile wrapped in ApiResponse
      */
     @PostMapping
     @Operation(summary = "Create student (Internal)",
                description = "Create student profile during Gateway registration flow. " +
-                           "Requires X-Internal-Request header.")
+                           "Requires Gateway identity envelope.")
     public ResponseEntity<ApiResponse<StudentResponse>> createStudent(
-            @Valid @RequestBody CreateStudentRequest request,
-            @RequestHeader("X-Internal-Request") String internalHeader) {
+            @Valid @RequestBody CreateStudentRequest request) {
 
         log.info("Internal API: Create student, email={}", request.email());
 
@@ -120,19 +116,17 @@ public class InternalStudentController {
      * <p><strong>Note:</strong> This is a soft delete. The student record is
      * marked as deleted but not removed from database.
      *
-     * <p><strong>Authentication:</strong> Requires {@code X-Internal-Request: true} header.
+     * <p><strong>Authentication:</strong> Requires a Gateway identity envelope.
      *
      * @param id the student ID to delete
-     * @param internalHeader the internal request header (validated by filter)
      * @return success response wrapped in ApiResponse
      */
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete student (Internal)",
                description = "Soft delete student when Gateway user account is deleted. " +
-                           "Requires X-Internal-Request header.")
+                           "Requires Gateway identity envelope.")
     public ResponseEntity<ApiResponse<Void>> deleteStudent(
-            @PathVariable Long id,
-            @RequestHeader("X-Internal-Request") String internalHeader) {
+            @PathVariable Long id) {
 
         log.info("Internal API: Delete student, id={}", id);
 
@@ -27,7 +27,7 @@ import org.springframework.transaction.annotation.Transactional;
  * <ul>
  *   <li>Business logic validation (email/phone uniqueness)</li>
  *   <li>Entity mapping via StudentMapper</li>
- *   <li>Caching with Redis</li>
+ *   <li>Caching by ID, in memory in front of Redis; a new student evicts nothing</li>
  *   <li>Transaction management</li>
  * </ul>
  *
@@ -44,7 +44,6 @@ public class StudentServiceImpl implements StudentService {
 
     @Override
     @Transactional
-    @CacheEvict(value = "students", allEntries = true)
     public StudentResponse createStudent(CreateStudentRequest request) {
         log.info("Creating student with email: {}", request.email());
 
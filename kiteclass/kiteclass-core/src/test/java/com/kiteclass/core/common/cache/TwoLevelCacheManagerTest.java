@@ -0,0 +1,184 @@
+package com.kiteclass.core.common.cache;
+
+import com.kiteclass.core.common.config.TwoLevelCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link TwoLevelCacheManager}.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@DisplayName("TwoLevelCacheManager Tests")
+class TwoLevelCacheManagerTest {
+
+    private ConcurrentMapCacheManager remote;
+    private List<String> published;
+    private TwoLevelCacheManager cacheManager;
+    private Runnable duringRemoteRead;
+
+    @BeforeEach
+    void setUp() {
+        duringRemoteRead = () -> { };
+        remote = new ConcurrentMapCacheManager("students") {
+            @Override
+            protected Cache createConcurrentMapCache(String name) {
+                return new ConcurrentMapCache(name) {
+                    @Override
+                    public ValueWrapper get(Object key) {
+                        ValueWrapper wrapper = super.get(key);
+                        duringRemoteRead.run();
+                        return wrapper;
+                    }
+
+                    @Override
+                    public <T> T get(Object key, Callable<T> valueLoader) {
+                        T value = super.get(key, valueLoader);
+                        duringRemoteRead.run();
+                        return value;
+                    }
+                };
+            }
+        };
+        published = new ArrayList<>();
+        cacheManager = new TwoLevelCacheManager(remote, new TwoLevelCacheProperties(), published::add);
+    }
+
+    @Test
+    @DisplayName("Should serve a cached entry from memory without the remote cache")
+    void shouldServeFromLocalLevel() {
+        // Given
+        Cache cache = cacheManager.getCache("students");
+        cache.put(1L, "student-1");
+        remote.getCache("students").clear();
+
+        // When/Then
+        assertThat(cache.get(1L, String.class)).isEqualTo("student-1");
+    }
+
+    @Test
+    @DisplayName("Should fill the local level from the remote cache")
+    void shouldFillLocalLevelFromRemote() {
+        // Given
+        remote.getCache("students").put(1L, "student-1");
+        Cache cache = cacheManager.getCache("students");
+
+        // When
+        assertThat(cache.get(1L, String.class)).isEqualTo("student-1");
+        remote.getCache("students").clear();
+
+        // Then
+        assertThat(cache.get(1L, String.class)).isEqualTo("student-1");
+    }
+
+    @Test
+    @DisplayName("Should not keep a remote value locally when its key is invalidated during the read")
+    void shouldNotKeepValueInvalidatedDuringRead() {
+        // Given
+        remote.getCache("students").put(1L, "student-1");
+        Cache cache = cacheManager.getCache("students");
+        duringRemoteRead = () -> {
+            duringRemoteRead = () -> { };
+            remote.getCache("students").put(1L, "student-1-renamed");
+            cacheManager.onInvalidation("other-instance|students|1");
+        };
+
+        // When
+        assertThat(cache.get(1L, String.class)).isEqualTo("student-1");
+
+        // Then
+        assertThat(cache.get(1L, String.class)).isEqualTo("student-1-renamed");
+    }
+
+    @Test
+    @DisplayName("Should not keep a loaded value locally when the cache is cleared during the load")
+    void shouldNotKeepValueLoadedWhileCleared() {
+        // Given
+        Cache cache = cacheManager.getCache("students");
+        duringRemoteRead = () -> {
+            duringRemoteRead = () -> { };
+            remote.getCache("students").clear();
+            cacheManager.onInvalidation("other-instance|students");
+        };
+
+        // When
+        assertThat(cache.get(1L, () -> "student-1")).isEqualTo("student-1");
+
+        // Then
+        assertThat(cache.get(1L, () -> "student-1-renamed")).isEqualTo("student-1-renamed");
+    }
+
+    @Test
+    @DisplayName("Should evict both levels and announce the key")
+    void shouldEvictBothLevelsAndAnnounceKey() {
+        // Given
+        Cache cache = cacheManager.getCache("students");
+        cache.put(1L, "student-1");
+
+        // When
+        cache.evict(1L);
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(remote.getCache("students").get(1L)).isNull();
+        assertThat(published).last().asString().endsWith("|students|1");
+    }
+
+    @Test
+    @DisplayName("Should drop only the announced key on another instance's invalidation")
+    void shouldDropAnnouncedKeyOnly() {
+        // Given
+        Cache cache = cacheManager.getCache("students");
+        cache.put(1L, "student-1");
+        cache.put(2L, "student-2");
+        remote.getCache("students").clear();
+
+        // When
+        cacheManager.onInvalidation("other-instance|students|1");
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(cache.get(2L, String.class)).isEqualTo("student-2");
+    }
+
+    @Test
+    @DisplayName("Should ignore its own announcements")
+    void shouldIgnoreOwnAnnouncements() {
+        // Given
+        Cache cache = cacheManager.getCache("students");
+        cache.put(1L, "student-1");
+        remote.getCache("students").clear();
+
+        // When
+        published.forEach(cacheManager::onInvalidation);
+
+        // Then
+        assertThat(cache.get(1L, String.class)).isEqualTo("student-1");
+    }
+
+    @Test
+    @DisplayName("Should announce a cleared cache without a key")
+    void shouldAnnounceClearWithoutKey() {
+        // Given
+        Cache cache = cacheManager.getCache("students");
+        cache.put(1L, "student-1");
+
+        // When
+        cache.clear();
+
+        // Then
+        assertThat(cache.get(1L)).isNull();
+        assertThat(published).last().asString().endsWith("|students").doesNotContain("|students|");
+    }
+}
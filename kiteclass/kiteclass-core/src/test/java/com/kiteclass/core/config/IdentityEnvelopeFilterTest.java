@@ -0,0 +1,106 @@
+package com.kiteclass.core.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for {@link IdentityEnvelopeFilter}.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+@ExtendWith(MockitoExtension.class)
+class IdentityEnvelopeFilterTest {
+
+    @Mock
+    private IdentityEnvelopeVerifier verifier;
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private HttpServletResponse response;
+
+    @Mock
+    private FilterChain filterChain;
+
+    private IdentityEnvelopeFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new IdentityEnvelopeFilter(verifier);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilterInternal_shouldAuthenticateCaller_whenEnvelopeValid() throws Exception {
+        // Given
+        CallerIdentity identity = new CallerIdentity(42L, List.of("TEACHER"));
+        when(request.getHeader("X-Identity")).thenReturn("envelope");
+        when(verifier.verify("envelope")).thenReturn(identity);
+        doAnswer(invocation -> {
+            // Then (inside the chain)
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            assertThat(authentication.getPrincipal()).isEqualTo(identity);
+            assertThat(authentication.getAuthorities()).extracting(Object::toString).containsExactly("ROLE_TEACHER");
+            return null;
+        }).when(filterChain).doFilter(request, response);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_shouldReject_whenEnvelopeInvalid() throws Exception {
+        // Given
+        StringWriter responseWriter = new StringWriter();
+        when(request.getHeader("X-Identity")).thenReturn("forged");
+        when(verifier.verify("forged")).thenReturn(null);
+        when(response.getWriter()).thenReturn(new PrintWriter(responseWriter));
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(response).setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        verify(filterChain, never()).doFilter(request, response);
+        assertThat(responseWriter.toString()).contains("IDENTITY_INVALID");
+    }
+
+    @Test
+    void doFilterInternal_shouldContinueUnauthenticated_whenEnvelopeMissing() throws Exception {
+        // Given
+        when(request.getHeader("X-Identity")).thenReturn(null);
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(filterChain).doFilter(request, response);
+        verifyNoInteractions(verifier);
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+}
@@ -0,0 +1,131 @@
+package com.kiteclass.core.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link IdentityEnvelopeVerifier}.
+ *
+ * @author KiteClass Team
+ * @since 2.12.0
+ */
+class IdentityEnvelopeVerifierTest {
+
+    private static final String SECRET = "test-identity-envelope-secret-0123456789";
+
+    private IdentityEnvelopeVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        IdentityEnvelopeProperties properties = new IdentityEnvelopeProperties();
+        properties.setSecret(SECRET);
+        verifier = new IdentityEnvelopeVerifier(properties);
+    }
+
+    @Test
+    void verify_shouldReturnCaller_whenEnvelopeValid() {
+        // Given
+        String envelope = envelope(SECRET, "42|OWNER,TEACHER|" + inOneMinute());
+
+        // When
+        CallerIdentity identity = verifier.verify(envelope);
+
+        // Then
+        assertThat(identity).isNotNull();
+        assertThat(identity.userId()).isEqualTo(42L);
+        assertThat(identity.roles()).containsExactly("OWNER", "TEACHER");
+        assertThat(identity.authorities()).extracting(Object::toString)
+                .containsExactly("ROLE_OWNER", "ROLE_TEACHER");
+    }
+
+    @Test
+    void verify_shouldReturnGatewayCaller_whenUserIdEmpty() {
+        // When
+        CallerIdentity identity = verifier.verify(envelope(SECRET, "||" + inOneMinute()));
+
+        // Then
+        assertThat(identity).isNotNull();
+        assertThat(identity.userId()).isNull();
+        assertThat(identity.roles()).isEmpty();
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenPayloadTampered() {
+        // Given
+        String envelope = envelope(SECRET, "42|STUDENT|" + inOneMinute());
+        String forgedPayload = encode("42|OWNER|" + inOneMinute());
+        String forged = forgedPayload + envelope.substring(envelope.indexOf('.'));
+
+        // When / Then
+        assertThat(verifier.verify(forged)).isNull();
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenSignedWithOtherKey() {
+        // When / Then
+        assertThat(verifier.verify(envelope("another-secret-that-is-long-enough-too", "42|OWNER|" + inOneMinute())))
+                .isNull();
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenExpired() {
+        // Given
+        long expiredAt = Instant.now().minus(Duration.ofSeconds(30)).toEpochMilli();
+
+        // When / Then
+        assertThat(verifier.verify(envelope(SECRET, "42|OWNER|" + expiredAt))).isNull();
+    }
+
+    @Test
+    void verify_shouldReturnNull_whenMalformed() {
+        assertThat(verifier.verify("")).isNull();
+        assertThat(verifier.verify("no-signature")).isNull();
+        assertThat(verifier.verify("!!!.???")).isNull();
+        assertThat(verifier.verify(envelope(SECRET, "42|OWNER"))).isNull();
+        assertThat(verifier.verify(envelope(SECRET, "abc|OWNER|" + inOneMinute()))).isNull();
+    }
+
+    @Test
+    void constructor_shouldRejectShortSecret() {
+        // Given
+        IdentityEnvelopeProperties properties = new IdentityEnvelopeProperties();
+        properties.setSecret("too-short");
+
+        // When / Then
+        assertThatThrownBy(() -> new IdentityEnvelopeVerifier(properties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * Build an envelope the way the Gateway signs it.
+     */
+    private static String envelope(String secret, String payload) {
+        try {
+            String encodedPayload = encode(payload);
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            byte[] signature = mac.doFinal(encodedPayload.getBytes(StandardCharsets.US_ASCII));
+            return encodedPayload + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static long inOneMinute() {
+        return Instant.now().plus(Duration.ofMinutes(1)).toEpochMilli();
+    }
+}
@@ -3,14 +3,18 @@ package com.kiteclass.core.config;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -41,14 +45,19 @@ class InternalRequestFilterTest {
     void setUp() throws Exception {
         filter = new InternalRequestFilter();
         responseWriter = new StringWriter();
-        when(response.getWriter()).thenReturn(new PrintWriter(responseWriter));
+        lenient().when(response.getWriter()).thenReturn(new PrintWriter(responseWriter));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
     }
 
     @Test
-    void doFilterInternal_shouldAllowRequest_whenValidHeaderProvided() throws Exception {
+    void doFilterInternal_shouldAllowRequest_whenGatewayIdentityProvided() throws Exception {
         // Given
         when(request.getRequestURI()).thenReturn("/internal/students/1");
-        when(request.getHeader("X-Internal-Request")).thenReturn("true");
+        authenticate(new CallerIdentity(null, List.of()));
 
         // When
         filter.doFilterInternal(request, response, filterChain);
@@ -59,10 +68,9 @@ class InternalRequestFilterTest {
     }
 
     @Test
-    void doFilterInternal_shouldRejectRequest_whenHeaderMissing() throws Exception {
+    void doFilterInternal_shouldRejectRequest_whenIdentityMissing() throws Exception {
         // Given
         when(request.getRequestURI()).thenReturn("/internal/students/1");
-        when(request.getHeader("X-Internal-Request")).thenReturn(null);
 
         // When
         filter.doFilterInternal(request, response, filterChain);
@@ -78,10 +86,24 @@ class InternalRequestFilterTest {
     }
 
     @Test
-    void doFilterInternal_shouldRejectRequest_whenHeaderValueIncorrect() throws Exception {
+    void doFilterInternal_shouldRejectRequest_whenLegacyHeaderOnly() throws Exception {
+        // Given
+        when(request.getRequestURI()).thenReturn("/internal/students/1");
+        lenient().when(request.getHeader("X-Internal-Request")).thenReturn("true");
+
+        // When
+        filter.doFilterInternal(request, response, filterChain);
+
+        // Then
+        verify(response).setStatus(HttpServletResponse.SC_FORBIDDEN);
+        verify(filterChain, never()).doFilter(request, response);
+    }
+
+    @Test
+    void doFilterInternal_shouldRejectRequest_whenAuthenticatedOtherwise() throws Exception {
         // Given
         when(request.getRequestURI()).thenReturn("/internal/students/1");
-        when(request.getHeader("X-Internal-Request")).thenReturn("false");
+        authenticate("someone");
 
         // When
         filter.doFilterInternal(request, response, filterChain);
@@ -101,7 +123,6 @@ class InternalRequestFilterTest {
 
         // Then
         verify(filterChain).doFilter(request, response);
-        verify(request, never()).getHeader(anyString());
         verify(response, never()).setStatus(anyInt());
     }
 
@@ -119,7 +140,6 @@ class InternalRequestFilterTest {
             reset(request, response, filterChain);
             when(response.getWriter()).thenReturn(new PrintWriter(new StringWriter()));
             when(request.getRequestURI()).thenReturn(path);
-            when(request.getHeader("X-Internal-Request")).thenReturn(null);
 
             // When
             filter.doFilterInternal(request, response, filterChain);
@@ -129,4 +149,9 @@ class InternalRequestFilterTest {
             verify(filterChain, never()).doFilter(request, response);
         }
     }
+
+    private static void authenticate(Object principal) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, List.of()));
+    }
 }
@@ -1,9 +1,13 @@
 package com.kiteclass.core.config;
 
 import com.kiteclass.core.common.config.JpaConfig;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.data.domain.AuditorAware;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -16,6 +20,11 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 class JpaConfigTest {
 
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
     @Test
     void auditorProvider_shouldReturnAuditorAware() {
         // Given
@@ -38,7 +47,35 @@ class JpaConfigTest {
         Optional<Long> currentAuditor = auditorAware.getCurrentAuditor();
 
         // Then
-        // Should return empty until authentication is integrated
         assertThat(currentAuditor).isEmpty();
     }
+
+    @Test
+    void auditorProvider_shouldReturnUserIdOfCallerIdentity() {
+        // Given
+        JpaConfig config = new JpaConfig();
+        AuditorAware<Long> auditorAware = config.auditorProvider();
+        CallerIdentity identity = new CallerIdentity(42L, List.of("TEACHER"));
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(identity, null, identity.authorities()));
+
+        // When
+        Optional<Long> currentAuditor = auditorAware.getCurrentAuditor();
+
+        // Then
+        assertThat(currentAuditor).contains(42L);
+    }
+
+    @Test
+    void auditorProvider_shouldReturnEmptyOptionalForGatewayCalls() {
+        // Given
+        JpaConfig config = new JpaConfig();
+        AuditorAware<Long> auditorAware = config.auditorProvider();
+        CallerIdentity identity = new CallerIdentity(null, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(identity, null, identity.authorities()));
+
+        // When / Then
+        assertThat(auditorAware.getCurrentAuditor()).isEmpty();
+    }
 }
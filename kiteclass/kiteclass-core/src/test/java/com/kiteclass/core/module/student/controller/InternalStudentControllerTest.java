@@ -1,6 +1,7 @@
 package com.kiteclass.core.module.student.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiteclass.core.config.CallerIdentity;
 import com.kiteclass.core.module.student.dto.CreateStudentRequest;
 import com.kiteclass.core.module.student.dto.StudentResponse;
 import com.kiteclass.core.module.student.service.StudentService;
@@ -13,15 +14,20 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.List;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,7 +65,7 @@ class InternalStudentControllerTest {
     }
 
     @Test
-    void getStudent_shouldReturn200_whenValidHeaderProvided() throws Exception {
+    void getStudent_shouldReturn200_whenGatewayIdentityProvided() throws Exception {
         // Given
         StudentResponse response = new StudentResponse(1L, "John Doe", "john@example.com",
                 null, null, null, null, null, null, null);
@@ -67,7 +73,7 @@ class InternalStudentControllerTest {
 
         // When / Then
         mockMvc.perform(get("/internal/students/1")
-                        .header("X-Internal-Request", "true"))
+                        .with(gatewayIdentity()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true))
                 .andExpect(jsonPath("$.data.id").value(1))
@@ -86,7 +92,7 @@ class InternalStudentControllerTest {
 
         // When / Then
         mockMvc.perform(post("/internal/students")
-                        .header("X-Internal-Request", "true")
+                        .with(gatewayIdentity())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
@@ -111,7 +117,7 @@ class InternalStudentControllerTest {
 
         // When / Then
         mockMvc.perform(post("/internal/students")
-                        .header("X-Internal-Request", "true")
+                        .with(gatewayIdentity())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(invalidRequest)))
                 .andExpect(status().isBadRequest());
@@ -121,7 +127,7 @@ class InternalStudentControllerTest {
     void deleteStudent_shouldReturn200_whenStudentExists() throws Exception {
         // When / Then
         mockMvc.perform(delete("/internal/students/1")
-                        .header("X-Internal-Request", "true"))
+                        .with(gatewayIdentity()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.success").value(true));
 
@@ -136,7 +142,23 @@ class InternalStudentControllerTest {
 
         // When / Then
         mockMvc.perform(get("/internal/students/999")
-                        .header("X-Internal-Request", "true"))
+                        .with(gatewayIdentity()))
                 .andExpect(status().isNotFound());
     }
+
+    @Test
+    void getStudent_shouldReturn403_whenOnlyLegacyHeaderProvided() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/internal/students/1")
+                        .header("X-Internal-Request", "true"))
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Authenticate the request as the Gateway, as {@code IdentityEnvelopeFilter} does.
+     */
+    private static RequestPostProcessor gatewayIdentity() {
+        CallerIdentity identity = new CallerIdentity(null, List.of());
+        return authentication(UsernamePasswordAuthenticationToken.authenticated(identity, null, List.of()));
+    }
 }
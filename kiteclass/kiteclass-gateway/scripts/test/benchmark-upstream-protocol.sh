@@ -0,0 +1,133 @@
+#!/bin/bash
+
+# =====================================================
+# KiteClass Gateway - Upstream Protocol Benchmark
+# Compares HTTP/1.1 and h2c between gateway and core
+# on the student routes.
+#
+# Requirements:
+#   - kiteclass-core running (server.http2.enabled=true), default http://localhost:8081
+#   - PostgreSQL and Redis for the gateway
+#   - Gateway jar built: ./mvnw -DskipTests package
+#   - hey (https://github.com/rakyll/hey), curl and jq
+#
+# Usage: ./benchmark-upstream-protocol.sh [duration] [concurrency] [path]
+#   e.g. ./benchmark-upstream-protocol.sh 30s 64 /api/v1/students?page=0&size=20
+# =====================================================
+
+DURATION="${1:-30s}"
+CONCURRENCY="${2:-64}"
+TARGET_PATH="${3:-/api/v1/students?page=0&size=20}"
+PORT="${BENCHMARK_PORT:-18080}"
+BASE_URL="http://localhost:$PORT"
+EMAIL="${BENCHMARK_EMAIL:-owner@kiteclass.local}"
+PASSWORD="${BENCHMARK_PASSWORD:-Admin@123}"
+GREEN='\033[0;32m'
+RED='\033[0;31m'
+NC='\033[0m' # No Color
+
+cd "$(dirname "$0")/../.."
+
+for tool in hey curl jq java; do
+    if ! command -v "$tool" &> /dev/null; then
+        echo -e "${RED}❌ $tool is not installed${NC}"
+        exit 1
+    fi
+done
+
+JAR=$(ls target/kiteclass-gateway-*.jar 2>/dev/null | grep -v original | head -1)
+if [ -z "$JAR" ]; then
+    echo -e "${RED}❌ Gateway jar not found. Build it first: ./mvnw -DskipTests package${NC}"
+    exit 1
+fi
+
+RESULTS=$(mktemp -d)
+GATEWAY_PID=""
+trap '[ -n "$GATEWAY_PID" ] && kill "$GATEWAY_PID" 2>/dev/null' EXIT
+
+# Only the upstream transport should differ between runs: features that avoid
+# upstream calls or throttle the load generator are turned off.
+start_gateway() {
+    java -jar "$JAR" \
+        --server.port="$PORT" \
+        --upstream-http.protocol="$1" \
+        --rate-limit.enabled=false \
+        --response-cache.enabled=false \
+        --request-coalescing.enabled=false \
+        --hedging.enabled=false \
+        --access-log.sample-rate=0 \
+        > "$RESULTS/gateway-$1.log" 2>&1 &
+    GATEWAY_PID=$!
+
+    for _ in $(seq 1 60); do
+        if curl -s "$BASE_URL/actuator/health" > /dev/null 2>&1; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo -e "${RED}❌ Gateway did not start, see $RESULTS/gateway-$1.log${NC}"
+    exit 1
+}
+
+stop_gateway() {
+    kill "$GATEWAY_PID" 2>/dev/null
+    wait "$GATEWAY_PID" 2>/dev/null
+    GATEWAY_PID=""
+}
+
+echo "=========================================="
+echo "Upstream Protocol Benchmark"
+echo "  $TARGET_PATH, $CONCURRENCY concurrent clients, $DURATION per protocol"
+echo "=========================================="
+
+for protocol in HTTP11 H2C; do
+    echo ""
+    echo "▶ $protocol"
+    start_gateway "$protocol"
+
+    ACCESS_TOKEN=$(curl -s -X POST "$BASE_URL/api/v1/auth/login" \
+        -H "Content-Type: application/json" \
+        -d "{\"email\": \"$EMAIL\", \"password\": \"$PASSWORD\"}" | jq -r '.data.accessToken // empty')
+    if [ -z "$ACCESS_TOKEN" ]; then
+        echo -e "${RED}❌ Login failed${NC}"
+        exit 1
+    fi
+
+    # Warm up connections and JIT before measuring
+    hey -z 10s -c "$CONCURRENCY" -H "Authorization: Bearer $ACCESS_TOKEN" "$BASE_URL$TARGET_PATH" > /dev/null
+    hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $ACCESS_TOKEN" \
+        "$BASE_URL$TARGET_PATH" > "$RESULTS/$protocol.txt"
+
+    # Pool state at the end of the run
+    curl -s "$BASE_URL/actuator/prometheus" | grep "^reactor_netty_connection_provider" \
+        > "$RESULTS/$protocol-pool.txt"
+
+    stop_gateway
+    echo -e "${GREEN}✓ Done${NC}"
+done
+
+summary() {
+    local file="$RESULTS/$1.txt"
+    local rps p50 p95 p99 errors
+    rps=$(grep "Requests/sec" "$file" | awk '{print $2}')
+    p50=$(grep "50% in" "$file" | awk '{print $3 * 1000}')
+    p95=$(grep "95% in" "$file" | awk '{print $3 * 1000}')
+    p99=$(grep "99% in" "$file" | awk '{print $3 * 1000}')
+    errors=$(grep -c "^\s*\[[^2][0-9][0-9]\]" "$file")
+    printf "%-8s %12s %10s %10s %10s %14s\n" "$1" "$rps" "$p50" "$p95" "$p99" "$errors"
+}
+
+echo ""
+echo "=========================================="
+echo "Results"
+echo "=========================================="
+printf "%-8s %12s %10s %10s %10s %14s\n" "Protocol" "Requests/s" "p50 (ms)" "p95 (ms)" "p99 (ms)" "Non-2xx codes"
+summary HTTP11
+summary H2C
+echo ""
+echo "Active connections at the end of each run:"
+for protocol in HTTP11 H2C; do
+    echo "  $protocol: $(grep 'reactor_netty_connection_provider_total_connections' "$RESULTS/$protocol-pool.txt" | awk '{sum += $2} END {print sum + 0}')"
+done
+echo ""
+echo "Raw output: $RESULTS"
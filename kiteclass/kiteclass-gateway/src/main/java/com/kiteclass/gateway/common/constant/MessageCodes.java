@@ -20,6 +20,7 @@ public final class MessageCodes {
     public static final String INTERNAL_ERROR = "error.internal";
     public static final String UNAUTHORIZED = "error.unauthorized";
     public static final String FORBIDDEN = "error.forbidden";
+    public static final String TOO_MANY_REQUESTS = "error.too_many_requests";
 
     // Auth codes
     public static final String AUTH_INVALID_CREDENTIALS = "error.auth.invalid_credentials";
@@ -39,6 +40,9 @@ public final class MessageCodes {
     // User codes
     public static final String USER_NOT_FOUND = "error.user.not_found";
 
+    // Pagination codes
+    public static final String PAGINATION_CURSOR_INVALID = "error.pagination.cursor_invalid";
+
     // Validation codes
     public static final String VALIDATION_REQUIRED = "validation.required";
     public static final String VALIDATION_MIN_LENGTH = "validation.min_length";
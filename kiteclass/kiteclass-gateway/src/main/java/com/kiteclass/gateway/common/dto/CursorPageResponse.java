@@ -0,0 +1,47 @@
+package com.kiteclass.gateway.common.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cursor-paginated response wrapper for list endpoints.
+ *
+ * <p>Unlike {@link PageResponse}, pages are addressed by an opaque cursor rather than a
+ * page number, so fetching a deep page costs the same as fetching the first one. The
+ * total is only present when requested, and may be approximate.
+ *
+ * @param <T> Type of items in the list
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+
+    /**
+     * Cursor of the next page, null on the last page.
+     */
+    private String nextCursor;
+
+    /**
+     * Total number of elements, null when not requested.
+     */
+    private Long totalElements;
+
+    /**
+     * Whether totalElements is an estimate rather than an exact count.
+     */
+    private Boolean totalApproximate;
+}
@@ -0,0 +1,61 @@
+package com.kiteclass.gateway.common.dto;
+
+import com.kiteclass.gateway.common.constant.MessageCodes;
+import com.kiteclass.gateway.common.exception.BusinessException;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a list ordered by {@code (created_at DESC, id DESC)}: the last row of the
+ * previous page.
+ *
+ * <p>Sent to clients as an opaque URL-safe token. Clients must not build or parse it.
+ *
+ * @param createdAt creation time of the last row
+ * @param id        ID of the last row, breaking ties on createdAt
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public record PageCursor(Instant createdAt, Long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encode the cursor as an opaque token.
+     *
+     * @return URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token cursor token
+     * @return decoded cursor
+     * @throws BusinessException (400) if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw invalid();
+            }
+            return new PageCursor(Instant.parse(raw.substring(0, separator)),
+                    Long.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw invalid();
+        }
+    }
+
+    private static BusinessException invalid() {
+        return new BusinessException(MessageCodes.PAGINATION_CURSOR_INVALID, HttpStatus.BAD_REQUEST);
+    }
+}
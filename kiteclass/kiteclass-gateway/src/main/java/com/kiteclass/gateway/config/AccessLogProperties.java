@@ -0,0 +1,72 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Configuration properties for gateway access logging.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "access-log")
+public class AccessLogProperties {
+
+    /**
+     * Log format.
+     */
+    private Mode mode = Mode.STRUCTURED;
+
+    /**
+     * Fraction of successful, fast requests that are logged (0.0 to 1.0).
+     * Errors and slow requests are always logged.
+     */
+    private double sampleRate = 1.0;
+
+    /**
+     * Requests taking longer than this are logged as slow.
+     */
+    private Duration slowThreshold = Duration.ofSeconds(5);
+
+    /**
+     * Slow thresholds by route ID, overriding {@link #slowThreshold}.
+     */
+    private Map<String, Duration> routeSlowThresholds = new HashMap<>();
+
+    /**
+     * Maximum number of records waiting for the background writer (structured mode).
+     * Records beyond this are dropped and counted instead of blocking requests.
+     */
+    private int bufferSize = 8192;
+
+    /**
+     * Resolve the slow threshold of a route.
+     *
+     * @param routeId route ID, or null if no route matched
+     * @return slow threshold
+     */
+    public Duration slowThresholdFor(String routeId) {
+        return routeId != null ? routeSlowThresholds.getOrDefault(routeId, slowThreshold) : slowThreshold;
+    }
+
+    /**
+     * Access log format.
+     */
+    public enum Mode {
+        /**
+         * One fixed-layout line per request, written by a background thread.
+         */
+        STRUCTURED,
+        /**
+         * Separate request and response messages written inline.
+         */
+        TEXT
+    }
+}
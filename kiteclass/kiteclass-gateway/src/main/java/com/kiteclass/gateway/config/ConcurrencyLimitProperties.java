@@ -0,0 +1,76 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for adaptive concurrency limits and circuit breakers on
+ * upstream routes.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+    /**
+     * Enable or disable limiting on routes that use ConcurrencyLimitFilter.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Concurrent requests allowed per route before any latency has been observed.
+     */
+    private int initialLimit = 20;
+
+    /**
+     * Lowest concurrency limit per route.
+     */
+    private int minLimit = 4;
+
+    /**
+     * Highest concurrency limit per route.
+     */
+    private int maxLimit = 200;
+
+    /**
+     * Weight of each new limit estimate (0.0 to 1.0). Lower values react more slowly.
+     */
+    private double smoothing = 0.2;
+
+    /**
+     * How much slower than the long-term latency requests may get before the limit
+     * is reduced (1.5 = 50% slower).
+     */
+    private double rttTolerance = 1.5;
+
+    /**
+     * Number of recent calls the circuit breaker evaluates per route.
+     */
+    private int slidingWindowSize = 50;
+
+    /**
+     * Calls needed in the window before the failure rate is evaluated.
+     */
+    private int minimumCalls = 20;
+
+    /**
+     * Failure rate (0.0 to 1.0) at which the circuit opens.
+     */
+    private double failureRateThreshold = 0.5;
+
+    /**
+     * How long an open circuit rejects requests before letting probes through.
+     */
+    private Duration openDuration = Duration.ofSeconds(10);
+
+    /**
+     * Probe requests allowed while half-open; all must succeed to close the circuit.
+     */
+    private int halfOpenCalls = 5;
+}
@@ -0,0 +1,77 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the email outbox worker.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "email.outbox")
+public class EmailOutboxProperties {
+
+    /**
+     * Whether this instance sends emails from the outbox. Emails are queued either way.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Interval at which the outbox is checked for due emails.
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * Maximum emails claimed per check.
+     */
+    private int batchSize = 50;
+
+    /**
+     * SMTP connections a batch is spread over. Each connection sends its share of the
+     * batch in one session.
+     */
+    private int connections = 2;
+
+    /**
+     * Emails sent per minute to one recipient domain; the rest wait for the next
+     * minute. 0 disables the limit.
+     */
+    private int domainLimitPerMinute = 120;
+
+    /**
+     * Failed attempts after which an email is given up.
+     */
+    private int maxAttempts = 8;
+
+    /**
+     * Delay before the first retry, doubled with every further failure.
+     */
+    private Duration initialBackoff = Duration.ofMinutes(1);
+
+    /**
+     * Longest delay between retries.
+     */
+    private Duration maxBackoff = Duration.ofHours(1);
+
+    /**
+     * How long claimed emails stay out of reach of other instances. Emails of an
+     * instance that dies while sending are sent again after this long.
+     */
+    private Duration claimLease = Duration.ofMinutes(5);
+
+    /**
+     * How long given-up emails are kept, without their body, before being deleted.
+     */
+    private Duration failedRetention = Duration.ofDays(7);
+
+    /**
+     * Interval at which given-up emails past their retention are deleted.
+     */
+    private Duration purgeInterval = Duration.ofHours(1);
+}
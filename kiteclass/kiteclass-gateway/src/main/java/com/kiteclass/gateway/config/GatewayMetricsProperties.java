@@ -0,0 +1,58 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuration properties for per-route gateway metrics.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "gateway-metrics")
+public class GatewayMetricsProperties {
+
+    /**
+     * Enable or disable per-route request timers.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Publish percentile histogram buckets so p50/p95/p99 can be aggregated in Prometheus.
+     */
+    private boolean percentileHistogram = true;
+
+    /**
+     * Latency SLO boundaries published as histogram buckets.
+     */
+    private List<Duration> sloBuckets = List.of(
+            Duration.ofMillis(50),
+            Duration.ofMillis(100),
+            Duration.ofMillis(250),
+            Duration.ofMillis(500),
+            Duration.ofSeconds(1),
+            Duration.ofSeconds(2));
+
+    /**
+     * SLO boundaries by route ID, overriding {@link #sloBuckets}.
+     */
+    private Map<String, List<Duration>> routeSloBuckets = new HashMap<>();
+
+    /**
+     * Resolve the SLO boundaries of a route.
+     *
+     * @param routeId route ID
+     * @return SLO boundaries
+     */
+    public List<Duration> sloBucketsFor(String routeId) {
+        return routeSloBuckets.getOrDefault(routeId, sloBuckets);
+    }
+}
@@ -0,0 +1,54 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for hedged upstream requests.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "hedging")
+public class HedgingProperties {
+
+    /**
+     * Enable or disable hedging on routes that use HedgedRequestFilter.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Extra upstream load allowed for hedges, as a percentage of requests.
+     */
+    private double budgetPercent = 10;
+
+    /**
+     * Latency percentile of the route after which a hedge is sent (0.0 to 1.0).
+     */
+    private double delayPercentile = 0.95;
+
+    /**
+     * Hedges that may be sent back to back after a quiet period.
+     */
+    private int budgetBurst = 10;
+
+    /**
+     * Shortest hedge delay.
+     */
+    private Duration minDelay = Duration.ofMillis(50);
+
+    /**
+     * Longest hedge delay, also used until enough latencies have been observed.
+     */
+    private Duration maxDelay = Duration.ofSeconds(1);
+
+    /**
+     * Time each upstream attempt has to start answering.
+     */
+    private Duration timeout = Duration.ofSeconds(10);
+}
@@ -0,0 +1,31 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the identity envelope attached to requests forwarded
+ * to Core.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "identity-envelope")
+public class IdentityEnvelopeProperties {
+
+    /**
+     * HMAC-SHA256 key shared with Core, at least 32 bytes.
+     */
+    private String secret;
+
+    /**
+     * How long an envelope is accepted after it is signed. Only needs to cover the
+     * time for the request to reach Core.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,40 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for buffering last login times.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "last-login")
+public class LastLoginProperties {
+
+    /**
+     * Interval at which buffered login times are written, which is also how stale
+     * {@code users.last_login_at} can be.
+     */
+    private Duration flushInterval = Duration.ofSeconds(10);
+
+    /**
+     * Maximum users updated by one statement.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Buffered users at which a write starts before the interval has passed.
+     */
+    private int maxPending = 10000;
+
+    /**
+     * How long shutdown waits for the final write.
+     */
+    private Duration shutdownTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,20 @@
+package com.kiteclass.gateway.config;
+
+import com.kiteclass.gateway.service.impl.LeastOutstandingLoadBalancer;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Client-side load balancing for {@code lb://} routes.
+ *
+ * <p>Every service is balanced by {@link LeastOutstandingLoadBalancer} over its
+ * discovered instances, keeping only those that pass active health checks. The beans
+ * of each service are defined in {@link ServiceLoadBalancerConfiguration}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Configuration
+@LoadBalancerClients(defaultConfiguration = ServiceLoadBalancerConfiguration.class)
+public class LoadBalancerConfig {
+}
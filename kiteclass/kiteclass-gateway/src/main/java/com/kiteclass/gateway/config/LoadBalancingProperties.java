@@ -0,0 +1,33 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for client-side load balancing of {@code lb://} routes.
+ *
+ * <p>Instances come from {@code spring.cloud.discovery.client.simple.instances} (or any
+ * other discovery client) and are health checked as configured under
+ * {@code spring.cloud.loadbalancer.health-check}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "load-balancing")
+public class LoadBalancingProperties {
+
+    /**
+     * Time over which a new or recovered instance ramps up to its full share of traffic.
+     */
+    private Duration slowStart = Duration.ofSeconds(30);
+
+    /**
+     * Weight of an instance when slow start begins (0.0 to 1.0).
+     */
+    private double slowStartMinWeight = 0.1;
+}
@@ -0,0 +1,46 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for failed login tracking and account locking.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "login-attempts")
+public class LoginAttemptProperties {
+
+    /**
+     * Whether failed logins are counted in Redis. When false, or without a Redis
+     * connection, they are counted on the user's row.
+     */
+    private boolean redis = true;
+
+    /**
+     * Failed logins after which the account is locked.
+     */
+    private int maxFailedAttempts = 5;
+
+    /**
+     * How long a locked account stays locked.
+     */
+    private Duration lockDuration = Duration.ofMinutes(30);
+
+    /**
+     * Window in which failed logins are counted in Redis, starting at the first
+     * failure.
+     */
+    private Duration failureWindow = Duration.ofMinutes(30);
+
+    /**
+     * Prefix of all Redis keys written by the tracker.
+     */
+    private String keyPrefix = "login:";
+}
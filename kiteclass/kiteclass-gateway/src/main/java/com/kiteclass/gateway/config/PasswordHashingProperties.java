@@ -0,0 +1,28 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the password hashing executor.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingProperties {
+
+    /**
+     * Number of threads running BCrypt. Defaults to the number of available processors.
+     */
+    private int poolSize = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Maximum number of hashing tasks waiting for a thread.
+     * Requests beyond this are rejected with 429 instead of queueing.
+     */
+    private int queueCapacity = 64;
+}
@@ -0,0 +1,33 @@
+package com.kiteclass.gateway.config;
+
+import com.kiteclass.gateway.service.RateLimiter;
+import com.kiteclass.gateway.service.impl.LocalRateLimiter;
+import com.kiteclass.gateway.service.impl.RedisRateLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Rate limiter configuration.
+ *
+ * <p>Uses the Redis-backed limiter when distributed rate limiting is enabled and a
+ * Redis connection is configured, otherwise limits each instance in memory.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Configuration
+public class RateLimiterConfig {
+
+    @Bean
+    public RateLimiter rateLimiter(RateLimitingProperties properties,
+                                   ObjectProvider<ReactiveStringRedisTemplate> redisTemplate) {
+        LocalRateLimiter localRateLimiter = new LocalRateLimiter(properties);
+        ReactiveStringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (!properties.isDistributed() || template == null) {
+            return localRateLimiter;
+        }
+        return new RedisRateLimiter(template, properties, localRateLimiter);
+    }
+}
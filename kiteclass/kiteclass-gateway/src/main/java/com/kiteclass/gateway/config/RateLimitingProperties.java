@@ -4,6 +4,12 @@ import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 /**
  * Configuration properties for rate limiting.
  *
@@ -27,11 +33,104 @@ public class RateLimitingProperties {
 
     /**
      * Requests per minute for authenticated users.
+     * Used for users none of whose roles appear in {@link #roleRequestsPerMinute}.
      */
     private long authenticatedRequestsPerMinute = 1000;
 
+    /**
+     * Requests per minute by role code (e.g. OWNER, ADMIN, TEACHER, PARENT).
+     * A user with several roles gets the highest limit among them.
+     */
+    private Map<String, Long> roleRequestsPerMinute = new HashMap<>();
+
+    /**
+     * Named policies that routes opt into with {@code RateLimitingFilter=<name>}.
+     * Each policy has its own buckets, separate from the default ones.
+     */
+    private Map<String, Policy> policies = new HashMap<>();
+
     /**
      * Time window in seconds for rate limiting.
      */
     private long timeWindowSeconds = 60;
+
+    /**
+     * Share buckets across gateway instances through Redis.
+     * When false, limits apply per instance.
+     */
+    private boolean distributed = true;
+
+    /**
+     * Maximum number of keys held in the local bucket and lease caches.
+     */
+    private long localCacheMaxSize = 100_000;
+
+    /**
+     * Maximum number of tokens an instance leases from Redis in one call.
+     * Smaller buckets lease fewer (capacity / 20, at least 1).
+     */
+    private long tokenBatchSize = 20;
+
+    /**
+     * How long leased tokens may be served locally before they are dropped.
+     */
+    private Duration leaseTtl = Duration.ofSeconds(1);
+
+    /**
+     * Resolve the bucket capacity for a request.
+     *
+     * @param policy policy of the route, or null for the default limits
+     * @param roles  role codes of the authenticated user, or null if unauthenticated
+     * @return requests (tokens) per time window
+     */
+    public long capacityFor(Policy policy, Collection<String> roles) {
+        if (roles == null) {
+            return policy != null && policy.getUnauthenticatedRequestsPerMinute() != null
+                    ? policy.getUnauthenticatedRequestsPerMinute()
+                    : unauthenticatedRequestsPerMinute;
+        }
+
+        Map<String, Long> byRole = policy != null && !policy.getRoleRequestsPerMinute().isEmpty()
+                ? policy.getRoleRequestsPerMinute()
+                : roleRequestsPerMinute;
+        long fallback = policy != null && policy.getAuthenticatedRequestsPerMinute() != null
+                ? policy.getAuthenticatedRequestsPerMinute()
+                : authenticatedRequestsPerMinute;
+
+        return roles.stream()
+                .map(byRole::get)
+                .filter(Objects::nonNull)
+                .mapToLong(Long::longValue)
+                .max()
+                .orElse(fallback);
+    }
+
+    /**
+     * Rate limiting policy for a group of routes.
+     *
+     * <p>Limits left unset fall back to the top-level ones.
+     */
+    @Data
+    public static class Policy {
+
+        /**
+         * Tokens each request costs.
+         */
+        private long cost = 1;
+
+        /**
+         * Requests per minute for unauthenticated users (by IP address).
+         */
+        private Long unauthenticatedRequestsPerMinute;
+
+        /**
+         * Requests per minute for authenticated users without a role-specific limit.
+         */
+        private Long authenticatedRequestsPerMinute;
+
+        /**
+         * Requests per minute by role code.
+         */
+        private Map<String, Long> roleRequestsPerMinute = new HashMap<>();
+    }
 }
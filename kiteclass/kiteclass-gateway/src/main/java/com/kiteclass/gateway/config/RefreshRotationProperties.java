@@ -0,0 +1,41 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for refresh token rotation.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "refresh-rotation")
+public class RefreshRotationProperties {
+
+    /**
+     * How long after a refresh token is rotated the same token keeps returning the
+     * token pair it was rotated to. Zero disables sharing between requests.
+     */
+    private Duration graceWindow = Duration.ofSeconds(10);
+
+    /**
+     * How long a refresh with an already consumed token waits for the pair being
+     * issued by a concurrent refresh on another instance.
+     */
+    private Duration handoffWait = Duration.ofSeconds(1);
+
+    /**
+     * Interval at which a waiting refresh checks for the pair.
+     */
+    private Duration handoffPollInterval = Duration.ofMillis(100);
+
+    /**
+     * Maximum number of rotations remembered by this instance.
+     */
+    private long maxEntries = 10_000;
+}
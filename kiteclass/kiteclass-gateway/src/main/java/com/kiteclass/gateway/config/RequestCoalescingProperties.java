@@ -0,0 +1,37 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for coalescing identical concurrent GET requests.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "request-coalescing")
+public class RequestCoalescingProperties {
+
+    /**
+     * Enable or disable coalescing on routes that use RequestCoalescingFilter.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long a request waits for an identical in-flight request before calling
+     * upstream itself.
+     */
+    private Duration maxWait = Duration.ofSeconds(10);
+
+    /**
+     * Largest response body replayed to waiting requests. Waiters of a larger
+     * response call upstream themselves.
+     */
+    private DataSize maxBodySize = DataSize.ofMegabytes(1);
+}
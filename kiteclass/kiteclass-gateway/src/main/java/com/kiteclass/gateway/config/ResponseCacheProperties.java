@@ -0,0 +1,29 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configuration properties for the gateway response cache.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Enable or disable response caching on routes that use ResponseCacheFilter.
+     * ETags are still sent when disabled.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Largest response body that is cached. Larger responses pass through.
+     */
+    private DataSize maxBodySize = DataSize.ofKilobytes(256);
+}
@@ -0,0 +1,31 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the in-memory role and permission catalog.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "role-catalog")
+public class RoleCatalogProperties {
+
+    /**
+     * Redis channel on which role changes are announced to every gateway instance.
+     */
+    private String channel = "role-catalog:invalidate";
+
+    /**
+     * Interval at which the catalog is reloaded regardless of announcements, so that
+     * changes made directly in the database or missed while Redis was unreachable are
+     * eventually picked up. Zero disables periodic reloads.
+     */
+    private Duration refreshInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,48 @@
+package com.kiteclass.gateway.config;
+
+import com.kiteclass.gateway.service.impl.LeastOutstandingLoadBalancer;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.loadbalancer.core.ReactorLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Beans of each service's load balancer context.
+ *
+ * <p>Deliberately not a {@code @Configuration}: it is loaded only into the per-service
+ * contexts created by {@link LoadBalancerConfig}, not into the application context.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class ServiceLoadBalancerConfiguration {
+
+    @Bean
+    public ServiceInstanceListSupplier serviceInstanceListSupplier(ConfigurableApplicationContext context) {
+        return ServiceInstanceListSupplier.builder()
+                .withDiscoveryClient()
+                .withHealthChecks()
+                // Leaves out the previous instance of a retry or hedge, if there is another
+                .withRetryAwareness()
+                .build(context);
+    }
+
+    @Bean
+    public ReactorLoadBalancer<ServiceInstance> reactorServiceInstanceLoadBalancer(
+            Environment environment,
+            LoadBalancerClientFactory loadBalancerClientFactory,
+            LoadBalancingProperties properties,
+            MeterRegistry meterRegistry) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new LeastOutstandingLoadBalancer(
+                loadBalancerClientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                serviceId,
+                properties.getSlowStart(),
+                properties.getSlowStartMinWeight(),
+                meterRegistry);
+    }
+}
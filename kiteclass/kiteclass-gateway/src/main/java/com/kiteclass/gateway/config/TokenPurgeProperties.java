@@ -0,0 +1,55 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the background purge of expired and used tokens.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token-purge")
+public class TokenPurgeProperties {
+
+    /**
+     * Whether the purge runs at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Delay after startup before the first run.
+     */
+    private Duration initialDelay = Duration.ofMinutes(1);
+
+    /**
+     * Interval between runs.
+     */
+    private Duration interval = Duration.ofHours(1);
+
+    /**
+     * Maximum rows deleted by one statement, which bounds lock time and WAL per
+     * transaction.
+     */
+    private int batchSize = 1000;
+
+    /**
+     * Pause between batches, giving replication and vacuum time to catch up.
+     */
+    private Duration pause = Duration.ofMillis(200);
+
+    /**
+     * Maximum batches per table and run; remaining rows are left for the next run.
+     */
+    private int maxBatchesPerRun = 500;
+
+    /**
+     * Redis key of the lease that elects the single instance running the purge.
+     */
+    private String leaseKey = "token-purge:lease";
+}
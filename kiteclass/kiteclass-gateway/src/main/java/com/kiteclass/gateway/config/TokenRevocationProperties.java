@@ -0,0 +1,52 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for access token revocation.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token-revocation")
+public class TokenRevocationProperties {
+
+    /**
+     * Whether revoked access tokens are rejected. Needs Redis; without a Redis
+     * connection access tokens stay valid until they expire.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Prefix of all Redis keys written for revocations.
+     */
+    private String keyPrefix = "revoked:";
+
+    /**
+     * Redis channel on which revocations are announced to every gateway instance.
+     */
+    private String channel = "token-revocation:revoked";
+
+    /**
+     * Interval at which the in-memory filter is rebuilt from Redis, dropping expired
+     * revocations and picking up any announcement missed while Redis was unreachable.
+     */
+    private Duration rebuildInterval = Duration.ofMinutes(5);
+
+    /**
+     * Number of live revocations the in-memory filter is sized for. More revocations
+     * raise the false positive rate, and with it the share of requests checked in Redis.
+     */
+    private int expectedRevocations = 100_000;
+
+    /**
+     * False positive rate of the in-memory filter at the expected number of revocations.
+     */
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,39 @@
+package com.kiteclass.gateway.config;
+
+import com.kiteclass.gateway.module.auth.repository.PasswordResetTokenRepository;
+import com.kiteclass.gateway.module.auth.repository.RefreshTokenRepository;
+import com.kiteclass.gateway.module.auth.service.TokenStore;
+import com.kiteclass.gateway.module.auth.service.impl.DatabaseTokenStore;
+import com.kiteclass.gateway.module.auth.service.impl.RedisTokenStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+
+/**
+ * Token store configuration.
+ *
+ * <p>Uses the Redis-backed store, with the database as fallback, when the Redis
+ * backend is selected and a Redis connection is configured; otherwise stores tokens
+ * in the database only.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Configuration
+public class TokenStoreConfig {
+
+    @Bean
+    public TokenStore tokenStore(TokenStoreProperties properties,
+                                 ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                                 RefreshTokenRepository refreshTokenRepository,
+                                 PasswordResetTokenRepository passwordResetTokenRepository) {
+        DatabaseTokenStore databaseTokenStore =
+                new DatabaseTokenStore(refreshTokenRepository, passwordResetTokenRepository);
+        ReactiveStringRedisTemplate template = redisTemplate.getIfAvailable();
+        if (properties.getBackend() != TokenStoreProperties.Backend.REDIS || template == null) {
+            return databaseTokenStore;
+        }
+        return new RedisTokenStore(template, properties, databaseTokenStore);
+    }
+}
@@ -0,0 +1,44 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration properties for the refresh and password reset token store.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "token-store")
+public class TokenStoreProperties {
+
+    /**
+     * Where new tokens are stored. Tokens found only in the database, such as those
+     * issued before switching to Redis, remain valid with either backend.
+     */
+    private Backend backend = Backend.REDIS;
+
+    /**
+     * Prefix of all Redis keys written by the token store.
+     */
+    private String keyPrefix = "auth:";
+
+    /**
+     * Token store backends.
+     */
+    public enum Backend {
+
+        /**
+         * Token digests in Redis with native expiry; the database is only the fallback.
+         */
+        REDIS,
+
+        /**
+         * Tokens in the {@code refresh_tokens} and {@code password_reset_tokens} tables.
+         */
+        DATABASE
+    }
+}
@@ -0,0 +1,55 @@
+package com.kiteclass.gateway.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.socket.nio.NioChannelOption;
+import jdk.net.ExtendedSocketOptions;
+import org.springframework.cloud.gateway.config.HttpClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * Upstream HTTP client configuration.
+ *
+ * <p>Applies the protocol and TCP keep-alive settings of {@link UpstreamHttpProperties}
+ * to the client Spring Cloud Gateway routes with, on top of its pool settings.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Configuration
+public class UpstreamHttpClientConfig {
+
+    @Bean
+    public HttpClientCustomizer upstreamHttpClientCustomizer(UpstreamHttpProperties properties) {
+        return httpClient -> customize(httpClient, properties);
+    }
+
+    static HttpClient customize(HttpClient httpClient, UpstreamHttpProperties properties) {
+        HttpClient customized = properties.getProtocol() == UpstreamHttpProperties.Protocol.H2C
+                ? httpClient.protocol(HttpProtocol.H2C)
+                : httpClient.protocol(HttpProtocol.HTTP11);
+
+        if (!properties.isTcpKeepAlive()) {
+            return customized;
+        }
+        int idle = (int) properties.getKeepAliveIdle().toSeconds();
+        int interval = (int) properties.getKeepAliveInterval().toSeconds();
+        int count = properties.getKeepAliveCount();
+        customized = customized.option(ChannelOption.SO_KEEPALIVE, true);
+        // Reactor Netty uses the native transport when available, NIO otherwise
+        if (Epoll.isAvailable()) {
+            return customized
+                    .option(EpollChannelOption.TCP_KEEPIDLE, idle)
+                    .option(EpollChannelOption.TCP_KEEPINTVL, interval)
+                    .option(EpollChannelOption.TCP_KEEPCNT, count);
+        }
+        return customized
+                .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPIDLE), idle)
+                .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPINTERVAL), interval)
+                .option(NioChannelOption.of(ExtendedSocketOptions.TCP_KEEPCOUNT), count);
+    }
+}
@@ -0,0 +1,64 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for the HTTP client that routes requests to upstream services.
+ *
+ * <p>Pool sizing, timeouts and pool metrics are set with the standard
+ * {@code spring.cloud.gateway.httpclient} properties; these cover what those do not.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "upstream-http")
+public class UpstreamHttpProperties {
+
+    /**
+     * Protocol spoken to upstream services.
+     */
+    private Protocol protocol = Protocol.HTTP11;
+
+    /**
+     * Enable TCP keep-alive probes on upstream connections.
+     */
+    private boolean tcpKeepAlive = true;
+
+    /**
+     * Idle time before the first keep-alive probe is sent.
+     */
+    private Duration keepAliveIdle = Duration.ofSeconds(60);
+
+    /**
+     * Time between keep-alive probes.
+     */
+    private Duration keepAliveInterval = Duration.ofSeconds(10);
+
+    /**
+     * Unanswered probes before the connection is dropped.
+     */
+    private int keepAliveCount = 3;
+
+    /**
+     * Upstream protocols.
+     */
+    public enum Protocol {
+
+        /**
+         * HTTP/1.1, one request at a time per connection.
+         */
+        HTTP11,
+
+        /**
+         * Cleartext HTTP/2 with prior knowledge; requests are multiplexed over few connections.
+         * Upstream services must accept h2c.
+         */
+        H2C
+    }
+}
@@ -0,0 +1,30 @@
+package com.kiteclass.gateway.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Configuration properties for user listing.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "user-listing")
+public class UserListingProperties {
+
+    /**
+     * How long an approximate total, returned by cursor pagination, is reused before
+     * the users are counted again.
+     */
+    private Duration countCacheTtl = Duration.ofSeconds(60);
+
+    /**
+     * Maximum number of search terms whose approximate total is cached.
+     */
+    private long countCacheMaxSize = 1000;
+}
@@ -0,0 +1,34 @@
+package com.kiteclass.gateway.filter;
+
+/**
+ * One completed request, as handed to the {@link AccessLogWriter}.
+ *
+ * <p>Holds only values already captured by the filter; formatting happens on the
+ * writer thread.
+ *
+ * @param timestamp     request start (epoch milliseconds)
+ * @param correlationId correlation ID
+ * @param routeId       matched route ID, or null
+ * @param method        HTTP method
+ * @param path          request path
+ * @param query         raw query string, or null
+ * @param remoteAddress client address
+ * @param status        response status code, 0 if unknown
+ * @param durationMs    request duration in milliseconds
+ * @param slow          whether the request exceeded the slow threshold
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public record AccessLogRecord(
+        long timestamp,
+        String correlationId,
+        String routeId,
+        String method,
+        String path,
+        String query,
+        String remoteAddress,
+        int status,
+        long durationMs,
+        boolean slow
+) {
+}
@@ -0,0 +1,162 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.AccessLogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes access log records from a bounded buffer on a background thread.
+ *
+ * <p>Request threads only enqueue an {@link AccessLogRecord}; formatting and appender
+ * I/O happen on the writer thread, which drains the buffer in batches and reuses one
+ * {@link StringBuilder}. When the buffer is full the record is dropped and counted, so
+ * logging never blocks the event loop.
+ *
+ * <p>Lines go to the {@code ACCESS_LOG} logger in {@code key=value} layout; slow
+ * requests and 5xx responses are written at WARN.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code gateway.access_log.buffer} - records waiting to be written</li>
+ *   <li>{@code gateway.access_log.dropped} - records dropped because the buffer was full</li>
+ * </ul>
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class AccessLogWriter {
+
+    private static final Logger ACCESS_LOG = LoggerFactory.getLogger("ACCESS_LOG");
+    private static final int BATCH_SIZE = 256;
+
+    private final BlockingQueue<AccessLogRecord> buffer;
+    private final Counter droppedCounter;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(AccessLogProperties properties, MeterRegistry meterRegistry) {
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+        this.writerThread = new Thread(this::drainLoop, "access-log-writer");
+        this.writerThread.setDaemon(true);
+
+        Gauge.builder("gateway.access_log.buffer", buffer, BlockingQueue::size)
+                .description("Access log records waiting to be written")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("gateway.access_log.dropped")
+                .description("Access log records dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Start the writer thread.
+     */
+    @PostConstruct
+    public void start() {
+        writerThread.start();
+    }
+
+    /**
+     * Stop the writer thread after flushing buffered records.
+     */
+    @PreDestroy
+    public void stop() {
+        running = false;
+        writerThread.interrupt();
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Enqueue a record without blocking.
+     *
+     * @param record access log record
+     * @return true if the record was accepted, false if it was dropped
+     */
+    public boolean submit(AccessLogRecord record) {
+        if (buffer.offer(record)) {
+            return true;
+        }
+        droppedCounter.increment();
+        return false;
+    }
+
+    private void drainLoop() {
+        List<AccessLogRecord> batch = new ArrayList<>(BATCH_SIZE);
+        StringBuilder line = new StringBuilder(256);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AccessLogRecord first = buffer.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, BATCH_SIZE - 1);
+            } catch (InterruptedException e) {
+                // Interrupted by stop(): flush what is left and exit
+                buffer.drainTo(batch);
+                running = false;
+            }
+
+            for (AccessLogRecord record : batch) {
+                write(record, line);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(AccessLogRecord record, StringBuilder line) {
+        try {
+            line.setLength(0);
+            format(record, line);
+            if (record.slow() || record.status() >= 500) {
+                ACCESS_LOG.warn(line.toString());
+            } else {
+                ACCESS_LOG.info(line.toString());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to write access log record: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Format a record as one {@code key=value} line.
+     *
+     * @param record access log record
+     * @param line   builder to append to
+     */
+    static void format(AccessLogRecord record, StringBuilder line) {
+        line.append("ts=").append(Instant.ofEpochMilli(record.timestamp()))
+                .append(" cid=").append(record.correlationId())
+                .append(" route=").append(record.routeId() != null ? record.routeId() : "-")
+                .append(" method=").append(record.method())
+                .append(" path=").append(record.path());
+        if (record.query() != null && !record.query().isEmpty()) {
+            line.append('?').append(record.query());
+        }
+        line.append(" status=").append(record.status())
+                .append(" dur_ms=").append(record.durationMs())
+                .append(" ip=").append(record.remoteAddress());
+        if (record.slow()) {
+            line.append(" slow=true");
+        }
+    }
+}
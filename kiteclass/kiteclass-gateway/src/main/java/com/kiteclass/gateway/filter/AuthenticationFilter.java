@@ -1,31 +1,38 @@
 package com.kiteclass.gateway.filter;
 
-import com.kiteclass.gateway.security.jwt.JwtTokenProvider;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.IdentityEnvelopeSigner;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
 import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
+import java.util.Optional;
 
 /**
  * Gateway filter for JWT authentication.
  *
  * <p>Validates JWT token and adds user information to request headers
- * for downstream services.
+ * for downstream services. Reuses the claims already verified for this
+ * exchange by {@link BearerTokenResolver}, and rejects revoked tokens.
  *
- * <p>Headers added:
+ * <p>Headers added (replacing any the client sent):
  * <ul>
+ *   <li>X-Identity: Signed identity envelope (see {@link IdentityEnvelopeSigner})</li>
  *   <li>X-User-Id: User ID from JWT</li>
  *   <li>X-User-Roles: Comma-separated role codes</li>
  * </ul>
  *
+ * <p>Downstream services should trust only X-Identity; X-User-Id and X-User-Roles are
+ * informational.
+ *
  * @author KiteClass Team
  * @since 1.0.0
  */
@@ -33,52 +40,60 @@ import java.util.List;
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
-    private final JwtTokenProvider jwtTokenProvider;
-
-    private static final String BEARER_PREFIX = "Bearer ";
+    private final BearerTokenResolver bearerTokenResolver;
+    private final IdentityEnvelopeSigner identityEnvelopeSigner;
 
-    public AuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+    public AuthenticationFilter(BearerTokenResolver bearerTokenResolver,
+                                IdentityEnvelopeSigner identityEnvelopeSigner) {
         super(Config.class);
-        this.jwtTokenProvider = jwtTokenProvider;
+        this.bearerTokenResolver = bearerTokenResolver;
+        this.identityEnvelopeSigner = identityEnvelopeSigner;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
-            ServerHttpRequest request = exchange.getRequest();
-
-            // Extract token from Authorization header
-            String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-            if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
-                return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
-            }
-
-            String token = authHeader.substring(BEARER_PREFIX.length());
-
-            try {
-                // Validate token
-                if (!jwtTokenProvider.isAccessToken(token)) {
-                    return onError(exchange, "Invalid token type", HttpStatus.UNAUTHORIZED);
-                }
-
-                Long userId = jwtTokenProvider.getUserIdFromToken(token);
-                List<String> roles = jwtTokenProvider.getRolesFromToken(token);
-
-                // Add user info to headers for downstream services
-                ServerHttpRequest modifiedRequest = request.mutate()
-                        .header("X-User-Id", userId.toString())
-                        .header("X-User-Roles", String.join(",", roles))
-                        .build();
-
-                log.debug("Authentication successful for user: {} with roles: {}", userId, roles);
-
-                return chain.filter(exchange.mutate().request(modifiedRequest).build());
+        return (exchange, chain) -> bearerTokenResolver.resolveActive(exchange)
+                // Validate token (verified and checked for revocation at most once per exchange)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .onErrorResume(JwtException.class, e -> {
+                    log.warn("JWT validation failed: {}", e.getMessage());
+                    return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED)
+                            .then(Mono.empty());
+                })
+                .flatMap(claims -> {
+                    if (claims.isEmpty()) {
+                        return onError(exchange, "Missing or invalid Authorization header", HttpStatus.UNAUTHORIZED);
+                    }
+                    if (!claims.get().isAccessToken()) {
+                        return onError(exchange, "Invalid token type", HttpStatus.UNAUTHORIZED);
+                    }
+                    return forward(exchange, chain, claims.get());
+                });
+    }
 
-            } catch (JwtException e) {
-                log.warn("JWT validation failed: {}", e.getMessage());
-                return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
-            }
-        };
+    /**
+     * Forward the request with the caller's identity.
+     *
+     * @param exchange server web exchange
+     * @param chain gateway filter chain
+     * @param claims verified claims of the access token
+     * @return Mono of Void
+     */
+    private Mono<Void> forward(ServerWebExchange exchange, GatewayFilterChain chain, VerifiedClaims claims) {
+        // Add user info to headers for downstream services
+        String envelope = identityEnvelopeSigner.sign(claims.userId(), claims.roles());
+        ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.set(IdentityEnvelopeSigner.IDENTITY_HEADER, envelope);
+                    headers.set("X-User-Id", claims.userId().toString());
+                    headers.set("X-User-Roles", String.join(",", claims.roles()));
+                })
+                .build();
+
+        log.debug("Authentication successful for user: {} with roles: {}", claims.userId(), claims.roles());
+
+        return chain.filter(exchange.mutate().request(modifiedRequest).build());
     }
 
     /**
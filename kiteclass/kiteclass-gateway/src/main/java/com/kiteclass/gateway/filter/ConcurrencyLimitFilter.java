@@ -0,0 +1,194 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway filter protecting upstream services with an adaptive concurrency limit and
+ * a circuit breaker per route.
+ *
+ * <p>Each route is its own bulkhead: a slow core endpoint fills only its own slots.
+ * The limit follows observed latency ({@link GradientConcurrencyLimit}); requests
+ * beyond it, and all requests while the route's circuit is open
+ * ({@link RouteCircuitBreaker}), fail fast with 503 Service Unavailable instead of
+ * queueing in the gateway. 5xx responses and routing errors count as failures.
+ *
+ * <p>Metrics, tagged by route:
+ * <ul>
+ *   <li>{@code gateway.concurrency.limit} - current concurrency limit</li>
+ *   <li>{@code gateway.concurrency.inflight} - requests in flight</li>
+ *   <li>{@code gateway.concurrency.rejected} - rejected requests, tagged by reason
+ *       ({@code limit}, {@code circuit_open})</li>
+ *   <li>{@code gateway.circuit.state} - 0 closed, 1 open, 2 half-open</li>
+ * </ul>
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends AbstractGatewayFilterFactory<ConcurrencyLimitFilter.Config> {
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final ConcurrencyLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteGuard> guards = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("maxLimit");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String routeId = RequestKeys.routeId(exchange);
+            if (!properties.isEnabled() || routeId == null) {
+                return chain.filter(exchange);
+            }
+
+            RouteGuard guard = guards.computeIfAbsent(routeId, id -> createGuard(id, config));
+
+            if (!guard.breaker.tryAcquirePermission()) {
+                guard.circuitOpenRejections.increment();
+                return serviceUnavailable(exchange, "Service temporarily unavailable. Please try again later.");
+            }
+            int inFlightAtStart = guard.limit.tryAcquire();
+            if (inFlightAtStart < 0) {
+                guard.breaker.onIgnored();
+                guard.limitRejections.increment();
+                log.warn("Concurrency limit {} reached for route {}", guard.limit.getLimit(), routeId);
+                return serviceUnavailable(exchange, "Service is busy. Please try again later.");
+            }
+
+            long startNanos = System.nanoTime();
+            return chain.filter(exchange)
+                    .doFinally(signal -> onComplete(guard, exchange, signal, startNanos, inFlightAtStart));
+        };
+    }
+
+    private void onComplete(RouteGuard guard, ServerWebExchange exchange, SignalType signal,
+                            long startNanos, int inFlightAtStart) {
+        if (signal == SignalType.CANCEL) {
+            guard.limit.onIgnored();
+            guard.breaker.onIgnored();
+            return;
+        }
+
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        boolean failed = signal == SignalType.ON_ERROR || (status != null && status.is5xxServerError());
+        if (failed) {
+            guard.limit.onDropped();
+        } else {
+            guard.limit.onSuccess(System.nanoTime() - startNanos, inFlightAtStart);
+        }
+        guard.breaker.onResult(!failed);
+    }
+
+    private RouteGuard createGuard(String routeId, Config config) {
+        int maxLimit = config.getMaxLimit() != null ? config.getMaxLimit() : properties.getMaxLimit();
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(
+                Math.min(properties.getInitialLimit(), maxLimit),
+                properties.getMinLimit(),
+                maxLimit,
+                properties.getSmoothing(),
+                properties.getRttTolerance());
+        RouteCircuitBreaker breaker = new RouteCircuitBreaker(
+                properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(),
+                properties.getFailureRateThreshold(),
+                properties.getOpenDuration().toNanos(),
+                properties.getHalfOpenCalls(),
+                System::nanoTime);
+
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::getLimit)
+                .description("Current concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limit, GradientConcurrencyLimit::getInFlight)
+                .description("Requests in flight")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.circuit.state", breaker, b -> b.getState().ordinal())
+                .description("Circuit state: 0 closed, 1 open, 2 half-open")
+                .tag("route", routeId)
+                .register(meterRegistry);
+
+        return new RouteGuard(limit, breaker,
+                rejectionCounter(routeId, "limit"),
+                rejectionCounter(routeId, "circuit_open"));
+    }
+
+    private Counter rejectionCounter(String routeId, String reason) {
+        return Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rejected to protect upstream")
+                .tag("route", routeId)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reject a request with 503.
+     *
+     * @param exchange server web exchange
+     * @param message  error message
+     * @return Mono of Void
+     */
+    private Mono<Void> serviceUnavailable(ServerWebExchange exchange, String message) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+
+        String errorBody = "{\"error\":\"Service unavailable\",\"message\":\"" + message + "\"}";
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(errorBody.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    /**
+     * Limit and circuit breaker of one route.
+     */
+    private record RouteGuard(GradientConcurrencyLimit limit,
+                              RouteCircuitBreaker breaker,
+                              Counter limitRejections,
+                              Counter circuitOpenRejections) {
+    }
+
+    /**
+     * Configuration properties for the filter.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * Highest concurrency limit of the route; overrides {@code concurrency-limit.max-limit}.
+         */
+        private Integer maxLimit;
+    }
+}
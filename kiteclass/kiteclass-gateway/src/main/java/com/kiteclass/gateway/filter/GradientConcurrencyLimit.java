@@ -0,0 +1,117 @@
+package com.kiteclass.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of the gradient
+ * algorithm.
+ *
+ * <p>A long-term exponential average of response times serves as the no-load baseline.
+ * Each completed request compares its response time with the baseline: when requests
+ * get slower than the tolerance allows, the limit shrinks in proportion; otherwise it
+ * grows by a queue allowance of {@code sqrt(limit)}. The limit does not grow while the
+ * route uses less than half of it, so idle periods cannot inflate it.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+final class GradientConcurrencyLimit {
+
+    // Samples covered by the long-term latency average
+    private static final double LONG_WINDOW = 600;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double rttTolerance;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile double limit;
+    private double longRttNanos;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double rttTolerance) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.rttTolerance = rttTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /**
+     * Take a slot if the route is below its limit.
+     *
+     * @return in-flight requests including this one, or -1 if the limit is reached
+     */
+    int tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                return -1;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Free a slot and adjust the limit from the request's response time.
+     *
+     * @param rttNanos        response time
+     * @param inFlightAtStart in-flight requests when the request started
+     */
+    void onSuccess(long rttNanos, int inFlightAtStart) {
+        inFlight.decrementAndGet();
+        update(rttNanos, inFlightAtStart);
+    }
+
+    /**
+     * Free a slot and back off after a timeout or upstream failure.
+     */
+    void onDropped() {
+        inFlight.decrementAndGet();
+        synchronized (this) {
+            limit = Math.max(minLimit, limit * DROP_BACKOFF);
+        }
+    }
+
+    /**
+     * Free a slot without adjusting the limit (e.g. the client went away).
+     */
+    void onIgnored() {
+        inFlight.decrementAndGet();
+    }
+
+    int getLimit() {
+        return (int) limit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void update(long rttNanos, int inFlightAtStart) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        longRttNanos = longRttNanos == 0
+                ? rttNanos
+                : longRttNanos + (rttNanos - longRttNanos) / LONG_WINDOW;
+
+        // Route is not using its limit; latency says nothing about capacity
+        if (inFlightAtStart < limit / 2) {
+            return;
+        }
+
+        // Latency recovered well below the baseline: let the baseline catch up quickly
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / rttNanos));
+        double estimate = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - smoothing) + estimate * smoothing;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
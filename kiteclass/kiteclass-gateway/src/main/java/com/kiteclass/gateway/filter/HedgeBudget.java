@@ -0,0 +1,51 @@
+package com.kiteclass.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps hedged requests at a percentage of primary requests.
+ *
+ * <p>Every primary request deposits {@code percent / 100} of a token and every hedge
+ * withdraws one, so over time hedges never exceed the configured share of traffic.
+ * The balance is capped to bound bursts after a quiet period.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+final class HedgeBudget {
+
+    private static final long SCALE = 1000;
+
+    private final long depositPerRequest;
+    private final long maxBalance;
+    private final AtomicLong balance = new AtomicLong();
+
+    HedgeBudget(double percent, int maxBurst) {
+        this.depositPerRequest = Math.round(percent / 100 * SCALE);
+        this.maxBalance = maxBurst * SCALE;
+    }
+
+    /**
+     * Account for a primary request.
+     */
+    void onRequest() {
+        balance.accumulateAndGet(depositPerRequest, (current, deposit) -> Math.min(maxBalance, current + deposit));
+    }
+
+    /**
+     * Try to spend the budget of one hedge.
+     *
+     * @return true if a hedge may be sent
+     */
+    boolean tryHedge() {
+        while (true) {
+            long current = balance.get();
+            if (current < SCALE) {
+                return false;
+            }
+            if (balance.compareAndSet(current, current - SCALE)) {
+                return true;
+            }
+        }
+    }
+}
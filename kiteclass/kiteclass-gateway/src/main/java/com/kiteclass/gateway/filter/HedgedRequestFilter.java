@@ -0,0 +1,356 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.HedgingProperties;
+import com.kiteclass.gateway.service.impl.LeastOutstandingLoadBalancer;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.RequestData;
+import org.springframework.cloud.client.loadbalancer.RequestDataContext;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.RetryableRequestContext;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.Exceptions;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gateway filter that hedges slow GET requests across core instances.
+ *
+ * <p>The request is sent to an instance chosen by the service's load balancer, the
+ * same health-checked, least-outstanding balancer {@code lb://} routes use. If it has
+ * not started answering once the route's usual latency
+ * ({@code hedging.delay-percentile}, clamped between {@code min-delay} and
+ * {@code max-delay}) has passed, the load balancer is asked for a different instance,
+ * the same request is sent there, and whichever answers first is returned; the other
+ * call is cancelled. Hedges are paid for from a {@link HedgeBudget}, so they never add
+ * more than {@code hedging.budget-percent} to upstream load, even while the whole
+ * service is slow.
+ *
+ * <p>Requests go through the gateway's shared upstream {@link HttpClient}, with its
+ * pool, protocol and metrics, and response bodies are streamed to the client rather
+ * than buffered, so their size is not limited.
+ *
+ * <p>Only GET requests are hedged, since they are safe to send twice. The filter must
+ * be the last filter of the route: it forwards the request itself and completes the
+ * response without continuing the chain. Other methods, and services without an
+ * available instance, are routed normally.
+ *
+ * <p>Metrics, tagged by route:
+ * <ul>
+ *   <li>{@code gateway.hedging} - hedging decisions, tagged by result ({@code sent},
+ *       {@code won}, {@code budget_exhausted})</li>
+ *   <li>{@code gateway.hedging.delay} - current hedge delay in milliseconds</li>
+ * </ul>
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class HedgedRequestFilter extends AbstractGatewayFilterFactory<HedgedRequestFilter.Config> {
+
+    private static final int LATENCY_WINDOW_SIZE = 200;
+
+    // Connection-level headers that must not be forwarded (RFC 9110, section 7.6.1)
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            "connection", "keep-alive", "proxy-authenticate", "proxy-authorization",
+            "te", "trailer", "transfer-encoding", "upgrade", "host", "content-length");
+
+    private final HedgingProperties properties;
+    private final LoadBalancerClientFactory loadBalancerClientFactory;
+    private final WebClient webClient;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, RouteHedging> routes = new ConcurrentHashMap<>();
+
+    public HedgedRequestFilter(HedgingProperties properties,
+                               LoadBalancerClientFactory loadBalancerClientFactory,
+                               WebClient.Builder webClientBuilder,
+                               HttpClient httpClient,
+                               MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.loadBalancerClientFactory = loadBalancerClientFactory;
+        this.webClient = webClientBuilder.clientConnector(new ReactorClientHttpConnector(httpClient)).build();
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("serviceId");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String routeId = RequestKeys.routeId(exchange);
+            if (!properties.isEnabled() || routeId == null
+                    || exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            ReactiveLoadBalancer<ServiceInstance> loadBalancer =
+                    loadBalancerClientFactory.getInstance(config.getServiceId());
+            if (loadBalancer == null) {
+                return chain.filter(exchange);
+            }
+            return Mono.from(loadBalancer.choose(request(exchange, null)))
+                    .defaultIfEmpty(new EmptyResponse())
+                    .flatMap(primary -> primary.hasServer()
+                            ? hedge(exchange, routes.computeIfAbsent(routeId, this::createRouteHedging),
+                                    loadBalancer, primary)
+                            : chain.filter(exchange));
+        };
+    }
+
+    /**
+     * Send the request to the primary instance and, when it is slow and the budget
+     * allows, to a second one.
+     *
+     * @param exchange     server web exchange
+     * @param route        hedging state of the route
+     * @param loadBalancer load balancer of the service
+     * @param primary      instance chosen for the request
+     * @return Mono of Void
+     */
+    private Mono<Void> hedge(ServerWebExchange exchange, RouteHedging route,
+                             ReactiveLoadBalancer<ServiceInstance> loadBalancer, Response<ServiceInstance> primary) {
+        route.budget.onRequest();
+
+        long startNanos = System.nanoTime();
+        Mono<UpstreamResponse> primaryCall = forward(exchange, primary, false)
+                // Cancelled calls are recorded too: their latency is at least the time waited
+                .doFinally(signal -> route.latencies.record(System.nanoTime() - startNanos));
+        Mono<UpstreamResponse> hedgeCall = Mono.delay(route.delay())
+                .flatMap(tick -> Mono.from(loadBalancer.choose(request(exchange, primary.getServer()))))
+                .filter(secondary -> {
+                    if (!secondary.hasServer() || isSameInstance(primary.getServer(), secondary.getServer())) {
+                        // No other instance available
+                        release(secondary);
+                        return false;
+                    }
+                    if (route.budget.tryHedge()) {
+                        route.sent.increment();
+                        return true;
+                    }
+                    release(secondary);
+                    route.budgetExhausted.increment();
+                    return false;
+                })
+                .flatMap(secondary -> forward(exchange, secondary, true));
+
+        return Mono.firstWithValue(primaryCall, hedgeCall)
+                .onErrorMap(this::toGatewayError)
+                .flatMap(upstream -> {
+                    if (upstream.hedge()) {
+                        route.won.increment();
+                        log.debug("Hedged request answered first for {}", exchange.getRequest().getPath());
+                    }
+                    return writeResponse(exchange, upstream);
+                });
+    }
+
+    /**
+     * Forward the request to an instance. The returned response streams its body; the
+     * instance's outstanding request ends once the body is consumed or the call fails
+     * or is cancelled.
+     *
+     * @param exchange  server web exchange
+     * @param selection instance chosen by the load balancer
+     * @param hedge     whether this is the hedged call
+     * @return upstream response, emitted once its status and headers arrive
+     */
+    private Mono<UpstreamResponse> forward(ServerWebExchange exchange, Response<ServiceInstance> selection,
+                                           boolean hedge) {
+        ServerHttpRequest request = exchange.getRequest();
+        URI uri = UriComponentsBuilder.fromUri(selection.getServer().getUri())
+                .replacePath(request.getURI().getRawPath())
+                .replaceQuery(request.getURI().getRawQuery())
+                .build(true)
+                .toUri();
+
+        return webClient.get()
+                .uri(uri)
+                .headers(headers -> copyHeaders(request.getHeaders(), headers))
+                .retrieve()
+                // Every status is relayed to the client as is
+                .onStatus(status -> true, response -> Mono.empty())
+                .toEntityFlux(DataBuffer.class)
+                .map(entity -> new UpstreamResponse(entity.getStatusCode(), entity.getHeaders(),
+                        (entity.getBody() != null ? entity.getBody() : Flux.<DataBuffer>empty())
+                                .doOnTerminate(() -> release(selection))
+                                .doOnCancel(() -> release(selection)),
+                        hedge))
+                .timeout(properties.getTimeout())
+                .doOnError(e -> release(selection))
+                .doOnCancel(() -> release(selection));
+    }
+
+    private Mono<Void> writeResponse(ServerWebExchange exchange, UpstreamResponse upstream) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(upstream.status());
+        copyHeaders(upstream.headers(), response.getHeaders());
+        return response.writeWith(upstream.body());
+    }
+
+    /**
+     * Build a load balancer request; a hedge names the primary instance so the
+     * load balancer picks another one.
+     *
+     * @param exchange server web exchange
+     * @param primary  instance of the primary call, or null for the primary call itself
+     * @return load balancer request
+     */
+    private static Request<RequestDataContext> request(ServerWebExchange exchange, ServiceInstance primary) {
+        RequestData requestData = new RequestData(exchange.getRequest());
+        return new DefaultRequest<>(primary != null
+                ? new RetryableRequestContext(primary, requestData)
+                : new RequestDataContext(requestData));
+    }
+
+    private static boolean isSameInstance(ServiceInstance a, ServiceInstance b) {
+        return a.getHost().equals(b.getHost()) && a.getPort() == b.getPort();
+    }
+
+    /**
+     * End the outstanding request counted for the chosen instance.
+     */
+    private static void release(Response<ServiceInstance> selection) {
+        if (selection instanceof LeastOutstandingLoadBalancer.Selection leastOutstanding) {
+            leastOutstanding.release();
+        }
+    }
+
+    private void copyHeaders(HttpHeaders source, HttpHeaders target) {
+        source.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                target.put(name, values);
+            }
+        });
+    }
+
+    /**
+     * Map the failure of all calls to the status the client sees.
+     *
+     * @param error error of the hedged calls
+     * @return 504 if every call timed out, 502 otherwise
+     */
+    private Throwable toGatewayError(Throwable error) {
+        List<Throwable> causes = Exceptions.unwrapMultiple(error.getCause() != null ? error.getCause() : error);
+        boolean timedOut = error instanceof TimeoutException
+                || (!causes.isEmpty() && causes.stream().allMatch(TimeoutException.class::isInstance));
+        return timedOut
+                ? new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Upstream timed out", error)
+                : new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Upstream unavailable", error);
+    }
+
+    private RouteHedging createRouteHedging(String routeId) {
+        RouteHedging route = new RouteHedging(
+                new LatencyWindow(LATENCY_WINDOW_SIZE, properties.getDelayPercentile()),
+                new HedgeBudget(properties.getBudgetPercent(), properties.getBudgetBurst()),
+                resultCounter(routeId, "sent"),
+                resultCounter(routeId, "won"),
+                resultCounter(routeId, "budget_exhausted"));
+
+        Gauge.builder("gateway.hedging.delay", route, r -> r.delay().toMillis())
+                .description("Time after which a request is hedged, in milliseconds")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return route;
+    }
+
+    private Counter resultCounter(String routeId, String result) {
+        return Counter.builder("gateway.hedging")
+                .description("Hedged request decisions")
+                .tag("route", routeId)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Hedging state of one route.
+     */
+    private final class RouteHedging {
+
+        private final LatencyWindow latencies;
+        private final HedgeBudget budget;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter budgetExhausted;
+
+        RouteHedging(LatencyWindow latencies, HedgeBudget budget,
+                     Counter sent, Counter won, Counter budgetExhausted) {
+            this.latencies = latencies;
+            this.budget = budget;
+            this.sent = sent;
+            this.won = won;
+            this.budgetExhausted = budgetExhausted;
+        }
+
+        /**
+         * Time to wait for the primary call before hedging.
+         *
+         * @return hedge delay
+         */
+        Duration delay() {
+            long percentileNanos = latencies.percentileNanos();
+            if (percentileNanos < 0) {
+                return properties.getMaxDelay();
+            }
+            long nanos = Math.max(properties.getMinDelay().toNanos(),
+                    Math.min(properties.getMaxDelay().toNanos(), percentileNanos));
+            return Duration.ofMillis(TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+    }
+
+    /**
+     * Response of an upstream call, with its body still to be read.
+     */
+    private record UpstreamResponse(HttpStatusCode status, HttpHeaders headers, Flux<DataBuffer> body,
+                                    boolean hedge) {
+    }
+
+    /**
+     * Configuration properties for the filter.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * Service whose instances receive the requests.
+         */
+        private String serviceId = "core-service";
+    }
+}
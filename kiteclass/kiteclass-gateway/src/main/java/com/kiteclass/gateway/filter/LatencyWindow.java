@@ -0,0 +1,59 @@
+package com.kiteclass.gateway.filter;
+
+import java.util.Arrays;
+
+/**
+ * Recent response times of a route, for estimating a latency percentile.
+ *
+ * <p>Keeps the last {@code capacity} samples in a ring and recomputes the percentile
+ * every {@code capacity / 10} samples, so reading it costs nothing on the hot path.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+final class LatencyWindow {
+
+    private final long[] samples;
+    private final double percentile;
+    private final int recomputeEvery;
+
+    private int index;
+    private int count;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    LatencyWindow(int capacity, double percentile) {
+        this.samples = new long[capacity];
+        this.percentile = percentile;
+        this.recomputeEvery = Math.max(1, capacity / 10);
+    }
+
+    /**
+     * Record a response time.
+     *
+     * @param nanos response time in nanoseconds
+     */
+    synchronized void record(long nanos) {
+        samples[index] = nanos;
+        index = (index + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (++sinceRecompute >= recomputeEvery) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile * count) - 1;
+            percentileNanos = sorted[Math.max(0, Math.min(count - 1, rank))];
+        }
+    }
+
+    /**
+     * Get the latency percentile.
+     *
+     * @return percentile in nanoseconds, or -1 until enough samples were recorded
+     */
+    long percentileNanos() {
+        return percentileNanos;
+    }
+}
@@ -0,0 +1,41 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.service.impl.LeastOutstandingLoadBalancer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.ReactiveLoadBalancerClientFilter;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Ends the outstanding request count of the instance chosen by
+ * {@link LeastOutstandingLoadBalancer} when the request completes.
+ *
+ * <p>Runs right after the load balancer filter. The load balancer lifecycle callbacks
+ * are not invoked when the client cancels a request, so counts are released here on
+ * every terminal signal instead.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Component
+public class LoadBalancerTrackingFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Object response = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_LOADBALANCER_RESPONSE_ATTR);
+        if (!(response instanceof LeastOutstandingLoadBalancer.Selection selection)) {
+            return chain.filter(exchange);
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> selection.release());
+    }
+
+    @Override
+    public int getOrder() {
+        return ReactiveLoadBalancerClientFilter.LOAD_BALANCER_CLIENT_FILTER_ORDER + 1;
+    }
+}
@@ -1,18 +1,23 @@
 package com.kiteclass.gateway.filter;
 
+import com.kiteclass.gateway.config.AccessLogProperties;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
 
-import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Gateway filter for logging requests and responses.
@@ -24,6 +29,12 @@ import java.util.UUID;
  *   <li>Assigns correlation ID for request tracking</li>
  * </ul>
  *
+ * <p>In {@link AccessLogProperties.Mode#STRUCTURED structured} mode (the default) each
+ * request produces one {@link AccessLogRecord} when it completes, which is handed to
+ * the {@link AccessLogWriter} and formatted off the request thread. Successful requests
+ * are sampled; errors and slow requests are always logged. {@link AccessLogProperties.Mode#TEXT
+ * Text} mode keeps the inline request/response messages.
+ *
  * @author KiteClass Team
  * @since 1.6.0
  */
@@ -34,6 +45,9 @@ public class LoggingFilter extends AbstractGatewayFilterFactory<LoggingFilter.Co
     private static final String X_CORRELATION_ID = "X-Correlation-ID";
     private static final String REQUEST_START_TIME = "requestStartTime";
 
+    // Logged for requests cancelled by the client before a response was sent
+    private static final int CLIENT_CLOSED_REQUEST = 499;
+
     // Headers to exclude from logging (security)
     private static final List<String> SENSITIVE_HEADERS = List.of(
             HttpHeaders.AUTHORIZATION.toLowerCase(),
@@ -42,15 +56,25 @@ public class LoggingFilter extends AbstractGatewayFilterFactory<LoggingFilter.Co
             "set-cookie"
     );
 
-    public LoggingFilter() {
+    private final AccessLogProperties properties;
+    private final AccessLogWriter accessLogWriter;
+
+    public LoggingFilter(AccessLogProperties properties, AccessLogWriter accessLogWriter) {
         super(Config.class);
+        this.properties = properties;
+        this.accessLogWriter = accessLogWriter;
     }
 
     @Override
     public GatewayFilter apply(Config config) {
         return (exchange, chain) -> {
             ServerHttpRequest request = exchange.getRequest();
-            long startTime = Instant.now().toEpochMilli();
+            long startTime = System.currentTimeMillis();
+            long startNanos = System.nanoTime();
+            boolean structured = properties.getMode() == AccessLogProperties.Mode.STRUCTURED;
+            Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+            String routeId = route != null ? route.getId() : null;
+            long slowThresholdMs = properties.slowThresholdFor(routeId).toMillis();
 
             // Generate or retrieve correlation ID
             String correlationId = getOrGenerateCorrelationId(request);
@@ -61,20 +85,90 @@ public class LoggingFilter extends AbstractGatewayFilterFactory<LoggingFilter.Co
                     .build();
 
             // Log request
-            logRequest(modifiedRequest, correlationId);
+            if (!structured) {
+                logRequest(modifiedRequest, correlationId);
+            }
 
             // Store start time in exchange attributes
             exchange.getAttributes().put(REQUEST_START_TIME, startTime);
 
             return chain.filter(exchange.mutate().request(modifiedRequest).build())
-                    .then(Mono.fromRunnable(() -> {
+                    .doFinally(signal -> {
                         // Log response
-                        long duration = Instant.now().toEpochMilli() - startTime;
-                        logResponse(exchange.getResponse(), correlationId, duration);
-                    }));
+                        long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+                        if (structured) {
+                            recordAccess(modifiedRequest, exchange.getResponse(), signal,
+                                    correlationId, routeId, startTime, duration, slowThresholdMs);
+                        } else {
+                            logResponse(exchange.getResponse(), correlationId, duration, slowThresholdMs);
+                        }
+                    });
+        };
+    }
+
+    /**
+     * Hand a completed request to the access log writer, subject to sampling.
+     *
+     * @param request         HTTP request
+     * @param response        HTTP response
+     * @param signal          signal that ended the filter chain
+     * @param correlationId   correlation ID
+     * @param routeId         matched route ID, or null
+     * @param startTime       request start (epoch milliseconds)
+     * @param durationMs      request duration in milliseconds
+     * @param slowThresholdMs slow threshold of the route in milliseconds
+     */
+    private void recordAccess(ServerHttpRequest request, ServerHttpResponse response, SignalType signal,
+                              String correlationId, String routeId, long startTime, long durationMs,
+                              long slowThresholdMs) {
+        int status = resolveStatus(response.getStatusCode(), signal);
+        boolean slow = durationMs > slowThresholdMs;
+        boolean error = status == 0 || status >= 400;
+        if (!error && !slow && !isSampled()) {
+            return;
+        }
+
+        accessLogWriter.submit(new AccessLogRecord(
+                startTime,
+                correlationId,
+                routeId,
+                request.getMethod().name(),
+                request.getPath().value(),
+                request.getURI().getRawQuery(),
+                getRemoteAddress(request),
+                status,
+                durationMs,
+                slow));
+    }
+
+    /**
+     * Resolve the status code to log.
+     *
+     * @param statusCode response status, may be null
+     * @param signal     signal that ended the filter chain
+     * @return status code, 0 if unknown
+     */
+    private int resolveStatus(HttpStatusCode statusCode, SignalType signal) {
+        if (statusCode != null) {
+            return statusCode.value();
+        }
+        return switch (signal) {
+            case ON_ERROR -> 500;
+            case CANCEL -> CLIENT_CLOSED_REQUEST;
+            default -> 0;
         };
     }
 
+    /**
+     * Decide whether a successful request is logged.
+     *
+     * @return true if the request falls within the sample
+     */
+    private boolean isSampled() {
+        double sampleRate = properties.getSampleRate();
+        return sampleRate >= 1.0 || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
     /**
      * Get correlation ID from request or generate new one.
      *
@@ -84,7 +178,9 @@ public class LoggingFilter extends AbstractGatewayFilterFactory<LoggingFilter.Co
     private String getOrGenerateCorrelationId(ServerHttpRequest request) {
         String correlationId = request.getHeaders().getFirst(X_CORRELATION_ID);
         if (correlationId == null || correlationId.isEmpty()) {
-            correlationId = UUID.randomUUID().toString();
+            // Random UUID layout without SecureRandom; IDs only need to be unique enough to trace
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            correlationId = new UUID(random.nextLong(), random.nextLong()).toString();
         }
         return correlationId;
     }
@@ -130,8 +226,10 @@ public class LoggingFilter extends AbstractGatewayFilterFactory<LoggingFilter.Co
      * @param response HTTP response
      * @param correlationId correlation ID
      * @param durationMs request duration in milliseconds
+     * @param slowThresholdMs slow threshold of the route in milliseconds
      */
-    private void logResponse(ServerHttpResponse response, String correlationId, long durationMs) {
+    private void logResponse(ServerHttpResponse response, String correlationId, long durationMs,
+                             long slowThresholdMs) {
         String statusCode = response.getStatusCode() != null
                 ? response.getStatusCode().toString()
                 : "UNKNOWN";
@@ -142,7 +240,7 @@ public class LoggingFilter extends AbstractGatewayFilterFactory<LoggingFilter.Co
                 .append(" (").append(durationMs).append("ms)");
 
         // Log slow requests as warning
-        if (durationMs > 5000) {
+        if (durationMs > slowThresholdMs) {
             log.warn("{} - SLOW REQUEST", logMessage);
         } else {
             log.info(logMessage.toString());
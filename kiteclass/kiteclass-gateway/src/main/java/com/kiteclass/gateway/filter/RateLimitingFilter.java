@@ -1,13 +1,14 @@
 package com.kiteclass.gateway.filter;
 
 import com.kiteclass.gateway.config.RateLimitingProperties;
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import com.kiteclass.gateway.service.RateLimiter;
+import io.jsonwebtoken.JwtException;
+import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.server.reactive.ServerHttpRequest;
@@ -16,19 +17,26 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.time.Duration;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
 
 /**
- * Gateway filter for rate limiting using Bucket4j.
+ * Gateway filter for rate limiting.
  *
  * <p>Implements token bucket algorithm with different limits:
  * <ul>
  *   <li>Unauthenticated users (by IP): 100 requests/minute</li>
- *   <li>Authenticated users (by user ID): 1000 requests/minute</li>
+ *   <li>Authenticated users (by user ID): by role, 1000 requests/minute otherwise</li>
  * </ul>
  *
+ * <p>Routes can opt into a named policy ({@code RateLimitingFilter=reports}) with its
+ * own buckets, limits and per-request token cost, so that expensive endpoints are
+ * throttled long before cheap reads. A route-level policy applies in addition to the
+ * default filter.
+ *
+ * <p>A request counts as authenticated only when it carries a valid access token;
+ * client-supplied identity headers are ignored. Buckets are held
+ * by the {@link RateLimiter}, shared through Redis by default.
+ *
  * @author KiteClass Team
  * @since 1.6.0
  */
@@ -37,58 +45,103 @@ import java.util.concurrent.ConcurrentHashMap;
 public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitingFilter.Config> {
 
     private final RateLimitingProperties properties;
+    private final RateLimiter rateLimiter;
+    private final BearerTokenResolver bearerTokenResolver;
 
-    // In-memory cache for buckets (consider Redis for distributed systems)
-    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
-
-    private static final String BEARER_PREFIX = "Bearer ";
     private static final String X_RATE_LIMIT_REMAINING = "X-RateLimit-Remaining";
     private static final String X_RATE_LIMIT_RETRY_AFTER = "X-RateLimit-Retry-After-Seconds";
 
-    public RateLimitingFilter(RateLimitingProperties properties) {
+    public RateLimitingFilter(RateLimitingProperties properties,
+                              RateLimiter rateLimiter,
+                              BearerTokenResolver bearerTokenResolver) {
         super(Config.class);
         this.properties = properties;
+        this.rateLimiter = rateLimiter;
+        this.bearerTokenResolver = bearerTokenResolver;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("policy", "cost");
     }
 
     @Override
     public GatewayFilter apply(Config config) {
+        RateLimitingProperties.Policy policy = resolvePolicy(config.getPolicy());
+        long cost = config.getCost() != null
+                ? config.getCost()
+                : policy != null ? policy.getCost() : 1;
+        String keyPrefix = config.getPolicy() != null ? "policy:" + config.getPolicy() + ":" : "";
+
         return (exchange, chain) -> {
             if (!properties.isEnabled()) {
                 return chain.filter(exchange);
             }
 
-            ServerHttpRequest request = exchange.getRequest();
-            String key = getRateLimitKey(request);
-            boolean isAuthenticated = isAuthenticatedRequest(request);
-
-            Bucket bucket = buckets.computeIfAbsent(key, k -> createBucket(isAuthenticated));
+            VerifiedClaims claims = resolveAccessToken(exchange);
+            String key = keyPrefix + getRateLimitKey(exchange.getRequest(), claims);
+            long capacity = properties.capacityFor(policy, claims != null ? claims.roles() : null);
+
+            return rateLimiter.tryConsume(key, capacity, cost)
+                    .flatMap(result -> {
+                        if (result.allowed()) {
+                            // Request allowed
+                            addRateLimitHeaders(exchange.getResponse(), result.remaining());
+                            log.debug("Rate limit check passed for key: {} (remaining: {})", key, result.remaining());
+                            return chain.filter(exchange);
+                        }
+                        // Rate limit exceeded
+                        log.warn("Rate limit exceeded for key: {}", key);
+                        return rateLimitExceeded(exchange, result.retryAfterSeconds());
+                    });
+        };
+    }
 
-            long availableTokens = bucket.getAvailableTokens();
+    /**
+     * Look up the named policy of a route.
+     *
+     * @param name policy name, or null for the default limits
+     * @return policy, or null for the default limits
+     * @throws IllegalArgumentException if no policy with that name is configured
+     */
+    private RateLimitingProperties.Policy resolvePolicy(String name) {
+        if (name == null) {
+            return null;
+        }
+        RateLimitingProperties.Policy policy = properties.getPolicies().get(name);
+        if (policy == null) {
+            throw new IllegalArgumentException("Unknown rate limit policy: " + name);
+        }
+        return policy;
+    }
 
-            if (bucket.tryConsume(1)) {
-                // Request allowed
-                addRateLimitHeaders(exchange.getResponse(), availableTokens - 1);
-                log.debug("Rate limit check passed for key: {} (remaining: {})", key, availableTokens - 1);
-                return chain.filter(exchange);
-            } else {
-                // Rate limit exceeded
-                log.warn("Rate limit exceeded for key: {}", key);
-                return rateLimitExceeded(exchange);
-            }
-        };
+    /**
+     * Resolve verified access token claims of the request.
+     *
+     * @param exchange server web exchange
+     * @return verified claims, or null if the request has no valid access token
+     */
+    private VerifiedClaims resolveAccessToken(ServerWebExchange exchange) {
+        try {
+            VerifiedClaims claims = bearerTokenResolver.resolve(exchange);
+            return claims != null && claims.isAccessToken() ? claims : null;
+        } catch (JwtException e) {
+            // Invalid tokens are rejected by authentication; limit them by IP
+            return null;
+        }
     }
 
     /**
-     * Get rate limit key based on user ID or IP address.
+     * Get rate limit key based on verified user ID or IP address.
      *
      * @param request HTTP request
+     * @param claims  verified token claims, or null if unauthenticated
      * @return rate limit key
      */
-    private String getRateLimitKey(ServerHttpRequest request) {
+    private String getRateLimitKey(ServerHttpRequest request, VerifiedClaims claims) {
         // Check for authenticated user
-        String userId = request.getHeaders().getFirst("X-User-Id");
-        if (userId != null) {
-            return "user:" + userId;
+        if (claims != null) {
+            return "user:" + claims.userId();
         }
 
         // Fall back to IP address
@@ -96,17 +149,6 @@ public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitin
         return "ip:" + ipAddress;
     }
 
-    /**
-     * Check if request is authenticated.
-     *
-     * @param request HTTP request
-     * @return true if request has valid Authorization header
-     */
-    private boolean isAuthenticatedRequest(ServerHttpRequest request) {
-        String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
-        return authHeader != null && authHeader.startsWith(BEARER_PREFIX);
-    }
-
     /**
      * Get client IP address from request.
      *
@@ -128,27 +170,6 @@ public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitin
         return "unknown";
     }
 
-    /**
-     * Create bucket with appropriate capacity based on authentication status.
-     *
-     * @param isAuthenticated true if user is authenticated
-     * @return configured bucket
-     */
-    private Bucket createBucket(boolean isAuthenticated) {
-        long capacity = isAuthenticated
-                ? properties.getAuthenticatedRequestsPerMinute()
-                : properties.getUnauthenticatedRequestsPerMinute();
-
-        Bandwidth limit = Bandwidth.classic(
-                capacity,
-                Refill.intervally(capacity, Duration.ofSeconds(properties.getTimeWindowSeconds()))
-        );
-
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
-    }
-
     /**
      * Add rate limit headers to response.
      *
@@ -156,21 +177,23 @@ public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitin
      * @param remaining remaining requests
      */
     private void addRateLimitHeaders(ServerHttpResponse response, long remaining) {
-        response.getHeaders().add(X_RATE_LIMIT_REMAINING, String.valueOf(Math.max(0, remaining)));
+        // Set, not add: a route policy reports its own bucket over the default one
+        response.getHeaders().set(X_RATE_LIMIT_REMAINING, String.valueOf(Math.max(0, remaining)));
     }
 
     /**
      * Handle rate limit exceeded.
      *
-     * @param exchange server web exchange
+     * @param exchange          server web exchange
+     * @param retryAfterSeconds seconds until the next request can be allowed
      * @return Mono of Void
      */
-    private Mono<Void> rateLimitExceeded(ServerWebExchange exchange) {
+    private Mono<Void> rateLimitExceeded(ServerWebExchange exchange, long retryAfterSeconds) {
         ServerHttpResponse response = exchange.getResponse();
         response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
         response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
-        response.getHeaders().add(X_RATE_LIMIT_REMAINING, "0");
-        response.getHeaders().add(X_RATE_LIMIT_RETRY_AFTER, String.valueOf(properties.getTimeWindowSeconds()));
+        response.getHeaders().set(X_RATE_LIMIT_REMAINING, "0");
+        response.getHeaders().set(X_RATE_LIMIT_RETRY_AFTER, String.valueOf(retryAfterSeconds));
 
         String errorBody = "{\"error\":\"Too many requests\",\"message\":\"Rate limit exceeded. Please try again later.\"}";
         return response.writeWith(Mono.just(response.bufferFactory().wrap(errorBody.getBytes())));
@@ -179,7 +202,17 @@ public class RateLimitingFilter extends AbstractGatewayFilterFactory<RateLimitin
     /**
      * Configuration properties for the filter.
      */
+    @Data
     public static class Config {
-        // Configuration properties can be added here if needed
+
+        /**
+         * Name of the policy in {@code rate-limit.policies}; null for the default limits.
+         */
+        private String policy;
+
+        /**
+         * Tokens each request costs; overrides the policy cost when set.
+         */
+        private Long cost;
     }
 }
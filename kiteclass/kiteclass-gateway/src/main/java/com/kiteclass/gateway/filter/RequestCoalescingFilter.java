@@ -0,0 +1,222 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.RequestCoalescingProperties;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Gateway filter sharing one upstream call between identical concurrent GET requests.
+ *
+ * <p>Opt-in per route ({@code RequestCoalescingFilter}) for idempotent reads, placed
+ * after {@link AuthenticationFilter}. The first request for a path, query and
+ * authorization scope goes upstream; identical requests arriving while it is in
+ * flight wait for its response and get a replay of its status, headers and body.
+ * Requests arriving after the response started are not coalesced.
+ *
+ * <p>If the shared call fails, is cancelled, does not produce a body, or its body is
+ * larger than the replay limit ({@code request-coalescing.max-body-size}), each waiting
+ * request calls upstream itself. The leader's body is held in memory only up to that
+ * limit; past it, the body is streamed through unshared. Waiting is bounded by
+ * {@code request-coalescing.max-wait}.
+ *
+ * <p>Coalescing is per gateway instance. Metrics: {@code gateway.coalescing} counter
+ * tagged by role ({@code leader}, {@code follower}, {@code fallback}).
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class RequestCoalescingFilter extends AbstractGatewayFilterFactory<RequestCoalescingFilter.Config> {
+
+    // Response headers that belong to one client connection and are never replayed
+    private static final Set<String> NON_REPLAYED_HEADERS = Set.of(
+            HttpHeaders.SET_COOKIE.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase()
+    );
+
+    private final RequestCoalescingProperties properties;
+    private final BearerTokenResolver bearerTokenResolver;
+    private final Map<String, Sinks.One<SharedResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Counter leaderCounter;
+    private final Counter followerCounter;
+    private final Counter fallbackCounter;
+
+    public RequestCoalescingFilter(RequestCoalescingProperties properties,
+                                   BearerTokenResolver bearerTokenResolver,
+                                   MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.properties = properties;
+        this.bearerTokenResolver = bearerTokenResolver;
+        this.leaderCounter = coalescingCounter(meterRegistry, "leader");
+        this.followerCounter = coalescingCounter(meterRegistry, "follower");
+        this.fallbackCounter = coalescingCounter(meterRegistry, "fallback");
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("scope");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            String routeId = RequestKeys.routeId(exchange);
+            VerifiedClaims claims = resolveClaims(exchange);
+            if (!properties.isEnabled() || routeId == null || claims == null
+                    || exchange.getRequest().getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange);
+            }
+
+            String key = routeId + ":" + RequestKeys.scoped(exchange.getRequest(), claims, config.getScope());
+            Sinks.One<SharedResponse> sink = Sinks.one();
+            Sinks.One<SharedResponse> existing = inFlight.putIfAbsent(key, sink);
+
+            if (existing != null) {
+                // Follower: wait for the in-flight response, or call upstream if there is none
+                followerCounter.increment();
+                return existing.asMono()
+                        .timeout(properties.getMaxWait())
+                        .onErrorResume(e -> Mono.empty())
+                        .flatMap(shared -> replay(exchange.getResponse(), shared).thenReturn(true))
+                        .switchIfEmpty(Mono.defer(() -> {
+                            fallbackCounter.increment();
+                            return chain.filter(exchange).thenReturn(true);
+                        }))
+                        .then();
+            }
+
+            leaderCounter.increment();
+            return chain.filter(exchange.mutate().response(sharing(exchange.getResponse(), key, sink)).build())
+                    .doFinally(signal -> {
+                        // No shareable response was produced: let waiters call upstream themselves
+                        inFlight.remove(key, sink);
+                        sink.tryEmitEmpty();
+                    });
+        };
+    }
+
+    /**
+     * Decorate the leader's response to publish it to waiting requests.
+     *
+     * @param original leader's response
+     * @param key      coalescing key
+     * @param sink     sink waiting requests subscribe to
+     * @return decorated response
+     */
+    private ServerHttpResponse sharing(ServerHttpResponse original, String key, Sinks.One<SharedResponse> sink) {
+        long maxBodySize = properties.getMaxBodySize().toBytes();
+
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (getStatusCode() == null || getHeaders().getContentLength() > maxBodySize) {
+                    inFlight.remove(key, sink);
+                    return super.writeWith(body);
+                }
+
+                return ResponseBodies.bufferUpTo(body, maxBodySize,
+                        bytes -> {
+                            inFlight.remove(key, sink);
+                            HttpHeaders headers = new HttpHeaders();
+                            headers.addAll(getHeaders());
+                            sink.tryEmitValue(new SharedResponse(getStatusCode(), headers, bytes));
+                            return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                        },
+                        tooLarge -> {
+                            // Waiting requests call upstream themselves once the leader completes
+                            inFlight.remove(key, sink);
+                            return super.writeWith(tooLarge);
+                        });
+            }
+        };
+    }
+
+    /**
+     * Write a shared response to a waiting request.
+     *
+     * @param response waiting request's response
+     * @param shared   shared response
+     * @return Mono completing when the response is written
+     */
+    private Mono<Void> replay(ServerHttpResponse response, SharedResponse shared) {
+        response.setStatusCode(shared.status());
+        shared.headers().forEach((name, values) -> {
+            // Headers set by this request's own filters (e.g. rate limits) take precedence
+            if (!NON_REPLAYED_HEADERS.contains(name.toLowerCase()) && !response.getHeaders().containsKey(name)) {
+                response.getHeaders().put(name, values);
+            }
+        });
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(shared.body())));
+    }
+
+    /**
+     * Resolve the caller's verified claims; set by {@link AuthenticationFilter} on coalesced routes.
+     *
+     * @param exchange server web exchange
+     * @return verified claims, or null if the caller is not authenticated
+     */
+    private VerifiedClaims resolveClaims(ServerWebExchange exchange) {
+        try {
+            VerifiedClaims claims = bearerTokenResolver.resolve(exchange);
+            return claims != null && claims.isAccessToken() ? claims : null;
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    private static Counter coalescingCounter(MeterRegistry meterRegistry, String role) {
+        return Counter.builder("gateway.coalescing")
+                .description("Requests by role in request coalescing")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Response of the shared upstream call.
+     *
+     * @param status  status code
+     * @param headers response headers
+     * @param body    response body
+     */
+    private record SharedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+    }
+
+    /**
+     * Configuration properties for the filter.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * Authorization scope within which requests are coalesced. Routes whose
+         * responses do not depend on the caller beyond their permissions use
+         * {@link SharingScope#PERMISSIONS} to share across users.
+         */
+        private SharingScope scope = SharingScope.USER;
+    }
+}
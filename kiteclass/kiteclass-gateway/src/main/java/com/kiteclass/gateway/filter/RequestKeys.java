@@ -0,0 +1,73 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.TreeSet;
+
+/**
+ * Keys identifying equivalent requests, shared by the caching and coalescing filters.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    /**
+     * Build a key from path, query and the caller's authorization scope.
+     *
+     * @param request HTTP request
+     * @param claims  verified claims of the caller
+     * @param scope   sharing scope
+     * @return hex SHA-256 key
+     */
+    static String scoped(ServerHttpRequest request, VerifiedClaims claims, SharingScope scope) {
+        String principal = switch (scope) {
+            case USER -> "user:" + claims.userId();
+            case PERMISSIONS -> claims.permissions() != null
+                    ? "perms:" + claims.permissions().encode()
+                    : roles(claims);
+            case ROLES -> roles(claims);
+        };
+        String query = request.getURI().getRawQuery();
+        String target = request.getPath().value() + "?" + (query != null ? query : "");
+        return HexFormat.of().formatHex(sha256(principal + "\n" + target));
+    }
+
+    private static String roles(VerifiedClaims claims) {
+        return "roles:" + String.join(",", new TreeSet<>(claims.roles()));
+    }
+
+    /**
+     * Get the ID of the route matched by the exchange.
+     *
+     * @param exchange server web exchange
+     * @return route ID, or null if no route matched
+     */
+    static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : null;
+    }
+
+    static byte[] sha256(String value) {
+        return sha256(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static byte[] sha256(byte[] value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.kiteclass.gateway.filter;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded buffering of response bodies, shared by the caching and coalescing filters.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+final class ResponseBodies {
+
+    private ResponseBodies() {
+    }
+
+    /**
+     * Read a body into memory if it fits within a limit, or stream it otherwise.
+     *
+     * <p>At most {@code maxSize} bytes (plus the buffer crossing the limit) are held
+     * before a body is known to be too large; from then on it is passed through as it
+     * arrives.
+     *
+     * @param body     response body
+     * @param maxSize  largest body, in bytes, read into memory
+     * @param whole    writes a body that fit within the limit
+     * @param tooLarge writes a body that did not, given all of it from the first byte
+     * @return Mono completing when the body is written
+     */
+    static Mono<Void> bufferUpTo(Publisher<? extends DataBuffer> body,
+                                 long maxSize,
+                                 Function<byte[], Mono<Void>> whole,
+                                 Function<Flux<DataBuffer>, Mono<Void>> tooLarge) {
+        AtomicLong size = new AtomicLong();
+        return Flux.<DataBuffer>from(body)
+                // One list of the whole body, or the buffers up to the limit and then one per buffer
+                .bufferUntil(buffer -> size.addAndGet(buffer.readableByteCount()) > maxSize)
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                .switchOnFirst((first, chunks) -> {
+                    if (size.get() > maxSize) {
+                        return tooLarge.apply(chunks.concatMapIterable(Function.identity()));
+                    }
+                    return chunks.next()
+                            .map(ResponseBodies::read)
+                            .defaultIfEmpty(new byte[0])
+                            .flatMap(whole);
+                })
+                .then();
+    }
+
+    private static byte[] read(List<DataBuffer> buffers) {
+        int length = buffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        for (DataBuffer buffer : buffers) {
+            int count = buffer.readableByteCount();
+            buffer.read(bytes, offset, count);
+            offset += count;
+            DataBufferUtils.release(buffer);
+        }
+        return bytes;
+    }
+}
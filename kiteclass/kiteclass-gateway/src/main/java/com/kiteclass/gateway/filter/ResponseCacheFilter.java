@@ -0,0 +1,298 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.ResponseCacheProperties;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import com.kiteclass.gateway.service.ResponseCacheService;
+import com.kiteclass.gateway.service.ResponseCacheService.CachedResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.jsonwebtoken.JwtException;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Gateway filter caching GET responses of read-heavy routes in Redis.
+ *
+ * <p>Opt-in per route ({@code ResponseCacheFilter=30s}) and placed after
+ * {@link AuthenticationFilter}. Entries are keyed on path, query and the caller's
+ * authorization scope:
+ * <ul>
+ *   <li>{@code USER} (default): one entry per user</li>
+ *   <li>{@code ROLES}: shared by users with the same set of roles</li>
+ * </ul>
+ *
+ * <p>Every cacheable 200 response carries a strong {@code ETag}; a request whose
+ * {@code If-None-Match} matches gets 304 Not Modified without a body, whether the
+ * response came from the cache or from core. A successful POST, PUT, PATCH or DELETE
+ * through the same route drops the route's cached responses. Redis failures bypass
+ * the cache. Responses larger than {@code response-cache.max-body-size} are streamed
+ * through uncached, with at most that much held in memory.
+ *
+ * <p>Metrics: {@code gateway.response_cache} counter tagged by result
+ * ({@code hit}, {@code miss}, {@code not_modified}).
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    private static final String X_CACHE = "X-Cache";
+
+    private final ResponseCacheService responseCacheService;
+    private final ResponseCacheProperties properties;
+    private final BearerTokenResolver bearerTokenResolver;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter notModifiedCounter;
+
+    public ResponseCacheFilter(ResponseCacheService responseCacheService,
+                               ResponseCacheProperties properties,
+                               BearerTokenResolver bearerTokenResolver,
+                               MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.responseCacheService = responseCacheService;
+        this.properties = properties;
+        this.bearerTokenResolver = bearerTokenResolver;
+        this.hitCounter = cacheCounter(meterRegistry, "hit");
+        this.missCounter = cacheCounter(meterRegistry, "miss");
+        this.notModifiedCounter = cacheCounter(meterRegistry, "not_modified");
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "scope");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            String routeId = RequestKeys.routeId(exchange);
+            VerifiedClaims claims = resolveClaims(exchange);
+
+            if (routeId == null || claims == null) {
+                return chain.filter(exchange);
+            }
+            if (request.getMethod() != HttpMethod.GET) {
+                return chain.filter(exchange).then(invalidateOnSuccess(exchange, routeId));
+            }
+
+            String key = RequestKeys.scoped(request, claims, config.getScope());
+            if (!properties.isEnabled()) {
+                return chain.filter(exchange.mutate().response(capturing(exchange, routeId, key, null)).build());
+            }
+
+            return responseCacheService.get(routeId, key)
+                    .onErrorResume(e -> {
+                        log.warn("Response cache lookup failed, bypassing cache: {}", e.getMessage());
+                        return Mono.empty();
+                    })
+                    .flatMap(cached -> writeCached(exchange, cached).thenReturn(true))
+                    .switchIfEmpty(Mono.defer(() -> {
+                        missCounter.increment();
+                        return chain.filter(exchange.mutate()
+                                        .response(capturing(exchange, routeId, key, config.getTtl()))
+                                        .build())
+                                .thenReturn(true);
+                    }))
+                    .then();
+        };
+    }
+
+    /**
+     * Resolve the caller's verified claims; set by {@link AuthenticationFilter} on cached routes.
+     *
+     * @param exchange server web exchange
+     * @return verified claims, or null if the caller is not authenticated
+     */
+    private VerifiedClaims resolveClaims(ServerWebExchange exchange) {
+        try {
+            VerifiedClaims claims = bearerTokenResolver.resolve(exchange);
+            return claims != null && claims.isAccessToken() ? claims : null;
+        } catch (JwtException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Answer from a cached response.
+     *
+     * @param exchange server web exchange
+     * @param cached   cached response
+     * @return Mono completing when the response is written
+     */
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.getHeaders().setETag(cached.etag());
+        response.getHeaders().set(X_CACHE, "HIT");
+
+        if (matchesIfNoneMatch(exchange.getRequest(), cached.etag())) {
+            notModifiedCounter.increment();
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+
+        hitCounter.increment();
+        response.setStatusCode(HttpStatus.OK);
+        if (cached.contentType() != null) {
+            response.getHeaders().setContentType(MediaType.parseMediaType(cached.contentType()));
+        }
+        response.getHeaders().setContentLength(cached.body().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.body())));
+    }
+
+    /**
+     * Decorate the response to tag it with an ETag and store it in the cache.
+     *
+     * @param exchange server web exchange
+     * @param routeId  route ID
+     * @param key      cache key
+     * @param ttl      time to live, or null to only send the ETag
+     * @return decorated response
+     */
+    private ServerHttpResponse capturing(ServerWebExchange exchange, String routeId, String key, Duration ttl) {
+        ServerHttpResponse original = exchange.getResponse();
+        long maxBodySize = properties.getMaxBodySize().toBytes();
+
+        return new ServerHttpResponseDecorator(original) {
+            @Override
+            public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+                if (!isCacheable(this)) {
+                    return super.writeWith(body);
+                }
+
+                return ResponseBodies.bufferUpTo(body, maxBodySize,
+                        bytes -> {
+                            String etag = etagOf(bytes);
+                            getHeaders().setETag(etag);
+                            getHeaders().set(X_CACHE, "MISS");
+
+                            Mono<Void> store = ttl == null
+                                    ? Mono.empty()
+                                    : responseCacheService.put(routeId, key, new CachedResponse(contentType(this), etag, bytes), ttl)
+                                            .onErrorResume(e -> {
+                                                log.warn("Failed to cache response of route {}: {}", routeId, e.getMessage());
+                                                return Mono.empty();
+                                            });
+
+                            if (matchesIfNoneMatch(exchange.getRequest(), etag)) {
+                                notModifiedCounter.increment();
+                                setStatusCode(HttpStatus.NOT_MODIFIED);
+                                getHeaders().remove(HttpHeaders.CONTENT_LENGTH);
+                                getHeaders().remove(HttpHeaders.TRANSFER_ENCODING);
+                                return Mono.when(store, setComplete());
+                            }
+                            return Mono.when(store, super.writeWith(Mono.just(bufferFactory().wrap(bytes))));
+                        },
+                        // Too large to cache: passed through as it arrives
+                        super::writeWith);
+            }
+        };
+    }
+
+    /**
+     * Check whether a response may be cached.
+     *
+     * @param response HTTP response
+     * @return true for 200 responses without no-store or private directives
+     */
+    private boolean isCacheable(ServerHttpResponse response) {
+        if (response.getStatusCode() == null || response.getStatusCode().value() != HttpStatus.OK.value()) {
+            return false;
+        }
+        long contentLength = response.getHeaders().getContentLength();
+        if (contentLength > properties.getMaxBodySize().toBytes()) {
+            return false;
+        }
+        String cacheControl = response.getHeaders().getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    /**
+     * Drop the route's cached responses after a successful write.
+     *
+     * @param exchange server web exchange
+     * @param routeId  route ID
+     * @return Mono completing when invalidation is done
+     */
+    private Mono<Void> invalidateOnSuccess(ServerWebExchange exchange, String routeId) {
+        return Mono.defer(() -> {
+            if (exchange.getResponse().getStatusCode() == null
+                    || !exchange.getResponse().getStatusCode().is2xxSuccessful()) {
+                return Mono.empty();
+            }
+            return responseCacheService.invalidateRoute(routeId)
+                    .onErrorResume(e -> {
+                        log.warn("Failed to invalidate response cache of route {}: {}", routeId, e.getMessage());
+                        return Mono.empty();
+                    })
+                    .then();
+        });
+    }
+
+    private static boolean matchesIfNoneMatch(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        for (String candidate : ifNoneMatch) {
+            String tag = candidate.startsWith("W/") ? candidate.substring(2) : candidate;
+            if ("*".equals(tag) || etag.equals(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String etagOf(byte[] body) {
+        byte[] digest = RequestKeys.sha256(body);
+        return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(digest).substring(0, 22) + "\"";
+    }
+
+    private static String contentType(ServerHttpResponse response) {
+        MediaType contentType = response.getHeaders().getContentType();
+        return contentType != null ? contentType.toString() : null;
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response_cache")
+                .description("Gateway response cache lookups")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Configuration properties for the filter.
+     */
+    @Data
+    public static class Config {
+
+        /**
+         * How long responses are cached.
+         */
+        private Duration ttl = Duration.ofSeconds(30);
+
+        /**
+         * Authorization scope a cached response is shared within.
+         */
+        private SharingScope scope = SharingScope.USER;
+    }
+}
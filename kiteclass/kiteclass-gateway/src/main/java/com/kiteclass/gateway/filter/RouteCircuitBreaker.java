@@ -0,0 +1,138 @@
+package com.kiteclass.gateway.filter;
+
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for one route.
+ *
+ * <p>Closed, it records the outcome of the last {@code slidingWindowSize} calls and
+ * opens once at least {@code minimumCalls} have been seen and the failure rate reaches
+ * the threshold. Open, it rejects every call for {@code openDuration}. Half-open, it
+ * lets {@code halfOpenCalls} probes through: any failure opens it again, all successes
+ * close it.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+final class RouteCircuitBreaker {
+
+    /**
+     * Circuit state; the ordinal is exported as a gauge.
+     */
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final boolean[] failures;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    private State state = State.CLOSED;
+    private int index;
+    private int calls;
+    private int failureCount;
+    private long openedAtNanos;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    RouteCircuitBreaker(int slidingWindowSize, int minimumCalls, double failureRateThreshold,
+                        long openDurationNanos, int halfOpenCalls, LongSupplier nanoClock) {
+        this.failures = new boolean[slidingWindowSize];
+        this.minimumCalls = minimumCalls;
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.nanoClock = nanoClock;
+    }
+
+    /**
+     * Ask for permission to call upstream.
+     *
+     * @return true if the call may proceed
+     */
+    synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAtNanos < openDurationNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermits = 0;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermits++;
+        }
+        return true;
+    }
+
+    /**
+     * Record the outcome of a permitted call.
+     *
+     * @param success whether upstream answered without failing
+     */
+    synchronized void onResult(boolean success) {
+        if (state == State.HALF_OPEN) {
+            if (!success) {
+                open();
+            } else if (++halfOpenSuccesses >= halfOpenCalls) {
+                close();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (calls == failures.length) {
+            if (failures[index]) {
+                failureCount--;
+            }
+        } else {
+            calls++;
+        }
+        failures[index] = !success;
+        if (!success) {
+            failureCount++;
+        }
+        index = (index + 1) % failures.length;
+
+        if (calls >= minimumCalls && (double) failureCount / calls >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    /**
+     * Give back a permission whose call ended without an outcome (e.g. cancelled).
+     */
+    synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermits > 0) {
+            halfOpenPermits--;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAtNanos = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        index = 0;
+        calls = 0;
+        failureCount = 0;
+        Arrays.fill(failures, false);
+    }
+}
@@ -0,0 +1,142 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.AccessLogProperties;
+import com.kiteclass.gateway.config.GatewayMetricsProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Records request rate, errors and latency for every gateway route.
+ *
+ * <p>Metrics:
+ * <ul>
+ *   <li>{@code gateway.route.requests} - timer tagged by route, method, status class
+ *       and upstream outcome, with percentile histogram and SLO buckets</li>
+ *   <li>{@code gateway.route.requests.slow} - requests above the route's slow threshold</li>
+ * </ul>
+ *
+ * <p>The outcome tag tells upstream failures apart: {@code SUCCESS} when a response was
+ * produced, {@code TIMEOUT} and {@code CONNECT_ERROR} when core could not answer,
+ * {@code ERROR} for other failures and {@code CANCELLED} when the client went away.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Component
+public class RouteMetricsFilter implements GlobalFilter, Ordered {
+
+    private static final String UNMATCHED_ROUTE = "none";
+
+    private final MeterRegistry meterRegistry;
+    private final GatewayMetricsProperties properties;
+    private final AccessLogProperties accessLogProperties;
+
+    // Tag combinations are bounded by routes x methods x status classes x outcomes
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> slowCounters = new ConcurrentHashMap<>();
+
+    public RouteMetricsFilter(MeterRegistry meterRegistry,
+                              GatewayMetricsProperties properties,
+                              AccessLogProperties accessLogProperties) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.accessLogProperties = accessLogProperties;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+
+        long startNanos = System.nanoTime();
+        return chain.filter(exchange)
+                .doOnSuccess(done -> record(exchange, startNanos, statusClass(exchange.getResponse().getStatusCode()), "SUCCESS"))
+                .doOnError(error -> record(exchange, startNanos, statusClass(error), outcome(error)))
+                .doOnCancel(() -> record(exchange, startNanos, "UNKNOWN", "CANCELLED"));
+    }
+
+    @Override
+    public int getOrder() {
+        // Wrap every other filter so the timing covers the whole exchange
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    private void record(ServerWebExchange exchange, long startNanos, String statusClass, String outcome) {
+        long durationNanos = System.nanoTime() - startNanos;
+        String routeId = routeId(exchange);
+        String method = exchange.getRequest().getMethod().name();
+
+        timers.computeIfAbsent(routeId + '|' + method + '|' + statusClass + '|' + outcome,
+                        key -> Timer.builder("gateway.route.requests")
+                                .description("Gateway requests by route")
+                                .tag("route", routeId)
+                                .tag("method", method)
+                                .tag("status", statusClass)
+                                .tag("outcome", outcome)
+                                .publishPercentileHistogram(properties.isPercentileHistogram())
+                                .serviceLevelObjectives(properties.sloBucketsFor(routeId).toArray(Duration[]::new))
+                                .register(meterRegistry))
+                .record(durationNanos, TimeUnit.NANOSECONDS);
+
+        if (durationNanos > accessLogProperties.slowThresholdFor(routeId).toNanos()) {
+            slowCounters.computeIfAbsent(routeId, key -> Counter.builder("gateway.route.requests.slow")
+                            .description("Gateway requests above the route's slow threshold")
+                            .tag("route", routeId)
+                            .register(meterRegistry))
+                    .increment();
+        }
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : UNMATCHED_ROUTE;
+    }
+
+    private static String statusClass(HttpStatusCode statusCode) {
+        return statusCode != null ? (statusCode.value() / 100) + "xx" : "UNKNOWN";
+    }
+
+    private static String statusClass(Throwable error) {
+        // The error handler turns most failures into 5xx; status exceptions keep their own
+        return error instanceof ResponseStatusException statusException
+                ? statusClass(statusException.getStatusCode())
+                : "5xx";
+    }
+
+    private static String outcome(Throwable error) {
+        // Routing wraps upstream timeouts in a 504 ResponseStatusException
+        if (error instanceof ResponseStatusException statusException
+                && statusException.getStatusCode().value() == HttpStatus.GATEWAY_TIMEOUT.value()) {
+            return "TIMEOUT";
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TimeoutException || cause instanceof io.netty.handler.timeout.TimeoutException) {
+                return "TIMEOUT";
+            }
+            if (cause instanceof ConnectException) {
+                return "CONNECT_ERROR";
+            }
+        }
+        return "ERROR";
+    }
+}
@@ -0,0 +1,23 @@
+package com.kiteclass.gateway.filter;
+
+/**
+ * Authorization scope within which a response may be shared between callers.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public enum SharingScope {
+    /**
+     * Shared only between requests of the same user.
+     */
+    USER,
+    /**
+     * Shared by users with the same set of roles.
+     */
+    ROLES,
+    /**
+     * Shared by users with the same effective permissions. Tokens issued without a
+     * permission set fall back to their roles.
+     */
+    PERMISSIONS
+}
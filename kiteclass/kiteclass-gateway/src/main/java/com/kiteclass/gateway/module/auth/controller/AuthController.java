@@ -11,9 +11,11 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Mono;
@@ -39,6 +41,8 @@ import reactor.core.publisher.Mono;
 @Tag(name = "Authentication", description = "Authentication APIs")
 public class AuthController {
 
+    private static final String BEARER_PREFIX = "Bearer ";
+
     private final AuthService authService;
 
     /**
@@ -80,9 +84,13 @@ public class AuthController {
     @PostMapping("/logout")
     @Operation(summary = "Logout and invalidate refresh token")
     public Mono<ResponseEntity<Void>> logout(
-            @RequestBody RefreshTokenRequest request) {
+            @RequestBody RefreshTokenRequest request,
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
 
-        return authService.logout(request.refreshToken())
+        String accessToken = authorization != null && authorization.startsWith(BEARER_PREFIX)
+                ? authorization.substring(BEARER_PREFIX.length())
+                : null;
+        return authService.logout(request.refreshToken(), accessToken)
                 .then(Mono.just(ResponseEntity.noContent().build()));
     }
 
@@ -0,0 +1,30 @@
+package com.kiteclass.gateway.module.auth.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.relational.core.mapping.Column;
+
+/**
+ * Read-only projection of a permission granted to a role, identified by its code and
+ * bit index.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RolePermissionCode {
+
+    @Column("role_id")
+    private Long roleId;
+
+    @Column("code")
+    private String code;
+
+    @Column("bit_index")
+    private Integer bitIndex;
+}
@@ -1,6 +1,7 @@
 package com.kiteclass.gateway.module.auth.repository;
 
 import com.kiteclass.gateway.module.auth.entity.PasswordResetToken;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
@@ -26,6 +27,17 @@ public interface PasswordResetTokenRepository extends R2dbcRepository<PasswordRe
      */
     Mono<PasswordResetToken> findByToken(String token);
 
+    /**
+     * Mark a password reset token as used unless it already is.
+     *
+     * @param token  token string
+     * @param usedAt time of use
+     * @return Mono of the number of rows updated (0 if unknown or already used)
+     */
+    @Modifying
+    @Query("UPDATE password_reset_tokens SET used_at = :usedAt WHERE token = :token AND used_at IS NULL")
+    Mono<Integer> markUsed(String token, Instant usedAt);
+
     /**
      * Find all password reset tokens for a user.
      *
@@ -43,19 +55,29 @@ public interface PasswordResetTokenRepository extends R2dbcRepository<PasswordRe
     Mono<Void> deleteByUserId(Long userId);
 
     /**
-     * Delete expired password reset tokens.
+     * Delete a bounded batch of expired password reset tokens.
      *
-     * @param now current timestamp
-     * @return Mono of Void
+     * @param now   current timestamp
+     * @param limit maximum number of tokens to delete
+     * @return Mono of the number of tokens deleted
      */
-    @Query("DELETE FROM password_reset_tokens WHERE expires_at < :now")
-    Mono<Void> deleteExpiredTokens(Instant now);
+    @Modifying
+    @Query("""
+        DELETE FROM password_reset_tokens
+        WHERE id IN (SELECT id FROM password_reset_tokens WHERE expires_at < :now LIMIT :limit)
+        """)
+    Mono<Integer> deleteExpiredTokens(Instant now, int limit);
 
     /**
-     * Delete used password reset tokens.
+     * Delete a bounded batch of used password reset tokens.
      *
-     * @return Mono of Void
+     * @param limit maximum number of tokens to delete
+     * @return Mono of the number of tokens deleted
      */
-    @Query("DELETE FROM password_reset_tokens WHERE used_at IS NOT NULL")
-    Mono<Void> deleteUsedTokens();
+    @Modifying
+    @Query("""
+        DELETE FROM password_reset_tokens
+        WHERE id IN (SELECT id FROM password_reset_tokens WHERE used_at IS NOT NULL LIMIT :limit)
+        """)
+    Mono<Integer> deleteUsedTokens(int limit);
 }
@@ -1,6 +1,7 @@
 package com.kiteclass.gateway.module.auth.repository;
 
 import com.kiteclass.gateway.module.auth.entity.RefreshToken;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
@@ -26,6 +27,15 @@ public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, Lo
      */
     Mono<RefreshToken> findByToken(String token);
 
+    /**
+     * Delete a refresh token and return it, so that it can be used only once.
+     *
+     * @param token token string
+     * @return Mono of the deleted RefreshToken, or empty if none matched
+     */
+    @Query("DELETE FROM refresh_tokens WHERE token = :token RETURNING *")
+    Mono<RefreshToken> deleteByTokenReturning(String token);
+
     /**
      * Find all refresh tokens for a user.
      *
@@ -43,11 +53,16 @@ public interface RefreshTokenRepository extends R2dbcRepository<RefreshToken, Lo
     Mono<Void> deleteByUserId(Long userId);
 
     /**
-     * Delete expired refresh tokens.
+     * Delete a bounded batch of expired refresh tokens.
      *
-     * @param now current timestamp
-     * @return Mono of Void
+     * @param now   current timestamp
+     * @param limit maximum number of tokens to delete
+     * @return Mono of the number of tokens deleted
      */
-    @Query("DELETE FROM refresh_tokens WHERE expires_at < :now")
-    Mono<Void> deleteExpiredTokens(Instant now);
+    @Modifying
+    @Query("""
+        DELETE FROM refresh_tokens
+        WHERE id IN (SELECT id FROM refresh_tokens WHERE expires_at < :now LIMIT :limit)
+        """)
+    Mono<Integer> deleteExpiredTokens(Instant now, int limit);
 }
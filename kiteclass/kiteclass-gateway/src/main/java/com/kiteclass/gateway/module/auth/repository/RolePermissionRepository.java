@@ -1,6 +1,7 @@
 package com.kiteclass.gateway.module.auth.repository;
 
 import com.kiteclass.gateway.module.auth.entity.RolePermission;
+import com.kiteclass.gateway.module.auth.entity.RolePermissionCode;
 import com.kiteclass.gateway.module.user.entity.Permission;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
@@ -42,4 +43,15 @@ public interface RolePermissionRepository extends R2dbcRepository<RolePermission
         WHERE ur.user_id = :userId
         """)
     Flux<Permission> findPermissionsByUserId(Long userId);
+
+    /**
+     * Find the permission codes and bit indexes of every role.
+     *
+     * @return Flux of RolePermissionCode
+     */
+    @Query("""
+        SELECT rp.role_id, p.code, p.bit_index FROM role_permissions rp
+        INNER JOIN permissions p ON p.id = rp.permission_id
+        """)
+    Flux<RolePermissionCode> findAllPermissionCodes();
 }
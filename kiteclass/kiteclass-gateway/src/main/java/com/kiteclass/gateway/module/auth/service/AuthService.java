@@ -32,12 +32,13 @@ public interface AuthService {
     Mono<LoginResponse> refreshToken(RefreshTokenRequest request);
 
     /**
-     * Logout user by invalidating refresh token.
+     * Logout user by invalidating refresh token and revoking the access token.
      *
      * @param refreshToken refresh token to invalidate
+     * @param accessToken access token to revoke, or null if the request carried none
      * @return Mono of Void
      */
-    Mono<Void> logout(String refreshToken);
+    Mono<Void> logout(String refreshToken, String accessToken);
 
     /**
      * Send password reset email.
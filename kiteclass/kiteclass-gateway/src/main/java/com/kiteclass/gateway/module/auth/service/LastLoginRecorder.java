@@ -0,0 +1,129 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.LastLoginProperties;
+import com.kiteclass.gateway.module.user.repository.UserRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Write-behind buffer for users' last login times.
+ *
+ * <p>The last login time is bookkeeping only, so logins record it in memory instead of
+ * updating the user's row. Every {@code last-login.flush-interval} the buffered times
+ * are written with one {@code UPDATE} per {@code last-login.batch-size} users; a user
+ * logging in repeatedly within an interval costs a single row update. Writing starts
+ * early once {@code last-login.max-pending} users are buffered, and the buffer is
+ * written on shutdown.
+ *
+ * <p>Times that fail to be written are put back and retried with the next write. Times
+ * still buffered when the instance dies are lost, which leaves the previous login time
+ * in place.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class LastLoginRecorder {
+
+    private final UserRepository userRepository;
+    private final LastLoginProperties properties;
+    private final Map<Long, Instant> pending = new ConcurrentHashMap<>();
+    private Disposable schedule;
+
+    public LastLoginRecorder(UserRepository userRepository, LastLoginProperties properties) {
+        this.userRepository = userRepository;
+        this.properties = properties;
+    }
+
+    /**
+     * Start writing buffered login times periodically.
+     */
+    @PostConstruct
+    public void start() {
+        schedule = Flux.interval(properties.getFlushInterval(), properties.getFlushInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> flush())
+                .subscribe();
+    }
+
+    /**
+     * Stop the schedule and write what is still buffered.
+     */
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+        try {
+            flush().block(properties.getShutdownTimeout());
+        } catch (RuntimeException e) {
+            log.warn("Last login times not written on shutdown: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Record a successful login.
+     *
+     * @param userId  user ID
+     * @param loginAt login time
+     */
+    public void record(Long userId, Instant loginAt) {
+        pending.merge(userId, loginAt, LastLoginRecorder::latest);
+        if (pending.size() >= properties.getMaxPending()) {
+            flush().subscribe();
+        }
+    }
+
+    /**
+     * Write all buffered login times now.
+     *
+     * @return Mono of the number of users updated
+     */
+    public Mono<Integer> flush() {
+        return Mono.defer(() -> {
+            List<Map.Entry<Long, Instant>> drained = new ArrayList<>();
+            for (Long userId : pending.keySet()) {
+                Instant loginAt = pending.remove(userId);
+                if (loginAt != null) {
+                    drained.add(Map.entry(userId, loginAt));
+                }
+            }
+            return Flux.fromIterable(drained)
+                    .buffer(properties.getBatchSize())
+                    .concatMap(this::write)
+                    .reduce(0, Integer::sum);
+        });
+    }
+
+    private Mono<Integer> write(List<Map.Entry<Long, Instant>> batch) {
+        Long[] userIds = new Long[batch.size()];
+        Long[] loginMillis = new Long[batch.size()];
+        for (int i = 0; i < batch.size(); i++) {
+            userIds[i] = batch.get(i).getKey();
+            loginMillis[i] = batch.get(i).getValue().toEpochMilli();
+        }
+        return userRepository.updateLastLoginAt(userIds, loginMillis)
+                .onErrorResume(e -> {
+                    log.warn("Could not write last login times of {} users, retrying later: {}",
+                            batch.size(), e.getMessage());
+                    batch.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), LastLoginRecorder::latest));
+                    return Mono.just(0);
+                });
+    }
+
+    private static Instant latest(Instant a, Instant b) {
+        return a.isAfter(b) ? a : b;
+    }
+}
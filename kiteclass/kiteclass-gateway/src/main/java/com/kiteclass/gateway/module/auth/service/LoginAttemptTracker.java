@@ -0,0 +1,153 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.LoginAttemptProperties;
+import com.kiteclass.gateway.module.user.entity.User;
+import com.kiteclass.gateway.module.user.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tracks failed logins and locks accounts after too many.
+ *
+ * <p>Failed logins are counted in Redis by a script that increments the counter and,
+ * at {@code login-attempts.max-failed-attempts}, sets a lock key with the lock
+ * duration as TTL, all in one round trip. A wrong password therefore costs no
+ * database write; only the transition to locked is saved on the user's row, so the
+ * lock outlives a Redis restart. Locks are checked by email before the user is
+ * loaded, so logins to a locked account do not reach the database either.
+ *
+ * <p>Without a Redis connection, or when Redis fails, failures are counted on the
+ * user's row as before.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class LoginAttemptTracker {
+
+    private static final RedisScript<Long> FAILURE_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/login-failure.lua"), Long.class);
+
+    private final UserRepository userRepository;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final LoginAttemptProperties properties;
+
+    public LoginAttemptTracker(UserRepository userRepository,
+                               ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                               LoginAttemptProperties properties) {
+        this.userRepository = userRepository;
+        this.redisTemplate = properties.isRedis() ? redisTemplate.getIfAvailable() : null;
+        this.properties = properties;
+    }
+
+    /**
+     * Check whether logins to an account are locked out in Redis. Locks saved on the
+     * user's row are checked separately, once the user is loaded.
+     *
+     * @param email login email
+     * @return Mono of true if locked
+     */
+    public Mono<Boolean> isLocked(String email) {
+        if (redisTemplate == null) {
+            return Mono.just(false);
+        }
+        return redisTemplate.hasKey(lockKey(email))
+                .onErrorResume(e -> {
+                    log.warn("Login lockout state unavailable, checking the database only: {}", e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    /**
+     * Record a failed login, locking the account once the limit is reached.
+     *
+     * @param user user who failed to log in
+     * @return Mono of Void
+     */
+    public Mono<Void> recordFailure(User user) {
+        if (redisTemplate == null) {
+            return recordFailureOnUser(user);
+        }
+        List<String> keys = List.of(failuresKey(user.getEmail()), lockKey(user.getEmail()));
+        List<String> args = List.of(
+                String.valueOf(properties.getMaxFailedAttempts()),
+                String.valueOf(properties.getFailureWindow().toMillis()),
+                String.valueOf(properties.getLockDuration().toMillis()));
+
+        return redisTemplate.execute(FAILURE_SCRIPT, keys, args)
+                .next()
+                .map(Long::intValue)
+                .onErrorResume(e -> {
+                    log.warn("Login failure counter unavailable, counting in the database: {}", e.getMessage());
+                    return recordFailureOnUser(user).then(Mono.empty());
+                })
+                .flatMap(attempts -> {
+                    if (attempts < properties.getMaxFailedAttempts()) {
+                        log.warn("Failed login attempt {} of {} for user: {}",
+                                attempts, properties.getMaxFailedAttempts(), user.getEmail());
+                        return Mono.empty();
+                    }
+                    return lock(user, attempts);
+                });
+    }
+
+    /**
+     * Clear failed logins and any Redis lock after a successful login or password
+     * reset. The user's row is reset by the caller.
+     *
+     * @param user user
+     * @return Mono of Void
+     */
+    public Mono<Void> reset(User user) {
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        return redisTemplate.delete(failuresKey(user.getEmail()), lockKey(user.getEmail()))
+                .onErrorResume(e -> {
+                    log.warn("Could not clear failed logins for user {}: {}", user.getId(), e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Count a failed login on the user's row, as done without Redis.
+     *
+     * @param user user who failed to log in
+     * @return Mono of Void
+     */
+    private Mono<Void> recordFailureOnUser(User user) {
+        int attempts = (user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0) + 1;
+        if (attempts >= properties.getMaxFailedAttempts()) {
+            return lock(user, attempts);
+        }
+        log.warn("Failed login attempt {} of {} for user: {}", attempts, properties.getMaxFailedAttempts(), user.getEmail());
+        user.setFailedLoginAttempts(attempts);
+        return userRepository.save(user).then();
+    }
+
+    private Mono<Void> lock(User user, int attempts) {
+        user.setFailedLoginAttempts(attempts);
+        user.setLockedUntil(Instant.now().plus(properties.getLockDuration()));
+        log.warn("Account locked for user: {} after {} failed attempts", user.getEmail(), attempts);
+        return userRepository.save(user).then();
+    }
+
+    private String failuresKey(String email) {
+        return properties.getKeyPrefix() + "failures:" + email.toLowerCase(Locale.ROOT);
+    }
+
+    private String lockKey(String email) {
+        return properties.getKeyPrefix() + "locked:" + email.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,210 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kiteclass.gateway.config.RefreshRotationProperties;
+import com.kiteclass.gateway.config.TokenStoreProperties;
+import com.kiteclass.gateway.module.auth.dto.LoginResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.Cipher;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight rotation of refresh tokens.
+ *
+ * <p>A refresh token can be consumed only once, so clients refreshing concurrently
+ * with the same token (two tabs, or a browser and an app sharing a session) would
+ * all but one fail and fall back to logging in again. Instead, concurrent refreshes
+ * with one token on this instance share a single rotation, and for
+ * {@code refresh-rotation.grace-window} afterwards the token keeps returning the pair
+ * it was rotated to.
+ *
+ * <p>Across instances the pair is handed over through Redis under
+ * {@code <prefix>rotated:<digest>} for the grace window, encrypted with a key derived
+ * from the old refresh token, so that Redis holds no usable token. While a token is
+ * being rotated, {@code <prefix>rotating:<digest>} marks it for
+ * {@code refresh-rotation.handoff-wait}; a refresh whose token was consumed elsewhere
+ * waits up to that long for the pair to appear only when the marker exists, so
+ * unknown or expired tokens are rejected after a single Redis read. Without Redis,
+ * only refreshes on the same instance share a rotation.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class RefreshTokenRotation {
+
+    private static final String CIPHER = "AES/GCM/NoPadding";
+    private static final int IV_LENGTH = 12;
+    private static final int TAG_BITS = 128;
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final RefreshRotationProperties properties;
+    private final String keyPrefix;
+    private final Cache<String, Mono<LoginResponse>> rotations;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenRotation(ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                                ObjectMapper objectMapper,
+                                RefreshRotationProperties properties,
+                                TokenStoreProperties tokenStoreProperties) {
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.keyPrefix = tokenStoreProperties.getKeyPrefix();
+        this.rotations = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxEntries())
+                .expireAfterWrite(properties.getGraceWindow())
+                .build();
+    }
+
+    /**
+     * Rotate a refresh token once, sharing the result with every refresh of the same
+     * token within the grace window.
+     *
+     * @param refreshToken refresh token being rotated
+     * @param rotation     consumes the token and issues a new pair; empty if the token
+     *                     was not found, for example because it was already consumed.
+     *                     Should call {@link #markRotating(String)} once the token is
+     *                     consumed
+     * @return Mono of the new token pair, or empty if the token is neither stored nor
+     *         recently rotated
+     */
+    public Mono<LoginResponse> rotate(String refreshToken, Supplier<Mono<LoginResponse>> rotation) {
+        if (properties.getGraceWindow().isZero()) {
+            return Mono.defer(rotation);
+        }
+        String digest = TokenDigests.digest(refreshToken);
+        return rotations.get(digest, key -> Mono.defer(rotation)
+                .flatMap(response -> handOver(digest, refreshToken, response).thenReturn(response))
+                .switchIfEmpty(Mono.defer(() -> awaitHandover(digest, refreshToken)))
+                // Failures are not shared: the next refresh with the token tries again
+                .doOnError(e -> rotations.invalidate(key))
+                .cache(response -> properties.getGraceWindow(), e -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    /**
+     * Mark a refresh token as consumed by a rotation in progress, so that refreshes
+     * with it on other instances wait for the new pair instead of failing.
+     *
+     * @param refreshToken refresh token just consumed
+     * @return Mono completing once the marker is written; errors are logged and dropped
+     */
+    public Mono<Void> markRotating(String refreshToken) {
+        if (redisTemplate == null || properties.getGraceWindow().isZero()) {
+            return Mono.empty();
+        }
+        return Mono.defer(() -> redisTemplate.opsForValue()
+                        .set(rotatingKey(TokenDigests.digest(refreshToken)), "1", properties.getHandoffWait()))
+                .onErrorResume(e -> {
+                    log.warn("Could not mark refresh token as rotating, other instances reject it: {}",
+                            e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Make a new pair available to refreshes of the old token on other instances.
+     */
+    private Mono<Void> handOver(String digest, String refreshToken, LoginResponse response) {
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        return Mono.fromCallable(() -> encrypt(refreshToken, objectMapper.writeValueAsBytes(response)))
+                .flatMap(sealed -> redisTemplate.opsForValue()
+                        .set(rotatedKey(digest), sealed, properties.getGraceWindow()))
+                .onErrorResume(e -> {
+                    log.warn("Could not hand over rotated refresh token, other instances reject it: {}",
+                            e.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    /**
+     * Wait for the pair a consumed token was rotated to on another instance. Polls only
+     * while that instance has the token marked as rotating.
+     */
+    private Mono<LoginResponse> awaitHandover(String digest, String refreshToken) {
+        if (redisTemplate == null) {
+            return Mono.empty();
+        }
+        long polls = properties.getHandoffWait().toMillis()
+                / Math.max(1, properties.getHandoffPollInterval().toMillis());
+        Mono<String> handedOver = Mono.defer(() -> redisTemplate.opsForValue().get(rotatedKey(digest)));
+        return redisTemplate.opsForValue().multiGet(List.of(rotatedKey(digest), rotatingKey(digest)))
+                .flatMap(values -> {
+                    if (values.get(0) != null) {
+                        return Mono.just(values.get(0));
+                    }
+                    if (values.get(1) == null) {
+                        return Mono.empty();
+                    }
+                    return handedOver.repeatWhenEmpty((int) Math.min(polls, Integer.MAX_VALUE),
+                            attempts -> attempts.delayElements(properties.getHandoffPollInterval()));
+                })
+                .map(sealed -> decrypt(refreshToken, sealed))
+                .onErrorResume(e -> {
+                    log.warn("Could not read rotated refresh token: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private String encrypt(String refreshToken, byte[] plaintext) throws GeneralSecurityException {
+        byte[] iv = new byte[IV_LENGTH];
+        random.nextBytes(iv);
+        Cipher cipher = Cipher.getInstance(CIPHER);
+        cipher.init(Cipher.ENCRYPT_MODE, keyOf(refreshToken), new GCMParameterSpec(TAG_BITS, iv));
+        byte[] ciphertext = cipher.doFinal(plaintext);
+        return Base64.getEncoder().encodeToString(ByteBuffer.allocate(iv.length + ciphertext.length)
+                .put(iv)
+                .put(ciphertext)
+                .array());
+    }
+
+    private LoginResponse decrypt(String refreshToken, String sealed) {
+        try {
+            byte[] bytes = Base64.getDecoder().decode(sealed);
+            Cipher cipher = Cipher.getInstance(CIPHER);
+            cipher.init(Cipher.DECRYPT_MODE, keyOf(refreshToken), new GCMParameterSpec(TAG_BITS, bytes, 0, IV_LENGTH));
+            byte[] plaintext = cipher.doFinal(bytes, IV_LENGTH, bytes.length - IV_LENGTH);
+            return objectMapper.readValue(plaintext, LoginResponse.class);
+        } catch (GeneralSecurityException | IOException e) {
+            throw new IllegalStateException("Rotated refresh token unreadable", e);
+        }
+    }
+
+    private String rotatedKey(String digest) {
+        return keyPrefix + "rotated:" + digest;
+    }
+
+    private String rotatingKey(String digest) {
+        return keyPrefix + "rotating:" + digest;
+    }
+
+    /**
+     * Encryption key for a rotation, derived from the old refresh token. Unlike the
+     * digest used in the Redis key, it cannot be computed without the token.
+     */
+    private static SecretKeySpec keyOf(String refreshToken) {
+        return new SecretKeySpec(TokenDigests.sha256("rotation-key:" + refreshToken), "AES");
+    }
+}
@@ -0,0 +1,42 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+/**
+ * Digests of tokens, so that tokens themselves never reach Redis.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public final class TokenDigests {
+
+    private TokenDigests() {
+    }
+
+    /**
+     * Digest a token for use in a Redis key.
+     *
+     * @param token token
+     * @return unpadded base64url SHA-256 digest
+     */
+    public static String digest(String token) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(sha256(token));
+    }
+
+    /**
+     * SHA-256 hash of a string.
+     *
+     * @param value value, hashed as UTF-8
+     * @return 32-byte hash
+     */
+    public static byte[] sha256(String value) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.TokenPurgeProperties;
+import com.kiteclass.gateway.module.auth.repository.PasswordResetTokenRepository;
+import com.kiteclass.gateway.module.auth.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Background job deleting expired refresh tokens and expired or used password reset
+ * tokens from the database.
+ *
+ * <p>Rows are deleted in batches of {@code token-purge.batch-size} with a pause
+ * between batches, so the purge never holds locks for long or writes a burst of WAL.
+ * A run deletes at most {@code token-purge.max-batches-per-run} batches per kind of
+ * token and leaves the rest for the next run.
+ *
+ * <p>Only one gateway instance purges: the first to take the Redis lease keeps it
+ * for as long as it runs, and another instance takes over once it lapses. Without a
+ * Redis connection every instance purges, which is safe but redundant. Rows purged
+ * are counted by {@code auth.tokens.purged} and runs are timed by
+ * {@code auth.tokens.purge}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class TokenPurgeJob {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final TokenPurgeProperties properties;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final Counter refreshTokensPurged;
+    private final Counter expiredResetTokensPurged;
+    private final Counter usedResetTokensPurged;
+    private final Timer runTimer;
+    private Disposable schedule;
+
+    public TokenPurgeJob(RefreshTokenRepository refreshTokenRepository,
+                         PasswordResetTokenRepository passwordResetTokenRepository,
+                         ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                         TokenPurgeProperties properties,
+                         MeterRegistry meterRegistry) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.properties = properties;
+        this.refreshTokensPurged = purgedCounter(meterRegistry, "refresh", "expired");
+        this.expiredResetTokensPurged = purgedCounter(meterRegistry, "password-reset", "expired");
+        this.usedResetTokensPurged = purgedCounter(meterRegistry, "password-reset", "used");
+        this.runTimer = Timer.builder("auth.tokens.purge")
+                .description("Duration of token purge runs")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule the purge.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        schedule = Flux.interval(properties.getInitialDelay(), properties.getInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> run().onErrorResume(e -> {
+                    log.warn("Token purge failed, retrying next run: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    /**
+     * Stop the schedule. A batch in progress completes; no further batch starts.
+     */
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+    }
+
+    /**
+     * Purge once, if this instance holds the lease.
+     *
+     * @return Mono of the number of rows deleted (0 if another instance holds the lease)
+     */
+    public Mono<Long> run() {
+        return acquireLease().flatMap(acquired -> {
+            if (!acquired) {
+                log.debug("Token purge lease held by another instance, skipping run");
+                return Mono.just(0L);
+            }
+            Instant now = Instant.now();
+            int limit = properties.getBatchSize();
+            long start = System.nanoTime();
+            return Flux.concat(
+                            purge(refreshTokensPurged,
+                                    () -> refreshTokenRepository.deleteExpiredTokens(now, limit)),
+                            purge(expiredResetTokensPurged,
+                                    () -> passwordResetTokenRepository.deleteExpiredTokens(now, limit)),
+                            purge(usedResetTokensPurged,
+                                    () -> passwordResetTokenRepository.deleteUsedTokens(limit)))
+                    .reduce(0L, Long::sum)
+                    .doOnNext(purged -> {
+                        long elapsed = System.nanoTime() - start;
+                        runTimer.record(elapsed, TimeUnit.NANOSECONDS);
+                        log.info("Token purge deleted {} rows in {} ms", purged, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                    });
+        });
+    }
+
+    /**
+     * Delete batches until one comes back short or the per-run limit is reached.
+     *
+     * @param counter     counter of purged rows
+     * @param deleteBatch deletes one batch, returning the number of rows deleted
+     * @return Mono of the number of rows deleted
+     */
+    private Mono<Long> purge(Counter counter, Supplier<Mono<Integer>> deleteBatch) {
+        int batchSize = properties.getBatchSize();
+        return Mono.defer(deleteBatch)
+                .expand(deleted -> deleted < batchSize
+                        ? Mono.empty()
+                        : Mono.delay(properties.getPause()).then(Mono.defer(deleteBatch)))
+                .take(properties.getMaxBatchesPerRun())
+                .doOnNext(counter::increment)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Take or renew the lease. The lease outlives one interval, so the holder renews
+     * it on every run, and lapses after two missed runs.
+     *
+     * @return Mono of true if this instance may purge
+     */
+    private Mono<Boolean> acquireLease() {
+        if (redisTemplate == null) {
+            return Mono.just(true);
+        }
+        Duration ttl = properties.getInterval().multipliedBy(2);
+        String key = properties.getLeaseKey();
+        return redisTemplate.opsForValue().setIfAbsent(key, instanceId, ttl)
+                .flatMap(acquired -> acquired
+                        ? Mono.just(true)
+                        : redisTemplate.opsForValue().get(key)
+                                .filter(instanceId::equals)
+                                .flatMap(owner -> redisTemplate.expire(key, ttl))
+                                .defaultIfEmpty(false))
+                .onErrorResume(e -> {
+                    log.warn("Token purge lease unavailable, skipping run: {}", e.getMessage());
+                    return Mono.just(false);
+                });
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String token, String reason) {
+        return Counter.builder("auth.tokens.purged")
+                .description("Tokens deleted by the token purge")
+                .tag("token", token)
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,99 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Store for the short-lived credentials issued by the auth module: refresh tokens
+ * and password reset tokens.
+ *
+ * <p>Tokens are looked up by their value only; callers never need the stored
+ * representation, which lets implementations keep a digest instead of the token.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public interface TokenStore {
+
+    /**
+     * Store a refresh token.
+     *
+     * @param userId    owner of the token
+     * @param token     refresh token
+     * @param expiresAt expiration time
+     * @return Mono of Void
+     */
+    Mono<Void> saveRefreshToken(Long userId, String token, Instant expiresAt);
+
+    /**
+     * Remove a refresh token, returning what was stored. A token can be consumed
+     * only once, so concurrent refreshes with the same token cannot both succeed.
+     *
+     * @param token refresh token
+     * @return Mono of the stored token, or empty if unknown
+     */
+    Mono<StoredToken> consumeRefreshToken(String token);
+
+    /**
+     * Remove all refresh tokens of a user.
+     *
+     * @param userId user ID
+     * @return Mono of Void
+     */
+    Mono<Void> revokeRefreshTokens(Long userId);
+
+    /**
+     * Store a password reset token, replacing any earlier reset token of the user.
+     *
+     * @param userId    owner of the token
+     * @param token     reset token
+     * @param expiresAt expiration time
+     * @return Mono of Void
+     */
+    Mono<Void> saveResetToken(Long userId, String token, Instant expiresAt);
+
+    /**
+     * Find a password reset token.
+     *
+     * @param token reset token
+     * @return Mono of the stored token, or empty if unknown
+     */
+    Mono<StoredToken> findResetToken(String token);
+
+    /**
+     * Mark a password reset token as used.
+     *
+     * @param token reset token
+     * @return Mono of true if this call marked it, false if it was already used or is unknown
+     */
+    Mono<Boolean> markResetTokenUsed(String token);
+
+    /**
+     * Token as known to the store.
+     *
+     * @param userId    owner of the token
+     * @param expiresAt expiration time
+     * @param usedAt    time the token was used (reset tokens only), or null
+     */
+    record StoredToken(Long userId, Instant expiresAt, Instant usedAt) {
+
+        /**
+         * Check if the token is expired.
+         *
+         * @return true if expired
+         */
+        public boolean isExpired() {
+            return expiresAt != null && expiresAt.isBefore(Instant.now());
+        }
+
+        /**
+         * Check if the token has been used.
+         *
+         * @return true if used
+         */
+        public boolean isUsed() {
+            return usedAt != null;
+        }
+    }
+}
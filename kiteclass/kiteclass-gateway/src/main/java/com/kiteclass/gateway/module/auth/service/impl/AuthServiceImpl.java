@@ -9,26 +9,33 @@ import com.kiteclass.gateway.module.auth.dto.LoginRequest;
 import com.kiteclass.gateway.module.auth.dto.LoginResponse;
 import com.kiteclass.gateway.module.auth.dto.RefreshTokenRequest;
 import com.kiteclass.gateway.module.auth.dto.ResetPasswordRequest;
-import com.kiteclass.gateway.module.auth.entity.PasswordResetToken;
-import com.kiteclass.gateway.module.auth.entity.RefreshToken;
-import com.kiteclass.gateway.module.auth.repository.PasswordResetTokenRepository;
-import com.kiteclass.gateway.module.auth.repository.RefreshTokenRepository;
 import com.kiteclass.gateway.module.auth.service.AuthService;
+import com.kiteclass.gateway.module.auth.service.LastLoginRecorder;
+import com.kiteclass.gateway.module.auth.service.LoginAttemptTracker;
+import com.kiteclass.gateway.module.auth.service.RefreshTokenRotation;
+import com.kiteclass.gateway.module.auth.service.TokenStore;
+import com.kiteclass.gateway.module.user.entity.Role;
 import com.kiteclass.gateway.module.user.entity.User;
+import com.kiteclass.gateway.module.user.entity.UserRole;
 import com.kiteclass.gateway.module.user.repository.UserRepository;
 import com.kiteclass.gateway.module.user.repository.UserRoleRepository;
+import com.kiteclass.gateway.module.user.service.RoleCatalog;
+import com.kiteclass.gateway.security.PasswordHasher;
+import com.kiteclass.gateway.security.TokenRevocationList;
 import com.kiteclass.gateway.security.jwt.JwtProperties;
 import com.kiteclass.gateway.security.jwt.JwtTokenProvider;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
 import com.kiteclass.gateway.service.EmailService;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -38,7 +45,8 @@ import java.util.UUID;
  * <ul>
  *   <li>Email/password authentication</li>
  *   <li>JWT token generation</li>
- *   <li>Refresh token mechanism</li>
+ *   <li>Refresh token mechanism, with concurrent refreshes sharing one rotation</li>
+ *   <li>Access token revocation on logout and password reset</li>
  *   <li>Failed login attempt tracking</li>
  *   <li>Account locking after max failed attempts</li>
  * </ul>
@@ -53,23 +61,31 @@ public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
     private final UserRoleRepository userRoleRepository;
-    private final RefreshTokenRepository refreshTokenRepository;
-    private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final RoleCatalog roleCatalog;
+    private final TokenStore tokenStore;
+    private final RefreshTokenRotation refreshTokenRotation;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final LastLoginRecorder lastLoginRecorder;
     private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
     private final JwtProperties jwtProperties;
     private final EmailProperties emailProperties;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
     private final EmailService emailService;
 
-    private static final int MAX_FAILED_ATTEMPTS = 5;
-    private static final long LOCK_DURATION_MINUTES = 30;
-
     @Override
     @Transactional
     public Mono<LoginResponse> login(LoginRequest request) {
         log.info("Login attempt for email: {}", request.email());
 
-        return userRepository.findByEmailAndDeletedFalse(request.email())
+        // Accounts locked out in Redis are rejected without loading the user
+        return loginAttemptTracker.isLocked(request.email())
+                .flatMap(locked -> locked
+                        ? Mono.<User>error(new BusinessException(
+                                MessageCodes.AUTH_ACCOUNT_LOCKED,
+                                HttpStatus.FORBIDDEN
+                        ))
+                        : userRepository.findByEmailAndDeletedFalse(request.email()))
                 .switchIfEmpty(Mono.error(new BusinessException(
                         MessageCodes.AUTH_INVALID_CREDENTIALS,
                         HttpStatus.UNAUTHORIZED
@@ -85,47 +101,55 @@ public class AuthServiceImpl implements AuthService {
     public Mono<LoginResponse> refreshToken(RefreshTokenRequest request) {
         log.info("Refresh token request");
 
-        return refreshTokenRepository.findByToken(request.refreshToken())
+        // Refreshes with the same token within the grace window get the same new pair
+        return refreshTokenRotation.rotate(request.refreshToken(), () -> rotate(request.refreshToken()))
                 .switchIfEmpty(Mono.error(new BusinessException(
                         MessageCodes.AUTH_REFRESH_TOKEN_INVALID,
                         HttpStatus.UNAUTHORIZED
                 )))
+                .doOnSuccess(response -> log.info("Refresh token successful"))
+                .doOnError(e -> log.warn("Refresh token failed: {}", e.getMessage()));
+    }
+
+    /**
+     * Consume a refresh token and issue a new token pair.
+     *
+     * @param refreshToken refresh token
+     * @return Mono of login response with new tokens, or empty if the token is unknown
+     */
+    private Mono<LoginResponse> rotate(String refreshToken) {
+        // The old refresh token is removed as it is read, so it can be used only once
+        return tokenStore.consumeRefreshToken(refreshToken)
                 .flatMap(token -> {
                     // Check if token is expired
-                    if (token.getExpiresAt().isBefore(Instant.now())) {
-                        return refreshTokenRepository.delete(token)
-                                .then(Mono.error(new BusinessException(
-                                        MessageCodes.AUTH_REFRESH_TOKEN_EXPIRED,
-                                        HttpStatus.UNAUTHORIZED
-                                )));
+                    if (token.isExpired()) {
+                        return Mono.error(new BusinessException(
+                                MessageCodes.AUTH_REFRESH_TOKEN_EXPIRED,
+                                HttpStatus.UNAUTHORIZED
+                        ));
                     }
 
-                    // Get user and validate status
-                    return userRepository.findById(token.getUserId())
+                    // Refreshes with this token on other instances wait for the new pair
+                    return refreshTokenRotation.markRotating(refreshToken)
+                            .then(userRepository.findById(token.userId()))
+                            // Get user and validate status
                             .filter(user -> Boolean.FALSE.equals(user.getDeleted()))
                             .filter(user -> user.getStatus() == UserStatus.ACTIVE)
                             .switchIfEmpty(Mono.error(new BusinessException(
                                     MessageCodes.AUTH_ACCOUNT_INACTIVE,
                                     HttpStatus.FORBIDDEN
                             )))
-                            .flatMap(user -> {
-                                // Delete old refresh token
-                                return refreshTokenRepository.delete(token)
-                                        .then(generateTokens(user));
-                            });
-                })
-                .doOnSuccess(response -> log.info("Refresh token successful"))
-                .doOnError(e -> log.warn("Refresh token failed: {}", e.getMessage()));
+                            .flatMap(this::generateTokens);
+                });
     }
 
     @Override
     @Transactional
-    public Mono<Void> logout(String refreshToken) {
+    public Mono<Void> logout(String refreshToken, String accessToken) {
         log.info("Logout request");
 
-        return refreshTokenRepository.findByToken(refreshToken)
-                .flatMap(refreshTokenRepository::delete)
-                .then()
+        return tokenStore.consumeRefreshToken(refreshToken)
+                .then(Mono.defer(() -> revokeAccessToken(accessToken)))
                 .doOnSuccess(v -> log.info("Logout successful"));
     }
 
@@ -146,30 +170,22 @@ public class AuthServiceImpl implements AuthService {
                     // Generate unique reset token
                     String resetToken = UUID.randomUUID().toString();
 
-                    // Create token entity
-                    PasswordResetToken tokenEntity = PasswordResetToken.builder()
-                            .token(resetToken)
-                            .userId(user.getId())
-                            .expiresAt(Instant.now().plusMillis(emailProperties.getResetTokenExpiration()))
-                            .createdAt(Instant.now())
-                            .build();
-
-                    // Delete any existing reset tokens for this user
-                    return passwordResetTokenRepository.deleteByUserId(user.getId())
-                            .then(passwordResetTokenRepository.save(tokenEntity))
-                            .flatMap(savedToken -> {
-                                // Send password reset email
+                    // Store the token, replacing any existing reset token for this user
+                    Instant expiresAt = Instant.now().plusMillis(emailProperties.getResetTokenExpiration());
+                    return tokenStore.saveResetToken(user.getId(), resetToken, expiresAt)
+                            .then(Mono.defer(() -> {
+                                // Queue password reset email
                                 return emailService.sendPasswordResetEmail(
                                         user.getEmail(),
                                         user.getName(),
                                         resetToken
                                 );
-                            })
-                            .doOnSuccess(v -> log.info("Password reset email sent to: {}", request.email()))
+                            }))
+                            .doOnSuccess(v -> log.info("Password reset email queued for: {}", request.email()))
                             .onErrorResume(e -> {
                                 log.error("Failed to send password reset email to: {}", request.email(), e);
                                 // Don't fail the request if email sending fails
-                                // The token is still valid in database
+                                // The token is still valid in the token store
                                 return Mono.empty();
                             });
                 })
@@ -186,7 +202,7 @@ public class AuthServiceImpl implements AuthService {
     public Mono<Void> resetPassword(ResetPasswordRequest request) {
         log.info("Reset password request with token");
 
-        return passwordResetTokenRepository.findByToken(request.token())
+        return tokenStore.findResetToken(request.token())
                 .switchIfEmpty(Mono.error(new BusinessException(
                         MessageCodes.PASSWORD_RESET_TOKEN_INVALID,
                         HttpStatus.BAD_REQUEST
@@ -194,11 +210,10 @@ public class AuthServiceImpl implements AuthService {
                 .flatMap(token -> {
                     // Check if token is expired
                     if (token.isExpired()) {
-                        return passwordResetTokenRepository.delete(token)
-                                .then(Mono.error(new BusinessException(
-                                        MessageCodes.PASSWORD_RESET_TOKEN_EXPIRED,
-                                        HttpStatus.BAD_REQUEST
-                                )));
+                        return Mono.error(new BusinessException(
+                                MessageCodes.PASSWORD_RESET_TOKEN_EXPIRED,
+                                HttpStatus.BAD_REQUEST
+                        ));
                     }
 
                     // Check if token has been used
@@ -210,39 +225,74 @@ public class AuthServiceImpl implements AuthService {
                     }
 
                     // Get user and update password
-                    return userRepository.findById(token.getUserId())
+                    return userRepository.findById(token.userId())
                             .filter(user -> Boolean.FALSE.equals(user.getDeleted()))
                             .switchIfEmpty(Mono.error(new BusinessException(
                                     MessageCodes.USER_NOT_FOUND,
                                     HttpStatus.NOT_FOUND
                             )))
-                            .flatMap(user -> {
-                                // Update password
-                                user.setPasswordHash(passwordEncoder.encode(request.newPassword()));
-
-                                // Reset failed login attempts if any
-                                user.setFailedLoginAttempts(0);
-                                user.setLockedUntil(null);
-
-                                // Save user
-                                return userRepository.save(user)
-                                        .then(Mono.defer(() -> {
-                                            // Mark token as used
-                                            token.setUsedAt(Instant.now());
-                                            return passwordResetTokenRepository.save(token);
-                                        }))
-                                        .then(Mono.defer(() -> {
-                                            // Delete all refresh tokens for security
-                                            log.info("Invalidating all refresh tokens for user: {}", user.getId());
-                                            return refreshTokenRepository.deleteByUserId(user.getId());
-                                        }))
-                                        .then();
-                            });
+                            .flatMap(user -> passwordHasher.encode(request.newPassword())
+                                    .flatMap(passwordHash -> {
+                                        // Update password
+                                        user.setPasswordHash(passwordHash);
+
+                                        // Reset failed login attempts if any
+                                        user.setFailedLoginAttempts(0);
+                                        user.setLockedUntil(null);
+
+                                        // Mark token as used first, so a concurrent reset with it fails
+                                        return tokenStore.markResetTokenUsed(request.token())
+                                                .flatMap(marked -> marked
+                                                        ? userRepository.save(user)
+                                                        : Mono.error(new BusinessException(
+                                                                MessageCodes.PASSWORD_RESET_TOKEN_USED,
+                                                                HttpStatus.BAD_REQUEST
+                                                        )))
+                                                .then(Mono.defer(() -> {
+                                                    // Revoke all refresh tokens for security
+                                                    log.info("Invalidating all refresh tokens for user: {}", user.getId());
+                                                    return tokenStore.revokeRefreshTokens(user.getId());
+                                                }))
+                                                .then(Mono.defer(() -> tokenRevocationList.revokeUser(user.getId())
+                                                        .onErrorResume(e -> {
+                                                            log.warn("Could not revoke access tokens of user {}: {}",
+                                                                    user.getId(), e.getMessage());
+                                                            return Mono.empty();
+                                                        })))
+                                                .then(Mono.defer(() -> loginAttemptTracker.reset(user)));
+                                    }));
                 })
                 .doOnSuccess(v -> log.info("Password reset successful"))
                 .doOnError(e -> log.warn("Password reset failed: {}", e.getMessage()));
     }
 
+    /**
+     * Revoke the access token presented at logout. Tokens that are invalid or already
+     * expired need no revocation.
+     *
+     * @param accessToken access token, or null
+     * @return Mono of Void
+     */
+    private Mono<Void> revokeAccessToken(String accessToken) {
+        if (accessToken == null) {
+            return Mono.empty();
+        }
+        VerifiedClaims claims;
+        try {
+            claims = jwtTokenProvider.verify(accessToken);
+        } catch (JwtException e) {
+            return Mono.empty();
+        }
+        if (!claims.isAccessToken()) {
+            return Mono.empty();
+        }
+        return tokenRevocationList.revokeToken(claims)
+                .onErrorResume(e -> {
+                    log.warn("Could not revoke access token of user {}: {}", claims.userId(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
     /**
      * Validate user credentials and account status.
      *
@@ -270,41 +320,31 @@ public class AuthServiceImpl implements AuthService {
             ));
         }
 
-        // Validate password
-        if (!passwordEncoder.matches(password, user.getPasswordHash())) {
-            return handleFailedLogin(user)
-                    .then(Mono.error(new BusinessException(
-                            MessageCodes.AUTH_INVALID_CREDENTIALS,
-                            HttpStatus.UNAUTHORIZED
-                    )));
-        }
-
-        // Reset failed attempts and update last login time on successful login
-        user.setFailedLoginAttempts(0);
-        user.setLastLoginAt(Instant.now());
-
-        return userRepository.save(user);
-    }
-
-    /**
-     * Handle failed login attempt.
-     * Increment failed attempts counter and lock account if threshold exceeded.
-     *
-     * @param user user entity
-     * @return Mono of updated user
-     */
-    private Mono<User> handleFailedLogin(User user) {
-        int attempts = (user.getFailedLoginAttempts() != null ? user.getFailedLoginAttempts() : 0) + 1;
-        user.setFailedLoginAttempts(attempts);
+        // Validate password (BCrypt runs on the hashing executor, not the event loop)
+        return passwordHasher.matches(password, user.getPasswordHash())
+                .flatMap(matches -> {
+                    if (!matches) {
+                        return loginAttemptTracker.recordFailure(user)
+                                .then(Mono.error(new BusinessException(
+                                        MessageCodes.AUTH_INVALID_CREDENTIALS,
+                                        HttpStatus.UNAUTHORIZED
+                                )));
+                    }
 
-        if (attempts >= MAX_FAILED_ATTEMPTS) {
-            user.setLockedUntil(Instant.now().plusSeconds(LOCK_DURATION_MINUTES * 60));
-            log.warn("Account locked for user: {} after {} failed attempts", user.getEmail(), attempts);
-        } else {
-            log.warn("Failed login attempt {} of {} for user: {}", attempts, MAX_FAILED_ATTEMPTS, user.getEmail());
-        }
+                    // Record the login time; it is written to the database in batches
+                    Instant loginAt = Instant.now();
+                    user.setLastLoginAt(loginAt);
+                    lastLoginRecorder.record(user.getId(), loginAt);
 
-        return userRepository.save(user);
+                    // Only failures counted on the row need a write to reset them
+                    Mono<User> resetRow = Mono.just(user);
+                    if (user.getFailedLoginAttempts() != null && user.getFailedLoginAttempts() > 0) {
+                        user.setFailedLoginAttempts(0);
+                        resetRow = userRepository.save(user);
+                    }
+                    return loginAttemptTracker.reset(user)
+                            .then(resetRow);
+                });
     }
 
     /**
@@ -314,28 +354,29 @@ public class AuthServiceImpl implements AuthService {
      * @return Mono of login response with tokens
      */
     private Mono<LoginResponse> generateTokens(User user) {
-        return userRoleRepository.findRolesByUserId(user.getId())
-                .map(role -> role.getCode())
+        return userRoleRepository.findByUserId(user.getId())
+                .map(UserRole::getRoleId)
                 .collectList()
-                .flatMap(roles -> {
-                    // Generate JWT tokens
+                .zipWith(roleCatalog.snapshot())
+                .flatMap(loaded -> {
+                    RoleCatalog.Snapshot catalog = loaded.getT2();
+                    List<String> roles = catalog.rolesOf(loaded.getT1()).stream()
+                            .map(Role::getCode)
+                            .toList();
+
+                    // Generate JWT tokens, embedding the permissions of the roles as a bitset
                     String accessToken = jwtTokenProvider.generateAccessToken(
                             user.getId(),
                             user.getEmail(),
-                            roles
+                            roles,
+                            catalog.permissionSetOf(roles)
                     );
                     String refreshToken = jwtTokenProvider.generateRefreshToken(user.getId());
 
-                    // Save refresh token to database
-                    RefreshToken tokenEntity = RefreshToken.builder()
-                            .token(refreshToken)
-                            .userId(user.getId())
-                            .expiresAt(Instant.now().plusMillis(jwtProperties.getRefreshTokenExpiration()))
-                            .createdAt(Instant.now())
-                            .build();
-
-                    return refreshTokenRepository.save(tokenEntity)
-                            .map(saved -> LoginResponse.builder()
+                    // Save refresh token to the token store
+                    Instant expiresAt = Instant.now().plusMillis(jwtProperties.getRefreshTokenExpiration());
+                    return tokenStore.saveRefreshToken(user.getId(), refreshToken, expiresAt)
+                            .thenReturn(LoginResponse.builder()
                                     .accessToken(accessToken)
                                     .refreshToken(refreshToken)
                                     .tokenType("Bearer")
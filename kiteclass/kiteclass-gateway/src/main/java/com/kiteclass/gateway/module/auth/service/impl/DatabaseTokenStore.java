@@ -0,0 +1,80 @@
+package com.kiteclass.gateway.module.auth.service.impl;
+
+import com.kiteclass.gateway.module.auth.entity.PasswordResetToken;
+import com.kiteclass.gateway.module.auth.entity.RefreshToken;
+import com.kiteclass.gateway.module.auth.repository.PasswordResetTokenRepository;
+import com.kiteclass.gateway.module.auth.repository.RefreshTokenRepository;
+import com.kiteclass.gateway.module.auth.service.TokenStore;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Token store keeping tokens in the {@code refresh_tokens} and
+ * {@code password_reset_tokens} tables.
+ *
+ * <p>Consuming a refresh token and marking a reset token as used are single
+ * conditional statements, so each token can be used only once even across gateway
+ * instances.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public class DatabaseTokenStore implements TokenStore {
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final PasswordResetTokenRepository passwordResetTokenRepository;
+
+    public DatabaseTokenStore(RefreshTokenRepository refreshTokenRepository,
+                              PasswordResetTokenRepository passwordResetTokenRepository) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.passwordResetTokenRepository = passwordResetTokenRepository;
+    }
+
+    @Override
+    public Mono<Void> saveRefreshToken(Long userId, String token, Instant expiresAt) {
+        RefreshToken entity = RefreshToken.builder()
+                .token(token)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .createdAt(Instant.now())
+                .build();
+        return refreshTokenRepository.save(entity).then();
+    }
+
+    @Override
+    public Mono<StoredToken> consumeRefreshToken(String token) {
+        return refreshTokenRepository.deleteByTokenReturning(token)
+                .map(entity -> new StoredToken(entity.getUserId(), entity.getExpiresAt(), null));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshTokens(Long userId) {
+        return refreshTokenRepository.deleteByUserId(userId);
+    }
+
+    @Override
+    public Mono<Void> saveResetToken(Long userId, String token, Instant expiresAt) {
+        PasswordResetToken entity = PasswordResetToken.builder()
+                .token(token)
+                .userId(userId)
+                .expiresAt(expiresAt)
+                .createdAt(Instant.now())
+                .build();
+        return passwordResetTokenRepository.deleteByUserId(userId)
+                .then(passwordResetTokenRepository.save(entity))
+                .then();
+    }
+
+    @Override
+    public Mono<StoredToken> findResetToken(String token) {
+        return passwordResetTokenRepository.findByToken(token)
+                .map(entity -> new StoredToken(entity.getUserId(), entity.getExpiresAt(), entity.getUsedAt()));
+    }
+
+    @Override
+    public Mono<Boolean> markResetTokenUsed(String token) {
+        return passwordResetTokenRepository.markUsed(token, Instant.now())
+                .map(updated -> updated > 0);
+    }
+}
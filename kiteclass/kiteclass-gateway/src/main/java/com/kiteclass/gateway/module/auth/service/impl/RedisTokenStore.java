@@ -0,0 +1,169 @@
+package com.kiteclass.gateway.module.auth.service.impl;
+
+import com.kiteclass.gateway.config.TokenStoreProperties;
+import com.kiteclass.gateway.module.auth.service.TokenDigests;
+import com.kiteclass.gateway.module.auth.service.TokenStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Token store keeping tokens in Redis, with the database as fallback.
+ *
+ * <p>Only the SHA-256 digest of a token is stored, as the key
+ * {@code <prefix>refresh:<digest>} or {@code <prefix>reset:<digest>}, holding
+ * {@code <user id>:<expires at ms>[:<used at ms>]}. Keys expire with their token,
+ * so rotating refresh tokens leaves neither rows nor index entries behind. The
+ * digests of a user's refresh tokens are also kept in the set
+ * {@code <prefix>refresh-user:<user id>}, so that all of them can be revoked; the
+ * digest of the user's current reset token is kept in
+ * {@code <prefix>reset-user:<user id>}.
+ *
+ * <p>Tokens not found in Redis are looked up in the fallback store, which covers
+ * tokens issued before Redis was enabled. While Redis is unreachable, tokens are
+ * written to and read from the fallback store.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+public class RedisTokenStore implements TokenStore {
+
+    private static final RedisScript<Long> MARK_USED_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/mark-token-used.lua"), Long.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final ReactiveValueOperations<String, String> values;
+    private final String keyPrefix;
+    private final TokenStore fallback;
+
+    public RedisTokenStore(ReactiveStringRedisTemplate redisTemplate,
+                           TokenStoreProperties properties,
+                           TokenStore fallback) {
+        this.redisTemplate = redisTemplate;
+        this.values = redisTemplate.opsForValue();
+        this.keyPrefix = properties.getKeyPrefix();
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Mono<Void> saveRefreshToken(Long userId, String token, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.empty();
+        }
+        String digest = TokenDigests.digest(token);
+        String userKey = keyPrefix + "refresh-user:" + userId;
+
+        // Tokens share one lifetime, so the newest token decides when the index expires
+        Mono<Boolean> stored = values.set(refreshKey(digest), value(userId, expiresAt), ttl)
+                .then(redisTemplate.opsForSet().add(userKey, digest))
+                .then(redisTemplate.expire(userKey, ttl))
+                .thenReturn(true);
+        return orFallback(stored, () -> fallback.saveRefreshToken(userId, token, expiresAt).thenReturn(true))
+                .then();
+    }
+
+    @Override
+    public Mono<StoredToken> consumeRefreshToken(String token) {
+        String digest = TokenDigests.digest(token);
+        Mono<StoredToken> consumed = values.getAndDelete(refreshKey(digest))
+                .map(RedisTokenStore::parse)
+                .flatMap(stored -> redisTemplate.opsForSet()
+                        .remove(keyPrefix + "refresh-user:" + stored.userId(), digest)
+                        .onErrorReturn(0L)
+                        .thenReturn(stored));
+        return orFallback(consumed, () -> fallback.consumeRefreshToken(token));
+    }
+
+    @Override
+    public Mono<Void> revokeRefreshTokens(Long userId) {
+        // Not falling back on errors: tokens left in Redis would become usable again
+        String userKey = keyPrefix + "refresh-user:" + userId;
+        return redisTemplate.opsForSet().members(userKey)
+                .map(this::refreshKey)
+                .concatWithValues(userKey)
+                .collectList()
+                .flatMap(keys -> redisTemplate.delete(keys.toArray(String[]::new)))
+                .then(fallback.revokeRefreshTokens(userId));
+    }
+
+    @Override
+    public Mono<Void> saveResetToken(Long userId, String token, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (ttl.isNegative() || ttl.isZero()) {
+            return Mono.empty();
+        }
+        String digest = TokenDigests.digest(token);
+        String userKey = keyPrefix + "reset-user:" + userId;
+
+        Mono<Boolean> stored = values.set(resetKey(digest), value(userId, expiresAt), ttl)
+                .then(values.getAndSet(userKey, digest))
+                .filter(previous -> !previous.equals(digest))
+                .flatMap(previous -> redisTemplate.delete(resetKey(previous)))
+                .then(redisTemplate.expire(userKey, ttl))
+                .thenReturn(true);
+        return orFallback(stored, () -> fallback.saveResetToken(userId, token, expiresAt).thenReturn(true))
+                .then();
+    }
+
+    @Override
+    public Mono<StoredToken> findResetToken(String token) {
+        Mono<StoredToken> found = values.get(resetKey(TokenDigests.digest(token)))
+                .map(RedisTokenStore::parse);
+        return orFallback(found, () -> fallback.findResetToken(token));
+    }
+
+    @Override
+    public Mono<Boolean> markResetTokenUsed(String token) {
+        List<String> args = List.of(String.valueOf(System.currentTimeMillis()));
+        List<String> keys = List.of(resetKey(TokenDigests.digest(token)));
+        Mono<Boolean> marked = redisTemplate.execute(MARK_USED_SCRIPT, keys, args)
+                .next()
+                .filter(result -> result >= 0)
+                .map(result -> result == 1);
+        return orFallback(marked, () -> fallback.markResetTokenUsed(token));
+    }
+
+    /**
+     * Use the Redis result, or the fallback store when Redis has no result or fails.
+     *
+     * @param redis         Redis operation
+     * @param fallbackStore equivalent operation on the fallback store
+     * @return Mono of the result
+     */
+    private <T> Mono<T> orFallback(Mono<T> redis, Supplier<Mono<T>> fallbackStore) {
+        return redis
+                .onErrorResume(e -> {
+                    log.warn("Redis token store unavailable, using the database: {}", e.getMessage());
+                    return Mono.empty();
+                })
+                .switchIfEmpty(Mono.defer(fallbackStore));
+    }
+
+    private String refreshKey(String digest) {
+        return keyPrefix + "refresh:" + digest;
+    }
+
+    private String resetKey(String digest) {
+        return keyPrefix + "reset:" + digest;
+    }
+
+    private static String value(Long userId, Instant expiresAt) {
+        return userId + ":" + expiresAt.toEpochMilli();
+    }
+
+    private static StoredToken parse(String value) {
+        String[] parts = value.split(":");
+        Instant usedAt = parts.length > 2 ? Instant.ofEpochMilli(Long.parseLong(parts[2])) : null;
+        return new StoredToken(Long.valueOf(parts[0]), Instant.ofEpochMilli(Long.parseLong(parts[1])), usedAt);
+    }
+}
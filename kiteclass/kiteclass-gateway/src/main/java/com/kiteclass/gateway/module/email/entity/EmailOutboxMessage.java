@@ -0,0 +1,82 @@
+package com.kiteclass.gateway.module.email.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.Instant;
+
+/**
+ * Email waiting in the outbox to be sent.
+ *
+ * <p>Written in the same transaction as the change that triggers the email, and
+ * deleted once the SMTP server has accepted it.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Table("email_outbox")
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailOutboxMessage {
+
+    /**
+     * Primary key.
+     */
+    @Id
+    private Long id;
+
+    /**
+     * Recipient email address.
+     */
+    @Column("recipient")
+    private String recipient;
+
+    /**
+     * Email subject.
+     */
+    @Column("subject")
+    private String subject;
+
+    /**
+     * Rendered HTML body (null once delivery was given up).
+     */
+    @Column("body")
+    private String body;
+
+    /**
+     * Number of failed delivery attempts so far.
+     */
+    @Column("attempts")
+    private Integer attempts;
+
+    /**
+     * When the email is next due to be sent.
+     */
+    @Column("next_attempt_at")
+    private Instant nextAttemptAt;
+
+    /**
+     * Error of the last failed attempt.
+     */
+    @Column("last_error")
+    private String lastError;
+
+    /**
+     * When delivery was given up (null while still being retried).
+     */
+    @Column("failed_at")
+    private Instant failedAt;
+
+    /**
+     * Creation timestamp.
+     */
+    @Column("created_at")
+    private Instant createdAt;
+}
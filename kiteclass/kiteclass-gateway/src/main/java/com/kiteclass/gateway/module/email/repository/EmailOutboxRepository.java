@@ -0,0 +1,95 @@
+package com.kiteclass.gateway.module.email.repository;
+
+import com.kiteclass.gateway.module.email.entity.EmailOutboxMessage;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+/**
+ * Repository for the email outbox.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Repository
+public interface EmailOutboxRepository extends R2dbcRepository<EmailOutboxMessage, Long> {
+
+    /**
+     * Claim a batch of due emails by pushing them out of reach of other workers until
+     * the lease ends. Rows being claimed by another worker are skipped, not waited for;
+     * emails of a worker that dies are claimed again once its lease has ended.
+     *
+     * @param now        current timestamp
+     * @param leaseUntil when the claimed emails become due again unless rescheduled
+     * @param limit      maximum number of emails to claim
+     * @return Flux of claimed emails
+     */
+    @Query("""
+        UPDATE email_outbox SET next_attempt_at = :leaseUntil
+        WHERE id IN (
+            SELECT id FROM email_outbox
+            WHERE failed_at IS NULL AND next_attempt_at <= :now
+            ORDER BY next_attempt_at
+            LIMIT :limit
+            FOR UPDATE SKIP LOCKED)
+        RETURNING *
+        """)
+    Flux<EmailOutboxMessage> claimDue(Instant now, Instant leaseUntil, int limit);
+
+    /**
+     * Set when an email is next due.
+     *
+     * @param id            email ID
+     * @param attempts      failed attempts so far
+     * @param nextAttemptAt when the email is next due
+     * @param lastError     error of the last failed attempt, if any
+     * @return Mono of the number of rows updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE email_outbox
+        SET attempts = :attempts, next_attempt_at = :nextAttemptAt, last_error = :lastError
+        WHERE id = :id
+        """)
+    Mono<Integer> reschedule(Long id, int attempts, Instant nextAttemptAt, String lastError);
+
+    /**
+     * Give up delivering an email. The row is kept for inspection until purged, but its
+     * body, which may carry secrets such as a password reset link, is cleared.
+     *
+     * @param id        email ID
+     * @param attempts  failed attempts
+     * @param lastError error of the last attempt
+     * @param failedAt  current timestamp
+     * @return Mono of the number of rows updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE email_outbox
+        SET attempts = :attempts, last_error = :lastError, failed_at = :failedAt, body = NULL
+        WHERE id = :id
+        """)
+    Mono<Integer> markFailed(Long id, int attempts, String lastError, Instant failedAt);
+
+    /**
+     * Delete a batch of emails given up before a cutoff.
+     *
+     * @param cutoff emails given up before this are deleted
+     * @param limit  maximum number of emails to delete
+     * @return Mono of the number of rows deleted
+     */
+    @Modifying
+    @Query("""
+        DELETE FROM email_outbox
+        WHERE id IN (
+            SELECT id FROM email_outbox
+            WHERE failed_at < :cutoff
+            LIMIT :limit)
+        """)
+    Mono<Integer> deleteFailedBefore(Instant cutoff, int limit);
+}
@@ -0,0 +1,340 @@
+package com.kiteclass.gateway.module.email.service;
+
+import com.kiteclass.gateway.config.EmailOutboxProperties;
+import com.kiteclass.gateway.config.EmailProperties;
+import com.kiteclass.gateway.module.email.entity.EmailOutboxMessage;
+import com.kiteclass.gateway.module.email.repository.EmailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background worker sending the emails queued in the outbox.
+ *
+ * <p>Every {@code email.outbox.poll-interval} the worker claims up to
+ * {@code email.outbox.batch-size} due emails and spreads them over
+ * {@code email.outbox.connections} SMTP connections, each sending its share in a
+ * single session rather than one session per email. It keeps claiming batches until
+ * one comes back short. Claiming skips rows claimed by other instances, so any
+ * number of gateway instances can run the worker.
+ *
+ * <p>Emails accepted by the SMTP server are deleted from the outbox. Emails that fail
+ * are retried with exponential backoff from {@code email.outbox.initial-backoff} up
+ * to {@code email.outbox.max-backoff}, and given up after
+ * {@code email.outbox.max-attempts}; given-up rows keep their last error but lose
+ * their body, and are deleted after {@code email.outbox.failed-retention}.
+ * At most {@code email.outbox.domain-limit-per-minute} emails per minute go to one
+ * recipient domain from this instance; the rest wait for the next minute without
+ * counting as failed. Outcomes, including given-up emails purged, are counted by
+ * {@code email.outbox.messages}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class EmailOutboxWorker {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final EmailOutboxRepository outboxRepository;
+    private final JavaMailSender mailSender;
+    private final EmailProperties emailProperties;
+    private final EmailOutboxProperties properties;
+    private final Map<String, DomainWindow> domainWindows = new ConcurrentHashMap<>();
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter deferredCounter;
+    private final Counter purgedCounter;
+    private Disposable schedule;
+    private Disposable purgeSchedule;
+
+    public EmailOutboxWorker(EmailOutboxRepository outboxRepository,
+                             JavaMailSender mailSender,
+                             EmailProperties emailProperties,
+                             EmailOutboxProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.mailSender = mailSender;
+        this.emailProperties = emailProperties;
+        this.properties = properties;
+        this.sentCounter = outcomeCounter(meterRegistry, "sent");
+        this.retriedCounter = outcomeCounter(meterRegistry, "retried");
+        this.failedCounter = outcomeCounter(meterRegistry, "failed");
+        this.deferredCounter = outcomeCounter(meterRegistry, "deferred");
+        this.purgedCounter = outcomeCounter(meterRegistry, "purged");
+    }
+
+    /**
+     * Start checking the outbox periodically.
+     */
+    @PostConstruct
+    public void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        schedule = Flux.interval(properties.getPollInterval(), properties.getPollInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> drain().onErrorResume(e -> {
+                    log.warn("Email outbox check failed, retrying next check: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+        purgeSchedule = Flux.interval(properties.getPurgeInterval(), properties.getPurgeInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> purgeFailed().onErrorResume(e -> {
+                    log.warn("Email outbox purge failed, retrying next purge: {}", e.getMessage());
+                    return Mono.empty();
+                }))
+                .subscribe();
+    }
+
+    /**
+     * Stop the schedule. Emails being sent complete; emails claimed but not yet
+     * recorded are sent again once their claim lapses.
+     */
+    @PreDestroy
+    public void stop() {
+        if (schedule != null) {
+            schedule.dispose();
+        }
+        if (purgeSchedule != null) {
+            purgeSchedule.dispose();
+        }
+    }
+
+    /**
+     * Send due emails until the outbox has no full batch left.
+     *
+     * @return Mono of the number of emails sent
+     */
+    public Mono<Integer> drain() {
+        return Mono.defer(this::sendBatch)
+                .expand(batch -> batch.claimed() < properties.getBatchSize()
+                        ? Mono.empty()
+                        : Mono.defer(this::sendBatch))
+                .reduce(0, (sent, batch) -> sent + batch.sent());
+    }
+
+    /**
+     * Delete emails given up longer than {@code email.outbox.failed-retention} ago, one
+     * batch at a time until a batch comes back short.
+     *
+     * @return Mono of the number of emails deleted
+     */
+    public Mono<Long> purgeFailed() {
+        Instant cutoff = Instant.now().minus(properties.getFailedRetention());
+        int limit = properties.getBatchSize();
+        return Mono.defer(() -> outboxRepository.deleteFailedBefore(cutoff, limit))
+                .expand(deleted -> deleted < limit
+                        ? Mono.empty()
+                        : Mono.defer(() -> outboxRepository.deleteFailedBefore(cutoff, limit)))
+                .doOnNext(purgedCounter::increment)
+                .reduce(0L, Long::sum);
+    }
+
+    /**
+     * Claim one batch of due emails and send it.
+     *
+     * @return Mono of the number of emails claimed and sent
+     */
+    private Mono<BatchResult> sendBatch() {
+        Instant now = Instant.now();
+        return outboxRepository.claimDue(now, now.plus(properties.getClaimLease()), properties.getBatchSize())
+                .collectList()
+                .flatMap(claimed -> {
+                    List<EmailOutboxMessage> sendable = new ArrayList<>();
+                    List<EmailOutboxMessage> throttled = new ArrayList<>();
+                    long minute = now.getEpochSecond() / 60;
+                    domainWindows.values().removeIf(window -> window.minute() < minute);
+                    for (EmailOutboxMessage message : claimed) {
+                        (takeDomainSlot(message.getRecipient(), minute) ? sendable : throttled).add(message);
+                    }
+
+                    Instant nextMinute = Instant.ofEpochSecond((minute + 1) * 60);
+                    return Flux.fromIterable(split(sendable, properties.getConnections()))
+                            .flatMap(chunk -> Mono.fromCallable(() -> send(chunk))
+                                            .subscribeOn(Schedulers.boundedElastic())
+                                            .flatMap(failures -> record(chunk, failures)),
+                                    properties.getConnections())
+                            .reduce(0, Integer::sum)
+                            .flatMap(sent -> Flux.fromIterable(throttled)
+                                    .concatMap(message -> defer(message, nextMinute))
+                                    .then(Mono.just(new BatchResult(claimed.size(), sent))));
+                });
+    }
+
+    /**
+     * Send emails over one SMTP session. Blocking.
+     *
+     * @param chunk emails to send
+     * @return emails that failed, with their errors
+     */
+    private Map<EmailOutboxMessage, Exception> send(List<EmailOutboxMessage> chunk) {
+        Map<EmailOutboxMessage, Exception> failures = new IdentityHashMap<>();
+        Map<MimeMessage, EmailOutboxMessage> messages = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : chunk) {
+            try {
+                messages.put(toMimeMessage(message), message);
+            } catch (MessagingException e) {
+                failures.put(message, e);
+            }
+        }
+        if (messages.isEmpty()) {
+            return failures;
+        }
+
+        try {
+            mailSender.send(messages.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            if (e.getFailedMessages().isEmpty()) {
+                messages.values().forEach(message -> failures.put(message, e));
+            } else {
+                e.getFailedMessages().forEach((mimeMessage, error) ->
+                        failures.put(messages.get(mimeMessage), error));
+            }
+        } catch (MailException e) {
+            messages.values().forEach(message -> failures.put(message, e));
+        }
+        return failures;
+    }
+
+    private MimeMessage toMimeMessage(EmailOutboxMessage message) throws MessagingException {
+        MimeMessage mimeMessage = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(mimeMessage, true, "UTF-8");
+        helper.setFrom(emailProperties.getFrom());
+        helper.setTo(message.getRecipient());
+        helper.setSubject(message.getSubject());
+        helper.setText(message.getBody(), true);
+        return mimeMessage;
+    }
+
+    /**
+     * Delete sent emails from the outbox and schedule failed ones for retry.
+     *
+     * @param chunk    emails sent in one session
+     * @param failures emails that failed, with their errors
+     * @return Mono of the number of emails sent
+     */
+    private Mono<Integer> record(List<EmailOutboxMessage> chunk, Map<EmailOutboxMessage, Exception> failures) {
+        List<Long> sentIds = chunk.stream()
+                .filter(message -> !failures.containsKey(message))
+                .map(EmailOutboxMessage::getId)
+                .toList();
+        Mono<Void> deleteSent = sentIds.isEmpty() ? Mono.empty() : outboxRepository.deleteAllById(sentIds);
+        return deleteSent
+                .then(Flux.fromIterable(failures.entrySet())
+                        .concatMap(failure -> retryLater(failure.getKey(), failure.getValue()))
+                        .then())
+                .then(Mono.fromSupplier(() -> {
+                    sentCounter.increment(sentIds.size());
+                    return sentIds.size();
+                }));
+    }
+
+    private Mono<Integer> retryLater(EmailOutboxMessage message, Exception error) {
+        int attempts = (message.getAttempts() != null ? message.getAttempts() : 0) + 1;
+        String lastError = truncate(error.toString());
+        if (attempts >= properties.getMaxAttempts()) {
+            log.error("Giving up email {} to {} after {} attempts: {}",
+                    message.getId(), message.getRecipient(), attempts, lastError);
+            failedCounter.increment();
+            return outboxRepository.markFailed(message.getId(), attempts, lastError, Instant.now());
+        }
+        Duration backoff = backoff(attempts);
+        log.warn("Email {} to {} failed (attempt {}), retrying in {}: {}",
+                message.getId(), message.getRecipient(), attempts, backoff, lastError);
+        retriedCounter.increment();
+        return outboxRepository.reschedule(message.getId(), attempts, Instant.now().plus(backoff), lastError);
+    }
+
+    private Mono<Integer> defer(EmailOutboxMessage message, Instant nextMinute) {
+        deferredCounter.increment();
+        int attempts = message.getAttempts() != null ? message.getAttempts() : 0;
+        return outboxRepository.reschedule(message.getId(), attempts, nextMinute, message.getLastError());
+    }
+
+    /**
+     * Backoff after a number of failed attempts: the initial backoff, doubled with
+     * every further failure, up to the maximum.
+     */
+    private Duration backoff(int attempts) {
+        Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+    }
+
+    /**
+     * Count an email towards its recipient domain's limit for the current minute.
+     *
+     * @return true if the email may be sent this minute
+     */
+    private boolean takeDomainSlot(String recipient, long minute) {
+        int limit = properties.getDomainLimitPerMinute();
+        if (limit <= 0) {
+            return true;
+        }
+        String domain = recipient.substring(recipient.lastIndexOf('@') + 1).toLowerCase(Locale.ROOT);
+        DomainWindow window = domainWindows.compute(domain, (key, current) ->
+                current == null || current.minute() != minute ? new DomainWindow(minute, new AtomicInteger()) : current);
+        return window.sent().incrementAndGet() <= limit;
+    }
+
+    /**
+     * Split emails into at most {@code parts} chunks of near-equal size.
+     */
+    private static List<List<EmailOutboxMessage>> split(List<EmailOutboxMessage> messages, int parts) {
+        List<List<EmailOutboxMessage>> chunks = new ArrayList<>();
+        int chunkSize = Math.max(1, (messages.size() + parts - 1) / Math.max(1, parts));
+        for (int start = 0; start < messages.size(); start += chunkSize) {
+            chunks.add(messages.subList(start, Math.min(start + chunkSize, messages.size())));
+        }
+        return chunks;
+    }
+
+    private static String truncate(String error) {
+        return error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+    }
+
+    private static Counter outcomeCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("email.outbox.messages")
+                .description("Emails handled by the email outbox worker")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Emails sent to one recipient domain in one minute.
+     */
+    private record DomainWindow(long minute, AtomicInteger sent) {
+    }
+
+    /**
+     * Emails claimed and sent by one batch.
+     */
+    private record BatchResult(int claimed, int sent) {
+    }
+}
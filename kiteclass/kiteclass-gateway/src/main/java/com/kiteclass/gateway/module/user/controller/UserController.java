@@ -2,6 +2,7 @@ package com.kiteclass.gateway.module.user.controller;
 
 import com.kiteclass.gateway.common.constant.MessageCodes;
 import com.kiteclass.gateway.common.dto.ApiResponse;
+import com.kiteclass.gateway.common.dto.CursorPageResponse;
 import com.kiteclass.gateway.common.dto.PageResponse;
 import com.kiteclass.gateway.common.service.MessageService;
 import com.kiteclass.gateway.module.user.dto.request.CreateUserRequest;
@@ -83,6 +84,33 @@ public class UserController {
                 .map(ApiResponse::success));
     }
 
+    /**
+     * Get a page of users with optional search, continuing from a cursor.
+     *
+     * <p>Selected when the {@code cursor} parameter is present; pass it empty for the
+     * first page, then the {@code nextCursor} of each response. Every page costs the
+     * same however far the client has scrolled, and no total is counted unless
+     * requested.
+     *
+     * @param search    optional search term (name or email)
+     * @param cursor    cursor of the page to fetch, empty for the first page
+     * @param size      page size (default: 20, at most 100)
+     * @param withTotal whether to include an approximate total (default: false)
+     * @return ApiResponse with CursorPageResponse of users
+     */
+    @GetMapping(params = "cursor")
+    public Mono<ApiResponse<CursorPageResponse<UserResponse>>> getUsersByCursor(
+        @RequestParam(required = false) String search,
+        @RequestParam String cursor,
+        @RequestParam(defaultValue = "20") int size,
+        @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        log.info("GET /api/v1/users - search: {}, cursor: {}, size: {}", search, cursor, size);
+
+        return userService.getUsersAfter(search, cursor, size, withTotal)
+            .map(ApiResponse::success);
+    }
+
     /**
      * Update user information.
      *
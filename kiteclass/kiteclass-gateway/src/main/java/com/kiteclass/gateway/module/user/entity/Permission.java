@@ -41,6 +41,9 @@ public class Permission {
     @Column("description")
     private String description;
 
+    @Column("bit_index")
+    private Integer bitIndex;
+
     @Column("created_at")
     private Instant createdAt;
 }
@@ -1,12 +1,15 @@
 package com.kiteclass.gateway.module.user.repository;
 
 import com.kiteclass.gateway.module.user.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+
 /**
  * Repository for User entity operations.
  *
@@ -57,6 +60,48 @@ public interface UserRepository extends R2dbcRepository<User, Long> {
         """)
     Flux<User> findBySearchCriteria(String searchTerm, int limit, long offset);
 
+    /**
+     * Find the first page of users with search criteria, newest first.
+     *
+     * <p>Ordered by {@code (created_at, id)} so that later pages can continue from the
+     * last row with {@link #findBySearchCriteriaAfter}.
+     *
+     * @param searchTerm search term for name or email
+     * @param limit      maximum number of users
+     * @return Flux of Users
+     */
+    @Query("""
+        SELECT * FROM users
+        WHERE deleted = FALSE
+        AND (LOWER(name) LIKE LOWER(:searchTerm) OR LOWER(email) LIKE LOWER(:searchTerm))
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<User> findFirstBySearchCriteria(String searchTerm, int limit);
+
+    /**
+     * Find users with search criteria that come after a given user, newest first.
+     *
+     * <p>Unlike {@link #findBySearchCriteria}, rows before the cursor are skipped through
+     * the {@code (created_at, id)} index instead of being read and discarded, so every
+     * page costs the same however deep it is.
+     *
+     * @param searchTerm search term for name or email
+     * @param createdAt  creation time of the last user of the previous page
+     * @param id         ID of the last user of the previous page
+     * @param limit      maximum number of users
+     * @return Flux of Users
+     */
+    @Query("""
+        SELECT * FROM users
+        WHERE deleted = FALSE
+        AND (LOWER(name) LIKE LOWER(:searchTerm) OR LOWER(email) LIKE LOWER(:searchTerm))
+        AND (created_at, id) < (:createdAt, :id)
+        ORDER BY created_at DESC, id DESC
+        LIMIT :limit
+        """)
+    Flux<User> findBySearchCriteriaAfter(String searchTerm, Instant createdAt, Long id, int limit);
+
     /**
      * Count users matching search criteria.
      *
@@ -69,4 +114,21 @@ public interface UserRepository extends R2dbcRepository<User, Long> {
         AND (LOWER(name) LIKE LOWER(:searchTerm) OR LOWER(email) LIKE LOWER(:searchTerm))
         """)
     Mono<Long> countBySearchCriteria(String searchTerm);
+
+    /**
+     * Set the last login time of several users in one statement. Times only move
+     * forward, so batches written out of order by different instances are harmless.
+     *
+     * @param userIds     user IDs
+     * @param loginMillis login times in epoch milliseconds, in the order of the IDs
+     * @return Mono of the number of rows updated
+     */
+    @Modifying
+    @Query("""
+        UPDATE users AS u
+        SET last_login_at = GREATEST(u.last_login_at, to_timestamp(v.login_millis / 1000.0))
+        FROM unnest(:userIds, :loginMillis) AS v(id, login_millis)
+        WHERE u.id = v.id
+        """)
+    Mono<Integer> updateLastLoginAt(Long[] userIds, Long[] loginMillis);
 }
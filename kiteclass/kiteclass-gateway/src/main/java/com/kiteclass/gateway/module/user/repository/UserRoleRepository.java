@@ -2,12 +2,16 @@ package com.kiteclass.gateway.module.user.repository;
 
 import com.kiteclass.gateway.module.user.entity.Role;
 import com.kiteclass.gateway.module.user.entity.UserRole;
+import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.Instant;
+import java.util.Collection;
+
 /**
  * Repository for UserRole entity operations.
  *
@@ -46,4 +50,27 @@ public interface UserRoleRepository extends R2dbcRepository<UserRole, Long> {
         ORDER BY r.code
         """)
     Flux<Role> findRolesByUserId(Long userId);
+
+    /**
+     * Find the role assignments of several users in one query.
+     *
+     * @param userIds user IDs
+     * @return Flux of UserRole
+     */
+    Flux<UserRole> findByUserIdIn(Collection<Long> userIds);
+
+    /**
+     * Assign several roles to a user in one multi-row insert.
+     *
+     * @param userId     user ID
+     * @param roleIds    role IDs
+     * @param assignedAt assignment time
+     * @return Mono of the number of rows inserted
+     */
+    @Modifying
+    @Query("""
+        INSERT INTO user_roles (user_id, role_id, assigned_at)
+        SELECT :userId, role_id, :assignedAt FROM unnest(:roleIds) AS role_id
+        """)
+    Mono<Integer> insertAll(Long userId, Long[] roleIds, Instant assignedAt);
 }
@@ -0,0 +1,300 @@
+package com.kiteclass.gateway.module.user.service;
+
+import com.kiteclass.gateway.config.RoleCatalogProperties;
+import com.kiteclass.gateway.module.auth.entity.RolePermissionCode;
+import com.kiteclass.gateway.module.auth.repository.RolePermissionRepository;
+import com.kiteclass.gateway.module.user.entity.Role;
+import com.kiteclass.gateway.module.user.repository.RoleRepository;
+import com.kiteclass.gateway.security.jwt.PermissionSet;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory catalog of roles and the permissions they grant.
+ *
+ * <p>Roles and permissions almost never change, so they are loaded once into an
+ * immutable {@link Snapshot} and role lookups become memory reads; only the
+ * user-to-role assignments are still read from the database. When roles change, the
+ * catalog is reloaded and the new snapshot swapped in atomically. Code that changes
+ * roles calls {@link #invalidate()}, which also announces the change on a Redis
+ * channel so that every gateway instance reloads.
+ *
+ * <p>As a safety net for changes made directly in the database, or announced while
+ * Redis was unreachable, the catalog is also reloaded every
+ * {@code role-catalog.refresh-interval}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class RoleCatalog {
+
+    private final RoleRepository roleRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RoleCatalogProperties properties;
+
+    // Identifies this instance's own announcements, which need no second reload
+    private final String instanceId = UUID.randomUUID().toString();
+    private final AtomicLong generations = new AtomicLong();
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final Mono<Snapshot> firstLoad;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+
+    public RoleCatalog(RoleRepository roleRepository,
+                       RolePermissionRepository rolePermissionRepository,
+                       ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                       RoleCatalogProperties properties) {
+        this.roleRepository = roleRepository;
+        this.rolePermissionRepository = rolePermissionRepository;
+        this.redisTemplate = redisTemplate.getIfAvailable();
+        this.properties = properties;
+        // Requests arriving before the startup load share one load; failures are retried
+        this.firstLoad = Mono.defer(this::refresh)
+            .cache(snapshot -> Duration.ofMillis(Long.MAX_VALUE), error -> Duration.ZERO, () -> Duration.ZERO);
+    }
+
+    /**
+     * Load the catalog and start listening for changes.
+     */
+    @PostConstruct
+    public void start() {
+        subscriptions.add(firstLoad.subscribe(null,
+            e -> log.warn("Role catalog not loaded at startup, loading on first use: {}", e.getMessage())));
+
+        if (redisTemplate != null) {
+            subscriptions.add(redisTemplate.listenToChannel(properties.getChannel())
+                .filter(message -> !instanceId.equals(message.getMessage()))
+                .concatMap(message -> reloadQuietly())
+                .doOnError(e -> log.warn("Role catalog announcements unavailable, retrying: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+        }
+
+        Duration interval = properties.getRefreshInterval();
+        if (!interval.isZero()) {
+            subscriptions.add(Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> reloadQuietly())
+                .subscribe());
+        }
+    }
+
+    /**
+     * Stop listening for changes.
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * Get the current snapshot.
+     *
+     * @return Mono of the snapshot, loaded from the database only if not loaded yet
+     */
+    public Mono<Snapshot> snapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? Mono.just(snapshot) : firstLoad;
+    }
+
+    /**
+     * Reload the catalog on this instance.
+     *
+     * @return Mono of the new snapshot
+     */
+    public Mono<Snapshot> refresh() {
+        return Mono.defer(() -> {
+            long generation = generations.incrementAndGet();
+            return Mono.zip(
+                    roleRepository.findAll().collectList(),
+                    rolePermissionRepository.findAllPermissionCodes().collectList())
+                .map(loaded -> new Snapshot(generation, loaded.getT1(), loaded.getT2()))
+                // A slower, older load must not replace a newer snapshot
+                .map(snapshot -> current.accumulateAndGet(snapshot,
+                    (existing, loaded) -> existing == null || loaded.generation > existing.generation
+                        ? loaded : existing))
+                .doOnNext(snapshot -> log.debug("Role catalog loaded: {} roles", snapshot.rolesById.size()));
+        });
+    }
+
+    /**
+     * Reload the catalog after roles or their permissions changed, and announce the
+     * change to the other gateway instances.
+     *
+     * @return Mono of Void, completing once this instance has reloaded
+     */
+    public Mono<Void> invalidate() {
+        if (redisTemplate == null) {
+            return refresh().then();
+        }
+        return redisTemplate.convertAndSend(properties.getChannel(), instanceId)
+            .onErrorResume(e -> {
+                log.warn("Could not announce role change, other instances reload on schedule: {}", e.getMessage());
+                return Mono.empty();
+            })
+            .then(refresh())
+            .then();
+    }
+
+    private Mono<Snapshot> reloadQuietly() {
+        return refresh().onErrorResume(e -> {
+            log.warn("Role catalog reload failed, keeping previous snapshot: {}", e.getMessage());
+            return Mono.empty();
+        });
+    }
+
+    /**
+     * Immutable view of all roles and their permissions at one point in time.
+     *
+     * <p>The {@link Role} instances are shared by all readers and must not be modified.
+     */
+    public static final class Snapshot {
+
+        private static final Comparator<Role> BY_CODE = Comparator.comparing(Role::getCode);
+
+        private final long generation;
+        private final Map<Long, Role> rolesById;
+        private final Map<String, Set<String>> permissionsByRoleCode;
+        private final Map<String, PermissionSet> permissionSetsByRoleCode;
+        private final Map<String, Integer> permissionBits;
+
+        /**
+         * Create a snapshot of the given roles.
+         *
+         * @param roles  all roles
+         * @param grants permissions granted to the roles
+         * @return snapshot
+         */
+        public static Snapshot of(List<Role> roles, List<RolePermissionCode> grants) {
+            return new Snapshot(0, roles, grants);
+        }
+
+        private Snapshot(long generation, List<Role> roles, List<RolePermissionCode> grants) {
+            this.generation = generation;
+            this.rolesById = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getId, Function.identity()));
+
+            Map<Long, Set<String>> codesByRoleId = new HashMap<>();
+            Map<Long, BitSet> bitsByRoleId = new HashMap<>();
+            Map<String, Integer> bits = new HashMap<>();
+            for (RolePermissionCode grant : grants) {
+                codesByRoleId.computeIfAbsent(grant.getRoleId(), id -> new HashSet<>()).add(grant.getCode());
+                bitsByRoleId.computeIfAbsent(grant.getRoleId(), id -> new BitSet()).set(grant.getBitIndex());
+                bits.put(grant.getCode(), grant.getBitIndex());
+            }
+            this.permissionBits = Map.copyOf(bits);
+            this.permissionsByRoleCode = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getCode,
+                    role -> Set.copyOf(codesByRoleId.getOrDefault(role.getId(), Set.of()))));
+            this.permissionSetsByRoleCode = roles.stream()
+                .collect(Collectors.toUnmodifiableMap(Role::getCode,
+                    role -> PermissionSet.of(bitsByRoleId.getOrDefault(role.getId(), new BitSet()))));
+        }
+
+        /**
+         * Find a role by ID.
+         *
+         * @param roleId role ID
+         * @return the role, or empty if it does not exist
+         */
+        public Optional<Role> findRole(Long roleId) {
+            return Optional.ofNullable(rolesById.get(roleId));
+        }
+
+        /**
+         * Resolve role IDs to roles, skipping unknown IDs.
+         *
+         * @param roleIds role IDs
+         * @return roles ordered by code
+         */
+        public List<Role> rolesOf(Collection<Long> roleIds) {
+            return roleIds.stream()
+                .map(rolesById::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(BY_CODE)
+                .toList();
+        }
+
+        /**
+         * Check whether every role ID exists.
+         *
+         * @param roleIds role IDs
+         * @return true if all roles are known
+         */
+        public boolean containsAll(Collection<Long> roleIds) {
+            return rolesById.keySet().containsAll(roleIds);
+        }
+
+        /**
+         * Get the permissions granted by a set of roles.
+         *
+         * @param roleCodes role codes
+         * @return union of the permission codes of the roles
+         */
+        public Set<String> permissionsOf(Collection<String> roleCodes) {
+            Set<String> permissions = new HashSet<>();
+            for (String roleCode : roleCodes) {
+                permissions.addAll(permissionsByRoleCode.getOrDefault(roleCode, Set.of()));
+            }
+            return permissions;
+        }
+
+        /**
+         * Get the permissions granted by a set of roles, as a bit set.
+         *
+         * @param roleCodes role codes
+         * @return union of the permissions of the roles
+         */
+        public PermissionSet permissionSetOf(Collection<String> roleCodes) {
+            BitSet bits = new BitSet();
+            for (String roleCode : roleCodes) {
+                PermissionSet permissions = permissionSetsByRoleCode.get(roleCode);
+                if (permissions != null) {
+                    bits.or(permissions.toBitSet());
+                }
+            }
+            return PermissionSet.of(bits);
+        }
+
+        /**
+         * Get the bit index of a permission.
+         *
+         * @param permissionCode permission code (e.g., "STUDENT:READ")
+         * @return bit index, or empty if no role grants the permission
+         */
+        public OptionalInt permissionBit(String permissionCode) {
+            Integer bit = permissionBits.get(permissionCode);
+            return bit != null ? OptionalInt.of(bit) : OptionalInt.empty();
+        }
+    }
+}
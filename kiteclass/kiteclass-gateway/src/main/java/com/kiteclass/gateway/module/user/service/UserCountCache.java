@@ -0,0 +1,48 @@
+package com.kiteclass.gateway.module.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kiteclass.gateway.config.UserListingProperties;
+import com.kiteclass.gateway.module.user.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Approximate user counts for cursor pagination.
+ *
+ * <p>Counting every matching user is as slow as scanning them, so scrolling clients
+ * that ask for a total get a count reused for {@code user-listing.count-cache-ttl}
+ * per search pattern. Users created or deleted in the meantime are not reflected.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Component
+public class UserCountCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Long> counts;
+
+    public UserCountCache(UserRepository userRepository, UserListingProperties properties) {
+        this.userRepository = userRepository;
+        this.counts = Caffeine.newBuilder()
+            .maximumSize(properties.getCountCacheMaxSize())
+            .expireAfterWrite(properties.getCountCacheTtl())
+            .build();
+    }
+
+    /**
+     * Get the approximate number of users matching a search pattern.
+     *
+     * @param searchPattern LIKE pattern for name or email
+     * @return Mono of cached or freshly counted total
+     */
+    public Mono<Long> approximateCount(String searchPattern) {
+        Long cached = counts.getIfPresent(searchPattern);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return userRepository.countBySearchCriteria(searchPattern)
+            .doOnNext(count -> counts.put(searchPattern, count));
+    }
+}
@@ -1,5 +1,6 @@
 package com.kiteclass.gateway.module.user.service;
 
+import com.kiteclass.gateway.common.dto.CursorPageResponse;
 import com.kiteclass.gateway.module.user.dto.request.CreateUserRequest;
 import com.kiteclass.gateway.module.user.dto.request.UpdateUserRequest;
 import com.kiteclass.gateway.module.user.dto.response.UserResponse;
@@ -48,6 +49,21 @@ public interface UserService {
      */
     Flux<UserResponse> getUsers(String searchTerm, int page, int size);
 
+    /**
+     * Get a page of users with optional search, continuing from a cursor.
+     *
+     * <p>Users are ordered newest first. The response carries the cursor of the next
+     * page; the total is an approximate count, and only computed when requested.
+     *
+     * @param searchTerm optional search term (name or email)
+     * @param cursor     cursor returned with the previous page, null or empty for the first page
+     * @param size       page size, between 1 and 100
+     * @param withTotal  whether to include an approximate total
+     * @return Mono of CursorPageResponse
+     */
+    Mono<CursorPageResponse<UserResponse>> getUsersAfter(String searchTerm, String cursor, int size,
+                                                         boolean withTotal);
+
     /**
      * Count users matching search criteria.
      *
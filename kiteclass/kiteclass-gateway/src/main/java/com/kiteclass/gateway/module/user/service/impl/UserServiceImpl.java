@@ -1,5 +1,7 @@
 package com.kiteclass.gateway.module.user.service.impl;
 
+import com.kiteclass.gateway.common.dto.CursorPageResponse;
+import com.kiteclass.gateway.common.dto.PageCursor;
 import com.kiteclass.gateway.common.exception.DuplicateResourceException;
 import com.kiteclass.gateway.common.exception.EntityNotFoundException;
 import com.kiteclass.gateway.module.user.dto.request.CreateUserRequest;
@@ -8,20 +10,23 @@ import com.kiteclass.gateway.module.user.dto.response.UserResponse;
 import com.kiteclass.gateway.module.user.entity.User;
 import com.kiteclass.gateway.module.user.entity.UserRole;
 import com.kiteclass.gateway.module.user.mapper.UserMapper;
-import com.kiteclass.gateway.module.user.repository.RoleRepository;
 import com.kiteclass.gateway.module.user.repository.UserRepository;
 import com.kiteclass.gateway.module.user.repository.UserRoleRepository;
+import com.kiteclass.gateway.module.user.service.RoleCatalog;
+import com.kiteclass.gateway.module.user.service.UserCountCache;
 import com.kiteclass.gateway.module.user.service.UserService;
+import com.kiteclass.gateway.security.PasswordHasher;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Implementation of UserService.
@@ -34,11 +39,15 @@ import java.util.List;
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
+    // Largest cursor page: bounds the LIMIT and the role lookup of a single request
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final UserRepository userRepository;
-    private final RoleRepository roleRepository;
     private final UserRoleRepository userRoleRepository;
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHasher passwordHasher;
+    private final UserCountCache userCountCache;
+    private final RoleCatalog roleCatalog;
 
     @Override
     @Transactional
@@ -52,9 +61,12 @@ public class UserServiceImpl implements UserService {
                 }
 
                 User user = userMapper.toEntity(request);
-                user.setPasswordHash(passwordEncoder.encode(request.getPassword()));
 
-                return userRepository.save(user)
+                return passwordHasher.encode(request.getPassword())
+                    .flatMap(passwordHash -> {
+                        user.setPasswordHash(passwordHash);
+                        return userRepository.save(user);
+                    })
                     .flatMap(savedUser -> assignRoles(savedUser.getId(), request.getRoleIds())
                         .then(loadUserWithRoles(savedUser.getId())))
                     .doOnSuccess(u -> log.info("User created successfully: id={}, email={}", u.getId(), u.getEmail()));
@@ -78,19 +90,43 @@ public class UserServiceImpl implements UserService {
     @Override
     public Flux<UserResponse> getUsers(String searchTerm, int page, int size) {
         log.debug("Fetching users with search term: {}, page: {}, size: {}", searchTerm, page, size);
-        String search = searchTerm != null ? "%" + searchTerm + "%" : "%%";
+        String search = searchPattern(searchTerm);
         long offset = (long) page * size;
 
         return userRepository.findBySearchCriteria(search, size, offset)
-            .flatMap(user -> userRoleRepository.findRolesByUserId(user.getId())
-                .collectList()
-                .map(roles -> userMapper.toResponseWithRoles(user, roles)));
+            .collectList()
+            .flatMapMany(this::toResponsesWithRoles);
+    }
+
+    @Override
+    public Mono<CursorPageResponse<UserResponse>> getUsersAfter(String searchTerm, String cursor, int size,
+                                                                boolean withTotal) {
+        log.debug("Fetching users with search term: {}, cursor: {}, size: {}", searchTerm, cursor, size);
+        String search = searchPattern(searchTerm);
+        int pageSize = Math.min(Math.max(size, 1), MAX_CURSOR_PAGE_SIZE);
+
+        Mono<CursorPageResponse<UserResponse>> page = Mono.defer(() -> {
+            // One extra row tells whether there is a next page without counting
+            Flux<User> users = cursor == null || cursor.isEmpty()
+                ? userRepository.findFirstBySearchCriteria(search, pageSize + 1)
+                : findAfter(search, PageCursor.decode(cursor), pageSize + 1);
+            return users.collectList()
+                .flatMap(rows -> toCursorPage(rows, pageSize));
+        });
+
+        if (!withTotal) {
+            return page;
+        }
+        return page.zipWith(userCountCache.approximateCount(search), (response, total) -> {
+            response.setTotalElements(total);
+            response.setTotalApproximate(true);
+            return response;
+        });
     }
 
     @Override
     public Mono<Long> countUsers(String searchTerm) {
-        String search = searchTerm != null ? "%" + searchTerm + "%" : "%%";
-        return userRepository.countBySearchCriteria(search);
+        return userRepository.countBySearchCriteria(searchPattern(searchTerm));
     }
 
     @Override
@@ -151,28 +187,83 @@ public class UserServiceImpl implements UserService {
     private Mono<UserResponse> loadUserWithRoles(Long userId) {
         return userRepository.findByIdAndDeletedFalse(userId)
             .switchIfEmpty(Mono.error(new EntityNotFoundException("User", userId)))
-            .flatMap(user -> userRoleRepository.findRolesByUserId(userId)
+            .flatMap(user -> userRoleRepository.findByUserId(userId)
+                .map(UserRole::getRoleId)
                 .collectList()
-                .map(roles -> userMapper.toResponseWithRoles(user, roles)));
+                .zipWith(roleCatalog.snapshot(),
+                    (roleIds, catalog) -> userMapper.toResponseWithRoles(user, catalog.rolesOf(roleIds))));
     }
 
     /**
-     * Assign roles to a user.
+     * LIKE pattern matching the search term anywhere, or everything when there is none.
+     */
+    private String searchPattern(String searchTerm) {
+        return searchTerm != null ? "%" + searchTerm + "%" : "%%";
+    }
+
+    private Flux<User> findAfter(String search, PageCursor cursor, int limit) {
+        return userRepository.findBySearchCriteriaAfter(search, cursor.createdAt(), cursor.id(), limit);
+    }
+
+    /**
+     * Build a cursor page from up to pageSize + 1 rows; the extra row only signals a next page.
+     */
+    private Mono<CursorPageResponse<UserResponse>> toCursorPage(List<User> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        List<User> users = hasNext ? rows.subList(0, pageSize) : rows;
+        User last = users.isEmpty() ? null : users.get(users.size() - 1);
+        String nextCursor = hasNext ? new PageCursor(last.getCreatedAt(), last.getId()).encode() : null;
+
+        return toResponsesWithRoles(users)
+            .collectList()
+            .map(content -> CursorPageResponse.<UserResponse>builder()
+                .content(content)
+                .size(pageSize)
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .build());
+    }
+
+    /**
+     * Map a page of users to responses, loading the role assignments of all of them in
+     * one query and resolving the roles from the catalog.
+     */
+    private Flux<UserResponse> toResponsesWithRoles(List<User> users) {
+        if (users.isEmpty()) {
+            return Flux.empty();
+        }
+        List<Long> userIds = users.stream().map(User::getId).toList();
+
+        return userRoleRepository.findByUserIdIn(userIds)
+            .collectMultimap(UserRole::getUserId, UserRole::getRoleId)
+            .zipWith(roleCatalog.snapshot())
+            .flatMapMany(loaded -> Flux.fromIterable(users)
+                .map(user -> userMapper.toResponseWithRoles(user,
+                    loaded.getT2().rolesOf(loaded.getT1().getOrDefault(user.getId(), List.of())))));
+    }
+
+    /**
+     * Assign roles to a user: validate all role IDs against the catalog, then insert all
+     * assignments in one statement.
      */
     private Mono<Void> assignRoles(Long userId, List<Long> roleIds) {
         if (roleIds == null || roleIds.isEmpty()) {
             return Mono.empty();
         }
+        Set<Long> distinctRoleIds = new LinkedHashSet<>(roleIds);
 
-        return Flux.fromIterable(roleIds)
-            .flatMap(roleId -> roleRepository.findById(roleId)
-                .switchIfEmpty(Mono.error(new EntityNotFoundException("Role", roleId)))
-                .map(role -> UserRole.builder()
-                    .userId(userId)
-                    .roleId(roleId)
-                    .assignedAt(Instant.now())
-                    .build()))
-            .flatMap(userRoleRepository::save)
+        return roleCatalog.snapshot()
+            // A role created moments ago on another instance may not be announced yet
+            .filter(catalog -> catalog.containsAll(distinctRoleIds))
+            .switchIfEmpty(Mono.defer(roleCatalog::refresh))
+            .flatMap(catalog -> {
+                for (Long roleId : distinctRoleIds) {
+                    if (catalog.findRole(roleId).isEmpty()) {
+                        return Mono.error(new EntityNotFoundException("Role", roleId));
+                    }
+                }
+                return userRoleRepository.insertAll(userId, distinctRoleIds.toArray(Long[]::new), Instant.now());
+            })
             .then();
     }
 }
@@ -0,0 +1,83 @@
+package com.kiteclass.gateway.security;
+
+import com.kiteclass.gateway.security.jwt.JwtTokenProvider;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Resolves the verified claims of the bearer token carried by a request.
+ *
+ * <p>The token is verified at most once per exchange: the result is stored under
+ * {@link VerifiedClaims#EXCHANGE_ATTRIBUTE} and reused by the security context
+ * repository and the gateway filters that run later for the same request.
+ * {@link #resolveActive(ServerWebExchange)} additionally rejects revoked access tokens,
+ * checked at most once per exchange as well.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Component
+@RequiredArgsConstructor
+public class BearerTokenResolver {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final String ACTIVE_ATTRIBUTE = BearerTokenResolver.class.getName() + ".active";
+
+    private final JwtTokenProvider jwtTokenProvider;
+    private final TokenRevocationList tokenRevocationList;
+
+    /**
+     * Resolve verified claims for the exchange.
+     *
+     * @param exchange server web exchange
+     * @return verified claims, or null if the request has no bearer token
+     * @throws JwtException if the token is invalid or expired
+     */
+    public VerifiedClaims resolve(ServerWebExchange exchange) {
+        VerifiedClaims claims = exchange.getAttribute(VerifiedClaims.EXCHANGE_ATTRIBUTE);
+        if (claims != null) {
+            return claims;
+        }
+
+        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+
+        claims = jwtTokenProvider.verify(authHeader.substring(BEARER_PREFIX.length()));
+        exchange.getAttributes().put(VerifiedClaims.EXCHANGE_ATTRIBUTE, claims);
+        return claims;
+    }
+
+    /**
+     * Resolve verified claims for the exchange, rejecting revoked access tokens.
+     *
+     * @param exchange server web exchange
+     * @return Mono of verified claims, empty if the request has no bearer token, or
+     *         failing with {@link JwtException} if the token is invalid, expired or revoked
+     */
+    public Mono<VerifiedClaims> resolveActive(ServerWebExchange exchange) {
+        return Mono.defer(() -> {
+            VerifiedClaims claims = resolve(exchange);
+            if (claims == null) {
+                return Mono.empty();
+            }
+            if (!claims.isAccessToken() || Boolean.TRUE.equals(exchange.getAttribute(ACTIVE_ATTRIBUTE))) {
+                return Mono.just(claims);
+            }
+            return tokenRevocationList.isRevoked(claims)
+                    .flatMap(revoked -> {
+                        if (revoked) {
+                            return Mono.error(new JwtException("Token has been revoked"));
+                        }
+                        exchange.getAttributes().put(ACTIVE_ATTRIBUTE, Boolean.TRUE);
+                        return Mono.just(claims);
+                    });
+        });
+    }
+}
@@ -0,0 +1,86 @@
+package com.kiteclass.gateway.security;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ *
+ * <p>Answers "definitely not added" or "possibly added" from a fixed-size bitset, with
+ * the bit count and number of hashes chosen for an expected number of entries and
+ * false positive rate. Entries cannot be removed.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+
+    /**
+     * Create an empty filter.
+     *
+     * @param expectedEntries   number of entries the filter is sized for
+     * @param falsePositiveRate false positive rate at that number of entries
+     */
+    BloomFilter(int expectedEntries, double falsePositiveRate) {
+        long optimalBits = (long) Math.ceil(-Math.max(1, expectedEntries) * Math.log(falsePositiveRate)
+                / (Math.log(2) * Math.log(2)));
+        this.words = new AtomicLongArray((int) Math.max(1, (optimalBits + 63) / 64));
+        this.bits = (long) words.length() * 64;
+        this.hashes = (int) Math.max(1, Math.round((double) bits / Math.max(1, expectedEntries) * Math.log(2)));
+    }
+
+    /**
+     * Add an entry.
+     */
+    void add(String entry) {
+        long hash = hash(entry);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            words.getAndAccumulate(word, mask, (current, set) -> current | set);
+        }
+    }
+
+    /**
+     * Check an entry.
+     *
+     * @return false if the entry was definitely not added, true if it possibly was
+     */
+    boolean mightContain(String entry) {
+        long hash = hash(entry);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashes; i++) {
+            long bit = Integer.toUnsignedLong(h1 + i * h2) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so both
+     * halves are usable as independent hashes.
+     */
+    private static long hash(String entry) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : entry.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb3fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -1,10 +1,9 @@
 package com.kiteclass.gateway.security;
 
-import com.kiteclass.gateway.security.jwt.JwtTokenProvider;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
 import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.HttpHeaders;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
@@ -14,13 +13,13 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
-import java.util.List;
-
 /**
  * Security context repository for JWT authentication.
  *
  * <p>Loads authentication from JWT token in Authorization header.
  * Used by Spring Security WebFlux to establish security context.
+ * The verified claims are kept on the exchange for later gateway filters.
+ * Revoked access tokens authenticate nobody.
  *
  * @author KiteClass Team
  * @since 1.0.0
@@ -30,9 +29,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class SecurityContextRepository implements ServerSecurityContextRepository {
 
-    private final JwtTokenProvider jwtTokenProvider;
-
-    private static final String BEARER_PREFIX = "Bearer ";
+    private final BearerTokenResolver bearerTokenResolver;
 
     @Override
     public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
@@ -42,47 +39,38 @@ public class SecurityContextRepository implements ServerSecurityContextRepositor
 
     @Override
     public Mono<SecurityContext> load(ServerWebExchange exchange) {
-        String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+        // Validate token, check it is not revoked and extract claims
+        return bearerTokenResolver.resolveActive(exchange)
+                .flatMap(this::toSecurityContext)
+                .onErrorResume(JwtException.class, e -> {
+                    log.warn("JWT validation failed: {}", e.getMessage());
+                    return Mono.empty();
+                });
+    }
 
-        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+    private Mono<SecurityContext> toSecurityContext(VerifiedClaims claims) {
+        if (!claims.isAccessToken()) {
+            log.warn("Invalid token type (not an access token)");
             return Mono.empty();
         }
 
-        String token = authHeader.substring(BEARER_PREFIX.length());
-
-        try {
-            // Validate token and extract claims
-            if (!jwtTokenProvider.isAccessToken(token)) {
-                log.warn("Invalid token type (not an access token)");
-                return Mono.empty();
-            }
-
-            Long userId = jwtTokenProvider.getUserIdFromToken(token);
-            String email = jwtTokenProvider.getEmailFromToken(token);
-            List<String> roles = jwtTokenProvider.getRolesFromToken(token);
+        // Create UserPrincipal
+        UserPrincipal principal = UserPrincipal.builder()
+                .id(claims.userId())
+                .email(claims.email())
+                .roles(claims.roles())
+                .enabled(true)
+                .accountNonLocked(true)
+                .build();
 
-            // Create UserPrincipal
-            UserPrincipal principal = UserPrincipal.builder()
-                    .id(userId)
-                    .email(email)
-                    .roles(roles)
-                    .enabled(true)
-                    .accountNonLocked(true)
-                    .build();
+        // Create authentication
+        Authentication authentication = new UsernamePasswordAuthenticationToken(
+                principal,
+                null,
+                principal.getAuthorities()
+        );
 
-            // Create authentication
-            Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    principal,
-                    null,
-                    principal.getAuthorities()
-            );
-
-            // Return security context
-            return Mono.just(new SecurityContextImpl(authentication));
-
-        } catch (JwtException e) {
-            log.warn("JWT validation failed: {}", e.getMessage());
-            return Mono.empty();
-        }
+        // Return security context
+        return Mono.just(new SecurityContextImpl(authentication));
     }
 }
@@ -0,0 +1,267 @@
+package com.kiteclass.gateway.security;
+
+import com.kiteclass.gateway.config.TokenRevocationProperties;
+import com.kiteclass.gateway.security.jwt.JwtProperties;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.Disposables;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Revocation list for access tokens that have not expired yet.
+ *
+ * <p>A revocation names either one token, by its {@code jti} claim, or all tokens of a
+ * user issued up to a point in time. Revocations are written to Redis with the
+ * remaining lifetime of the tokens they cover and announced on a Redis channel.
+ * Every gateway instance keeps them in an in-memory {@link BloomFilter}, so almost
+ * every request is cleared by a memory read; only a possible hit is confirmed in
+ * Redis. The filter is rebuilt from Redis every
+ * {@code token-revocation.rebuild-interval}, which drops expired revocations and picks
+ * up announcements missed while Redis was unreachable.
+ *
+ * <p>A possible hit that cannot be confirmed because Redis is unreachable counts as
+ * revoked. Until the first build completes, only revocations announced since startup
+ * are known: other tokens are accepted without a Redis round trip and counted by
+ * {@code auth.token.revocation.unverified}, and the build is retried with backoff.
+ * Without Redis, or when disabled, nothing is revoked.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final String TOKEN_ENTRY = "jti:";
+    private static final String USER_ENTRY = "user:";
+    private static final String INDEX_KEY = "index";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final TokenRevocationProperties properties;
+    private final Duration accessTokenLifetime;
+    private final Disposable.Composite subscriptions = Disposables.composite();
+    private final Counter revokedCounter;
+    private final Counter falsePositiveCounter;
+    private final Counter unverifiedCounter;
+    private volatile BloomFilter current;
+    private volatile BloomFilter building;
+    private volatile boolean built;
+
+    public TokenRevocationList(ObjectProvider<ReactiveStringRedisTemplate> redisTemplate,
+                               TokenRevocationProperties properties,
+                               JwtProperties jwtProperties,
+                               MeterRegistry meterRegistry) {
+        this.redisTemplate = properties.isEnabled() ? redisTemplate.getIfAvailable() : null;
+        this.properties = properties;
+        this.accessTokenLifetime = Duration.ofMillis(jwtProperties.getAccessTokenExpiration());
+        this.current = newFilter();
+        this.revokedCounter = lookupCounter(meterRegistry, "revoked");
+        this.falsePositiveCounter = lookupCounter(meterRegistry, "false_positive");
+        this.unverifiedCounter = Counter.builder("auth.token.revocation.unverified")
+                .description("Access tokens accepted before the revocation filter was first built")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Build the filter and start listening for revocations.
+     */
+    @PostConstruct
+    public void start() {
+        if (redisTemplate == null) {
+            return;
+        }
+        subscriptions.add(redisTemplate.listenToChannel(properties.getChannel())
+                .doOnNext(message -> add(message.getMessage()))
+                .doOnError(e -> log.warn("Token revocation announcements unavailable, retrying: {}", e.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe());
+
+        subscriptions.add(rebuild()
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1))
+                        .maxBackoff(Duration.ofSeconds(30))
+                        // A scheduled rebuild may have succeeded in the meantime
+                        .filter(e -> !built)
+                        .doBeforeRetry(retry -> log.warn(
+                                "Token revocation filter not built, accepting unverified tokens until it is: {}",
+                                retry.failure().getMessage())))
+                .onErrorResume(e -> Mono.empty())
+                .subscribe());
+        Duration interval = properties.getRebuildInterval();
+        subscriptions.add(Flux.interval(interval, interval)
+                .onBackpressureDrop()
+                .concatMap(tick -> rebuildQuietly())
+                .subscribe());
+    }
+
+    /**
+     * Stop listening for revocations.
+     */
+    @PreDestroy
+    public void stop() {
+        subscriptions.dispose();
+    }
+
+    /**
+     * Revoke one access token until it expires.
+     *
+     * @param claims verified claims of the token
+     * @return Mono of Void, completing once the revocation is stored
+     */
+    public Mono<Void> revokeToken(VerifiedClaims claims) {
+        if (claims.tokenId() == null) {
+            return Mono.empty();
+        }
+        return revoke(TOKEN_ENTRY + claims.tokenId(), "1", claims.expiresAt());
+    }
+
+    /**
+     * Revoke every access token issued to a user up to now.
+     *
+     * <p>Token issue times have second precision, so a token issued later within the
+     * same second is revoked too.
+     *
+     * @param userId user ID
+     * @return Mono of Void, completing once the revocation is stored
+     */
+    public Mono<Void> revokeUser(Long userId) {
+        Instant now = Instant.now();
+        return revoke(USER_ENTRY + userId, String.valueOf(now.toEpochMilli()), now.plus(accessTokenLifetime));
+    }
+
+    /**
+     * Check whether an access token has been revoked.
+     *
+     * @param claims verified claims of the token
+     * @return Mono of true if revoked
+     */
+    public Mono<Boolean> isRevoked(VerifiedClaims claims) {
+        if (redisTemplate == null) {
+            return Mono.just(false);
+        }
+        String tokenEntry = claims.tokenId() != null ? TOKEN_ENTRY + claims.tokenId() : null;
+        String userEntry = USER_ENTRY + claims.userId();
+        if ((tokenEntry == null || !current.mightContain(tokenEntry)) && !current.mightContain(userEntry)) {
+            if (!built) {
+                unverifiedCounter.increment();
+            }
+            return Mono.just(false);
+        }
+
+        List<String> keys = new ArrayList<>(2);
+        keys.add(key(userEntry));
+        if (tokenEntry != null) {
+            keys.add(key(tokenEntry));
+        }
+        return redisTemplate.opsForValue().multiGet(keys)
+                .map(values -> revokedBefore(values.get(0), claims.issuedAt())
+                        || (values.size() > 1 && values.get(1) != null))
+                .doOnNext(revoked -> (revoked ? revokedCounter : falsePositiveCounter).increment())
+                .onErrorResume(e -> {
+                    log.warn("Could not check token revocation for user {}: {}", claims.userId(), e.getMessage());
+                    return Mono.just(true);
+                });
+    }
+
+    /**
+     * Rebuild the filter from the revocations stored in Redis.
+     *
+     * <p>Revocations announced while building go to both the old and the new filter,
+     * so none is lost when the new one is swapped in.
+     *
+     * @return Mono of the number of revocations loaded
+     */
+    Mono<Long> rebuild() {
+        return Mono.defer(() -> {
+            BloomFilter next = newFilter();
+            building = next;
+            Range<Double> live = Range.rightUnbounded(Range.Bound.inclusive((double) System.currentTimeMillis()));
+            return redisTemplate.opsForZSet().rangeByScore(key(INDEX_KEY), live)
+                    .doOnNext(next::add)
+                    .count()
+                    .doOnNext(loaded -> {
+                        current = next;
+                        built = true;
+                        log.debug("Token revocation filter rebuilt: {} revocations", loaded);
+                    })
+                    .doFinally(signal -> building = null);
+        });
+    }
+
+    private Mono<Long> rebuildQuietly() {
+        return rebuild().onErrorResume(e -> {
+            log.warn("Token revocation filter not rebuilt, keeping previous one: {}", e.getMessage());
+            return Mono.empty();
+        });
+    }
+
+    private Mono<Void> revoke(String entry, String value, Instant expiresAt) {
+        Duration ttl = Duration.between(Instant.now(), expiresAt);
+        if (redisTemplate == null || ttl.isNegative() || ttl.isZero()) {
+            return Mono.empty();
+        }
+        long now = System.currentTimeMillis();
+        Range<Double> expired = Range.leftUnbounded(Range.Bound.exclusive((double) now));
+        return redisTemplate.opsForValue().set(key(entry), value, ttl)
+                .then(redisTemplate.opsForZSet().add(key(INDEX_KEY), entry, expiresAt.toEpochMilli()))
+                .then(redisTemplate.opsForZSet().removeRangeByScore(key(INDEX_KEY), expired))
+                .then(Mono.fromRunnable(() -> add(entry)))
+                .then(redisTemplate.convertAndSend(properties.getChannel(), entry)
+                        .onErrorResume(e -> {
+                            log.warn("Could not announce token revocation, other instances pick it up on rebuild: {}",
+                                    e.getMessage());
+                            return Mono.empty();
+                        }))
+                .then();
+    }
+
+    private void add(String entry) {
+        current.add(entry);
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(entry);
+        }
+    }
+
+    private BloomFilter newFilter() {
+        return new BloomFilter(properties.getExpectedRevocations(), properties.getFalsePositiveRate());
+    }
+
+    private String key(String suffix) {
+        return properties.getKeyPrefix() + suffix;
+    }
+
+    /**
+     * Check a token's issue time against a user revocation, both at second precision.
+     */
+    private static boolean revokedBefore(String revokedAtMillis, Instant issuedAt) {
+        if (revokedAtMillis == null) {
+            return false;
+        }
+        Instant revokedAt = Instant.ofEpochMilli(Long.parseLong(revokedAtMillis)).truncatedTo(ChronoUnit.SECONDS);
+        return issuedAt == null || !issuedAt.isAfter(revokedAt);
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("auth.token.revocation.lookups")
+                .description("Access tokens checked in Redis after a possible revocation filter hit")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
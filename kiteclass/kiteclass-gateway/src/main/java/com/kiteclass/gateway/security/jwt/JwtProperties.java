@@ -36,4 +36,10 @@ public class JwtProperties {
      * Default: 604800000 (7 days).
      */
     private long refreshTokenExpiration;
+
+    /**
+     * Maximum number of verified tokens kept in the claims cache.
+     * Default: 10000.
+     */
+    private long claimsCacheMaxSize = 10_000;
 }
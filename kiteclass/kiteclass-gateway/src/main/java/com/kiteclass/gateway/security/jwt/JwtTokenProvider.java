@@ -1,19 +1,25 @@
 package com.kiteclass.gateway.security.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 
 /**
  * JWT token provider for generating and validating tokens.
@@ -26,36 +32,72 @@ import java.util.List;
  *   <li>Claims extraction</li>
  * </ul>
  *
+ * <p>The signing key and parser are built once. Verified claims are kept in a bounded
+ * cache keyed by token signature until the token expires, so a token is verified
+ * once per lifetime rather than on every request.
+ *
  * @author KiteClass Team
  * @since 1.0.0
  */
 @Slf4j
 @Component
-@RequiredArgsConstructor
 public class JwtTokenProvider {
 
     private final JwtProperties jwtProperties;
+    private final SecretKey secretKey;
+    private final JwtParser jwtParser;
+    private final Cache<String, CachedClaims> claimsCache;
+
+    public JwtTokenProvider(JwtProperties jwtProperties) {
+        this.jwtProperties = jwtProperties;
+        this.secretKey = Keys.hmacShaKeyFor(jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8));
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.claimsCache = Caffeine.newBuilder()
+                .maximumSize(jwtProperties.getClaimsCacheMaxSize())
+                .expireAfter(Expiry.creating((String signature, CachedClaims cached) ->
+                        remainingLifetime(cached.claims())))
+                .build();
+    }
 
     /**
      * Generate access token for authenticated user.
      *
+     * <p>The token carries no permissions; they are resolved from the roles when a
+     * route checks them. Like every access token it has a random ID ({@code jti}) by
+     * which it can be revoked.
+     *
      * @param userId user ID
      * @param email user email
      * @param roles list of role codes
      * @return JWT access token
      */
     public String generateAccessToken(Long userId, String email, List<String> roles) {
+        return generateAccessToken(userId, email, roles, null);
+    }
+
+    /**
+     * Generate access token for authenticated user, embedding their effective permissions.
+     *
+     * @param userId user ID
+     * @param email user email
+     * @param roles list of role codes
+     * @param permissions effective permissions of the roles, or null to leave them out
+     * @return JWT access token
+     */
+    public String generateAccessToken(Long userId, String email, List<String> roles, PermissionSet permissions) {
         Instant now = Instant.now();
         Instant expiry = now.plusMillis(jwtProperties.getAccessTokenExpiration());
 
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("email", email)
                 .claim("roles", roles)
+                .claim(VerifiedClaims.PERMISSIONS_CLAIM, permissions != null ? permissions.encode() : null)
                 .claim("type", TokenType.ACCESS.name())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
@@ -69,12 +111,14 @@ public class JwtTokenProvider {
         Instant now = Instant.now();
         Instant expiry = now.plusMillis(jwtProperties.getRefreshTokenExpiration());
 
+        // The random ID keeps tokens issued to one user within the same second distinct
         return Jwts.builder()
+                .id(UUID.randomUUID().toString())
                 .subject(userId.toString())
                 .claim("type", TokenType.REFRESH.name())
                 .issuedAt(Date.from(now))
                 .expiration(Date.from(expiry))
-                .signWith(getSecretKey())
+                .signWith(secretKey)
                 .compact();
     }
 
@@ -88,11 +132,7 @@ public class JwtTokenProvider {
      */
     public Claims validateToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(getSecretKey())
-                    .build()
-                    .parseSignedClaims(token)
-                    .getPayload();
+            return jwtParser.parseSignedClaims(token).getPayload();
         } catch (ExpiredJwtException e) {
             log.warn("JWT token expired: {}", e.getMessage());
             throw e;
@@ -102,6 +142,29 @@ public class JwtTokenProvider {
         }
     }
 
+    /**
+     * Verify token and return its claims, using the verified-claims cache.
+     *
+     * <p>The cache is keyed by the token signature; a hit is only accepted when the
+     * full token matches, so a forged header or payload never reuses cached claims.
+     *
+     * @param token JWT token
+     * @return verified claims
+     * @throws ExpiredJwtException if token is expired
+     * @throws JwtException if token is invalid
+     */
+    public VerifiedClaims verify(String token) {
+        String signature = signatureOf(token);
+        CachedClaims cached = claimsCache.getIfPresent(signature);
+        if (cached != null && cached.token().equals(token)) {
+            return cached.claims();
+        }
+
+        VerifiedClaims claims = VerifiedClaims.from(validateToken(token));
+        claimsCache.put(signature, new CachedClaims(token, claims));
+        return claims;
+    }
+
     /**
      * Extract user ID from token.
      *
@@ -109,8 +172,7 @@ public class JwtTokenProvider {
      * @return user ID
      */
     public Long getUserIdFromToken(String token) {
-        Claims claims = validateToken(token);
-        return Long.parseLong(claims.getSubject());
+        return verify(token).userId();
     }
 
     /**
@@ -120,8 +182,7 @@ public class JwtTokenProvider {
      * @return user email
      */
     public String getEmailFromToken(String token) {
-        Claims claims = validateToken(token);
-        return claims.get("email", String.class);
+        return verify(token).email();
     }
 
     /**
@@ -130,10 +191,8 @@ public class JwtTokenProvider {
      * @param token JWT token
      * @return list of role codes
      */
-    @SuppressWarnings("unchecked")
     public List<String> getRolesFromToken(String token) {
-        Claims claims = validateToken(token);
-        return (List<String>) claims.get("roles");
+        return verify(token).roles();
     }
 
     /**
@@ -143,9 +202,7 @@ public class JwtTokenProvider {
      * @return true if access token, false otherwise
      */
     public boolean isAccessToken(String token) {
-        Claims claims = validateToken(token);
-        String type = claims.get("type", String.class);
-        return TokenType.ACCESS.name().equals(type);
+        return verify(token).type() == TokenType.ACCESS;
     }
 
     /**
@@ -155,19 +212,38 @@ public class JwtTokenProvider {
      * @return true if refresh token, false otherwise
      */
     public boolean isRefreshToken(String token) {
-        Claims claims = validateToken(token);
-        String type = claims.get("type", String.class);
-        return TokenType.REFRESH.name().equals(type);
+        return verify(token).type() == TokenType.REFRESH;
     }
 
     /**
-     * Get secret key for JWT signing.
+     * Get the signature segment of a compact JWT.
      *
-     * @return SecretKey instance
+     * @param token JWT token
+     * @return signature segment
+     * @throws MalformedJwtException if token is not a compact JWS
+     */
+    private static String signatureOf(String token) {
+        int lastDot = token.lastIndexOf('.');
+        if (lastDot < 0 || lastDot == token.length() - 1) {
+            throw new MalformedJwtException("JWT strings must contain a signature");
+        }
+        return token.substring(lastDot + 1);
+    }
+
+    /**
+     * Time left until verified claims expire, used as the cache entry lifetime.
+     *
+     * @param claims verified claims
+     * @return remaining lifetime (never negative)
+     */
+    private static Duration remainingLifetime(VerifiedClaims claims) {
+        Duration remaining = Duration.between(Instant.now(), claims.expiresAt());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+
+    /**
+     * Cache entry holding the full token next to its verified claims.
      */
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(
-                jwtProperties.getSecret().getBytes(StandardCharsets.UTF_8)
-        );
+    private record CachedClaims(String token, VerifiedClaims claims) {
     }
 }
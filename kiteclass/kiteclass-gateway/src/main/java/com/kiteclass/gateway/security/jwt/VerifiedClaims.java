@@ -0,0 +1,79 @@
+package com.kiteclass.gateway.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable view of the claims of a JWT whose signature and expiry have been verified.
+ *
+ * <p>Built once per token by {@link JwtTokenProvider#verify(String)} and stored as an
+ * exchange attribute so that every filter handling the same request reuses it instead
+ * of parsing the token again.
+ *
+ * @param userId      user ID (token subject)
+ * @param email       user email (access tokens only)
+ * @param roles       role codes (access tokens only)
+ * @param permissions effective permissions, or null for access tokens issued without
+ *                    the {@code perms} claim
+ * @param type        token type
+ * @param tokenId     token ID ({@code jti} claim), or null for tokens issued without it
+ * @param issuedAt    token issue timestamp, or null if absent
+ * @param expiresAt   token expiration timestamp
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public record VerifiedClaims(
+        Long userId,
+        String email,
+        List<String> roles,
+        PermissionSet permissions,
+        TokenType type,
+        String tokenId,
+        Instant issuedAt,
+        Instant expiresAt
+) {
+
+    /**
+     * Exchange attribute under which the verified claims of the current request are stored.
+     */
+    public static final String EXCHANGE_ATTRIBUTE = VerifiedClaims.class.getName();
+
+    /**
+     * Claim holding the encoded {@link PermissionSet} of an access token.
+     */
+    public static final String PERMISSIONS_CLAIM = "perms";
+
+    /**
+     * Create verified claims from parsed JWT claims.
+     *
+     * @param claims claims returned by a successful signature check
+     * @return verified claims
+     */
+    @SuppressWarnings("unchecked")
+    static VerifiedClaims from(Claims claims) {
+        String type = claims.get("type", String.class);
+        List<String> roles = (List<String>) claims.get("roles");
+        String permissions = claims.get(PERMISSIONS_CLAIM, String.class);
+        return new VerifiedClaims(
+                Long.parseLong(claims.getSubject()),
+                claims.get("email", String.class),
+                roles != null ? List.copyOf(roles) : List.of(),
+                permissions != null ? PermissionSet.decode(permissions) : null,
+                type != null ? TokenType.valueOf(type) : null,
+                claims.getId(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    /**
+     * Check if these claims belong to an access token.
+     *
+     * @return true if access token
+     */
+    public boolean isAccessToken() {
+        return type == TokenType.ACCESS;
+    }
+}
@@ -5,7 +5,8 @@ import reactor.core.publisher.Mono;
 /**
  * Service for sending emails.
  *
- * <p>Provides reactive email sending with Thymeleaf templates.
+ * <p>Provides reactive email sending with Thymeleaf templates. Emails are queued in
+ * the email outbox and sent in the background.
  *
  * @author KiteClass Team
  * @since 1.5.0
@@ -18,7 +19,7 @@ public interface EmailService {
      * @param to recipient email address
      * @param userName recipient name
      * @param resetToken password reset token
-     * @return Mono of Void when email is sent
+     * @return Mono of Void when email is queued
      */
     Mono<Void> sendPasswordResetEmail(String to, String userName, String resetToken);
 
@@ -27,7 +28,7 @@ public interface EmailService {
      *
      * @param to recipient email address
      * @param userName recipient name
-     * @return Mono of Void when email is sent
+     * @return Mono of Void when email is queued
      */
     Mono<Void> sendWelcomeEmail(String to, String userName);
 
@@ -37,7 +38,7 @@ public interface EmailService {
      * @param to recipient email address
      * @param userName recipient name
      * @param lockDurationMinutes how long the account is locked for
-     * @return Mono of Void when email is sent
+     * @return Mono of Void when email is queued
      */
     Mono<Void> sendAccountLockedEmail(String to, String userName, long lockDurationMinutes);
 }
@@ -0,0 +1,55 @@
+package com.kiteclass.gateway.service;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Token bucket rate limiter.
+ *
+ * <p>Each key owns a bucket of {@code capacity} tokens that refills over the
+ * configured time window.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public interface RateLimiter {
+
+    /**
+     * Try to take tokens from the bucket of a key.
+     *
+     * @param key      rate limit key (e.g. "user:42", "ip:203.0.113.1")
+     * @param capacity bucket capacity per time window
+     * @param tokens   number of tokens the request costs
+     * @return Mono of the decision
+     */
+    Mono<Result> tryConsume(String key, long capacity, long tokens);
+
+    /**
+     * Rate limit decision.
+     *
+     * @param allowed           whether the request may proceed
+     * @param remaining         tokens left in the bucket (approximate for distributed limiters)
+     * @param retryAfterSeconds seconds until enough tokens are available (0 if allowed)
+     */
+    record Result(boolean allowed, long remaining, long retryAfterSeconds) {
+
+        /**
+         * Create an allowed decision.
+         *
+         * @param remaining tokens left
+         * @return allowed result
+         */
+        public static Result allowed(long remaining) {
+            return new Result(true, Math.max(0, remaining), 0);
+        }
+
+        /**
+         * Create a rejected decision.
+         *
+         * @param retryAfterSeconds seconds until tokens are available
+         * @return rejected result
+         */
+        public static Result rejected(long retryAfterSeconds) {
+            return new Result(false, 0, Math.max(1, retryAfterSeconds));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.kiteclass.gateway.service;
+
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Shared cache of upstream GET responses.
+ *
+ * <p>Entries are grouped by route so that a write on a route, or an explicit call to
+ * {@link #invalidateRoute(String)}, drops every cached response of that route.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public interface ResponseCacheService {
+
+    /**
+     * Look up a cached response.
+     *
+     * @param routeId route ID
+     * @param key     cache key within the route
+     * @return Mono of the cached response, empty on miss
+     */
+    Mono<CachedResponse> get(String routeId, String key);
+
+    /**
+     * Store a response.
+     *
+     * @param routeId  route ID
+     * @param key      cache key within the route
+     * @param response response to cache
+     * @param ttl      time to live
+     * @return Mono of Void when stored
+     */
+    Mono<Void> put(String routeId, String key, CachedResponse response, Duration ttl);
+
+    /**
+     * Drop every cached response of a route.
+     *
+     * @param routeId route ID
+     * @return Mono of the number of entries removed
+     */
+    Mono<Long> invalidateRoute(String routeId);
+
+    /**
+     * Cached response.
+     *
+     * @param contentType content type header, may be null
+     * @param etag        entity tag (quoted)
+     * @param body        response body
+     */
+    record CachedResponse(String contentType, String etag, byte[] body) {
+    }
+}
@@ -1,27 +1,28 @@
 package com.kiteclass.gateway.service.impl;
 
 import com.kiteclass.gateway.config.EmailProperties;
+import com.kiteclass.gateway.module.email.entity.EmailOutboxMessage;
+import com.kiteclass.gateway.module.email.repository.EmailOutboxRepository;
 import com.kiteclass.gateway.service.EmailService;
-import jakarta.mail.MessagingException;
-import jakarta.mail.internet.MimeMessage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.mail.javamail.JavaMailSender;
-import org.springframework.mail.javamail.MimeMessageHelper;
-import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
 /**
- * Implementation of email service using JavaMailSender and Thymeleaf.
+ * Implementation of email service using Thymeleaf and the email outbox.
  *
- * <p>Wraps blocking mail operations in reactive Mono for compatibility with reactive stack.
+ * <p>Emails are rendered and written to the outbox, in the caller's transaction if
+ * there is one; {@link com.kiteclass.gateway.module.email.service.EmailOutboxWorker}
+ * sends them. Requests therefore never wait on the SMTP server, and an email is
+ * queued if and only if the change that triggered it is committed.
  *
  * @author KiteClass Team
  * @since 1.5.0
@@ -31,13 +32,13 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class EmailServiceImpl implements EmailService {
 
-    private final JavaMailSender mailSender;
+    private final EmailOutboxRepository outboxRepository;
     private final TemplateEngine templateEngine;
     private final EmailProperties emailProperties;
 
     @Override
     public Mono<Void> sendPasswordResetEmail(String to, String userName, String resetToken) {
-        log.info("Sending password reset email to: {}", to);
+        log.info("Queueing password reset email to: {}", to);
 
         Map<String, Object> variables = new HashMap<>();
         variables.put("userName", userName);
@@ -45,26 +46,26 @@ public class EmailServiceImpl implements EmailService {
         variables.put("expirationMinutes", emailProperties.getResetTokenExpiration() / 60000);
 
         return sendEmail(to, "Đặt lại mật khẩu KiteClass", "password-reset", variables)
-                .doOnSuccess(v -> log.info("Password reset email sent successfully to: {}", to))
-                .doOnError(e -> log.error("Failed to send password reset email to: {}", to, e));
+                .doOnSuccess(v -> log.info("Password reset email queued for: {}", to))
+                .doOnError(e -> log.error("Failed to queue password reset email to: {}", to, e));
     }
 
     @Override
     public Mono<Void> sendWelcomeEmail(String to, String userName) {
-        log.info("Sending welcome email to: {}", to);
+        log.info("Queueing welcome email to: {}", to);
 
         Map<String, Object> variables = new HashMap<>();
         variables.put("userName", userName);
         variables.put("loginUrl", emailProperties.getBaseUrl() + "/login");
 
         return sendEmail(to, "Chào mừng đến với KiteClass", "welcome", variables)
-                .doOnSuccess(v -> log.info("Welcome email sent successfully to: {}", to))
-                .doOnError(e -> log.error("Failed to send welcome email to: {}", to, e));
+                .doOnSuccess(v -> log.info("Welcome email queued for: {}", to))
+                .doOnError(e -> log.error("Failed to queue welcome email to: {}", to, e));
     }
 
     @Override
     public Mono<Void> sendAccountLockedEmail(String to, String userName, long lockDurationMinutes) {
-        log.info("Sending account locked email to: {}", to);
+        log.info("Queueing account locked email to: {}", to);
 
         Map<String, Object> variables = new HashMap<>();
         variables.put("userName", userName);
@@ -72,46 +73,41 @@ public class EmailServiceImpl implements EmailService {
         variables.put("supportEmail", "support@kiteclass.com");
 
         return sendEmail(to, "Tài khoản KiteClass của bạn đã bị khóa", "account-locked", variables)
-                .doOnSuccess(v -> log.info("Account locked email sent successfully to: {}", to))
-                .doOnError(e -> log.error("Failed to send account locked email to: {}", to, e));
+                .doOnSuccess(v -> log.info("Account locked email queued for: {}", to))
+                .doOnError(e -> log.error("Failed to queue account locked email to: {}", to, e));
     }
 
     /**
-     * Send email using Thymeleaf template.
+     * Queue email using Thymeleaf template.
      *
-     * <p>This method wraps the blocking JavaMailSender operation in a Mono
-     * and executes it on a bounded elastic scheduler to avoid blocking the reactive pipeline.
+     * <p>Templates are parsed once and cached by the template engine
+     * ({@code spring.thymeleaf.cache}); only the variables are filled in per email.
      *
      * @param to recipient email
      * @param subject email subject
      * @param templateName Thymeleaf template name (without .html extension)
      * @param variables template variables
-     * @return Mono of Void when email is sent
+     * @return Mono of Void when email is queued
      */
     private Mono<Void> sendEmail(String to, String subject, String templateName, Map<String, Object> variables) {
-        return Mono.fromRunnable(() -> {
-            try {
-                // Process Thymeleaf template
-                Context context = new Context();
-                context.setVariables(variables);
-                String htmlContent = templateEngine.process("email/" + templateName, context);
-
-                // Create and send email
-                MimeMessage message = mailSender.createMimeMessage();
-                MimeMessageHelper helper = new MimeMessageHelper(message, true, "UTF-8");
-
-                helper.setFrom(emailProperties.getFrom());
-                helper.setTo(to);
-                helper.setSubject(subject);
-                helper.setText(htmlContent, true);
-
-                mailSender.send(message);
-
-            } catch (MessagingException e) {
-                throw new RuntimeException("Failed to send email", e);
-            }
-        })
-        .subscribeOn(Schedulers.boundedElastic()) // Execute blocking operation on bounded elastic scheduler
-        .then();
+        return Mono.fromCallable(() -> {
+                    // Process Thymeleaf template
+                    Context context = new Context();
+                    context.setVariables(variables);
+                    String htmlContent = templateEngine.process("email/" + templateName, context);
+
+                    return EmailOutboxMessage.builder()
+                            .recipient(to)
+                            .subject(subject)
+                            .body(htmlContent)
+                            .attempts(0)
+                            .nextAttemptAt(Instant.now())
+                            .createdAt(Instant.now())
+                            .build();
+                })
+                // Rendering is CPU-bound; keep it off the event loop
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(outboxRepository::save)
+                .then();
     }
 }
@@ -0,0 +1,200 @@
+package com.kiteclass.gateway.service.impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Load balancer choosing the less busy of two random instances.
+ *
+ * <p>For each request two distinct instances are sampled and the one with fewer
+ * outstanding requests wins ("power of two choices"). Unlike a global least-loaded
+ * pick, this never sends a burst of requests to the same momentarily idle instance,
+ * and an instance stuck in a GC pause or a slow query, whose requests pile up, stops
+ * receiving new ones almost immediately.
+ *
+ * <p>Instances that join the list, whether newly started or back from a failed health
+ * check, go through slow start: their outstanding count is weighted up while they
+ * warm up, so they receive a growing share of traffic instead of the full share at
+ * once. Outstanding requests are counted from {@link #choose(Request)} until
+ * {@link Selection#release()} is called.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public class LeastOutstandingLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final String serviceId;
+    private final long slowStartNanos;
+    private final double slowStartMinWeight;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, InstanceStats> stats = new ConcurrentHashMap<>();
+
+    public LeastOutstandingLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers,
+                                        String serviceId,
+                                        Duration slowStart,
+                                        double slowStartMinWeight,
+                                        MeterRegistry meterRegistry) {
+        this.suppliers = suppliers;
+        this.serviceId = serviceId;
+        this.slowStartNanos = slowStart.toNanos();
+        this.slowStartMinWeight = slowStartMinWeight;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request)
+                .next()
+                .map(this::choose);
+    }
+
+    /**
+     * Choose an instance from the currently available ones.
+     *
+     * @param instances available instances
+     * @return selection, or an empty response if no instance is available
+     */
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        long now = System.nanoTime();
+        refresh(instances, now);
+
+        InstanceStats chosen;
+        if (instances.size() == 1) {
+            chosen = stats.get(key(instances.get(0)));
+        } else {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int first = random.nextInt(instances.size());
+            int second = random.nextInt(instances.size() - 1);
+            if (second >= first) {
+                second++;
+            }
+            InstanceStats a = stats.get(key(instances.get(first)));
+            InstanceStats b = stats.get(key(instances.get(second)));
+            chosen = a.load(now) <= b.load(now) ? a : b;
+        }
+
+        chosen.outstanding.incrementAndGet();
+        return new Selection(chosen);
+    }
+
+    /**
+     * Track instances that joined the list and forget those that left it, so an
+     * instance that comes back starts slow again.
+     */
+    private void refresh(List<ServiceInstance> instances, long now) {
+        Set<String> current = new HashSet<>();
+        for (ServiceInstance instance : instances) {
+            String key = key(instance);
+            current.add(key);
+            stats.computeIfAbsent(key, k -> register(k, instance, now));
+        }
+        if (stats.size() > current.size()) {
+            stats.keySet().retainAll(current);
+        }
+    }
+
+    private InstanceStats register(String key, ServiceInstance instance, long now) {
+        // Registered once per instance; reads whichever stats the instance currently has
+        Gauge.builder("gateway.lb.outstanding", stats, s -> {
+                    InstanceStats instanceStats = s.get(key);
+                    return instanceStats != null ? instanceStats.outstanding.get() : 0;
+                })
+                .description("Requests in flight to a service instance")
+                .tag("service", serviceId)
+                .tag("instance", key)
+                .register(meterRegistry);
+        return new InstanceStats(instance, now);
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getHost() + ":" + instance.getPort();
+    }
+
+    /**
+     * Request counts of one instance.
+     */
+    private final class InstanceStats {
+
+        private final ServiceInstance instance;
+        private final long joinedNanos;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        InstanceStats(ServiceInstance instance, long joinedNanos) {
+            this.instance = instance;
+            this.joinedNanos = joinedNanos;
+        }
+
+        /**
+         * Outstanding requests, counting one more for the request being placed and
+         * scaled up while the instance is in slow start.
+         */
+        double load(long now) {
+            return (outstanding.get() + 1) / weight(now);
+        }
+
+        double weight(long now) {
+            long elapsed = now - joinedNanos;
+            if (slowStartNanos <= 0 || elapsed >= slowStartNanos) {
+                return 1.0;
+            }
+            return Math.max(slowStartMinWeight, (double) elapsed / slowStartNanos);
+        }
+    }
+
+    /**
+     * Instance chosen for a request; {@link #release()} must be called once the
+     * request completes.
+     */
+    public static final class Selection implements Response<ServiceInstance> {
+
+        private final InstanceStats stats;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Selection(InstanceStats stats) {
+            this.stats = stats;
+        }
+
+        @Override
+        public boolean hasServer() {
+            return true;
+        }
+
+        @Override
+        public ServiceInstance getServer() {
+            return stats.instance;
+        }
+
+        /**
+         * Mark the request as no longer outstanding. Calls after the first are ignored.
+         */
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                stats.outstanding.decrementAndGet();
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.kiteclass.gateway.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kiteclass.gateway.config.RateLimitingProperties;
+import com.kiteclass.gateway.service.RateLimiter;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory rate limiter using Bucket4j.
+ *
+ * <p>Limits apply per gateway instance. Buckets live in a size-bounded cache and are
+ * dropped once idle for a full time window, so memory stays flat even when every
+ * request arrives with a new key. Used on its own when distributed rate limiting is
+ * disabled, and as the fallback of {@link RedisRateLimiter} when Redis is unreachable.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+public class LocalRateLimiter implements RateLimiter {
+
+    private final RateLimitingProperties properties;
+    private final Cache<String, Bucket> buckets;
+
+    public LocalRateLimiter(RateLimitingProperties properties) {
+        this.properties = properties;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalCacheMaxSize())
+                .expireAfterAccess(Duration.ofSeconds(properties.getTimeWindowSeconds()))
+                .build();
+    }
+
+    @Override
+    public Mono<Result> tryConsume(String key, long capacity, long tokens) {
+        Bucket bucket = buckets.get(key, k -> createBucket(capacity));
+        ConsumptionProbe probe = bucket.tryConsumeAndReturnRemaining(tokens);
+
+        if (probe.isConsumed()) {
+            return Mono.just(Result.allowed(probe.getRemainingTokens()));
+        }
+        long retryAfterSeconds = TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1;
+        return Mono.just(Result.rejected(retryAfterSeconds));
+    }
+
+    /**
+     * Create bucket refilled in full once per time window.
+     *
+     * @param capacity bucket capacity
+     * @return configured bucket
+     */
+    private Bucket createBucket(long capacity) {
+        Bandwidth limit = Bandwidth.builder()
+                .capacity(capacity)
+                .refillIntervally(capacity, Duration.ofSeconds(properties.getTimeWindowSeconds()))
+                .build();
+
+        return Bucket.builder()
+                .addLimit(limit)
+                .build();
+    }
+}
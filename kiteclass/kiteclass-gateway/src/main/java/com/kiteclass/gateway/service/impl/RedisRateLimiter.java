@@ -0,0 +1,199 @@
+package com.kiteclass.gateway.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kiteclass.gateway.config.RateLimitingProperties;
+import com.kiteclass.gateway.service.RateLimiter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Rate limiter shared by all gateway instances through Redis.
+ *
+ * <p>Buckets live in Redis and are updated atomically by a Lua script, so limits hold
+ * across any number of gateway replicas. To keep Redis off the hot path, each instance
+ * leases tokens in batches and serves them from a size- and time-bounded near-cache;
+ * only a request that finds its local lease empty goes to Redis. Keys that have run
+ * out are also remembered locally until tokens are due, so a flood from one key is
+ * rejected without a Redis round trip. Redis grants a batch no smaller than the cost
+ * of the request that asked for it, or nothing, so a costly request never drains the
+ * bucket into leases too small to serve it.
+ *
+ * <p>Leased tokens that are not used before the lease expires are lost, so the
+ * effective limit can only be slightly lower than configured, never higher. When Redis
+ * is unreachable, the request is decided by the per-instance fallback limiter.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+public class RedisRateLimiter implements RateLimiter {
+
+    private static final String KEY_PREFIX = "rate-limit:";
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final RedisScript<List<Long>> RATE_LIMIT_SCRIPT =
+            (RedisScript) RedisScript.of(new ClassPathResource("scripts/rate-limit.lua"), List.class);
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+    private final RateLimitingProperties properties;
+    private final RateLimiter fallback;
+    private final Cache<String, Lease> leases;
+
+    public RedisRateLimiter(ReactiveStringRedisTemplate redisTemplate,
+                            RateLimitingProperties properties,
+                            RateLimiter fallback) {
+        this.redisTemplate = redisTemplate;
+        this.properties = properties;
+        this.fallback = fallback;
+        this.leases = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalCacheMaxSize())
+                .expireAfterWrite(properties.getLeaseTtl())
+                .build();
+    }
+
+    @Override
+    public Mono<Result> tryConsume(String key, long capacity, long tokens) {
+        Lease lease = leases.getIfPresent(key);
+        if (lease != null) {
+            long left = lease.take(tokens);
+            if (left >= 0) {
+                return Mono.just(Result.allowed(lease.remaining + left));
+            }
+            long now = System.nanoTime();
+            if (lease.isDenied(now)) {
+                return Mono.just(Result.rejected(lease.retryAfterSeconds(now)));
+            }
+        }
+
+        long batch = Math.max(tokens, batchSize(capacity));
+        List<String> args = List.of(
+                String.valueOf(capacity),
+                String.valueOf(TimeUnit.SECONDS.toMillis(properties.getTimeWindowSeconds())),
+                String.valueOf(batch),
+                String.valueOf(tokens));
+
+        return redisTemplate.execute(RATE_LIMIT_SCRIPT, List.of(KEY_PREFIX + key), args)
+                .next()
+                .map(reply -> onReply(key, tokens, reply))
+                .onErrorResume(e -> {
+                    log.warn("Redis rate limiter unavailable, using local limits: {}", e.getMessage());
+                    return fallback.tryConsume(key, capacity, tokens);
+                });
+    }
+
+    /**
+     * Apply the script reply: keep granted tokens as a local lease and decide the request.
+     *
+     * @param key    rate limit key
+     * @param tokens tokens the request costs
+     * @param reply  script reply {granted, remaining, retryAfterMs}
+     * @return decision
+     */
+    private Result onReply(String key, long tokens, List<Long> reply) {
+        long granted = reply.get(0);
+        long remaining = reply.get(1);
+        long retryAfterMs = reply.get(2);
+        long now = System.nanoTime();
+
+        if (granted == 0) {
+            long deniedForNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(retryAfterMs), properties.getLeaseTtl().toNanos());
+            // Tokens already leased stay usable by requests they cover
+            leases.asMap().merge(key, Lease.denied(remaining, now + deniedForNanos), Lease::deny);
+            return Result.rejected(TimeUnit.MILLISECONDS.toSeconds(retryAfterMs) + 1);
+        }
+
+        Lease lease = leases.asMap().merge(key, new Lease(granted, remaining), Lease::merge);
+        long left = lease.take(tokens);
+        if (left < 0) {
+            return Result.rejected(1);
+        }
+        return Result.allowed(remaining + left);
+    }
+
+    /**
+     * Number of tokens leased per Redis call for a bucket.
+     *
+     * @param capacity bucket capacity
+     * @return batch size, at least 1
+     */
+    private long batchSize(long capacity) {
+        return Math.max(1, Math.min(properties.getTokenBatchSize(), capacity / 20));
+    }
+
+    /**
+     * Tokens leased from Redis and not yet used by this instance.
+     */
+    private static final class Lease {
+
+        private long tokens;
+        private volatile long remaining;
+        private volatile long deniedUntilNanos;
+
+        Lease(long tokens, long remaining) {
+            this(tokens, remaining, 0);
+        }
+
+        private Lease(long tokens, long remaining, long deniedUntilNanos) {
+            this.tokens = tokens;
+            this.remaining = remaining;
+            this.deniedUntilNanos = deniedUntilNanos;
+        }
+
+        static Lease denied(long remaining, long deniedUntilNanos) {
+            return new Lease(0, remaining, deniedUntilNanos);
+        }
+
+        /**
+         * Add freshly leased tokens in place, so tokens taken concurrently from the
+         * existing lease are never handed out twice.
+         */
+        static Lease merge(Lease existing, Lease fresh) {
+            synchronized (existing) {
+                existing.tokens += fresh.tokens;
+                existing.remaining = fresh.remaining;
+                existing.deniedUntilNanos = 0;
+            }
+            return existing;
+        }
+
+        /**
+         * Mark an existing lease as denied in place, keeping its leased tokens.
+         */
+        static Lease deny(Lease existing, Lease denial) {
+            synchronized (existing) {
+                existing.remaining = denial.remaining;
+                existing.deniedUntilNanos = denial.deniedUntilNanos;
+            }
+            return existing;
+        }
+
+        boolean isDenied(long now) {
+            return deniedUntilNanos != 0 && deniedUntilNanos - now > 0;
+        }
+
+        long retryAfterSeconds(long now) {
+            return TimeUnit.NANOSECONDS.toSeconds(deniedUntilNanos - now) + 1;
+        }
+
+        /**
+         * Take tokens from the lease.
+         *
+         * @param count tokens to take
+         * @return tokens left after taking, or -1 if not enough were leased
+         */
+        synchronized long take(long count) {
+            if (tokens < count) {
+                return -1;
+            }
+            tokens -= count;
+            return tokens;
+        }
+    }
+}
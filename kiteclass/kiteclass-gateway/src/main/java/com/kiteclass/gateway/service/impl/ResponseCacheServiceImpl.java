@@ -0,0 +1,88 @@
+package com.kiteclass.gateway.service.impl;
+
+import com.kiteclass.gateway.service.ResponseCacheService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Redis implementation of {@link ResponseCacheService}.
+ *
+ * <p>Each response is a hash under {@code response-cache:{routeId}:{key}} holding the
+ * content type, ETag and Base64 body. Keys of a route are tracked in the set
+ * {@code response-cache:index:{routeId}}, which lives as long as its newest entry.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ResponseCacheServiceImpl implements ResponseCacheService {
+
+    private static final String KEY_PREFIX = "response-cache:";
+    private static final String INDEX_PREFIX = "response-cache:index:";
+
+    private static final String FIELD_CONTENT_TYPE = "contentType";
+    private static final String FIELD_ETAG = "etag";
+    private static final String FIELD_BODY = "body";
+
+    private final ReactiveStringRedisTemplate redisTemplate;
+
+    @Override
+    public Mono<CachedResponse> get(String routeId, String key) {
+        return redisTemplate.<String, String>opsForHash()
+                .entries(entryKey(routeId, key))
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .filter(fields -> fields.containsKey(FIELD_ETAG) && fields.containsKey(FIELD_BODY))
+                .map(fields -> new CachedResponse(
+                        fields.get(FIELD_CONTENT_TYPE),
+                        fields.get(FIELD_ETAG),
+                        Base64.getDecoder().decode(fields.get(FIELD_BODY))));
+    }
+
+    @Override
+    public Mono<Void> put(String routeId, String key, CachedResponse response, Duration ttl) {
+        String entryKey = entryKey(routeId, key);
+        String indexKey = INDEX_PREFIX + routeId;
+
+        Map<String, String> fields = new HashMap<>();
+        if (response.contentType() != null) {
+            fields.put(FIELD_CONTENT_TYPE, response.contentType());
+        }
+        fields.put(FIELD_ETAG, response.etag());
+        fields.put(FIELD_BODY, Base64.getEncoder().encodeToString(response.body()));
+
+        return redisTemplate.opsForHash().putAll(entryKey, fields)
+                .then(redisTemplate.expire(entryKey, ttl))
+                .then(redisTemplate.opsForSet().add(indexKey, entryKey))
+                .then(redisTemplate.expire(indexKey, ttl))
+                .then();
+    }
+
+    @Override
+    public Mono<Long> invalidateRoute(String routeId) {
+        String indexKey = INDEX_PREFIX + routeId;
+        return redisTemplate.opsForSet().members(indexKey)
+                .collectList()
+                .flatMap(keys -> {
+                    if (keys.isEmpty()) {
+                        return Mono.just(0L);
+                    }
+                    return redisTemplate.delete(keys.toArray(String[]::new));
+                })
+                .flatMap(removed -> redisTemplate.delete(indexKey).thenReturn(removed))
+                .doOnNext(removed -> log.debug("Invalidated {} cached responses of route {}", removed, routeId));
+    }
+
+    private static String entryKey(String routeId, String key) {
+        return KEY_PREFIX + routeId + ":" + key;
+    }
+}
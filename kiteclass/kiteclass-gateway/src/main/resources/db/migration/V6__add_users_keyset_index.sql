@@ -0,0 +1,9 @@
+-- =====================================================
+-- KiteClass Gateway - Users Keyset Pagination Index
+-- Version: V6
+-- Description: Supports cursor pagination of users ordered by (created_at, id)
+-- =====================================================
+
+-- Lets "(created_at, id) < (:createdAt, :id) ORDER BY created_at DESC, id DESC"
+-- start at the cursor instead of scanning and discarding earlier rows
+CREATE INDEX idx_users_created_at_id ON users(created_at DESC, id DESC) WHERE deleted = FALSE;
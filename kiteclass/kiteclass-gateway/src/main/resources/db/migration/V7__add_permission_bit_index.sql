@@ -0,0 +1,27 @@
+-- =====================================================
+-- KiteClass Gateway - Permission Bit Indexes
+-- Version: V7
+-- Description: Gives every permission a stable bit index for the bitset in access tokens
+-- =====================================================
+
+-- Bit indexes are never reused: a deleted permission's bit must not be granted by
+-- tokens still in circulation, so new permissions always take the next index
+CREATE SEQUENCE IF NOT EXISTS permissions_bit_index_seq MINVALUE 0 START WITH 0;
+
+ALTER TABLE permissions ADD COLUMN bit_index INTEGER;
+
+UPDATE permissions p
+SET bit_index = ordered.bit_index
+FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) - 1 AS bit_index FROM permissions) ordered
+WHERE p.id = ordered.id;
+
+SELECT setval('permissions_bit_index_seq', COALESCE(MAX(bit_index) + 1, 0), false) FROM permissions;
+
+ALTER TABLE permissions
+    ALTER COLUMN bit_index SET DEFAULT nextval('permissions_bit_index_seq'),
+    ALTER COLUMN bit_index SET NOT NULL,
+    ADD CONSTRAINT uk_permissions_bit_index UNIQUE (bit_index);
+
+ALTER SEQUENCE permissions_bit_index_seq OWNED BY permissions.bit_index;
+
+COMMENT ON COLUMN permissions.bit_index IS 'Stable position of the permission in access token permission bitsets';
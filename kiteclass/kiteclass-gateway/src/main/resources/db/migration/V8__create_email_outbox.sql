@@ -0,0 +1,27 @@
+-- =====================================================
+-- KiteClass Gateway - Email Outbox
+-- Version: V8
+-- Description: Creates email_outbox table queueing emails for the delivery worker
+-- =====================================================
+
+-- Emails are written here in the request's transaction and sent by the worker,
+-- which deletes each row once the SMTP server has accepted it
+CREATE TABLE IF NOT EXISTS email_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    recipient VARCHAR(255) NOT NULL,
+    subject VARCHAR(500) NOT NULL,
+    body TEXT NOT NULL,
+    attempts INTEGER NOT NULL DEFAULT 0,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT NULL,
+    failed_at TIMESTAMP NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The worker only ever looks for emails still to be sent
+CREATE INDEX idx_email_outbox_due ON email_outbox(next_attempt_at) WHERE failed_at IS NULL;
+
+COMMENT ON TABLE email_outbox IS 'Emails waiting to be sent by the email outbox worker';
+COMMENT ON COLUMN email_outbox.body IS 'Rendered HTML body';
+COMMENT ON COLUMN email_outbox.next_attempt_at IS 'When the email is next due; pushed forward while a worker is sending it';
+COMMENT ON COLUMN email_outbox.failed_at IS 'When delivery was given up (NULL while still being retried)';
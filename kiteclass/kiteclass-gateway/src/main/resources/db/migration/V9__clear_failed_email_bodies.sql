@@ -0,0 +1,16 @@
+-- =====================================================
+-- KiteClass Gateway - Clear bodies of failed emails
+-- Version: V9
+-- Description: Lets given-up emails drop their body and indexes them for the purge
+-- =====================================================
+
+-- Bodies carry links with secrets (e.g. password reset tokens), so an email that is
+-- given up keeps only its metadata until the purge deletes it
+ALTER TABLE email_outbox ALTER COLUMN body DROP NOT NULL;
+
+UPDATE email_outbox SET body = NULL WHERE failed_at IS NOT NULL;
+
+-- The purge only ever looks for given-up emails
+CREATE INDEX idx_email_outbox_failed ON email_outbox(failed_at) WHERE failed_at IS NOT NULL;
+
+COMMENT ON COLUMN email_outbox.body IS 'Rendered HTML body (NULL once delivery was given up)';
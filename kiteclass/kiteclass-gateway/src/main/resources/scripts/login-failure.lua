@@ -0,0 +1,22 @@
+-- Count a failed login and lock the account once the limit is reached.
+--
+-- KEYS[1] failure counter key
+-- KEYS[2] lock key
+-- ARGV[1] failed logins before locking
+-- ARGV[2] failure window in milliseconds (counted from the first failure)
+-- ARGV[3] lock duration in milliseconds
+--
+-- Returns the number of failed logins in the window, including this one. When it
+-- reaches the limit the lock key is set and the counter starts over.
+
+local attempts = redis.call('INCR', KEYS[1])
+if attempts == 1 then
+  redis.call('PEXPIRE', KEYS[1], ARGV[2])
+end
+
+if attempts >= tonumber(ARGV[1]) then
+  redis.call('SET', KEYS[2], attempts, 'PX', ARGV[3])
+  redis.call('DEL', KEYS[1])
+end
+
+return attempts
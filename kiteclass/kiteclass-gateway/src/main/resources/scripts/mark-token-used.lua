@@ -0,0 +1,20 @@
+-- Mark a password reset token as used, keeping its remaining TTL.
+--
+-- KEYS[1] reset token key, holding "<user id>:<expires at ms>"
+-- ARGV[1] current time in milliseconds
+--
+-- Returns 1 if the token was marked, 0 if it was already used, -1 if the key
+-- does not exist (unknown or expired token).
+
+local value = redis.call('GET', KEYS[1])
+if not value then
+  return -1
+end
+
+local _, separators = string.gsub(value, ':', '')
+if separators > 1 then
+  return 0
+end
+
+redis.call('SET', KEYS[1], value .. ':' .. ARGV[1], 'KEEPTTL')
+return 1
@@ -0,0 +1,46 @@
+-- Token bucket shared by all gateway instances.
+--
+-- KEYS[1] bucket key
+-- ARGV[1] bucket capacity
+-- ARGV[2] refill window in milliseconds (capacity tokens per window)
+-- ARGV[3] tokens requested (a batch leased to the calling instance)
+-- ARGV[4] fewest tokens worth granting (the cost of the request being decided)
+--
+-- Returns { granted, remaining, retry_after_ms }. Fewer tokens than requested
+-- are granted when the bucket runs low, but never fewer than the minimum: then
+-- nothing is granted and retry_after_ms is set to when the minimum is due.
+
+local capacity = tonumber(ARGV[1])
+local window_ms = tonumber(ARGV[2])
+local requested = tonumber(ARGV[3])
+local minimum = tonumber(ARGV[4])
+
+local time = redis.call('TIME')
+local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+
+local bucket = redis.call('HMGET', KEYS[1], 'tokens', 'ts')
+local tokens = tonumber(bucket[1])
+local ts = tonumber(bucket[2])
+if tokens == nil or ts == nil then
+    tokens = capacity
+    ts = now
+end
+
+local elapsed = math.max(0, now - ts)
+tokens = math.min(capacity, tokens + elapsed * capacity / window_ms)
+
+local granted = math.min(requested, math.floor(tokens))
+if granted < minimum then
+    granted = 0
+end
+tokens = tokens - granted
+
+redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', now)
+redis.call('PEXPIRE', KEYS[1], window_ms)
+
+local retry_after_ms = 0
+if granted == 0 then
+    retry_after_ms = math.ceil((minimum - tokens) * window_ms / capacity)
+end
+
+return { granted, math.floor(tokens), retry_after_ms }
@@ -0,0 +1,76 @@
+package com.kiteclass.gateway.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link UpstreamHttpClientConfig}, against a local stub server that
+ * accepts both HTTP/1.1 and h2c.
+ */
+@DisplayName("UpstreamHttpClientConfig Tests")
+class UpstreamHttpClientConfigTest {
+
+    private DisposableServer server;
+
+    @BeforeEach
+    void setUp() {
+        server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .protocol(HttpProtocol.HTTP11, HttpProtocol.H2C)
+                .handle((request, response) -> response.sendString(Mono.just(request.version().text())))
+                .bindNow();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.disposeNow();
+    }
+
+    @Test
+    @DisplayName("Should multiplex requests over h2c in H2C mode")
+    void shouldUseH2c() {
+        // Given
+        UpstreamHttpProperties properties = new UpstreamHttpProperties();
+        properties.setProtocol(UpstreamHttpProperties.Protocol.H2C);
+
+        // When
+        String version = get(UpstreamHttpClientConfig.customize(HttpClient.create(), properties));
+
+        // Then
+        assertThat(version).isEqualTo("HTTP/2.0");
+    }
+
+    @Test
+    @DisplayName("Should use HTTP/1.1 in HTTP11 mode")
+    void shouldUseHttp11() {
+        // Given
+        UpstreamHttpProperties properties = new UpstreamHttpProperties();
+
+        // When
+        String version = get(UpstreamHttpClientConfig.customize(HttpClient.create(), properties));
+
+        // Then
+        assertThat(version).isEqualTo("HTTP/1.1");
+    }
+
+    private String get(HttpClient httpClient) {
+        return httpClient.get()
+                .uri("http://localhost:" + server.port() + "/api/v1/students")
+                .responseContent()
+                .aggregate()
+                .asString()
+                .block(Duration.ofSeconds(5));
+    }
+}
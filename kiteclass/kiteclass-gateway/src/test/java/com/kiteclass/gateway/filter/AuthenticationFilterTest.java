@@ -0,0 +1,104 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.IdentityEnvelopeSigner;
+import com.kiteclass.gateway.security.jwt.TokenType;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link AuthenticationFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class AuthenticationFilterTest {
+
+    private BearerTokenResolver bearerTokenResolver;
+    private IdentityEnvelopeSigner identityEnvelopeSigner;
+    private GatewayFilterChain chain;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        bearerTokenResolver = mock(BearerTokenResolver.class);
+        identityEnvelopeSigner = mock(IdentityEnvelopeSigner.class);
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        filter = new AuthenticationFilter(bearerTokenResolver, identityEnvelopeSigner)
+                .apply(new AuthenticationFilter.Config());
+    }
+
+    @Test
+    void shouldForwardSignedIdentityReplacingClientHeaders() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students")
+                .header("X-Identity", "forged")
+                .header("X-User-Id", "1"));
+        when(bearerTokenResolver.resolveActive(exchange)).thenReturn(Mono.just(new VerifiedClaims(7L,
+                "teacher@kiteclass.com", List.of("TEACHER"), null, TokenType.ACCESS, null, null,
+                Instant.now().plusSeconds(3600))));
+        when(identityEnvelopeSigner.sign(7L, List.of("TEACHER"))).thenReturn("signed");
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        ArgumentCaptor<ServerWebExchange> forwarded = ArgumentCaptor.forClass(ServerWebExchange.class);
+        verify(chain).filter(forwarded.capture());
+        HttpHeaders headers = forwarded.getValue().getRequest().getHeaders();
+        assertThat(headers.get("X-Identity")).containsExactly("signed");
+        assertThat(headers.get("X-User-Id")).containsExactly("7");
+        assertThat(headers.get("X-User-Roles")).containsExactly("TEACHER");
+    }
+
+    @Test
+    void shouldRejectRevokedToken() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students"));
+        when(bearerTokenResolver.resolveActive(exchange)).thenReturn(Mono.error(new JwtException("Token has been revoked")));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(chain, never()).filter(any());
+    }
+
+    @Test
+    void shouldRejectRequestWithoutToken() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students"));
+        when(bearerTokenResolver.resolveActive(exchange)).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+        verify(chain, never()).filter(any());
+    }
+}
@@ -0,0 +1,137 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.ConcurrencyLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ConcurrencyLimitFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class ConcurrencyLimitFilterTest {
+
+    private ConcurrencyLimitProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrencyLimitFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ConcurrencyLimitProperties();
+        properties.setInitialLimit(2);
+        properties.setMinLimit(1);
+        properties.setMinimumCalls(4);
+        properties.setSlidingWindowSize(4);
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+        chain = mock(GatewayFilterChain.class);
+    }
+
+    @Test
+    void shouldRejectWith503WhenLimitIsReached() {
+        // Given - Two requests held in flight
+        Sinks.Empty<Void> release = Sinks.empty();
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(release.asMono());
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(exchange("core-students"), chain).subscribe();
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(exchange("core-students"), chain).subscribe();
+
+        // When
+        MockServerWebExchange rejected = exchange("core-students");
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(rejected, chain).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(meterRegistry.get("gateway.concurrency.rejected")
+                .tags("route", "core-students", "reason", "limit")
+                .counter().count()).isEqualTo(1);
+        release.tryEmitEmpty();
+    }
+
+    @Test
+    void shouldKeepSeparateBulkheadsPerRoute() {
+        // Given - core-students is full
+        Sinks.Empty<Void> release = Sinks.empty();
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(release.asMono());
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(exchange("core-students"), chain).subscribe();
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(exchange("core-students"), chain).subscribe();
+
+        // When
+        MockServerWebExchange other = exchange("core-classes");
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(other, chain).subscribe();
+
+        // Then
+        assertThat(other.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").tag("route", "core-classes").gauge().value())
+                .isEqualTo(1);
+        release.tryEmitEmpty();
+    }
+
+    @Test
+    void shouldOpenCircuitAfterUpstreamFailures() {
+        // Given
+        when(chain.filter(any(ServerWebExchange.class)))
+                .thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+        for (int i = 0; i < 4; i++) {
+            filter.apply(new ConcurrencyLimitFilter.Config()).filter(exchange("core-invoices"), chain)
+                    .onErrorResume(e -> Mono.empty())
+                    .block(Duration.ofSeconds(5));
+        }
+
+        // When
+        MockServerWebExchange rejected = exchange("core-invoices");
+        filter.apply(new ConcurrencyLimitFilter.Config()).filter(rejected, chain).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(meterRegistry.get("gateway.circuit.state").tag("route", "core-invoices").gauge().value())
+                .isEqualTo(RouteCircuitBreaker.State.OPEN.ordinal());
+    }
+
+    @Test
+    void shouldApplyRouteMaxLimit() {
+        // Given
+        properties.setInitialLimit(50);
+        ConcurrencyLimitFilter.Config config = new ConcurrencyLimitFilter.Config();
+        config.setMaxLimit(3);
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+
+        // When
+        filter.apply(config).filter(exchange("core-invoices"), chain).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(meterRegistry.get("gateway.concurrency.limit").tag("route", "core-invoices").gauge().value())
+                .isLessThanOrEqualTo(3);
+    }
+
+    private MockServerWebExchange exchange(String routeId) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/test").build());
+        Route route = Route.async()
+                .id(routeId)
+                .uri("http://localhost:8081")
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
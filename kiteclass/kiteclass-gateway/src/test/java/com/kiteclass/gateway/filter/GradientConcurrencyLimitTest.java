@@ -0,0 +1,111 @@
+package com.kiteclass.gateway.filter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link GradientConcurrencyLimit} and {@link RouteCircuitBreaker}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class GradientConcurrencyLimitTest {
+
+    private static final long BASELINE_RTT = TimeUnit.MILLISECONDS.toNanos(20);
+
+    @Test
+    void shouldGrowLimitWhileLatencyIsStable() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 2, 100, 0.2, 1.5);
+
+        // When - Route fully used at steady latency
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.onSuccess(BASELINE_RTT, limit.getLimit());
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    void shouldShrinkLimitWhenLatencyRises() {
+        // Given - Baseline established
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(40, 2, 100, 0.2, 1.5);
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.onSuccess(BASELINE_RTT, limit.getLimit());
+        }
+        int before = limit.getLimit();
+
+        // When - Core slows down tenfold
+        for (int i = 0; i < 20; i++) {
+            limit.tryAcquire();
+            limit.onSuccess(BASELINE_RTT * 10, limit.getLimit());
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    void shouldNotGrowLimitWhenRouteIsMostlyIdle() {
+        // Given
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(10, 2, 100, 0.2, 1.5);
+
+        // When - Only one request in flight at a time
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.onSuccess(BASELINE_RTT, 1);
+        }
+
+        // Then
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    void shouldCloseCircuitAfterSuccessfulProbes() {
+        // Given - Circuit opened by failures
+        long[] now = {0};
+        RouteCircuitBreaker breaker = new RouteCircuitBreaker(4, 4, 0.5, 1_000, 2, () -> now[0]);
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onResult(false);
+        }
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+
+        // When - Open duration elapsed, probes succeed
+        now[0] = 1_000;
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isTrue();
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+        breaker.onResult(true);
+        breaker.onResult(true);
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RouteCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void shouldReopenCircuitWhenProbeFails() {
+        // Given
+        long[] now = {0};
+        RouteCircuitBreaker breaker = new RouteCircuitBreaker(4, 4, 0.5, 1_000, 2, () -> now[0]);
+        for (int i = 0; i < 4; i++) {
+            breaker.tryAcquirePermission();
+            breaker.onResult(false);
+        }
+        now[0] = 1_000;
+
+        // When
+        breaker.tryAcquirePermission();
+        breaker.onResult(false);
+
+        // Then
+        assertThat(breaker.getState()).isEqualTo(RouteCircuitBreaker.State.OPEN);
+        assertThat(breaker.tryAcquirePermission()).isFalse();
+    }
+}
@@ -0,0 +1,262 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.HedgingProperties;
+import com.kiteclass.gateway.service.impl.LeastOutstandingLoadBalancer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.cloud.loadbalancer.core.RetryAwareServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link HedgedRequestFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class HedgedRequestFilterTest {
+
+    private HedgingProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private LoadBalancerClientFactory loadBalancerClientFactory;
+    private List<ServiceInstance> instances;
+    private GatewayFilterChain chain;
+    private List<String> calledHosts;
+    private AtomicInteger calls;
+    private Duration firstCallLatency;
+    private String responseBody;
+
+    @BeforeEach
+    void setUp() {
+        properties = new HedgingProperties();
+        properties.setBudgetPercent(100);
+        properties.setMaxDelay(Duration.ofMillis(50));
+        meterRegistry = new SimpleMeterRegistry();
+        instances = new ArrayList<>();
+        LeastOutstandingLoadBalancer loadBalancer = loadBalancer();
+        loadBalancerClientFactory = mock(LoadBalancerClientFactory.class);
+        when(loadBalancerClientFactory.getInstance(anyString())).thenReturn(loadBalancer);
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+        calledHosts = new CopyOnWriteArrayList<>();
+        calls = new AtomicInteger();
+        firstCallLatency = Duration.ofSeconds(2);
+        instances("core-1", "core-2");
+    }
+
+    @Test
+    void shouldReturnHedgedResponseWhenPrimaryIsSlow() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1?page=2"));
+
+        // When
+        filter().apply(new HedgedRequestFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("answer-2");
+        assertThat(calledHosts).hasSize(2).doesNotHaveDuplicates();
+        assertThat(result("sent")).isEqualTo(1);
+        assertThat(result("won")).isEqualTo(1);
+        verify(chain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void shouldNotHedgeWhenPrimaryAnswersInTime() {
+        // Given
+        firstCallLatency = Duration.ZERO;
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        filter().apply(new HedgedRequestFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("answer-1");
+        assertThat(calledHosts).hasSize(1);
+        assertThat(result("sent")).isZero();
+    }
+
+    @Test
+    void shouldWaitForPrimaryWhenBudgetIsExhausted() {
+        // Given
+        properties.setBudgetPercent(0);
+        firstCallLatency = Duration.ofMillis(200);
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        filter().apply(new HedgedRequestFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("answer-1");
+        assertThat(calledHosts).hasSize(1);
+        assertThat(result("budget_exhausted")).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotHedgeToTheSameInstance() {
+        // Given
+        instances("core-1");
+        firstCallLatency = Duration.ofMillis(200);
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        filter().apply(new HedgedRequestFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo("answer-1");
+        assertThat(calledHosts).containsExactly("core-1");
+        assertThat(result("sent")).isZero();
+    }
+
+    @Test
+    void shouldRouteNormallyForWritesAndWithoutInstances() {
+        // Given
+        HedgedRequestFilter filter = filter();
+        MockServerWebExchange write = exchange(MockServerHttpRequest.post("/api/v1/students"));
+
+        // When
+        filter.apply(new HedgedRequestFilter.Config()).filter(write, chain).block(Duration.ofSeconds(1));
+        instances();
+        filter.apply(new HedgedRequestFilter.Config())
+                .filter(exchange(MockServerHttpRequest.get("/api/v1/students/1")), chain)
+                .block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(calledHosts).isEmpty();
+        verify(chain, times(2)).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void shouldStreamBodiesLargerThanTheCodecBuffer() {
+        // Given - over the 256KB default of in-memory codecs
+        firstCallLatency = Duration.ZERO;
+        responseBody = "x".repeat(1024 * 1024);
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students"));
+
+        // When
+        filter().apply(new HedgedRequestFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).hasSize(1024 * 1024);
+    }
+
+    @Test
+    void shouldEndOutstandingRequestsOfBothCalls() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        filter().apply(new HedgedRequestFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(1));
+
+        // Then
+        assertThat(calledHosts).hasSize(2);
+        assertThat(meterRegistry.get("gateway.lb.outstanding").gauges())
+                .hasSize(2)
+                .allSatisfy(gauge -> assertThat(gauge.value()).isZero());
+    }
+
+    @Test
+    void shouldCapHedgesAtBudgetPercent() {
+        // Given
+        HedgeBudget budget = new HedgeBudget(10, 5);
+
+        // When
+        int hedges = 0;
+        for (int i = 0; i < 1000; i++) {
+            budget.onRequest();
+            if (budget.tryHedge()) {
+                hedges++;
+            }
+        }
+
+        // Then
+        assertThat(hedges).isEqualTo(100);
+    }
+
+    private HedgedRequestFilter filter() {
+        WebClient.Builder webClient = WebClient.builder().exchangeFunction(request -> {
+            int call = calls.incrementAndGet();
+            calledHosts.add(request.url().getHost());
+            Duration latency = call == 1 ? firstCallLatency : Duration.ZERO;
+            return Mono.delay(latency).map(tick -> ClientResponse.create(HttpStatus.OK)
+                    .header("Content-Type", "text/plain")
+                    .body(responseBody != null ? responseBody : "answer-" + call)
+                    .build());
+        });
+        return new HedgedRequestFilter(properties, loadBalancerClientFactory, webClient, HttpClient.create(),
+                meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    private LeastOutstandingLoadBalancer loadBalancer() {
+        ServiceInstanceListSupplier discovered = new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "core-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.defer(() -> Flux.just(List.copyOf(instances)));
+            }
+        };
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(new RetryAwareServiceInstanceListSupplier(discovered));
+        return new LeastOutstandingLoadBalancer(provider, "core-service", Duration.ZERO, 0.1, meterRegistry);
+    }
+
+    private void instances(String... hosts) {
+        instances.clear();
+        for (String host : hosts) {
+            instances.add(new DefaultServiceInstance(host, "core-service", host, 8081, false));
+        }
+    }
+
+    private double result(String result) {
+        return meterRegistry.get("gateway.hedging")
+                .tags("route", "core-students", "result", result)
+                .counter().count();
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, Route.async()
+                .id("core-students")
+                .uri("http://localhost:8081")
+                .predicate(e -> true)
+                .build());
+        return exchange;
+    }
+}
@@ -1,5 +1,6 @@
 package com.kiteclass.gateway.filter;
 
+import com.kiteclass.gateway.config.AccessLogProperties;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -11,9 +12,15 @@ import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.time.Duration;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -26,12 +33,16 @@ class LoggingFilterTest {
 
     private LoggingFilter filter;
     private GatewayFilterChain chain;
+    private AccessLogProperties properties;
+    private AccessLogWriter accessLogWriter;
 
     private ServerWebExchange capturedExchange;
 
     @BeforeEach
     void setUp() {
-        filter = new LoggingFilter();
+        properties = new AccessLogProperties();
+        accessLogWriter = mock(AccessLogWriter.class);
+        filter = new LoggingFilter(properties, accessLogWriter);
         chain = mock(GatewayFilterChain.class);
         when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
             capturedExchange = invocation.getArgument(0);
@@ -192,4 +203,90 @@ class LoggingFilterTest {
         assertThat(startTime).isNotNull();
         assertThat(startTime).isInstanceOf(Long.class);
     }
+
+    @Test
+    void shouldSubmitStructuredRecord() {
+        // Given
+        MockServerHttpRequest request = MockServerHttpRequest
+                .get("/api/test")
+                .queryParam("page", "1")
+                .remoteAddress(new java.net.InetSocketAddress("192.168.1.1", 8080))
+                .build();
+        ServerWebExchange exchange = MockServerWebExchange.from(request);
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+
+        // When
+        filter.apply(new LoggingFilter.Config()).filter(exchange, chain).block();
+
+        // Then
+        String correlationId = capturedExchange.getRequest().getHeaders().getFirst("X-Correlation-ID");
+        verify(accessLogWriter).submit(argThat(record ->
+                record.correlationId().equals(correlationId) &&
+                record.method().equals("GET") &&
+                record.path().equals("/api/test") &&
+                record.query().equals("page=1") &&
+                record.remoteAddress().equals("192.168.1.1") &&
+                record.status() == 200 &&
+                !record.slow()));
+    }
+
+    @Test
+    void shouldSkipUnsampledSuccessfulRequests() {
+        // Given
+        properties.setSampleRate(0.0);
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+
+        // When
+        filter.apply(new LoggingFilter.Config()).filter(exchange, chain).block();
+
+        // Then
+        verify(accessLogWriter, never()).submit(any());
+    }
+
+    @Test
+    void shouldAlwaysLogErrors() {
+        // Given
+        properties.setSampleRate(0.0);
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+
+        // When
+        filter.apply(new LoggingFilter.Config()).filter(exchange, chain).block();
+
+        // Then
+        verify(accessLogWriter).submit(argThat(record -> record.status() == 502));
+    }
+
+    @Test
+    void shouldAlwaysLogSlowRequests() {
+        // Given
+        properties.setSampleRate(0.0);
+        properties.setSlowThreshold(Duration.ofMillis(10));
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/test").build());
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        when(chain.filter(any(ServerWebExchange.class)))
+                .thenReturn(Mono.delay(Duration.ofMillis(50)).then());
+
+        // When
+        filter.apply(new LoggingFilter.Config()).filter(exchange, chain).block();
+
+        // Then (the record is submitted after completion, on the delay thread)
+        verify(accessLogWriter, timeout(1000)).submit(argThat(AccessLogRecord::slow));
+    }
+
+    @Test
+    void shouldFormatRecordAsKeyValueLine() {
+        // Given
+        AccessLogRecord record = new AccessLogRecord(
+                0L, "cid-1", "core-students", "GET", "/api/test", "page=1", "192.168.1.1", 200, 12, false);
+        StringBuilder line = new StringBuilder();
+
+        // When
+        AccessLogWriter.format(record, line);
+
+        // Then
+        assertThat(line.toString()).isEqualTo(
+                "ts=1970-01-01T00:00:00Z cid=cid-1 route=core-students method=GET path=/api/test?page=1 status=200 dur_ms=12 ip=192.168.1.1");
+    }
 }
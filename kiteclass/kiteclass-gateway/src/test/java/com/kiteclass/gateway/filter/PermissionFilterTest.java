@@ -0,0 +1,161 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.module.auth.entity.RolePermissionCode;
+import com.kiteclass.gateway.module.user.entity.Role;
+import com.kiteclass.gateway.module.user.service.RoleCatalog;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.jwt.PermissionSet;
+import com.kiteclass.gateway.security.jwt.TokenType;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import com.kiteclass.gateway.testutil.UserTestDataBuilder;
+import io.jsonwebtoken.JwtException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PermissionFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class PermissionFilterTest {
+
+    private static final int STUDENT_READ = 3;
+    private static final int STUDENT_CREATE = 4;
+    private static final int STUDENT_LIST = 5;
+
+    private BearerTokenResolver bearerTokenResolver;
+    private GatewayFilterChain chain;
+    private GatewayFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        bearerTokenResolver = mock(BearerTokenResolver.class);
+        RoleCatalog roleCatalog = mock(RoleCatalog.class);
+        Role teacher = UserTestDataBuilder.createRole(2L, "TEACHER", "Teacher");
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(RoleCatalog.Snapshot.of(List.of(teacher), List.of(
+                new RolePermissionCode(2L, "STUDENT:READ", STUDENT_READ),
+                new RolePermissionCode(2L, "STUDENT:LIST", STUDENT_LIST),
+                new RolePermissionCode(1L, "STUDENT:CREATE", STUDENT_CREATE)))));
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+
+        PermissionFilter.Config config = new PermissionFilter.Config();
+        config.setResource("STUDENT");
+        config.setCollection("/api/v1/students");
+        filter = new PermissionFilter(bearerTokenResolver, roleCatalog).apply(config);
+    }
+
+    @Test
+    void shouldAllowRequestWhenTokenGrantsPermission() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students/1"));
+        when(bearerTokenResolver.resolve(exchange)).thenReturn(claims(PermissionSet.of(STUDENT_READ)));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(chain).filter(exchange);
+        assertThat(exchange.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void shouldRejectRequestWhenTokenLacksPermission() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/students"));
+        when(bearerTokenResolver.resolve(exchange)).thenReturn(claims(PermissionSet.of(STUDENT_READ)));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(chain, never()).filter(any());
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void shouldRequireListPermissionForCollection() {
+        // Given
+        MockServerWebExchange readOnly = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students"));
+        MockServerWebExchange listing = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students/"));
+        when(bearerTokenResolver.resolve(readOnly)).thenReturn(claims(PermissionSet.of(STUDENT_READ)));
+        when(bearerTokenResolver.resolve(listing)).thenReturn(claims(PermissionSet.of(STUDENT_LIST)));
+
+        // When
+        StepVerifier.create(filter.filter(readOnly, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(listing, chain)).verifyComplete();
+
+        // Then
+        assertThat(readOnly.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+        verify(chain, never()).filter(readOnly);
+        verify(chain).filter(listing);
+    }
+
+    @Test
+    void shouldRejectPermissionNoRoleGrants() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.delete("/api/v1/students/1"));
+        when(bearerTokenResolver.resolve(exchange))
+                .thenReturn(claims(PermissionSet.of(STUDENT_READ, STUDENT_CREATE, 63)));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void shouldFallBackToRolePermissionsWhenTokenHasNoPermissionClaim() {
+        // Given
+        MockServerWebExchange allowed = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students"));
+        MockServerWebExchange denied = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/students"));
+        when(bearerTokenResolver.resolve(any())).thenReturn(claims(null));
+
+        // When
+        StepVerifier.create(filter.filter(allowed, chain)).verifyComplete();
+        StepVerifier.create(filter.filter(denied, chain)).verifyComplete();
+
+        // Then
+        verify(chain).filter(allowed);
+        assertThat(denied.getResponse().getStatusCode()).isEqualTo(HttpStatus.FORBIDDEN);
+    }
+
+    @Test
+    void shouldRejectInvalidTokenWithUnauthorized() {
+        // Given
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/students"));
+        when(bearerTokenResolver.resolve(exchange)).thenThrow(new JwtException("expired"));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(chain, never()).filter(any());
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED);
+    }
+
+    private VerifiedClaims claims(PermissionSet permissions) {
+        return new VerifiedClaims(7L, "teacher@kiteclass.com", List.of("TEACHER"), permissions,
+                TokenType.ACCESS, null, null, Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,276 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.RequestCoalescingProperties;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.jwt.PermissionSet;
+import com.kiteclass.gateway.security.jwt.TokenType;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RequestCoalescingFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class RequestCoalescingFilterTest {
+
+    private static final String BODY = "{\"success\":true}";
+
+    private BearerTokenResolver bearerTokenResolver;
+    private RequestCoalescingFilter filter;
+    private GatewayFilterChain chain;
+    private AtomicInteger upstreamCalls;
+    private Sinks.Empty<Void> release;
+    private boolean failUpstream;
+
+    @BeforeEach
+    void setUp() {
+        bearerTokenResolver = mock(BearerTokenResolver.class);
+        when(bearerTokenResolver.resolve(any(ServerWebExchange.class))).thenReturn(claims(1L));
+        filter = new RequestCoalescingFilter(new RequestCoalescingProperties(), bearerTokenResolver,
+                new SimpleMeterRegistry());
+
+        upstreamCalls = new AtomicInteger();
+        release = Sinks.empty();
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            upstreamCalls.incrementAndGet();
+            // Upstream answers only once the test releases it
+            return release.asMono().then(Mono.defer(() -> {
+                if (failUpstream) {
+                    return Mono.error(new IllegalStateException("Upstream failed"));
+                }
+                exchange.getResponse().setStatusCode(HttpStatus.OK);
+                exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+                // Chunked, without a Content-Length
+                byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+                return exchange.getResponse().writeWith(Flux.range(0, (body.length + 3) / 4)
+                        .map(i -> exchange.getResponse().bufferFactory()
+                                .wrap(Arrays.copyOfRange(body, i * 4, Math.min(body.length, i * 4 + 4)))));
+            }));
+        });
+    }
+
+    @Test
+    void shouldShareOneUpstreamCallBetweenIdenticalRequests() {
+        // Given
+        MockServerWebExchange leader = exchange("/api/v1/classes/1/students");
+        MockServerWebExchange follower = exchange("/api/v1/classes/1/students");
+
+        // When
+        Mono<Void> first = filter.apply(new RequestCoalescingFilter.Config()).filter(leader, chain).cache();
+        Mono<Void> second = filter.apply(new RequestCoalescingFilter.Config()).filter(follower, chain).cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(follower.getResponse().getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_JSON);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldNotShareBetweenUsers() {
+        // Given
+        when(bearerTokenResolver.resolve(any(ServerWebExchange.class))).thenReturn(claims(1L), claims(2L));
+
+        // When
+        Mono<Void> first = filter.apply(new RequestCoalescingFilter.Config())
+                .filter(exchange("/api/v1/students/1"), chain).cache();
+        Mono<Void> second = filter.apply(new RequestCoalescingFilter.Config())
+                .filter(exchange("/api/v1/students/1"), chain).cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldShareBetweenUsersWithSamePermissions() {
+        // Given
+        when(bearerTokenResolver.resolve(any(ServerWebExchange.class)))
+                .thenReturn(claims(1L, PermissionSet.of(3, 5)), claims(2L, PermissionSet.of(3, 5)));
+        RequestCoalescingFilter.Config config = new RequestCoalescingFilter.Config();
+        config.setScope(SharingScope.PERMISSIONS);
+        MockServerWebExchange leader = exchange("/api/v1/classes/1/students");
+        MockServerWebExchange follower = exchange("/api/v1/classes/1/students");
+
+        // When
+        Mono<Void> first = filter.apply(config).filter(leader, chain).cache();
+        Mono<Void> second = filter.apply(config).filter(follower, chain).cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(1);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldNotShareBetweenUsersWithDifferentPermissions() {
+        // Given
+        when(bearerTokenResolver.resolve(any(ServerWebExchange.class)))
+                .thenReturn(claims(1L, PermissionSet.of(3, 5)), claims(2L, PermissionSet.of(3)));
+        RequestCoalescingFilter.Config config = new RequestCoalescingFilter.Config();
+        config.setScope(SharingScope.PERMISSIONS);
+
+        // When
+        Mono<Void> first = filter.apply(config).filter(exchange("/api/v1/students/1"), chain).cache();
+        Mono<Void> second = filter.apply(config).filter(exchange("/api/v1/students/1"), chain).cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldFallBackToOwnCallWhenSharedCallFails() {
+        // Given
+        failUpstream = true;
+        MockServerWebExchange leader = exchange("/api/v1/students/1");
+        MockServerWebExchange follower = exchange("/api/v1/students/1");
+
+        // When
+        Mono<Void> first = filter.apply(new RequestCoalescingFilter.Config()).filter(leader, chain)
+                .onErrorResume(e -> Mono.empty()).cache();
+        Mono<Void> second = filter.apply(new RequestCoalescingFilter.Config()).filter(follower, chain)
+                .onErrorResume(e -> Mono.empty()).cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStreamBodiesLargerThanTheLimitWithoutSharing() {
+        // Given
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(6));
+        filter = new RequestCoalescingFilter(properties, bearerTokenResolver, new SimpleMeterRegistry());
+        MockServerWebExchange leader = exchange("/api/v1/students");
+        MockServerWebExchange follower = exchange("/api/v1/students");
+
+        // When
+        Mono<Void> first = filter.apply(new RequestCoalescingFilter.Config()).filter(leader, chain).cache();
+        Mono<Void> second = filter.apply(new RequestCoalescingFilter.Config()).filter(follower, chain).cache();
+        first.subscribe();
+        second.subscribe();
+        release.tryEmitEmpty();
+        Mono.when(first, second).block(Duration.ofSeconds(5));
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldPassBodiesThroughOnceOverTheLimit() {
+        // Given - an upstream body that is still being sent
+        RequestCoalescingProperties properties = new RequestCoalescingProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(6));
+        filter = new RequestCoalescingFilter(properties, bearerTokenResolver, new SimpleMeterRegistry());
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Flux.concat(
+                    Flux.just("{\"succ", "ess\":").map(chunk -> exchange.getResponse().bufferFactory()
+                            .wrap(chunk.getBytes(StandardCharsets.UTF_8))),
+                    Flux.never()));
+        });
+        MockServerWebExchange leader = exchange("/api/v1/students");
+
+        // When
+        filter.apply(new RequestCoalescingFilter.Config()).filter(leader, chain).subscribe();
+
+        // Then - the part received so far reached the client
+        assertThat(leader.getResponse().getBody()
+                .take(2)
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .collectList()
+                .block(Duration.ofSeconds(5)))
+                .containsExactly("{\"succ", "ess\":");
+    }
+
+    @Test
+    void shouldNotCoalesceWrites() {
+        // Given
+        release.tryEmitEmpty();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/api/v1/students").build());
+            exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+            filter.apply(new RequestCoalescingFilter.Config()).filter(exchange, chain).block(Duration.ofSeconds(5));
+        }
+
+        // Then
+        assertThat(upstreamCalls.get()).isEqualTo(2);
+    }
+
+    private MockServerWebExchange exchange(String path) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get(path).build());
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route());
+        return exchange;
+    }
+
+    private Route route() {
+        return Route.async()
+                .id("core-classes")
+                .uri("http://localhost:8081")
+                .predicate(e -> true)
+                .build();
+    }
+
+    private VerifiedClaims claims(Long userId) {
+        return claims(userId, null);
+    }
+
+    private VerifiedClaims claims(Long userId, PermissionSet permissions) {
+        return new VerifiedClaims(userId, "user" + userId + "@example.com", List.of("TEACHER"), permissions,
+                TokenType.ACCESS, null, null, Instant.now().plusSeconds(3600));
+    }
+}
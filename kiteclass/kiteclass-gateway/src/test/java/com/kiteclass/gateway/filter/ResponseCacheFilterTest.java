@@ -0,0 +1,249 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.ResponseCacheProperties;
+import com.kiteclass.gateway.security.BearerTokenResolver;
+import com.kiteclass.gateway.security.jwt.TokenType;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import com.kiteclass.gateway.service.ResponseCacheService;
+import com.kiteclass.gateway.service.ResponseCacheService.CachedResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.http.server.reactive.MockServerHttpResponse;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link ResponseCacheFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class ResponseCacheFilterTest {
+
+    private static final String ROUTE_ID = "core-students";
+    private static final String BODY = "{\"success\":true,\"data\":{\"id\":1}}";
+
+    private ResponseCacheService responseCacheService;
+    private BearerTokenResolver bearerTokenResolver;
+    private ResponseCacheFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        responseCacheService = mock(ResponseCacheService.class);
+        bearerTokenResolver = mock(BearerTokenResolver.class);
+        filter = new ResponseCacheFilter(responseCacheService, new ResponseCacheProperties(),
+                bearerTokenResolver, new SimpleMeterRegistry());
+
+        when(bearerTokenResolver.resolve(any(ServerWebExchange.class))).thenReturn(claims(1L));
+        when(responseCacheService.get(anyString(), anyString())).thenReturn(Mono.empty());
+        when(responseCacheService.put(anyString(), anyString(), any(), any())).thenReturn(Mono.empty());
+        when(responseCacheService.invalidateRoute(anyString())).thenReturn(Mono.just(1L));
+
+        chain = mock(GatewayFilterChain.class);
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            exchange.getResponse().getHeaders().setContentType(MediaType.APPLICATION_JSON);
+            return exchange.getResponse().writeWith(Mono.just(
+                    exchange.getResponse().bufferFactory().wrap(BODY.getBytes(StandardCharsets.UTF_8))));
+        });
+    }
+
+    @Test
+    void shouldCacheResponseOnMiss() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        StepVerifier.create(filter.apply(config()).filter(exchange, chain)).verifyComplete();
+
+        // Then
+        MockServerHttpResponse response = exchange.getResponse();
+        assertThat(response.getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(response.getHeaders().getETag()).isNotNull();
+        assertThat(response.getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+
+        ArgumentCaptor<CachedResponse> cached = ArgumentCaptor.forClass(CachedResponse.class);
+        verify(responseCacheService).put(eq(ROUTE_ID), anyString(), cached.capture(), eq(Duration.ofSeconds(30)));
+        assertThat(new String(cached.getValue().body(), StandardCharsets.UTF_8)).isEqualTo(BODY);
+        assertThat(cached.getValue().etag()).isEqualTo(response.getHeaders().getETag());
+    }
+
+    @Test
+    void shouldServeCachedResponseWithoutCallingCore() {
+        // Given
+        when(responseCacheService.get(eq(ROUTE_ID), anyString()))
+                .thenReturn(Mono.just(new CachedResponse("application/json", "\"abc\"", BODY.getBytes(StandardCharsets.UTF_8))));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        StepVerifier.create(filter.apply(config()).filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+        assertThat(exchange.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        verify(chain, never()).filter(any(ServerWebExchange.class));
+    }
+
+    @Test
+    void shouldReturnNotModifiedForMatchingCachedEtag() {
+        // Given
+        when(responseCacheService.get(eq(ROUTE_ID), anyString()))
+                .thenReturn(Mono.just(new CachedResponse("application/json", "\"abc\"", BODY.getBytes(StandardCharsets.UTF_8))));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1")
+                .header(HttpHeaders.IF_NONE_MATCH, "\"abc\""));
+
+        // When
+        StepVerifier.create(filter.apply(config()).filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEmpty();
+    }
+
+    @Test
+    void shouldReturnNotModifiedWhenFreshResponseMatchesEtag() {
+        // Given - Learn the ETag of the response
+        MockServerWebExchange first = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+        filter.apply(config()).filter(first, chain).block();
+        String etag = first.getResponse().getHeaders().getETag();
+
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1")
+                .header(HttpHeaders.IF_NONE_MATCH, etag));
+
+        // When
+        StepVerifier.create(filter.apply(config()).filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEmpty();
+    }
+
+    @Test
+    void shouldInvalidateRouteAfterSuccessfulWrite() {
+        // Given
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.put("/api/v1/students/1"));
+
+        // When
+        StepVerifier.create(filter.apply(config()).filter(exchange, chain)).verifyComplete();
+
+        // Then
+        verify(responseCacheService).invalidateRoute(ROUTE_ID);
+        verify(responseCacheService, never()).put(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void shouldBypassCacheWhenRedisFails() {
+        // Given
+        when(responseCacheService.get(anyString(), anyString()))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("Connection refused")));
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students/1"));
+
+        // When
+        StepVerifier.create(filter.apply(config()).filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(exchange.getResponse().getBodyAsString().block()).isEqualTo(BODY);
+    }
+
+    @Test
+    void shouldStreamChunkedResponseOverLimitUncached() {
+        // Given - a chunked response still being sent, already over the limit
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setMaxBodySize(DataSize.ofBytes(6));
+        filter = new ResponseCacheFilter(responseCacheService, properties, bearerTokenResolver, new SimpleMeterRegistry());
+        when(chain.filter(any(ServerWebExchange.class))).thenAnswer(invocation -> {
+            ServerWebExchange exchange = invocation.getArgument(0);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            return exchange.getResponse().writeWith(Flux.concat(
+                    Flux.just("{\"succ", "ess\":").map(chunk -> exchange.getResponse().bufferFactory()
+                            .wrap(chunk.getBytes(StandardCharsets.UTF_8))),
+                    Flux.never()));
+        });
+        MockServerWebExchange exchange = exchange(MockServerHttpRequest.get("/api/v1/students"));
+
+        // When
+        filter.apply(config()).filter(exchange, chain).subscribe();
+
+        // Then - the part received so far reached the client, and nothing is cached
+        assertThat(exchange.getResponse().getBody()
+                .take(2)
+                .map(buffer -> buffer.toString(StandardCharsets.UTF_8))
+                .collectList()
+                .block(Duration.ofSeconds(5)))
+                .containsExactly("{\"succ", "ess\":");
+        assertThat(exchange.getResponse().getHeaders().getETag()).isNull();
+        verify(responseCacheService, never()).put(anyString(), anyString(), any(), any());
+    }
+
+    @Test
+    void shouldKeyEntriesByUserOrRoles() {
+        // Given
+        when(bearerTokenResolver.resolve(any(ServerWebExchange.class))).thenReturn(claims(1L), claims(2L), claims(1L), claims(2L));
+        ResponseCacheFilter.Config rolesScope = config();
+        rolesScope.setScope(SharingScope.ROLES);
+
+        // When
+        filter.apply(config()).filter(exchange(MockServerHttpRequest.get("/api/v1/students/1")), chain).block();
+        filter.apply(config()).filter(exchange(MockServerHttpRequest.get("/api/v1/students/1")), chain).block();
+        filter.apply(rolesScope).filter(exchange(MockServerHttpRequest.get("/api/v1/students/1")), chain).block();
+        filter.apply(rolesScope).filter(exchange(MockServerHttpRequest.get("/api/v1/students/1")), chain).block();
+
+        // Then
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(responseCacheService, times(4)).get(eq(ROUTE_ID), keys.capture());
+        assertThat(keys.getAllValues().get(0)).isNotEqualTo(keys.getAllValues().get(1));
+        assertThat(keys.getAllValues().get(2)).isEqualTo(keys.getAllValues().get(3));
+    }
+
+    private ResponseCacheFilter.Config config() {
+        return new ResponseCacheFilter.Config();
+    }
+
+    private MockServerWebExchange exchange(MockServerHttpRequest.BaseBuilder<?> request) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request.build());
+        Route route = Route.async()
+                .id(ROUTE_ID)
+                .uri("http://localhost:8081")
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+
+    private VerifiedClaims claims(Long userId) {
+        return new VerifiedClaims(userId, "user" + userId + "@example.com", List.of("TEACHER"), null,
+                TokenType.ACCESS, null, null, Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,127 @@
+package com.kiteclass.gateway.filter;
+
+import com.kiteclass.gateway.config.AccessLogProperties;
+import com.kiteclass.gateway.config.GatewayMetricsProperties;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.net.ConnectException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RouteMetricsFilter}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+class RouteMetricsFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AccessLogProperties accessLogProperties;
+    private RouteMetricsFilter filter;
+    private GatewayFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        accessLogProperties = new AccessLogProperties();
+        filter = new RouteMetricsFilter(meterRegistry, new GatewayMetricsProperties(), accessLogProperties);
+        chain = mock(GatewayFilterChain.class);
+    }
+
+    @Test
+    void shouldRecordTimerTaggedByRoute() {
+        // Given
+        ServerWebExchange exchange = exchangeForRoute("core-students");
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        when(chain.filter(any(ServerWebExchange.class))).thenReturn(Mono.empty());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        Timer timer = meterRegistry.get("gateway.route.requests")
+                .tags("route", "core-students", "method", "GET", "status", "2xx", "outcome", "SUCCESS")
+                .timer();
+        assertThat(timer.count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagUpstreamTimeout() {
+        // Given
+        ServerWebExchange exchange = exchangeForRoute("core-invoices");
+        when(chain.filter(any(ServerWebExchange.class)))
+                .thenReturn(Mono.error(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT)));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyError();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.route.requests")
+                .tags("route", "core-invoices", "status", "5xx", "outcome", "TIMEOUT")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldTagConnectionFailure() {
+        // Given
+        ServerWebExchange exchange = exchangeForRoute("core-classes");
+        when(chain.filter(any(ServerWebExchange.class)))
+                .thenReturn(Mono.error(new IllegalStateException(new ConnectException("Connection refused"))));
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyError();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.route.requests")
+                .tags("route", "core-classes", "outcome", "CONNECT_ERROR")
+                .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCountSlowRequestsWithRouteThreshold() {
+        // Given
+        accessLogProperties.setRouteSlowThresholds(Map.of("core-students", Duration.ofMillis(10)));
+        ServerWebExchange exchange = exchangeForRoute("core-students");
+        exchange.getResponse().setStatusCode(HttpStatus.OK);
+        when(chain.filter(any(ServerWebExchange.class)))
+                .thenReturn(Mono.delay(Duration.ofMillis(50)).then());
+
+        // When
+        StepVerifier.create(filter.filter(exchange, chain)).verifyComplete();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.route.requests.slow")
+                .tag("route", "core-students")
+                .counter().count()).isEqualTo(1);
+    }
+
+    private ServerWebExchange exchangeForRoute(String routeId) {
+        ServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/test").build());
+        Route route = Route.async()
+                .id(routeId)
+                .uri("http://localhost:8081")
+                .predicate(e -> true)
+                .build();
+        exchange.getAttributes().put(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR, route);
+        return exchange;
+    }
+}
@@ -2,6 +2,7 @@ package com.kiteclass.gateway.module.auth.controller;
 
 import com.kiteclass.gateway.common.constant.MessageCodes;
 import com.kiteclass.gateway.common.exception.BusinessException;
+import com.kiteclass.gateway.common.service.MessageService;
 import com.kiteclass.gateway.module.auth.dto.LoginRequest;
 import com.kiteclass.gateway.module.auth.dto.LoginResponse;
 import com.kiteclass.gateway.module.auth.dto.RefreshTokenRequest;
@@ -21,6 +22,7 @@ import reactor.core.publisher.Mono;
 import java.util.Arrays;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -38,6 +40,9 @@ class AuthControllerTest {
     @MockBean
     private AuthService authService;
 
+    @MockBean
+    private MessageService messageService;
+
     @Test
     @DisplayName("POST /api/v1/auth/login - Success")
     void shouldLoginSuccessfully() {
@@ -194,7 +199,7 @@ class AuthControllerTest {
         // Given
         RefreshTokenRequest request = new RefreshTokenRequest("refresh-token");
 
-        when(authService.logout(any())).thenReturn(Mono.empty());
+        when(authService.logout(any(), any())).thenReturn(Mono.empty());
 
         // When/Then
         webTestClient.post()
@@ -205,6 +210,26 @@ class AuthControllerTest {
                 .expectStatus().isNoContent();
     }
 
+    @Test
+    @DisplayName("POST /api/v1/auth/logout - Passes the bearer access token for revocation")
+    void shouldPassAccessTokenOnLogout() {
+        // Given
+        RefreshTokenRequest request = new RefreshTokenRequest("refresh-token");
+
+        when(authService.logout("refresh-token", "access-token")).thenReturn(Mono.empty());
+
+        // When/Then
+        webTestClient.post()
+                .uri("/api/v1/auth/logout")
+                .header("Authorization", "Bearer access-token")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(request)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        verify(authService).logout("refresh-token", "access-token");
+    }
+
     @Test
     @DisplayName("POST /api/v1/auth/forgot-password - Success")
     void shouldSendForgotPasswordEmail() {
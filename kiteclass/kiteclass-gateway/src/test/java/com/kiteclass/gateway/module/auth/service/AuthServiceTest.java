@@ -6,15 +6,20 @@ import com.kiteclass.gateway.common.exception.BusinessException;
 import com.kiteclass.gateway.module.auth.dto.LoginRequest;
 import com.kiteclass.gateway.module.auth.dto.LoginResponse;
 import com.kiteclass.gateway.module.auth.dto.RefreshTokenRequest;
-import com.kiteclass.gateway.module.auth.entity.RefreshToken;
-import com.kiteclass.gateway.module.auth.repository.RefreshTokenRepository;
+import com.kiteclass.gateway.module.auth.dto.ResetPasswordRequest;
 import com.kiteclass.gateway.module.auth.service.impl.AuthServiceImpl;
 import com.kiteclass.gateway.module.user.entity.Role;
 import com.kiteclass.gateway.module.user.entity.User;
+import com.kiteclass.gateway.module.user.entity.UserRole;
 import com.kiteclass.gateway.module.user.repository.UserRepository;
 import com.kiteclass.gateway.module.user.repository.UserRoleRepository;
+import com.kiteclass.gateway.module.user.service.RoleCatalog;
+import com.kiteclass.gateway.security.PasswordHasher;
+import com.kiteclass.gateway.security.TokenRevocationList;
 import com.kiteclass.gateway.security.jwt.JwtProperties;
 import com.kiteclass.gateway.security.jwt.JwtTokenProvider;
+import com.kiteclass.gateway.security.jwt.TokenType;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -23,12 +28,13 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.Instant;
+import java.util.List;
+import java.util.function.Supplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
@@ -49,22 +55,38 @@ class AuthServiceTest {
     private UserRoleRepository userRoleRepository;
 
     @Mock
-    private RefreshTokenRepository refreshTokenRepository;
+    private RoleCatalog roleCatalog;
+
+    @Mock
+    private TokenStore tokenStore;
+
+    @Mock
+    private RefreshTokenRotation refreshTokenRotation;
+
+    @Mock
+    private LoginAttemptTracker loginAttemptTracker;
+
+    @Mock
+    private LastLoginRecorder lastLoginRecorder;
 
     @Mock
     private JwtTokenProvider jwtTokenProvider;
 
+    @Mock
+    private TokenRevocationList tokenRevocationList;
+
     @Mock
     private JwtProperties jwtProperties;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
 
     @InjectMocks
     private AuthServiceImpl authService;
 
     private User testUser;
     private Role testRole;
+    private RoleCatalog.Snapshot catalog;
     private String testEmail = "test@example.com";
     private String testPassword = "Test@123";
     private String encodedPassword = "$2a$10$test";
@@ -86,6 +108,7 @@ class AuthServiceTest {
                 .code("OWNER")
                 .name("Owner")
                 .build();
+        catalog = RoleCatalog.Snapshot.of(List.of(testRole), List.of());
     }
 
     @Test
@@ -96,15 +119,17 @@ class AuthServiceTest {
         String accessToken = "access-token";
         String refreshToken = "refresh-token";
 
+        when(loginAttemptTracker.isLocked(testEmail)).thenReturn(Mono.just(false));
         when(userRepository.findByEmailAndDeletedFalse(testEmail)).thenReturn(Mono.just(testUser));
-        when(passwordEncoder.matches(testPassword, encodedPassword)).thenReturn(true);
-        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
-        when(userRoleRepository.findRolesByUserId(1L)).thenReturn(Flux.just(testRole));
-        when(jwtTokenProvider.generateAccessToken(any(), anyString(), any())).thenReturn(accessToken);
+        when(passwordHasher.matches(testPassword, encodedPassword)).thenReturn(Mono.just(true));
+        when(loginAttemptTracker.reset(testUser)).thenReturn(Mono.empty());
+        when(userRoleRepository.findByUserId(1L)).thenReturn(Flux.just(userRole(1L)));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(jwtTokenProvider.generateAccessToken(any(), anyString(), any(), any())).thenReturn(accessToken);
         when(jwtTokenProvider.generateRefreshToken(any())).thenReturn(refreshToken);
         when(jwtProperties.getAccessTokenExpiration()).thenReturn(3600000L);
         when(jwtProperties.getRefreshTokenExpiration()).thenReturn(604800000L);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(Mono.just(new RefreshToken()));
+        when(tokenStore.saveRefreshToken(eq(1L), anyString(), any())).thenReturn(Mono.empty());
 
         // When/Then
         StepVerifier.create(authService.login(request))
@@ -118,11 +143,40 @@ class AuthServiceTest {
                 })
                 .verifyComplete();
 
-        // Verify user's last login was updated
+        // Verify the last login was buffered instead of saving the user
+        verify(lastLoginRecorder).record(eq(1L), any(Instant.class));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should reset failed attempts counted on the user's row on login")
+    void shouldResetFailedAttemptsOnLogin() {
+        // Given
+        testUser.setFailedLoginAttempts(2);
+        LoginRequest request = new LoginRequest(testEmail, testPassword);
+
+        when(loginAttemptTracker.isLocked(testEmail)).thenReturn(Mono.just(false));
+        when(userRepository.findByEmailAndDeletedFalse(testEmail)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches(testPassword, encodedPassword)).thenReturn(Mono.just(true));
+        when(loginAttemptTracker.reset(testUser)).thenReturn(Mono.empty());
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+        when(userRoleRepository.findByUserId(1L)).thenReturn(Flux.just(userRole(1L)));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(jwtTokenProvider.generateAccessToken(any(), anyString(), any(), any())).thenReturn("access-token");
+        when(jwtTokenProvider.generateRefreshToken(any())).thenReturn("refresh-token");
+        when(jwtProperties.getAccessTokenExpiration()).thenReturn(3600000L);
+        when(jwtProperties.getRefreshTokenExpiration()).thenReturn(604800000L);
+        when(tokenStore.saveRefreshToken(eq(1L), anyString(), any())).thenReturn(Mono.empty());
+
+        // When/Then
+        StepVerifier.create(authService.login(request))
+                .expectNextCount(1)
+                .verifyComplete();
+
         ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
         verify(userRepository).save(userCaptor.capture());
-        assertThat(userCaptor.getValue().getLastLoginAt()).isNotNull();
         assertThat(userCaptor.getValue().getFailedLoginAttempts()).isZero();
+        assertThat(userCaptor.getValue().getLastLoginAt()).isNotNull();
     }
 
     @Test
@@ -131,9 +185,10 @@ class AuthServiceTest {
         // Given
         LoginRequest request = new LoginRequest(testEmail, "WrongPassword");
 
+        when(loginAttemptTracker.isLocked(testEmail)).thenReturn(Mono.just(false));
         when(userRepository.findByEmailAndDeletedFalse(testEmail)).thenReturn(Mono.just(testUser));
-        when(passwordEncoder.matches("WrongPassword", encodedPassword)).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+        when(passwordHasher.matches("WrongPassword", encodedPassword)).thenReturn(Mono.just(false));
+        when(loginAttemptTracker.recordFailure(testUser)).thenReturn(Mono.empty());
 
         // When/Then
         StepVerifier.create(authService.login(request))
@@ -143,34 +198,29 @@ class AuthServiceTest {
                 )
                 .verify();
 
-        // Verify failed attempts incremented
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
-        assertThat(userCaptor.getValue().getFailedLoginAttempts()).isEqualTo(1);
+        // Verify the failure was recorded by the tracker, not by saving the user
+        verify(loginAttemptTracker).recordFailure(testUser);
+        verify(userRepository, never()).save(any());
     }
 
     @Test
-    @DisplayName("Should lock account after max failed attempts")
-    void shouldLockAccountAfterMaxFailedAttempts() {
+    @DisplayName("Should reject login locked out in Redis without loading the user")
+    void shouldRejectLockedOutLoginWithoutLoadingUser() {
         // Given
-        testUser.setFailedLoginAttempts(4); // One more attempt will lock
-        LoginRequest request = new LoginRequest(testEmail, "WrongPassword");
+        LoginRequest request = new LoginRequest(testEmail, testPassword);
 
-        when(userRepository.findByEmailAndDeletedFalse(testEmail)).thenReturn(Mono.just(testUser));
-        when(passwordEncoder.matches("WrongPassword", encodedPassword)).thenReturn(false);
-        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+        when(loginAttemptTracker.isLocked(testEmail)).thenReturn(Mono.just(true));
 
         // When/Then
         StepVerifier.create(authService.login(request))
-                .expectError(BusinessException.class)
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                        ((BusinessException) error).getCode().equals(MessageCodes.AUTH_ACCOUNT_LOCKED)
+                )
                 .verify();
 
-        // Verify account was locked
-        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
-        verify(userRepository).save(userCaptor.capture());
-        assertThat(userCaptor.getValue().getFailedLoginAttempts()).isEqualTo(5);
-        assertThat(userCaptor.getValue().getLockedUntil()).isNotNull();
-        assertThat(userCaptor.getValue().getLockedUntil()).isAfter(Instant.now());
+        verify(userRepository, never()).findByEmailAndDeletedFalse(any());
+        verify(passwordHasher, never()).matches(any(), any());
     }
 
     @Test
@@ -180,6 +230,7 @@ class AuthServiceTest {
         testUser.setLockedUntil(Instant.now().plusSeconds(1800)); // Locked for 30 minutes
         LoginRequest request = new LoginRequest(testEmail, testPassword);
 
+        when(loginAttemptTracker.isLocked(testEmail)).thenReturn(Mono.just(false));
         when(userRepository.findByEmailAndDeletedFalse(testEmail)).thenReturn(Mono.just(testUser));
 
         // When/Then
@@ -190,7 +241,7 @@ class AuthServiceTest {
                 )
                 .verify();
 
-        verify(passwordEncoder, never()).matches(any(), any());
+        verify(passwordHasher, never()).matches(any(), any());
     }
 
     @Test
@@ -200,6 +251,7 @@ class AuthServiceTest {
         testUser.setStatus(UserStatus.INACTIVE);
         LoginRequest request = new LoginRequest(testEmail, testPassword);
 
+        when(loginAttemptTracker.isLocked(testEmail)).thenReturn(Mono.just(false));
         when(userRepository.findByEmailAndDeletedFalse(testEmail)).thenReturn(Mono.just(testUser));
 
         // When/Then
@@ -210,35 +262,31 @@ class AuthServiceTest {
                 )
                 .verify();
 
-        verify(passwordEncoder, never()).matches(any(), any());
+        verify(passwordHasher, never()).matches(any(), any());
     }
 
     @Test
     @DisplayName("Should refresh token successfully")
     void shouldRefreshTokenSuccessfully() {
         // Given
+        rotateDirectly();
         String oldRefreshToken = "old-refresh-token";
         String newAccessToken = "new-access-token";
         String newRefreshToken = "new-refresh-token";
 
-        RefreshToken tokenEntity = RefreshToken.builder()
-                .id(1L)
-                .token(oldRefreshToken)
-                .userId(1L)
-                .expiresAt(Instant.now().plusSeconds(3600))
-                .build();
+        TokenStore.StoredToken storedToken = new TokenStore.StoredToken(1L, Instant.now().plusSeconds(3600), null);
 
         RefreshTokenRequest request = new RefreshTokenRequest(oldRefreshToken);
 
-        when(refreshTokenRepository.findByToken(oldRefreshToken)).thenReturn(Mono.just(tokenEntity));
+        when(tokenStore.consumeRefreshToken(oldRefreshToken)).thenReturn(Mono.just(storedToken));
         when(userRepository.findById(1L)).thenReturn(Mono.just(testUser));
-        when(refreshTokenRepository.delete(tokenEntity)).thenReturn(Mono.empty());
-        when(userRoleRepository.findRolesByUserId(1L)).thenReturn(Flux.just(testRole));
-        when(jwtTokenProvider.generateAccessToken(any(), anyString(), any())).thenReturn(newAccessToken);
+        when(userRoleRepository.findByUserId(1L)).thenReturn(Flux.just(userRole(1L)));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(jwtTokenProvider.generateAccessToken(any(), anyString(), any(), any())).thenReturn(newAccessToken);
         when(jwtTokenProvider.generateRefreshToken(any())).thenReturn(newRefreshToken);
         when(jwtProperties.getAccessTokenExpiration()).thenReturn(3600000L);
         when(jwtProperties.getRefreshTokenExpiration()).thenReturn(604800000L);
-        when(refreshTokenRepository.save(any(RefreshToken.class))).thenReturn(Mono.just(new RefreshToken()));
+        when(tokenStore.saveRefreshToken(eq(1L), anyString(), any())).thenReturn(Mono.empty());
 
         // When/Then
         StepVerifier.create(authService.refreshToken(request))
@@ -249,27 +297,24 @@ class AuthServiceTest {
                 })
                 .verifyComplete();
 
-        verify(refreshTokenRepository).delete(tokenEntity);
-        verify(refreshTokenRepository).save(any(RefreshToken.class));
+        verify(tokenStore).consumeRefreshToken(oldRefreshToken);
+        verify(refreshTokenRotation).markRotating(oldRefreshToken);
+        verify(tokenStore).saveRefreshToken(eq(1L), eq(newRefreshToken), any());
     }
 
     @Test
     @DisplayName("Should reject expired refresh token")
     void shouldRejectExpiredRefreshToken() {
         // Given
+        rotateDirectly();
         String expiredRefreshToken = "expired-token";
 
-        RefreshToken tokenEntity = RefreshToken.builder()
-                .id(1L)
-                .token(expiredRefreshToken)
-                .userId(1L)
-                .expiresAt(Instant.now().minusSeconds(3600)) // Expired 1 hour ago
-                .build();
+        TokenStore.StoredToken storedToken =
+                new TokenStore.StoredToken(1L, Instant.now().minusSeconds(3600), null); // Expired 1 hour ago
 
         RefreshTokenRequest request = new RefreshTokenRequest(expiredRefreshToken);
 
-        when(refreshTokenRepository.findByToken(expiredRefreshToken)).thenReturn(Mono.just(tokenEntity));
-        when(refreshTokenRepository.delete(tokenEntity)).thenReturn(Mono.empty());
+        when(tokenStore.consumeRefreshToken(expiredRefreshToken)).thenReturn(Mono.just(storedToken));
 
         // When/Then
         StepVerifier.create(authService.refreshToken(request))
@@ -279,7 +324,8 @@ class AuthServiceTest {
                 )
                 .verify();
 
-        verify(refreshTokenRepository).delete(tokenEntity);
+        verify(refreshTokenRotation, never()).markRotating(anyString());
+        verify(userRepository, never()).findById(anyLong());
     }
 
     @Test
@@ -287,20 +333,34 @@ class AuthServiceTest {
     void shouldLogoutSuccessfully() {
         // Given
         String refreshToken = "refresh-token";
-        RefreshToken tokenEntity = RefreshToken.builder()
-                .id(1L)
-                .token(refreshToken)
-                .userId(1L)
-                .build();
+        when(tokenStore.consumeRefreshToken(refreshToken))
+                .thenReturn(Mono.just(new TokenStore.StoredToken(1L, Instant.now().plusSeconds(3600), null)));
 
-        when(refreshTokenRepository.findByToken(refreshToken)).thenReturn(Mono.just(tokenEntity));
-        when(refreshTokenRepository.delete(tokenEntity)).thenReturn(Mono.empty());
+        // When/Then
+        StepVerifier.create(authService.logout(refreshToken, null))
+                .verifyComplete();
+
+        verify(tokenStore).consumeRefreshToken(refreshToken);
+        verify(tokenRevocationList, never()).revokeToken(any());
+    }
+
+    @Test
+    @DisplayName("Should revoke the access token presented at logout")
+    void shouldRevokeAccessTokenOnLogout() {
+        // Given
+        String refreshToken = "refresh-token";
+        VerifiedClaims accessClaims = new VerifiedClaims(1L, testEmail, List.of("OWNER"), null, TokenType.ACCESS,
+                "token-id", Instant.now(), Instant.now().plusSeconds(3600));
+        when(tokenStore.consumeRefreshToken(refreshToken))
+                .thenReturn(Mono.just(new TokenStore.StoredToken(1L, Instant.now().plusSeconds(3600), null)));
+        when(jwtTokenProvider.verify("access-token")).thenReturn(accessClaims);
+        when(tokenRevocationList.revokeToken(accessClaims)).thenReturn(Mono.empty());
 
         // When/Then
-        StepVerifier.create(authService.logout(refreshToken))
+        StepVerifier.create(authService.logout(refreshToken, "access-token"))
                 .verifyComplete();
 
-        verify(refreshTokenRepository).delete(tokenEntity);
+        verify(tokenRevocationList).revokeToken(accessClaims);
     }
 
     @Test
@@ -309,12 +369,74 @@ class AuthServiceTest {
         // Given
         String nonExistentToken = "non-existent-token";
 
-        when(refreshTokenRepository.findByToken(nonExistentToken)).thenReturn(Mono.empty());
+        when(tokenStore.consumeRefreshToken(nonExistentToken)).thenReturn(Mono.empty());
 
         // When/Then
-        StepVerifier.create(authService.logout(nonExistentToken))
+        StepVerifier.create(authService.logout(nonExistentToken, null))
                 .verifyComplete();
 
-        verify(refreshTokenRepository, never()).delete(any());
+        verify(tokenStore).consumeRefreshToken(nonExistentToken);
+    }
+
+    @Test
+    @DisplayName("Should reset password and revoke all refresh tokens")
+    void shouldResetPasswordAndRevokeRefreshTokens() {
+        // Given
+        String resetToken = "reset-token";
+        ResetPasswordRequest request = new ResetPasswordRequest(resetToken, "NewPass@123");
+
+        when(tokenStore.findResetToken(resetToken))
+                .thenReturn(Mono.just(new TokenStore.StoredToken(1L, Instant.now().plusSeconds(3600), null)));
+        when(userRepository.findById(1L)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.encode("NewPass@123")).thenReturn(Mono.just("$2a$10$new"));
+        when(tokenStore.markResetTokenUsed(resetToken)).thenReturn(Mono.just(true));
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+        when(tokenStore.revokeRefreshTokens(1L)).thenReturn(Mono.empty());
+        when(tokenRevocationList.revokeUser(1L)).thenReturn(Mono.empty());
+        when(loginAttemptTracker.reset(testUser)).thenReturn(Mono.empty());
+
+        // When/Then
+        StepVerifier.create(authService.resetPassword(request))
+                .verifyComplete();
+
+        assertThat(testUser.getPasswordHash()).isEqualTo("$2a$10$new");
+        verify(tokenStore).revokeRefreshTokens(1L);
+        verify(tokenRevocationList).revokeUser(1L);
+    }
+
+    @Test
+    @DisplayName("Should reject a reset token used by a concurrent reset")
+    void shouldRejectResetTokenUsedConcurrently() {
+        // Given
+        String resetToken = "reset-token";
+        ResetPasswordRequest request = new ResetPasswordRequest(resetToken, "NewPass@123");
+
+        when(tokenStore.findResetToken(resetToken))
+                .thenReturn(Mono.just(new TokenStore.StoredToken(1L, Instant.now().plusSeconds(3600), null)));
+        when(userRepository.findById(1L)).thenReturn(Mono.just(testUser));
+        when(passwordHasher.encode("NewPass@123")).thenReturn(Mono.just("$2a$10$new"));
+        when(tokenStore.markResetTokenUsed(resetToken)).thenReturn(Mono.just(false));
+
+        // When/Then
+        StepVerifier.create(authService.resetPassword(request))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                        ((BusinessException) error).getCode().equals(MessageCodes.PASSWORD_RESET_TOKEN_USED)
+                )
+                .verify();
+
+        verify(userRepository, never()).save(any());
+        verify(tokenStore, never()).revokeRefreshTokens(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void rotateDirectly() {
+        when(refreshTokenRotation.rotate(anyString(), any()))
+                .thenAnswer(invocation -> ((Supplier<Mono<LoginResponse>>) invocation.getArgument(1)).get());
+        lenient().when(refreshTokenRotation.markRotating(anyString())).thenReturn(Mono.empty());
+    }
+
+    private UserRole userRole(Long roleId) {
+        return UserRole.builder().userId(1L).roleId(roleId).build();
     }
 }
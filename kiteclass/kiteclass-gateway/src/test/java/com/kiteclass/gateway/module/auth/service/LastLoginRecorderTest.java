@@ -0,0 +1,118 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.LastLoginProperties;
+import com.kiteclass.gateway.module.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LastLoginRecorder}.
+ */
+@DisplayName("LastLoginRecorder Tests")
+class LastLoginRecorderTest {
+
+    private UserRepository userRepository;
+    private LastLoginProperties properties;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        properties = new LastLoginProperties();
+        when(userRepository.updateLastLoginAt(any(), any()))
+                .thenAnswer(invocation -> Mono.just(((Long[]) invocation.getArgument(0)).length));
+    }
+
+    @Test
+    @DisplayName("Should write only the latest login of a user logging in repeatedly")
+    void shouldKeepLatestLoginPerUser() {
+        // Given
+        LastLoginRecorder recorder = new LastLoginRecorder(userRepository, properties);
+        Instant first = Instant.parse("2026-01-01T10:00:00Z");
+        Instant latest = first.plusSeconds(5);
+        recorder.record(1L, first);
+        recorder.record(1L, latest);
+        recorder.record(1L, first);
+
+        // When/Then
+        StepVerifier.create(recorder.flush())
+                .expectNext(1)
+                .verifyComplete();
+
+        ArgumentCaptor<Long[]> userIds = ArgumentCaptor.forClass(Long[].class);
+        ArgumentCaptor<Long[]> loginMillis = ArgumentCaptor.forClass(Long[].class);
+        verify(userRepository).updateLastLoginAt(userIds.capture(), loginMillis.capture());
+        assertThat(userIds.getValue()).containsExactly(1L);
+        assertThat(loginMillis.getValue()).containsExactly(latest.toEpochMilli());
+    }
+
+    @Test
+    @DisplayName("Should split buffered logins into batches")
+    void shouldWriteInBatches() {
+        // Given
+        properties.setBatchSize(2);
+        LastLoginRecorder recorder = new LastLoginRecorder(userRepository, properties);
+        for (long userId = 1; userId <= 5; userId++) {
+            recorder.record(userId, Instant.now());
+        }
+
+        // When/Then
+        StepVerifier.create(recorder.flush())
+                .expectNext(5)
+                .verifyComplete();
+
+        verify(userRepository, times(3)).updateLastLoginAt(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should keep logins that could not be written for the next write")
+    void shouldRequeueFailedBatch() {
+        // Given
+        LastLoginRecorder recorder = new LastLoginRecorder(userRepository, properties);
+        recorder.record(1L, Instant.now());
+        doReturn(Mono.error(new DataAccessResourceFailureException("down")), Mono.just(1))
+                .when(userRepository).updateLastLoginAt(any(), any());
+
+        // When/Then
+        StepVerifier.create(recorder.flush())
+                .expectNext(0)
+                .verifyComplete();
+        StepVerifier.create(recorder.flush())
+                .expectNext(1)
+                .verifyComplete();
+        StepVerifier.create(recorder.flush())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(userRepository, times(2)).updateLastLoginAt(any(), any());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when nobody logged in")
+    void shouldSkipEmptyFlush() {
+        // Given
+        LastLoginRecorder recorder = new LastLoginRecorder(userRepository, properties);
+
+        // When/Then
+        StepVerifier.create(recorder.flush())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(userRepository, never()).updateLastLoginAt(any(), any());
+    }
+}
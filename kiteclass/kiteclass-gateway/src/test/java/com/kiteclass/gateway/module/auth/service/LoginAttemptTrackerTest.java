@@ -0,0 +1,138 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.LoginAttemptProperties;
+import com.kiteclass.gateway.module.user.entity.User;
+import com.kiteclass.gateway.module.user.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LoginAttemptTracker}.
+ */
+@DisplayName("LoginAttemptTracker Tests")
+class LoginAttemptTrackerTest {
+
+    private UserRepository userRepository;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private LoginAttemptProperties properties;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        properties = new LoginAttemptProperties();
+        user = User.builder()
+                .id(1L)
+                .email("Test@Example.com")
+                .failedLoginAttempts(0)
+                .build();
+        when(userRepository.save(any(User.class))).thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("Should count failures in Redis without writing to the database")
+    void shouldCountFailuresInRedis() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class),
+                eq(List.of("login:failures:test@example.com", "login:locked:test@example.com")), anyList()))
+                .thenReturn(Flux.just(3L));
+
+        // When/Then
+        StepVerifier.create(tracker().recordFailure(user))
+                .verifyComplete();
+
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Should save the lock once Redis counts the last allowed failure")
+    void shouldSaveLockAtLimit() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList())).thenReturn(Flux.just(5L));
+
+        // When/Then
+        StepVerifier.create(tracker().recordFailure(user))
+                .verifyComplete();
+
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(userCaptor.capture());
+        assertThat(userCaptor.getValue().getFailedLoginAttempts()).isEqualTo(5);
+        assertThat(userCaptor.getValue().getLockedUntil()).isAfter(Instant.now());
+    }
+
+    @Test
+    @DisplayName("Should count on the user's row when Redis is unavailable")
+    void shouldFallBackToDatabaseWhenRedisIsUnavailable() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("down")));
+
+        // When/Then
+        StepVerifier.create(tracker().recordFailure(user))
+                .verifyComplete();
+
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(userCaptor.capture());
+        assertThat(userCaptor.getValue().getFailedLoginAttempts()).isEqualTo(1);
+        assertThat(userCaptor.getValue().getLockedUntil()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should lock account after max failed attempts without Redis")
+    void shouldLockAccountOnRowWithoutRedis() {
+        // Given
+        properties.setRedis(false);
+        user.setFailedLoginAttempts(4); // One more attempt will lock
+
+        // When/Then
+        StepVerifier.create(tracker().recordFailure(user))
+                .verifyComplete();
+
+        ArgumentCaptor<User> userCaptor = ArgumentCaptor.forClass(User.class);
+        verify(userRepository).save(userCaptor.capture());
+        assertThat(userCaptor.getValue().getFailedLoginAttempts()).isEqualTo(5);
+        assertThat(userCaptor.getValue().getLockedUntil()).isAfter(Instant.now());
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should report locks by email regardless of case")
+    void shouldReportLockByEmail() {
+        // Given
+        when(redisTemplate.hasKey("login:locked:test@example.com")).thenReturn(Mono.just(true));
+
+        // When/Then
+        StepVerifier.create(tracker().isLocked("TEST@example.com"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private LoginAttemptTracker tracker() {
+        ObjectProvider<ReactiveStringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(redisTemplate);
+        return new LoginAttemptTracker(userRepository, provider, properties);
+    }
+}
@@ -0,0 +1,169 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.TokenStoreProperties;
+import com.kiteclass.gateway.module.auth.service.impl.RedisTokenStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveSetOperations;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RedisTokenStore}.
+ */
+@DisplayName("RedisTokenStore Tests")
+class RedisTokenStoreTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveValueOperations<String, String> values;
+    private ReactiveSetOperations<String, String> sets;
+    private TokenStore fallback;
+    private RedisTokenStore tokenStore;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        values = mock(ReactiveValueOperations.class);
+        sets = mock(ReactiveSetOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        when(redisTemplate.opsForSet()).thenReturn(sets);
+        fallback = mock(TokenStore.class);
+
+        tokenStore = new RedisTokenStore(redisTemplate, new TokenStoreProperties(), fallback);
+    }
+
+    @Test
+    @DisplayName("Should store a digest of the refresh token and index it by user")
+    void shouldStoreDigestIndexedByUser() {
+        // Given
+        when(values.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(sets.add(anyString(), any(String[].class))).thenReturn(Mono.just(1L));
+        when(redisTemplate.expire(anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+
+        // When
+        StepVerifier.create(tokenStore.saveRefreshToken(7L, "header.payload.signature", expiresAt))
+                .verifyComplete();
+
+        // Then
+        verify(values).set(argThat(key -> key.startsWith("auth:refresh:") && !key.contains("payload")),
+                eq("7:" + expiresAt.toEpochMilli()), any(Duration.class));
+        verify(sets).add(eq("auth:refresh-user:7"), any(String[].class));
+        verify(fallback, never()).saveRefreshToken(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should consume a refresh token once and drop it from the user index")
+    void shouldConsumeRefreshToken() {
+        // Given
+        when(values.getAndDelete(anyString())).thenReturn(Mono.just("7:4102444800000"));
+        when(sets.remove(eq("auth:refresh-user:7"), any())).thenReturn(Mono.just(1L));
+
+        // When/Then
+        StepVerifier.create(tokenStore.consumeRefreshToken("refresh-token"))
+                .assertNext(stored -> {
+                    assertThat(stored.userId()).isEqualTo(7L);
+                    assertThat(stored.expiresAt()).isEqualTo(Instant.ofEpochMilli(4102444800000L));
+                    assertThat(stored.isUsed()).isFalse();
+                })
+                .verifyComplete();
+        verify(fallback, never()).consumeRefreshToken(any());
+    }
+
+    @Test
+    @DisplayName("Should look up tokens unknown to Redis in the database")
+    void shouldFallBackForUnknownToken() {
+        // Given - token issued before Redis was enabled
+        TokenStore.StoredToken stored = new TokenStore.StoredToken(7L, Instant.now().plusSeconds(60), null);
+        when(values.getAndDelete(anyString())).thenReturn(Mono.empty());
+        when(fallback.consumeRefreshToken("legacy-token")).thenReturn(Mono.just(stored));
+
+        // When/Then
+        StepVerifier.create(tokenStore.consumeRefreshToken("legacy-token"))
+                .expectNext(stored)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should store tokens in the database when Redis is unavailable")
+    void shouldFallBackWhenRedisIsUnavailable() {
+        // Given
+        Instant expiresAt = Instant.now().plusSeconds(3600);
+        when(values.set(anyString(), anyString(), any(Duration.class)))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(sets.add(anyString(), any(String[].class))).thenReturn(Mono.just(1L));
+        when(redisTemplate.expire(anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(fallback.saveRefreshToken(7L, "refresh-token", expiresAt)).thenReturn(Mono.empty());
+
+        // When/Then
+        StepVerifier.create(tokenStore.saveRefreshToken(7L, "refresh-token", expiresAt))
+                .verifyComplete();
+        verify(fallback).saveRefreshToken(7L, "refresh-token", expiresAt);
+    }
+
+    @Test
+    @DisplayName("Should revoke every refresh token of a user in Redis and the database")
+    void shouldRevokeAllRefreshTokensOfUser() {
+        // Given
+        when(sets.members("auth:refresh-user:7")).thenReturn(Flux.just("d1", "d2"));
+        when(redisTemplate.delete(any(String[].class))).thenReturn(Mono.just(3L));
+        when(fallback.revokeRefreshTokens(7L)).thenReturn(Mono.empty());
+
+        // When/Then
+        StepVerifier.create(tokenStore.revokeRefreshTokens(7L))
+                .verifyComplete();
+        verify(redisTemplate).delete("auth:refresh:d1", "auth:refresh:d2", "auth:refresh-user:7");
+        verify(fallback).revokeRefreshTokens(7L);
+    }
+
+    @Test
+    @DisplayName("Should mark a reset token used only once")
+    void shouldMarkResetTokenUsedOnce() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(1L))
+                .thenReturn(Flux.just(0L));
+
+        // When/Then
+        StepVerifier.create(tokenStore.markResetTokenUsed("reset-token"))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(tokenStore.markResetTokenUsed("reset-token"))
+                .expectNext(false)
+                .verifyComplete();
+        verify(fallback, never()).markResetTokenUsed(any());
+    }
+
+    @Test
+    @DisplayName("Should report a used reset token")
+    void shouldReportUsedResetToken() {
+        // Given
+        when(values.get(anyString())).thenReturn(Mono.just("7:4102444800000:1700000000000"));
+
+        // When/Then
+        StepVerifier.create(tokenStore.findResetToken("reset-token"))
+                .assertNext(stored -> assertThat(stored.usedAt()).isEqualTo(Instant.ofEpochMilli(1700000000000L)))
+                .verifyComplete();
+    }
+}
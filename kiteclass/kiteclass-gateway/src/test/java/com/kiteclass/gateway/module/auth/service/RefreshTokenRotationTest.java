@@ -0,0 +1,184 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.kiteclass.gateway.config.RefreshRotationProperties;
+import com.kiteclass.gateway.config.TokenStoreProperties;
+import com.kiteclass.gateway.module.auth.dto.LoginResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RefreshTokenRotation}.
+ */
+@DisplayName("RefreshTokenRotation Tests")
+class RefreshTokenRotationTest {
+
+    private static final String OLD_TOKEN = "old-refresh-token";
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveValueOperations<String, String> valueOperations;
+    private RefreshRotationProperties properties;
+    private final AtomicInteger rotations = new AtomicInteger();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        properties = new RefreshRotationProperties();
+        properties.setHandoffWait(Duration.ofMillis(50));
+        properties.setHandoffPollInterval(Duration.ofMillis(10));
+    }
+
+    @Test
+    @DisplayName("Should share one rotation between concurrent refreshes with the same token")
+    void shouldShareConcurrentRotation() {
+        // Given
+        RefreshTokenRotation rotation = rotation(redisTemplate);
+        Sinks.One<LoginResponse> issued = Sinks.one();
+
+        // When
+        Mono<LoginResponse> first = rotation.rotate(OLD_TOKEN, () -> count(issued.asMono()));
+        Mono<LoginResponse> second = rotation.rotate(OLD_TOKEN, () -> count(issued.asMono()));
+
+        // Then
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> issued.tryEmitValue(pair("new-refresh-token")))
+                .assertNext(both -> assertThat(both.getT2()).isSameAs(both.getT1()))
+                .verifyComplete();
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should return the same pair for a refresh within the grace window")
+    void shouldReturnSamePairWithinGraceWindow() {
+        // Given
+        RefreshTokenRotation rotation = rotation(redisTemplate);
+        rotation.rotate(OLD_TOKEN, () -> count(Mono.just(pair("new-refresh-token")))).block();
+
+        // When/Then
+        StepVerifier.create(rotation.rotate(OLD_TOKEN, () -> count(Mono.empty())))
+                .assertNext(response -> assertThat(response.refreshToken()).isEqualTo("new-refresh-token"))
+                .verifyComplete();
+        assertThat(rotations).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("Should hand the pair to a refresh whose token was consumed on another instance")
+    void shouldHandOverAcrossInstances() {
+        // Given
+        rotation(redisTemplate).rotate(OLD_TOKEN, () -> Mono.just(pair("new-refresh-token"))).block();
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<String> sealed = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(key.capture(), sealed.capture(), eq(properties.getGraceWindow()));
+        assertThat(key.getValue()).startsWith("auth:rotated:").doesNotContain(OLD_TOKEN);
+        assertThat(sealed.getValue()).doesNotContain("new-refresh-token");
+        // Still being rotated at first: marked, but not handed over yet
+        when(valueOperations.multiGet(List.of(key.getValue(), key.getValue().replace(":rotated:", ":rotating:"))))
+                .thenReturn(Mono.just(Arrays.asList(null, "1")));
+        when(valueOperations.get(key.getValue())).thenReturn(Mono.empty(), Mono.just(sealed.getValue()));
+
+        // When/Then
+        StepVerifier.create(rotation(redisTemplate).rotate(OLD_TOKEN, Mono::empty))
+                .assertNext(response -> {
+                    assertThat(response.refreshToken()).isEqualTo("new-refresh-token");
+                    assertThat(response.user().roles()).containsExactly("TEACHER");
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should find nothing, without waiting, for a token that is neither stored nor rotating")
+    void shouldFindNothingForUnknownToken() {
+        // Given
+        properties.setHandoffWait(Duration.ofSeconds(5));
+        when(valueOperations.multiGet(any())).thenReturn(Mono.just(Arrays.asList(null, null)));
+
+        // When
+        Duration elapsed = StepVerifier.create(rotation(redisTemplate).rotate(OLD_TOKEN, Mono::empty))
+                .verifyComplete();
+
+        // Then
+        assertThat(elapsed).isLessThan(properties.getHandoffWait());
+        verify(valueOperations).multiGet(any());
+        verify(valueOperations, never()).get(anyString());
+    }
+
+    @Test
+    @DisplayName("Should mark a consumed token as rotating for the handoff wait")
+    void shouldMarkRotatingToken() {
+        // When
+        rotation(redisTemplate).markRotating(OLD_TOKEN).block();
+
+        // Then
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).set(key.capture(), eq("1"), eq(properties.getHandoffWait()));
+        assertThat(key.getValue()).startsWith("auth:rotating:").doesNotContain(OLD_TOKEN);
+    }
+
+    @Test
+    @DisplayName("Should not share a failed rotation")
+    void shouldNotShareFailure() {
+        // Given
+        RefreshTokenRotation rotation = rotation(null);
+        StepVerifier.create(rotation.rotate(OLD_TOKEN, () -> count(Mono.error(new IllegalStateException("down")))))
+                .verifyError(IllegalStateException.class);
+
+        // When/Then
+        StepVerifier.create(rotation.rotate(OLD_TOKEN, () -> count(Mono.just(pair("new-refresh-token")))))
+                .expectNextCount(1)
+                .verifyComplete();
+        assertThat(rotations).hasValue(2);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RefreshTokenRotation rotation(ReactiveStringRedisTemplate template) {
+        ObjectProvider<ReactiveStringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(template);
+        return new RefreshTokenRotation(provider, new ObjectMapper(), properties, new TokenStoreProperties());
+    }
+
+    private Mono<LoginResponse> count(Mono<LoginResponse> rotation) {
+        rotations.incrementAndGet();
+        return rotation;
+    }
+
+    private static LoginResponse pair(String refreshToken) {
+        return LoginResponse.builder()
+                .accessToken("new-access-token")
+                .refreshToken(refreshToken)
+                .tokenType("Bearer")
+                .expiresIn(3600)
+                .user(LoginResponse.UserInfo.builder()
+                        .id(7L)
+                        .email("teacher@kiteclass.com")
+                        .name("Teacher")
+                        .roles(List.of("TEACHER"))
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,118 @@
+package com.kiteclass.gateway.module.auth.service;
+
+import com.kiteclass.gateway.config.TokenPurgeProperties;
+import com.kiteclass.gateway.module.auth.repository.PasswordResetTokenRepository;
+import com.kiteclass.gateway.module.auth.repository.RefreshTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TokenPurgeJob}.
+ */
+@DisplayName("TokenPurgeJob Tests")
+class TokenPurgeJobTest {
+
+    private RefreshTokenRepository refreshTokenRepository;
+    private PasswordResetTokenRepository passwordResetTokenRepository;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveValueOperations<String, String> values;
+    private TokenPurgeProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        refreshTokenRepository = mock(RefreshTokenRepository.class);
+        passwordResetTokenRepository = mock(PasswordResetTokenRepository.class);
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        values = mock(ReactiveValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(values);
+        meterRegistry = new SimpleMeterRegistry();
+
+        properties = new TokenPurgeProperties();
+        properties.setBatchSize(100);
+        properties.setPause(Duration.ZERO);
+        properties.setMaxBatchesPerRun(5);
+
+        when(passwordResetTokenRepository.deleteExpiredTokens(any(), anyInt())).thenReturn(Mono.just(0));
+        when(passwordResetTokenRepository.deleteUsedTokens(anyInt())).thenReturn(Mono.just(3));
+    }
+
+    @Test
+    @DisplayName("Should delete in batches until a batch comes back short")
+    void shouldDeleteInBatches() {
+        // Given
+        when(values.setIfAbsent(eq("token-purge:lease"), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(refreshTokenRepository.deleteExpiredTokens(any(), eq(100)))
+                .thenReturn(Mono.just(100), Mono.just(100), Mono.just(42));
+
+        // When/Then
+        StepVerifier.create(job().run())
+                .expectNext(245L)
+                .verifyComplete();
+
+        verify(refreshTokenRepository, times(3)).deleteExpiredTokens(any(), eq(100));
+        assertThat(meterRegistry.get("auth.tokens.purged").tag("token", "refresh").counter().count()).isEqualTo(242);
+        assertThat(meterRegistry.get("auth.tokens.purged").tag("reason", "used").counter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("auth.tokens.purge").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stop after the maximum batches per run")
+    void shouldStopAfterMaxBatchesPerRun() {
+        // Given
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(refreshTokenRepository.deleteExpiredTokens(any(), anyInt())).thenReturn(Mono.just(100));
+
+        // When/Then
+        StepVerifier.create(job().run())
+                .expectNext(503L)
+                .verifyComplete();
+
+        verify(refreshTokenRepository, times(5)).deleteExpiredTokens(any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lease")
+    void shouldSkipRunWithoutLease() {
+        // Given
+        when(values.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(false));
+        when(values.get("token-purge:lease")).thenReturn(Mono.just("other-instance"));
+
+        // When/Then
+        StepVerifier.create(job().run())
+                .expectNext(0L)
+                .verifyComplete();
+
+        verify(refreshTokenRepository, never()).deleteExpiredTokens(any(), anyInt());
+        verify(passwordResetTokenRepository, never()).deleteUsedTokens(anyInt());
+    }
+
+    @SuppressWarnings("unchecked")
+    private TokenPurgeJob job() {
+        ObjectProvider<ReactiveStringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(redisTemplate);
+        return new TokenPurgeJob(refreshTokenRepository, passwordResetTokenRepository, provider, properties,
+                meterRegistry);
+    }
+}
@@ -0,0 +1,219 @@
+package com.kiteclass.gateway.module.email.service;
+
+import com.kiteclass.gateway.config.EmailOutboxProperties;
+import com.kiteclass.gateway.config.EmailProperties;
+import com.kiteclass.gateway.module.email.entity.EmailOutboxMessage;
+import com.kiteclass.gateway.module.email.repository.EmailOutboxRepository;
+import com.kiteclass.gateway.testutil.SmtpStandIn;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Tests for {@link EmailOutboxWorker} against an in-process SMTP server.
+ */
+@DisplayName("EmailOutboxWorker Tests")
+class EmailOutboxWorkerTest {
+
+    private SmtpStandIn smtp;
+    private EmailOutboxRepository outboxRepository;
+    private EmailOutboxProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        smtp = new SmtpStandIn();
+        outboxRepository = mock(EmailOutboxRepository.class);
+        properties = new EmailOutboxProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        when(outboxRepository.deleteAllById(any())).thenReturn(Mono.empty());
+        when(outboxRepository.reschedule(any(), anyInt(), any(), any())).thenReturn(Mono.just(1));
+        when(outboxRepository.markFailed(any(), anyInt(), any(), any())).thenReturn(Mono.just(1));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        smtp.close();
+    }
+
+    @Test
+    @DisplayName("Should send a batch over one SMTP session per connection and delete sent emails")
+    void shouldSendBatchOverSharedSessions() {
+        // Given
+        properties.setConnections(2);
+        claim(message(1L, "a@example.com", 0), message(2L, "b@example.com", 0),
+                message(3L, "c@example.org", 0), message(4L, "d@example.org", 0));
+
+        // When/Then
+        StepVerifier.create(worker().drain())
+                .expectNext(4)
+                .verifyComplete();
+
+        assertThat(smtp.getReceived()).extracting(SmtpStandIn.ReceivedEmail::recipient)
+                .containsExactlyInAnyOrder("a@example.com", "b@example.com", "c@example.org", "d@example.org");
+        assertThat(smtp.getReceived().get(0).data())
+                .contains("From: KiteClass <noreply@kiteclass.com>")
+                .contains("Subject: Hello")
+                .contains("<p>Hello</p>");
+        assertThat(smtp.getSessions()).isEqualTo(2);
+        assertThat(deletedIds()).containsExactlyInAnyOrder(1L, 2L, 3L, 4L);
+        assertThat(outcome("sent")).isEqualTo(4);
+    }
+
+    @Test
+    @DisplayName("Should retry a rejected email with backoff and still send the rest")
+    void shouldRetryRejectedEmailWithBackoff() {
+        // Given
+        smtp.rejectRecipient("bad@example.com");
+        claim(message(1L, "good@example.com", 0), message(2L, "bad@example.com", 0));
+
+        // When/Then
+        StepVerifier.create(worker().drain())
+                .expectNext(1)
+                .verifyComplete();
+
+        assertThat(deletedIds()).containsExactly(1L);
+        ArgumentCaptor<Instant> nextAttemptAt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).reschedule(eq(2L), eq(1), nextAttemptAt.capture(), anyString());
+        assertThat(nextAttemptAt.getValue())
+                .isBetween(Instant.now().plus(Duration.ofSeconds(50)), Instant.now().plus(Duration.ofMinutes(1)));
+        assertThat(outcome("retried")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should give up an email after the last allowed attempt")
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        smtp.rejectRecipient("bad@example.com");
+        claim(message(1L, "bad@example.com", properties.getMaxAttempts() - 1));
+
+        // When/Then
+        StepVerifier.create(worker().drain())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(outboxRepository).markFailed(eq(1L), eq(properties.getMaxAttempts()), anyString(), any());
+        verify(outboxRepository, never()).reschedule(any(), anyInt(), any(), any());
+        assertThat(outcome("failed")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should retry every email when the SMTP server is unreachable")
+    void shouldRetryAllWhenServerIsUnreachable() throws IOException {
+        // Given
+        claim(message(1L, "a@example.com", 0), message(2L, "b@example.com", 0));
+        EmailOutboxWorker worker = worker();
+        smtp.close();
+
+        // When/Then
+        StepVerifier.create(worker.drain())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(outboxRepository).reschedule(eq(1L), eq(1), any(), anyString());
+        verify(outboxRepository).reschedule(eq(2L), eq(1), any(), anyString());
+        verify(outboxRepository, never()).deleteAllById(any());
+    }
+
+    @Test
+    @DisplayName("Should defer emails over the per-domain limit to the next minute")
+    void shouldDeferEmailsOverDomainLimit() {
+        // Given
+        properties.setDomainLimitPerMinute(2);
+        claim(message(1L, "a@example.com", 0), message(2L, "b@EXAMPLE.com", 0),
+                message(3L, "c@example.com", 0), message(4L, "d@example.org", 0));
+
+        // When/Then
+        StepVerifier.create(worker().drain())
+                .expectNext(3)
+                .verifyComplete();
+
+        assertThat(deletedIds()).containsExactlyInAnyOrder(1L, 2L, 4L);
+        ArgumentCaptor<Instant> nextAttemptAt = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository).reschedule(eq(3L), eq(0), nextAttemptAt.capture(), any());
+        assertThat(nextAttemptAt.getValue()).isAfter(Instant.now());
+        assertThat(nextAttemptAt.getValue().getEpochSecond() % 60).isZero();
+        assertThat(outcome("deferred")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should delete given-up emails past their retention in batches")
+    void shouldPurgeFailedEmailsInBatches() {
+        // Given
+        properties.setBatchSize(2);
+        when(outboxRepository.deleteFailedBefore(any(), eq(2))).thenReturn(Mono.just(2), Mono.just(1));
+
+        // When/Then
+        StepVerifier.create(worker().purgeFailed())
+                .expectNext(3L)
+                .verifyComplete();
+
+        ArgumentCaptor<Instant> cutoff = ArgumentCaptor.forClass(Instant.class);
+        verify(outboxRepository, times(2)).deleteFailedBefore(cutoff.capture(), eq(2));
+        assertThat(cutoff.getValue())
+                .isBetween(Instant.now().minus(Duration.ofDays(7)).minusSeconds(5), Instant.now().minus(Duration.ofDays(7)));
+        assertThat(outcome("purged")).isEqualTo(3);
+    }
+
+    private EmailOutboxWorker worker() {
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+        mailSender.setHost(smtp.getHost());
+        mailSender.setPort(smtp.getPort());
+        mailSender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "5000");
+        mailSender.getJavaMailProperties().put("mail.smtp.timeout", "5000");
+        EmailProperties emailProperties = new EmailProperties();
+        return new EmailOutboxWorker(outboxRepository, mailSender, emailProperties, properties, meterRegistry);
+    }
+
+    private void claim(EmailOutboxMessage... messages) {
+        when(outboxRepository.claimDue(any(), any(), anyInt())).thenReturn(Flux.just(messages));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Long> deletedIds() {
+        ArgumentCaptor<Iterable<Long>> ids = ArgumentCaptor.forClass(Iterable.class);
+        verify(outboxRepository, atLeastOnce()).deleteAllById(ids.capture());
+        List<Long> deleted = new ArrayList<>();
+        ids.getAllValues().forEach(batch -> batch.forEach(deleted::add));
+        return deleted;
+    }
+
+    private double outcome(String outcome) {
+        return meterRegistry.counter("email.outbox.messages", "outcome", outcome).count();
+    }
+
+    private static EmailOutboxMessage message(Long id, String recipient, int attempts) {
+        return EmailOutboxMessage.builder()
+                .id(id)
+                .recipient(recipient)
+                .subject("Hello")
+                .body("<p>Hello</p>")
+                .attempts(attempts)
+                .build();
+    }
+}
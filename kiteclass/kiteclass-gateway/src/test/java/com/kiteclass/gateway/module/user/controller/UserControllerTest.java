@@ -1,6 +1,7 @@
 package com.kiteclass.gateway.module.user.controller;
 
 import com.kiteclass.gateway.common.constant.MessageCodes;
+import com.kiteclass.gateway.common.dto.CursorPageResponse;
 import com.kiteclass.gateway.common.exception.DuplicateResourceException;
 import com.kiteclass.gateway.common.exception.EntityNotFoundException;
 import com.kiteclass.gateway.common.service.MessageService;
@@ -23,10 +24,14 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -164,6 +169,32 @@ class UserControllerTest {
             .jsonPath("$.data.totalElements").isEqualTo(1);
     }
 
+    @Test
+    @DisplayName("GET /api/v1/users with cursor should return cursor page without counting")
+    void getUsers_withCursor_shouldReturnCursorPage() {
+        // given
+        CursorPageResponse<UserResponse> page = CursorPageResponse.<UserResponse>builder()
+            .content(List.of(userResponse))
+            .size(20)
+            .hasNext(true)
+            .nextCursor("next-cursor")
+            .build();
+        when(userService.getUsersAfter(null, "", 20, false)).thenReturn(Mono.just(page));
+
+        // when & then
+        webTestClient.get()
+            .uri("/api/v1/users?cursor=")
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody()
+            .jsonPath("$.data.content[0].email").isEqualTo("test@example.com")
+            .jsonPath("$.data.hasNext").isEqualTo(true)
+            .jsonPath("$.data.nextCursor").isEqualTo("next-cursor")
+            .jsonPath("$.data.totalElements").doesNotExist();
+
+        verify(userService, never()).countUsers(any());
+    }
+
     @Test
     @DisplayName("PUT /api/v1/users/{id} should update user")
     void updateUser_shouldUpdateSuccessfully() {
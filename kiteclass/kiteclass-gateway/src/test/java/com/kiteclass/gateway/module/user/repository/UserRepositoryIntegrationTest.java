@@ -1,6 +1,7 @@
 package com.kiteclass.gateway.module.user.repository;
 
 import com.kiteclass.gateway.common.constant.UserStatus;
+import com.kiteclass.gateway.module.user.entity.Role;
 import com.kiteclass.gateway.module.user.entity.User;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +15,9 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import reactor.test.StepVerifier;
 
+import java.time.Instant;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -54,6 +58,12 @@ class UserRepositoryIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRoleRepository userRoleRepository;
+
     @Test
     @DisplayName("findByEmail() should find default owner account from V4 migration")
     void shouldFindDefaultOwnerAccount() {
@@ -209,4 +219,90 @@ class UserRepositoryIntegrationTest {
                 .assertNext(count -> assertThat(count).isGreaterThanOrEqualTo(1L))
                 .verifyComplete();
     }
+
+    @Test
+    @DisplayName("findByUserIdIn() should load role assignments of several users in one query")
+    void shouldFindRoleAssignmentsOfSeveralUsers() {
+        // Given - Owner from V4 migration and a new user without roles
+        Long ownerId = userRepository.findByEmailAndDeletedFalse("owner@kiteclass.local")
+                .map(User::getId)
+                .block();
+        Long newUserId = userRepository.save(User.builder()
+                        .email("noroles@example.com")
+                        .name("No Roles")
+                        .passwordHash("hashed-password")
+                        .status(UserStatus.ACTIVE)
+                        .deleted(false)
+                        .build())
+                .map(User::getId)
+                .block();
+
+        // When & Then
+        Long ownerRoleId = roleRepository.findByCode("OWNER").map(Role::getId).block();
+        StepVerifier.create(userRoleRepository.findByUserIdIn(List.of(ownerId, newUserId)))
+                .assertNext(userRole -> {
+                    assertThat(userRole.getUserId()).isEqualTo(ownerId);
+                    assertThat(userRole.getRoleId()).isEqualTo(ownerRoleId);
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("insertAll() should assign several roles in one statement")
+    void shouldInsertAllRoleAssignments() {
+        // Given
+        Long userId = userRepository.save(User.builder()
+                        .email("multirole@example.com")
+                        .name("Multi Role")
+                        .passwordHash("hashed-password")
+                        .status(UserStatus.ACTIVE)
+                        .deleted(false)
+                        .build())
+                .map(User::getId)
+                .block();
+        Long teacherId = roleRepository.findByCode("TEACHER").map(Role::getId).block();
+        Long staffId = roleRepository.findByCode("STAFF").map(Role::getId).block();
+
+        // When
+        StepVerifier.create(userRoleRepository.insertAll(userId, new Long[]{teacherId, staffId}, Instant.now()))
+                .assertNext(rows -> assertThat(rows).isEqualTo(2))
+                .verifyComplete();
+
+        // Then
+        StepVerifier.create(userRoleRepository.findRolesByUserId(userId).map(Role::getCode))
+                .expectNext("STAFF", "TEACHER")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("findBySearchCriteriaAfter() should continue after cursor, breaking ties by id")
+    void shouldFindUsersAfterCursor() {
+        // Given - two users created at the same instant and one created earlier
+        Instant createdAt = Instant.parse("2026-01-15T08:30:00Z");
+        User first = saveUserCreatedAt("keyset-a@example.com", createdAt);
+        User second = saveUserCreatedAt("keyset-b@example.com", createdAt);
+        User older = saveUserCreatedAt("keyset-c@example.com", createdAt.minusSeconds(60));
+
+        // When & Then - first page ends with the higher id of the tie
+        StepVerifier.create(userRepository.findFirstBySearchCriteria("%keyset-%", 1).map(User::getId))
+                .expectNext(second.getId())
+                .verifyComplete();
+
+        StepVerifier.create(userRepository.findBySearchCriteriaAfter("%keyset-%", createdAt, second.getId(), 10)
+                        .map(User::getId))
+                .expectNext(first.getId(), older.getId())
+                .verifyComplete();
+    }
+
+    private User saveUserCreatedAt(String email, Instant createdAt) {
+        return userRepository.save(User.builder()
+                        .email(email)
+                        .name("Keyset User")
+                        .passwordHash("hashed-password")
+                        .status(UserStatus.ACTIVE)
+                        .deleted(false)
+                        .createdAt(createdAt)
+                        .build())
+                .block();
+    }
 }
@@ -0,0 +1,159 @@
+package com.kiteclass.gateway.module.user.service;
+
+import com.kiteclass.gateway.config.RoleCatalogProperties;
+import com.kiteclass.gateway.module.auth.entity.RolePermissionCode;
+import com.kiteclass.gateway.module.auth.repository.RolePermissionRepository;
+import com.kiteclass.gateway.module.user.entity.Role;
+import com.kiteclass.gateway.module.user.repository.RoleRepository;
+import com.kiteclass.gateway.security.jwt.PermissionSet;
+import com.kiteclass.gateway.testutil.UserTestDataBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RoleCatalog}.
+ *
+ * @author KiteClass Team
+ * @since 1.7.0
+ */
+@DisplayName("RoleCatalog Tests")
+class RoleCatalogTest {
+
+    private RoleRepository roleRepository;
+    private RolePermissionRepository rolePermissionRepository;
+    private ReactiveStringRedisTemplate redisTemplate;
+    private Sinks.Many<ReactiveSubscription.Message<String, String>> announcements;
+    private RoleCatalogProperties properties;
+    private RoleCatalog roleCatalog;
+
+    private final Role admin = UserTestDataBuilder.createRole(1L, "ADMIN", "Administrator");
+    private final Role teacher = UserTestDataBuilder.createRole(2L, "TEACHER", "Teacher");
+
+    @BeforeEach
+    void setUp() {
+        roleRepository = mock(RoleRepository.class);
+        rolePermissionRepository = mock(RolePermissionRepository.class);
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        announcements = Sinks.many().multicast().directBestEffort();
+        doReturn(announcements.asFlux()).when(redisTemplate).listenToChannel(anyString());
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        properties = new RoleCatalogProperties();
+        properties.setRefreshInterval(Duration.ZERO);
+
+        when(roleRepository.findAll()).thenReturn(Flux.just(admin, teacher));
+        when(rolePermissionRepository.findAllPermissionCodes()).thenReturn(Flux.just(
+            new RolePermissionCode(1L, "USER:READ", 1),
+            new RolePermissionCode(1L, "USER:CREATE", 0),
+            new RolePermissionCode(2L, "STUDENT:READ", 10)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (roleCatalog != null) {
+            roleCatalog.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should serve roles and permissions from memory once loaded")
+    void shouldServeRolesFromMemory() {
+        // Given
+        roleCatalog = startCatalog();
+
+        // When
+        RoleCatalog.Snapshot first = roleCatalog.snapshot().block();
+        RoleCatalog.Snapshot second = roleCatalog.snapshot().block();
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.rolesOf(List.of(2L, 1L, 99L))).extracting(Role::getCode).containsExactly("ADMIN", "TEACHER");
+        assertThat(first.permissionsOf(List.of("ADMIN", "TEACHER")))
+            .isEqualTo(Set.of("USER:READ", "USER:CREATE", "STUDENT:READ"));
+        assertThat(first.permissionSetOf(List.of("ADMIN", "TEACHER"))).isEqualTo(PermissionSet.of(0, 1, 10));
+        assertThat(first.permissionSetOf(List.of("TEACHER"))).isEqualTo(PermissionSet.of(10));
+        assertThat(first.permissionBit("STUDENT:READ")).hasValue(10);
+        assertThat(first.permissionBit("STUDENT:DELETE")).isEmpty();
+        assertThat(first.containsAll(List.of(1L, 99L))).isFalse();
+        verify(roleRepository, times(1)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should swap in a new snapshot and announce the change on invalidate")
+    void shouldReloadAndAnnounceOnInvalidate() {
+        // Given
+        roleCatalog = startCatalog();
+        RoleCatalog.Snapshot before = roleCatalog.snapshot().block();
+        when(roleRepository.findAll()).thenReturn(Flux.just(admin));
+
+        // When
+        roleCatalog.invalidate().block(Duration.ofSeconds(5));
+
+        // Then
+        RoleCatalog.Snapshot after = roleCatalog.snapshot().block();
+        assertThat(after).isNotSameAs(before);
+        assertThat(after.findRole(2L)).isEmpty();
+        assertThat(before.findRole(2L)).contains(teacher);
+        verify(redisTemplate).convertAndSend(eq(properties.getChannel()), anyString());
+    }
+
+    @Test
+    @DisplayName("Should reload when another instance announces a change")
+    void shouldReloadOnAnnouncement() {
+        // Given
+        roleCatalog = startCatalog();
+        when(roleRepository.findAll()).thenReturn(Flux.just(admin));
+
+        // When
+        announcements.tryEmitNext(new ReactiveSubscription.ChannelMessage<>(properties.getChannel(), "other-instance"));
+
+        // Then
+        assertThat(roleCatalog.snapshot().block().findRole(2L)).isEmpty();
+        verify(roleRepository, times(2)).findAll();
+    }
+
+    @Test
+    @DisplayName("Should load on first use when the startup load failed")
+    void shouldLoadOnFirstUseAfterStartupFailure() {
+        // Given
+        when(roleRepository.findAll())
+            .thenReturn(Flux.error(new IllegalStateException("database unavailable")))
+            .thenReturn(Flux.just(admin, teacher));
+        roleCatalog = startCatalog();
+
+        // When
+        RoleCatalog.Snapshot snapshot = roleCatalog.snapshot().block();
+
+        // Then
+        assertThat(snapshot.findRole(1L)).contains(admin);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RoleCatalog startCatalog() {
+        ObjectProvider<ReactiveStringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(redisTemplate);
+        RoleCatalog catalog = new RoleCatalog(roleRepository, rolePermissionRepository, provider, properties);
+        catalog.start();
+        return catalog;
+    }
+}
@@ -1,5 +1,9 @@
 package com.kiteclass.gateway.module.user.service;
 
+import com.kiteclass.gateway.common.constant.MessageCodes;
+import com.kiteclass.gateway.common.dto.CursorPageResponse;
+import com.kiteclass.gateway.common.dto.PageCursor;
+import com.kiteclass.gateway.common.exception.BusinessException;
 import com.kiteclass.gateway.common.exception.DuplicateResourceException;
 import com.kiteclass.gateway.common.exception.EntityNotFoundException;
 import com.kiteclass.gateway.module.user.dto.request.CreateUserRequest;
@@ -9,10 +13,10 @@ import com.kiteclass.gateway.module.user.entity.Role;
 import com.kiteclass.gateway.module.user.entity.User;
 import com.kiteclass.gateway.module.user.entity.UserRole;
 import com.kiteclass.gateway.module.user.mapper.UserMapper;
-import com.kiteclass.gateway.module.user.repository.RoleRepository;
 import com.kiteclass.gateway.module.user.repository.UserRepository;
 import com.kiteclass.gateway.module.user.repository.UserRoleRepository;
 import com.kiteclass.gateway.module.user.service.impl.UserServiceImpl;
+import com.kiteclass.gateway.security.PasswordHasher;
 import com.kiteclass.gateway.testutil.UserTestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -21,11 +25,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.http.HttpStatus;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.AdditionalMatchers.aryEq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -45,7 +54,7 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private RoleRepository roleRepository;
+    private RoleCatalog roleCatalog;
 
     @Mock
     private UserRoleRepository userRoleRepository;
@@ -54,13 +63,17 @@ class UserServiceTest {
     private UserMapper userMapper;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private PasswordHasher passwordHasher;
+
+    @Mock
+    private UserCountCache userCountCache;
 
     @InjectMocks
     private UserServiceImpl userService;
 
     private User testUser;
     private Role testRole;
+    private RoleCatalog.Snapshot catalog;
     private CreateUserRequest createRequest;
     private UserResponse userResponse;
 
@@ -68,6 +81,7 @@ class UserServiceTest {
     void setUp() {
         testUser = UserTestDataBuilder.createUser(1L, "test@example.com", "Test User");
         testRole = UserTestDataBuilder.createRole(1L, "ADMIN", "Administrator");
+        catalog = RoleCatalog.Snapshot.of(List.of(testRole), List.of());
         createRequest = UserTestDataBuilder.createUserRequest("test@example.com", "Test User");
         userResponse = UserResponse.builder()
             .id(1L)
@@ -82,12 +96,12 @@ class UserServiceTest {
         // given
         when(userRepository.existsByEmailAndDeletedFalse(anyString())).thenReturn(Mono.just(false));
         when(userMapper.toEntity(any(CreateUserRequest.class))).thenReturn(testUser);
-        when(passwordEncoder.encode(anyString())).thenReturn("encodedPassword");
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("encodedPassword"));
         when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
         when(userRepository.findByIdAndDeletedFalse(anyLong())).thenReturn(Mono.just(testUser));
-        when(roleRepository.findById(anyLong())).thenReturn(Mono.just(testRole));
-        when(userRoleRepository.save(any(UserRole.class))).thenReturn(Mono.just(new UserRole()));
-        when(userRoleRepository.findRolesByUserId(anyLong())).thenReturn(Flux.just(testRole));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(userRoleRepository.insertAll(anyLong(), any(Long[].class), any(Instant.class))).thenReturn(Mono.just(1));
+        when(userRoleRepository.findByUserId(anyLong())).thenReturn(Flux.just(userRole(1L, 1L)));
         when(userMapper.toResponseWithRoles(any(User.class), anyList())).thenReturn(userResponse);
 
         // when
@@ -103,6 +117,32 @@ class UserServiceTest {
 
         verify(userRepository).existsByEmailAndDeletedFalse("test@example.com");
         verify(userRepository).save(any(User.class));
+        verify(userRoleRepository).insertAll(eq(1L), aryEq(new Long[]{1L}), any(Instant.class));
+    }
+
+    @Test
+    @DisplayName("createUser() should throw EntityNotFoundException when a role does not exist")
+    void createUser_shouldThrowWhenRoleNotFound() {
+        // given
+        createRequest.setRoleIds(List.of(1L, 99L));
+        when(userRepository.existsByEmailAndDeletedFalse(anyString())).thenReturn(Mono.just(false));
+        when(userMapper.toEntity(any(CreateUserRequest.class))).thenReturn(testUser);
+        when(passwordHasher.encode(anyString())).thenReturn(Mono.just("encodedPassword"));
+        when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
+        when(userRepository.findByIdAndDeletedFalse(anyLong())).thenReturn(Mono.just(testUser));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(roleCatalog.refresh()).thenReturn(Mono.just(catalog));
+
+        // when
+        Mono<UserResponse> result = userService.createUser(createRequest);
+
+        // then - the catalog is reloaded once before the role is reported missing
+        StepVerifier.create(result)
+            .expectError(EntityNotFoundException.class)
+            .verify();
+
+        verify(roleCatalog).refresh();
+        verify(userRoleRepository, never()).insertAll(anyLong(), any(Long[].class), any(Instant.class));
     }
 
     @Test
@@ -128,7 +168,8 @@ class UserServiceTest {
     void getUserById_shouldReturnUser() {
         // given
         when(userRepository.findByIdAndDeletedFalse(anyLong())).thenReturn(Mono.just(testUser));
-        when(userRoleRepository.findRolesByUserId(anyLong())).thenReturn(Flux.just(testRole));
+        when(userRoleRepository.findByUserId(anyLong())).thenReturn(Flux.just(userRole(1L, 1L)));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
         when(userMapper.toResponseWithRoles(any(User.class), anyList())).thenReturn(userResponse);
 
         // when
@@ -165,7 +206,8 @@ class UserServiceTest {
         UpdateUserRequest updateRequest = UserTestDataBuilder.updateUserRequest("Updated Name", "0987654321");
         when(userRepository.findByIdAndDeletedFalse(anyLong())).thenReturn(Mono.just(testUser));
         when(userRepository.save(any(User.class))).thenReturn(Mono.just(testUser));
-        when(userRoleRepository.findRolesByUserId(anyLong())).thenReturn(Flux.just(testRole));
+        when(userRoleRepository.findByUserId(anyLong())).thenReturn(Flux.just(userRole(1L, 1L)));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
         when(userMapper.toResponseWithRoles(any(User.class), anyList())).thenReturn(userResponse);
 
         // when
@@ -202,9 +244,11 @@ class UserServiceTest {
     @DisplayName("getUsers() should return paginated users")
     void getUsers_shouldReturnPaginatedUsers() {
         // given
+        User otherUser = UserTestDataBuilder.createUser(2L, "other@example.com", "Other User");
         when(userRepository.findBySearchCriteria(anyString(), anyInt(), anyLong()))
-            .thenReturn(Flux.just(testUser));
-        when(userRoleRepository.findRolesByUserId(anyLong())).thenReturn(Flux.just(testRole));
+            .thenReturn(Flux.just(testUser, otherUser));
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Flux.just(userRole(1L, 1L)));
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
         when(userMapper.toResponseWithRoles(any(User.class), anyList())).thenReturn(userResponse);
 
         // when
@@ -213,7 +257,107 @@ class UserServiceTest {
         // then
         StepVerifier.create(result)
             .assertNext(response -> assertThat(response).isNotNull())
+            .assertNext(response -> assertThat(response).isNotNull())
+            .verifyComplete();
+
+        verify(userRoleRepository).findByUserIdIn(List.of(1L, 2L));
+        verify(userRoleRepository, never()).findByUserId(anyLong());
+        verify(userMapper).toResponseWithRoles(eq(testUser), argThat(roles ->
+            roles.size() == 1 && "ADMIN".equals(roles.get(0).getCode())));
+        verify(userMapper).toResponseWithRoles(eq(otherUser), eq(List.of()));
+    }
+
+    @Test
+    @DisplayName("getUsersAfter() should return first page with cursor of its last user")
+    void getUsersAfter_shouldReturnFirstPageWithNextCursor() {
+        // given
+        User otherUser = UserTestDataBuilder.createUser(2L, "other@example.com", "Other User");
+        User extraUser = UserTestDataBuilder.createUser(3L, "extra@example.com", "Extra User");
+        when(userRepository.findFirstBySearchCriteria("%test%", 3))
+            .thenReturn(Flux.just(testUser, otherUser, extraUser));
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Flux.empty());
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(userMapper.toResponseWithRoles(any(User.class), anyList())).thenReturn(userResponse);
+
+        // when
+        Mono<CursorPageResponse<UserResponse>> result = userService.getUsersAfter("test", "", 2, false);
+
+        // then
+        StepVerifier.create(result)
+            .assertNext(page -> {
+                assertThat(page.getContent()).hasSize(2);
+                assertThat(page.isHasNext()).isTrue();
+                assertThat(PageCursor.decode(page.getNextCursor()))
+                    .isEqualTo(new PageCursor(otherUser.getCreatedAt(), 2L));
+                assertThat(page.getTotalElements()).isNull();
+            })
+            .verifyComplete();
+
+        verify(userRoleRepository).findByUserIdIn(List.of(1L, 2L));
+        verify(userRepository, never()).countBySearchCriteria(anyString());
+        verifyNoInteractions(userCountCache);
+    }
+
+    @Test
+    @DisplayName("getUsersAfter() should cap the page size at 100")
+    void getUsersAfter_shouldCapPageSize() {
+        // given
+        when(userRepository.findFirstBySearchCriteria("%%", 101)).thenReturn(Flux.empty());
+
+        // when
+        Mono<CursorPageResponse<UserResponse>> result = userService.getUsersAfter(null, "", 1_000_000, false);
+
+        // then
+        StepVerifier.create(result)
+            .assertNext(page -> assertThat(page.getSize()).isEqualTo(100))
             .verifyComplete();
+
+        verify(userRepository).findFirstBySearchCriteria("%%", 101);
+    }
+
+    @Test
+    @DisplayName("getUsersAfter() should continue after cursor with approximate total")
+    void getUsersAfter_shouldContinueAfterCursor() {
+        // given
+        Instant createdAt = Instant.parse("2026-01-15T08:30:00.123456Z");
+        String cursor = new PageCursor(createdAt, 42L).encode();
+        when(userRepository.findBySearchCriteriaAfter("%%", createdAt, 42L, 21)).thenReturn(Flux.just(testUser));
+        when(userRoleRepository.findByUserIdIn(anyCollection())).thenReturn(Flux.empty());
+        when(roleCatalog.snapshot()).thenReturn(Mono.just(catalog));
+        when(userMapper.toResponseWithRoles(any(User.class), anyList())).thenReturn(userResponse);
+        when(userCountCache.approximateCount("%%")).thenReturn(Mono.just(100_000L));
+
+        // when
+        Mono<CursorPageResponse<UserResponse>> result = userService.getUsersAfter(null, cursor, 20, true);
+
+        // then
+        StepVerifier.create(result)
+            .assertNext(page -> {
+                assertThat(page.getContent()).hasSize(1);
+                assertThat(page.isHasNext()).isFalse();
+                assertThat(page.getNextCursor()).isNull();
+                assertThat(page.getTotalElements()).isEqualTo(100_000L);
+                assertThat(page.getTotalApproximate()).isTrue();
+            })
+            .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("getUsersAfter() should reject malformed cursor")
+    void getUsersAfter_shouldRejectMalformedCursor() {
+        // when
+        Mono<CursorPageResponse<UserResponse>> result = userService.getUsersAfter(null, "not-a-cursor", 20, false);
+
+        // then
+        StepVerifier.create(result)
+            .expectErrorSatisfies(error -> {
+                assertThat(error).isInstanceOf(BusinessException.class);
+                assertThat(((BusinessException) error).getCode()).isEqualTo(MessageCodes.PAGINATION_CURSOR_INVALID);
+                assertThat(((BusinessException) error).getStatus()).isEqualTo(HttpStatus.BAD_REQUEST);
+            })
+            .verify();
+
+        verifyNoInteractions(userRepository);
     }
 
     @Test
@@ -230,4 +374,8 @@ class UserServiceTest {
             .assertNext(count -> assertThat(count).isEqualTo(5L))
             .verifyComplete();
     }
+
+    private UserRole userRole(Long userId, Long roleId) {
+        return UserRole.builder().userId(userId).roleId(roleId).build();
+    }
 }
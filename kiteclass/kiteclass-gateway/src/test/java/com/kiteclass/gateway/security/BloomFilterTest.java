@@ -0,0 +1,63 @@
+package com.kiteclass.gateway.security;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+@DisplayName("BloomFilter Tests")
+class BloomFilterTest {
+
+    @Test
+    @DisplayName("Should find every added entry")
+    void shouldFindAddedEntries() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        String[] entries = new String[10_000];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = "jti:" + UUID.randomUUID();
+            filter.add(entries[i]);
+        }
+
+        // When/Then
+        for (String entry : entries) {
+            assertThat(filter.mightContain(entry)).isTrue();
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate")
+    void shouldKeepFalsePositivesNearRate() {
+        // Given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (long userId = 0; userId < 10_000; userId++) {
+            filter.add("user:" + userId);
+        }
+
+        // When
+        int falsePositives = 0;
+        for (long userId = 10_000; userId < 110_000; userId++) {
+            if (filter.mightContain("user:" + userId)) {
+                falsePositives++;
+            }
+        }
+
+        // Then
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Should report nothing when empty")
+    void shouldBeEmptyInitially() {
+        // Given
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        // When/Then
+        assertThat(filter.mightContain("jti:anything")).isFalse();
+    }
+}
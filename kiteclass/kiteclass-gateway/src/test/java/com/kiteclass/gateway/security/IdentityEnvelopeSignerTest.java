@@ -0,0 +1,79 @@
+package com.kiteclass.gateway.security;
+
+import com.kiteclass.gateway.config.IdentityEnvelopeProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link IdentityEnvelopeSigner}.
+ */
+@DisplayName("IdentityEnvelopeSigner Tests")
+class IdentityEnvelopeSignerTest {
+
+    private static final String SECRET = "test-identity-envelope-secret-0123456789";
+
+    private IdentityEnvelopeSigner signer;
+
+    @BeforeEach
+    void setUp() {
+        IdentityEnvelopeProperties properties = new IdentityEnvelopeProperties();
+        properties.setSecret(SECRET);
+        signer = new IdentityEnvelopeSigner(properties);
+    }
+
+    @Test
+    @DisplayName("Should sign user, roles and expiry in the format Core verifies")
+    void shouldSignEnvelope() throws Exception {
+        // When
+        String envelope = signer.sign(42L, List.of("OWNER", "TEACHER"));
+
+        // Then
+        String[] parts = envelope.split("\\.");
+        assertThat(parts).hasSize(2);
+        String[] fields = new String(Base64.getUrlDecoder().decode(parts[0]), StandardCharsets.UTF_8).split("\\|", -1);
+        assertThat(fields[0]).isEqualTo("42");
+        assertThat(fields[1]).isEqualTo("OWNER,TEACHER");
+        assertThat(Instant.ofEpochMilli(Long.parseLong(fields[2])))
+                .isBetween(Instant.now().plusSeconds(25), Instant.now().plusSeconds(30));
+
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        byte[] expected = mac.doFinal(parts[0].getBytes(StandardCharsets.US_ASCII));
+        assertThat(Base64.getUrlDecoder().decode(parts[1])).isEqualTo(expected);
+    }
+
+    @Test
+    @DisplayName("Should leave the user ID empty for calls on the Gateway's own behalf")
+    void shouldSignGatewayEnvelope() {
+        // When
+        String envelope = signer.sign(null, List.of());
+
+        // Then
+        String payload = new String(Base64.getUrlDecoder().decode(envelope.substring(0, envelope.indexOf('.'))),
+                StandardCharsets.UTF_8);
+        assertThat(payload).startsWith("||");
+    }
+
+    @Test
+    @DisplayName("Should refuse a secret shorter than 32 bytes")
+    void shouldRejectShortSecret() {
+        // Given
+        IdentityEnvelopeProperties properties = new IdentityEnvelopeProperties();
+        properties.setSecret("too-short");
+
+        // When/Then
+        assertThatThrownBy(() -> new IdentityEnvelopeSigner(properties))
+                .isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,109 @@
+package com.kiteclass.gateway.security;
+
+import com.kiteclass.gateway.common.constant.MessageCodes;
+import com.kiteclass.gateway.common.exception.BusinessException;
+import com.kiteclass.gateway.config.PasswordHashingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.test.StepVerifier;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link PasswordHasher}.
+ */
+@DisplayName("PasswordHasher Tests")
+class PasswordHasherTest {
+
+    private PasswordEncoder passwordEncoder;
+    private SimpleMeterRegistry meterRegistry;
+    private PasswordHasher passwordHasher;
+
+    @BeforeEach
+    void setUp() {
+        passwordEncoder = mock(PasswordEncoder.class);
+        meterRegistry = new SimpleMeterRegistry();
+
+        PasswordHashingProperties properties = new PasswordHashingProperties();
+        properties.setPoolSize(1);
+        properties.setQueueCapacity(1);
+
+        passwordHasher = new PasswordHasher(passwordEncoder, properties, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        passwordHasher.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should hash on a dedicated thread")
+    void shouldHashOnDedicatedThread() {
+        // Given
+        String[] hashingThread = new String[1];
+        when(passwordEncoder.encode("secret")).thenAnswer(invocation -> {
+            hashingThread[0] = Thread.currentThread().getName();
+            return "hashed";
+        });
+
+        // When/Then
+        StepVerifier.create(passwordHasher.encode("secret"))
+                .expectNext("hashed")
+                .verifyComplete();
+
+        assertThat(hashingThread[0]).startsWith("password-hash-");
+        assertThat(meterRegistry.get("auth.password.hash").tag("operation", "encode").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should match password")
+    void shouldMatchPassword() {
+        // Given
+        when(passwordEncoder.matches("secret", "hashed")).thenReturn(true);
+
+        // When/Then
+        StepVerifier.create(passwordHasher.matches("secret", "hashed"))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should reject with 429 when the queue is full")
+    void shouldRejectWhenQueueIsFull() throws InterruptedException {
+        // Given - one task running and one queued
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(passwordEncoder.encode(anyString())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return "hashed";
+        });
+        passwordHasher.encode("first").subscribe();
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        passwordHasher.encode("second").subscribe();
+
+        // When/Then
+        StepVerifier.create(passwordHasher.encode("third"))
+                .expectErrorMatches(error ->
+                        error instanceof BusinessException &&
+                        ((BusinessException) error).getCode().equals(MessageCodes.TOO_MANY_REQUESTS) &&
+                        ((BusinessException) error).getStatus() == HttpStatus.TOO_MANY_REQUESTS
+                )
+                .verify();
+
+        assertThat(meterRegistry.get("auth.password.hash.rejected").counter().count()).isEqualTo(1);
+        release.countDown();
+    }
+}
@@ -0,0 +1,230 @@
+package com.kiteclass.gateway.security;
+
+import com.kiteclass.gateway.config.TokenRevocationProperties;
+import com.kiteclass.gateway.security.jwt.JwtProperties;
+import com.kiteclass.gateway.security.jwt.TokenType;
+import com.kiteclass.gateway.security.jwt.VerifiedClaims;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.ReactiveSubscription;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import org.springframework.data.redis.core.ReactiveZSetOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link TokenRevocationList}.
+ */
+@DisplayName("TokenRevocationList Tests")
+class TokenRevocationListTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private ReactiveValueOperations<String, String> valueOperations;
+    private ReactiveZSetOperations<String, String> zSetOperations;
+    private Sinks.Many<ReactiveSubscription.Message<String, String>> announcements;
+    private TokenRevocationProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private TokenRevocationList revocationList;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+        valueOperations = mock(ReactiveValueOperations.class);
+        zSetOperations = mock(ReactiveZSetOperations.class);
+        announcements = Sinks.many().multicast().directBestEffort();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        doReturn(announcements.asFlux()).when(redisTemplate).listenToChannel(anyString());
+        when(redisTemplate.convertAndSend(anyString(), anyString())).thenReturn(Mono.just(1L));
+        when(zSetOperations.rangeByScore(anyString(), any())).thenReturn(Flux.empty());
+        properties = new TokenRevocationProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (revocationList != null) {
+            revocationList.stop();
+        }
+    }
+
+    @Test
+    @DisplayName("Should clear tokens missing from the filter without asking Redis")
+    void shouldClearUnrevokedTokenInMemory() {
+        // Given
+        revocationList = start(redisTemplate);
+
+        // When/Then
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "token-1", Instant.now())))
+                .expectNext(false)
+                .verifyComplete();
+
+        verify(valueOperations, never()).multiGet(anyList());
+    }
+
+    @Test
+    @DisplayName("Should confirm in Redis a token announced as revoked by another instance")
+    void shouldRejectAnnouncedToken() {
+        // Given
+        revocationList = start(redisTemplate);
+        announcements.tryEmitNext(new ReactiveSubscription.ChannelMessage<>(properties.getChannel(), "jti:token-1"));
+        when(valueOperations.multiGet(List.of("revoked:user:7", "revoked:jti:token-1")))
+                .thenReturn(Mono.just(Arrays.asList(null, "1")));
+
+        // When/Then
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "token-1", Instant.now())))
+                .expectNext(true)
+                .verifyComplete();
+
+        assertThat(lookups("revoked")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should revoke a user's tokens issued up to the revocation only")
+    void shouldRevokeUserTokensIssuedBefore() {
+        // Given
+        Instant revokedAt = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(10);
+        when(zSetOperations.rangeByScore(anyString(), any())).thenReturn(Flux.just("user:7"));
+        revocationList = start(redisTemplate);
+        when(valueOperations.multiGet(anyList()))
+                .thenReturn(Mono.just(Arrays.asList(String.valueOf(revokedAt.plusMillis(500).toEpochMilli()), null)));
+
+        // When/Then
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "old-token", revokedAt)))
+                .expectNext(true)
+                .verifyComplete();
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "new-token", revokedAt.plusSeconds(1))))
+                .expectNext(false)
+                .verifyComplete();
+
+        assertThat(lookups("false_positive")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should treat a possible hit as revoked when Redis is unreachable")
+    void shouldFailClosedOnPossibleHit() {
+        // Given
+        when(zSetOperations.rangeByScore(anyString(), any())).thenReturn(Flux.just("jti:token-1"));
+        revocationList = start(redisTemplate);
+        when(valueOperations.multiGet(anyList()))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("Redis down")));
+
+        // When/Then
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "token-1", Instant.now())))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should accept tokens without asking Redis until the filter is built, then retry the build")
+    void shouldFailOpenWithoutRoundTripUntilBuilt() {
+        // Given - Redis is down while the instance starts
+        when(zSetOperations.rangeByScore(anyString(), any()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("Redis down")), Flux.just("jti:token-2"));
+        revocationList = start(redisTemplate);
+
+        // When/Then
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "token-1", Instant.now())))
+                .expectNext(false)
+                .verifyComplete();
+        verify(valueOperations, never()).multiGet(anyList());
+        assertThat(meterRegistry.counter("auth.token.revocation.unverified").count()).isEqualTo(1);
+
+        // Then - the build is retried and picks up the stored revocations
+        verify(zSetOperations, timeout(5000).times(2)).rangeByScore(anyString(), any());
+        when(valueOperations.multiGet(anyList())).thenReturn(Mono.just(Arrays.asList(null, "1")));
+        StepVerifier.create(Mono.defer(() -> revocationList.isRevoked(claims(7L, "token-2", Instant.now())))
+                        .filter(revoked -> revoked)
+                        .repeatWhenEmpty(5, attempts -> attempts.delayElements(Duration.ofMillis(100))))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should store a revocation with the token's remaining lifetime and announce it")
+    void shouldStoreAndAnnounceRevocation() {
+        // Given
+        when(valueOperations.set(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.just(true));
+        when(zSetOperations.add(anyString(), anyString(), anyDouble())).thenReturn(Mono.just(true));
+        when(zSetOperations.removeRangeByScore(anyString(), any())).thenReturn(Mono.just(0L));
+        revocationList = start(redisTemplate);
+        Instant expiresAt = Instant.now().plusSeconds(600);
+
+        // When
+        StepVerifier.create(revocationList.revokeToken(new VerifiedClaims(7L, "user@example.com", List.of(), null,
+                        TokenType.ACCESS, "token-1", Instant.now(), expiresAt)))
+                .verifyComplete();
+
+        // Then
+        verify(valueOperations).set(eq("revoked:jti:token-1"), eq("1"), any(Duration.class));
+        verify(zSetOperations).add("revoked:index", "jti:token-1", (double) expiresAt.toEpochMilli());
+        verify(redisTemplate).convertAndSend(properties.getChannel(), "jti:token-1");
+        when(valueOperations.multiGet(anyList())).thenReturn(Mono.just(Arrays.asList(null, "1")));
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "token-1", Instant.now())))
+                .expectNext(true)
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("Should revoke nothing without Redis")
+    void shouldRevokeNothingWithoutRedis() {
+        // Given
+        revocationList = start(null);
+
+        // When/Then
+        StepVerifier.create(revocationList.revokeUser(7L))
+                .verifyComplete();
+        StepVerifier.create(revocationList.isRevoked(claims(7L, "token-1", Instant.now())))
+                .expectNext(false)
+                .verifyComplete();
+    }
+
+    @SuppressWarnings("unchecked")
+    private TokenRevocationList start(ReactiveStringRedisTemplate template) {
+        ObjectProvider<ReactiveStringRedisTemplate> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable()).thenReturn(template);
+        JwtProperties jwtProperties = new JwtProperties();
+        jwtProperties.setAccessTokenExpiration(3_600_000);
+        TokenRevocationList list = new TokenRevocationList(provider, properties, jwtProperties, meterRegistry);
+        list.start();
+        return list;
+    }
+
+    private double lookups(String outcome) {
+        return meterRegistry.counter("auth.token.revocation.lookups", "outcome", outcome).count();
+    }
+
+    private static VerifiedClaims claims(Long userId, String tokenId, Instant issuedAt) {
+        return new VerifiedClaims(userId, "user@example.com", List.of("TEACHER"), null, TokenType.ACCESS,
+                tokenId, issuedAt, Instant.now().plusSeconds(3600));
+    }
+}
@@ -178,4 +178,53 @@ class JwtTokenProviderTest {
         assertThat(jwtTokenProvider.isRefreshToken(refreshToken)).isTrue();
         assertThat(jwtTokenProvider.isRefreshToken(accessToken)).isFalse();
     }
+
+    @Test
+    @DisplayName("Should return the same verified claims for a repeated token")
+    void shouldReuseVerifiedClaimsForSameToken() {
+        // Given
+        String token = jwtTokenProvider.generateAccessToken(1L, "test@example.com", Arrays.asList("OWNER"));
+
+        // When
+        VerifiedClaims first = jwtTokenProvider.verify(token);
+        VerifiedClaims second = jwtTokenProvider.verify(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(first.userId()).isEqualTo(1L);
+        assertThat(first.isAccessToken()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should carry the permission set in the access token")
+    void shouldCarryPermissionSetInAccessToken() {
+        // Given
+        PermissionSet permissions = PermissionSet.of(0, 5, 64, 130);
+
+        // When
+        String token = jwtTokenProvider.generateAccessToken(1L, "test@example.com", Arrays.asList("TEACHER"), permissions);
+        String legacyToken = jwtTokenProvider.generateAccessToken(2L, "other@example.com", Arrays.asList("TEACHER"));
+
+        // Then
+        VerifiedClaims claims = jwtTokenProvider.verify(token);
+        assertThat(claims.permissions()).isEqualTo(permissions);
+        assertThat(claims.permissions().contains(64)).isTrue();
+        assertThat(claims.permissions().contains(6)).isFalse();
+        assertThat(jwtTokenProvider.verify(legacyToken).permissions()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should reject a forged payload reusing a cached signature")
+    void shouldRejectForgedPayloadWithCachedSignature() {
+        // Given
+        String token = jwtTokenProvider.generateAccessToken(1L, "test@example.com", Arrays.asList("PARENT"));
+        String otherToken = jwtTokenProvider.generateAccessToken(2L, "other@example.com", Arrays.asList("OWNER"));
+        String forgedToken = otherToken.substring(0, otherToken.lastIndexOf('.'))
+                + token.substring(token.lastIndexOf('.'));
+        jwtTokenProvider.verify(token);
+
+        // When/Then
+        assertThatThrownBy(() -> jwtTokenProvider.verify(forgedToken))
+                .isInstanceOf(JwtException.class);
+    }
 }
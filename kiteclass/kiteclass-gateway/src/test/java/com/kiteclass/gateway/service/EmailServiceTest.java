@@ -1,21 +1,26 @@
 package com.kiteclass.gateway.service;
 
 import com.kiteclass.gateway.config.EmailProperties;
+import com.kiteclass.gateway.module.email.entity.EmailOutboxMessage;
+import com.kiteclass.gateway.module.email.repository.EmailOutboxRepository;
 import com.kiteclass.gateway.service.impl.EmailServiceImpl;
-import jakarta.mail.Session;
-import jakarta.mail.internet.MimeMessage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.dao.DataAccessResourceFailureException;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.context.Context;
+import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
@@ -28,7 +33,7 @@ import static org.mockito.Mockito.*;
 class EmailServiceTest {
 
     @Mock
-    private JavaMailSender mailSender;
+    private EmailOutboxRepository outboxRepository;
 
     @Mock
     private TemplateEngine templateEngine;
@@ -39,13 +44,8 @@ class EmailServiceTest {
     @InjectMocks
     private EmailServiceImpl emailService;
 
-    private MimeMessage mimeMessage;
-
     @BeforeEach
     void setUp() {
-        // Create a mock MimeMessage
-        mimeMessage = new MimeMessage((Session) null);
-
         // Setup default email properties
         when(emailProperties.getFrom()).thenReturn("KiteClass <noreply@kiteclass.com>");
         when(emailProperties.getBaseUrl()).thenReturn("http://localhost:3000");
@@ -63,8 +63,8 @@ class EmailServiceTest {
 
         when(templateEngine.process(eq("email/password-reset"), any(Context.class)))
                 .thenReturn(htmlContent);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doNothing().when(mailSender).send(any(MimeMessage.class));
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         // Act & Assert
         StepVerifier.create(emailService.sendPasswordResetEmail(to, userName, resetToken))
@@ -73,8 +73,14 @@ class EmailServiceTest {
 
         // Verify template engine was called with correct parameters
         verify(templateEngine).process(eq("email/password-reset"), any(Context.class));
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(any(MimeMessage.class));
+
+        // Verify the rendered email was queued instead of sent
+        ArgumentCaptor<EmailOutboxMessage> messageCaptor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(outboxRepository).save(messageCaptor.capture());
+        assertThat(messageCaptor.getValue().getRecipient()).isEqualTo(to);
+        assertThat(messageCaptor.getValue().getBody()).isEqualTo(htmlContent);
+        assertThat(messageCaptor.getValue().getAttempts()).isZero();
+        assertThat(messageCaptor.getValue().getNextAttemptAt()).isNotNull();
     }
 
     @Test
@@ -87,8 +93,8 @@ class EmailServiceTest {
 
         when(templateEngine.process(eq("email/welcome"), any(Context.class)))
                 .thenReturn(htmlContent);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doNothing().when(mailSender).send(any(MimeMessage.class));
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         // Act & Assert
         StepVerifier.create(emailService.sendWelcomeEmail(to, userName))
@@ -97,8 +103,27 @@ class EmailServiceTest {
 
         // Verify template engine was called with correct parameters
         verify(templateEngine).process(eq("email/welcome"), any(Context.class));
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(outboxRepository).save(any(EmailOutboxMessage.class));
+    }
+
+    @Test
+    @DisplayName("Should render templates on a worker thread, not the caller's")
+    void shouldRenderOffCallingThread() {
+        // Arrange
+        AtomicReference<String> renderThread = new AtomicReference<>();
+        when(templateEngine.process(eq("email/welcome"), any(Context.class))).thenAnswer(invocation -> {
+            renderThread.set(Thread.currentThread().getName());
+            return "<html><body>Welcome email</body></html>";
+        });
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+
+        // Act & Assert
+        StepVerifier.create(emailService.sendWelcomeEmail("newuser@example.com", "New User"))
+                .expectComplete()
+                .verify();
+
+        assertThat(renderThread.get()).startsWith("boundedElastic");
     }
 
     @Test
@@ -112,8 +137,8 @@ class EmailServiceTest {
 
         when(templateEngine.process(eq("email/account-locked"), any(Context.class)))
                 .thenReturn(htmlContent);
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doNothing().when(mailSender).send(any(MimeMessage.class));
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         // Act & Assert
         StepVerifier.create(emailService.sendAccountLockedEmail(to, userName, lockDurationMinutes))
@@ -122,13 +147,12 @@ class EmailServiceTest {
 
         // Verify template engine was called with correct parameters
         verify(templateEngine).process(eq("email/account-locked"), any(Context.class));
-        verify(mailSender).createMimeMessage();
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(outboxRepository).save(any(EmailOutboxMessage.class));
     }
 
     @Test
-    @DisplayName("Should handle email sending failure gracefully")
-    void shouldHandleEmailSendingFailure() {
+    @DisplayName("Should fail when the email cannot be queued")
+    void shouldHandleEmailQueueingFailure() {
         // Arrange
         String to = "fail@example.com";
         String userName = "Fail User";
@@ -136,41 +160,38 @@ class EmailServiceTest {
 
         when(templateEngine.process(eq("email/password-reset"), any(Context.class)))
                 .thenReturn("<html><body>Test</body></html>");
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
-        doThrow(new RuntimeException("SMTP server unavailable"))
-                .when(mailSender).send(any(MimeMessage.class));
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenReturn(Mono.error(new DataAccessResourceFailureException("Database unavailable")));
 
         // Act & Assert
         StepVerifier.create(emailService.sendPasswordResetEmail(to, userName, resetToken))
-                .expectError(RuntimeException.class)
+                .expectError(DataAccessResourceFailureException.class)
                 .verify();
 
-        verify(mailSender).send(any(MimeMessage.class));
+        verify(outboxRepository).save(any(EmailOutboxMessage.class));
     }
 
     @Test
     @DisplayName("Should use correct email properties")
     void shouldUseCorrectEmailProperties() {
         // Arrange
-        String customFrom = "Custom Sender <custom@kiteclass.com>";
         String customBaseUrl = "https://app.kiteclass.com";
         Long customExpiration = 7200000L; // 2 hours
 
-        when(emailProperties.getFrom()).thenReturn(customFrom);
         when(emailProperties.getBaseUrl()).thenReturn(customBaseUrl);
         when(emailProperties.getResetTokenExpiration()).thenReturn(customExpiration);
 
         when(templateEngine.process(eq("email/password-reset"), any(Context.class)))
                 .thenReturn("<html><body>Test</body></html>");
-        when(mailSender.createMimeMessage()).thenReturn(mimeMessage);
+        when(outboxRepository.save(any(EmailOutboxMessage.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
 
         // Act
         StepVerifier.create(emailService.sendPasswordResetEmail("test@example.com", "Test", "token"))
                 .expectComplete()
                 .verify();
 
-        // Verify properties were used
-        verify(emailProperties, atLeastOnce()).getFrom();
+        // Verify properties were used (the sender is set by the outbox worker)
         verify(emailProperties, atLeastOnce()).getBaseUrl();
         verify(emailProperties, atLeastOnce()).getResetTokenExpiration();
     }
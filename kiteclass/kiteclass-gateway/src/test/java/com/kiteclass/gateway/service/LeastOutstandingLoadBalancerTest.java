@@ -0,0 +1,197 @@
+package com.kiteclass.gateway.service;
+
+import com.kiteclass.gateway.service.impl.LeastOutstandingLoadBalancer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultRequest;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerProperties;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.HealthCheckServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link LeastOutstandingLoadBalancer}, using local stub servers as
+ * core instances.
+ */
+@DisplayName("LeastOutstandingLoadBalancer Tests")
+class LeastOutstandingLoadBalancerTest {
+
+    private final List<DisposableServer> servers = new ArrayList<>();
+    private final List<AtomicInteger> healthStatuses = new ArrayList<>();
+    private List<ServiceInstance> instances;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        instances = List.of(startStub("core-1"), startStub("core-2"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(DisposableServer::disposeNow);
+    }
+
+    @Test
+    @DisplayName("Should send requests to the instance with fewer outstanding requests")
+    void shouldPreferLessBusyInstance() {
+        // Given
+        LeastOutstandingLoadBalancer loadBalancer = loadBalancer(supplier(() -> instances), Duration.ZERO);
+        LeastOutstandingLoadBalancer.Selection first = choose(loadBalancer);
+        LeastOutstandingLoadBalancer.Selection second = choose(loadBalancer);
+
+        // When - the first instance finishes its request
+        first.release();
+        LeastOutstandingLoadBalancer.Selection third = choose(loadBalancer);
+
+        // Then
+        assertThat(second.getServer()).isNotEqualTo(first.getServer());
+        assertThat(third.getServer()).isEqualTo(first.getServer());
+    }
+
+    @Test
+    @DisplayName("Should release an outstanding request only once")
+    void shouldReleaseOnce() {
+        // Given
+        LeastOutstandingLoadBalancer loadBalancer = loadBalancer(supplier(() -> instances), Duration.ZERO);
+        LeastOutstandingLoadBalancer.Selection selection = choose(loadBalancer);
+        String instance = selection.getServer().getHost() + ":" + selection.getServer().getPort();
+
+        // When
+        selection.release();
+        selection.release();
+
+        // Then
+        assertThat(meterRegistry.get("gateway.lb.outstanding").tag("instance", instance).gauge().value())
+                .isZero();
+    }
+
+    @Test
+    @DisplayName("Should ramp up traffic to an instance that just joined")
+    void shouldSlowStartNewInstance() throws InterruptedException {
+        // Given - core-1 has warmed up when core-2 joins
+        List<ServiceInstance> current = new ArrayList<>(List.of(instances.get(0)));
+        LeastOutstandingLoadBalancer loadBalancer = loadBalancer(supplier(() -> current), Duration.ofMillis(300));
+        choose(loadBalancer).release();
+        Thread.sleep(400);
+        current.add(instances.get(1));
+
+        // When - core-1 is busy but core-2 is still at 10% weight
+        List<String> chosen = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            chosen.add(choose(loadBalancer).getServer().getInstanceId());
+        }
+
+        // Then
+        assertThat(chosen).containsOnly("core-1");
+    }
+
+    @Test
+    @DisplayName("Should only choose instances passing health checks")
+    void shouldSkipUnhealthyInstances() {
+        // Given - core-2 fails its health check
+        healthStatuses.get(1).set(503);
+        HealthCheckServiceInstanceListSupplier healthChecked = healthChecked(supplier(() -> instances));
+        LeastOutstandingLoadBalancer loadBalancer = loadBalancer(healthChecked, Duration.ZERO);
+
+        try {
+            healthChecked.get().filter(list -> !list.isEmpty()).blockFirst(Duration.ofSeconds(5));
+
+            // When
+            List<String> chosen = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                LeastOutstandingLoadBalancer.Selection selection = choose(loadBalancer);
+                chosen.add(selection.getServer().getInstanceId());
+            }
+
+            // Then
+            assertThat(chosen).containsOnly("core-1");
+        } finally {
+            healthChecked.destroy();
+        }
+    }
+
+    private LeastOutstandingLoadBalancer.Selection choose(LeastOutstandingLoadBalancer loadBalancer) {
+        Response<ServiceInstance> response = loadBalancer.choose(new DefaultRequest<>())
+                .block(Duration.ofSeconds(5));
+        assertThat(response).isInstanceOf(LeastOutstandingLoadBalancer.Selection.class);
+        return (LeastOutstandingLoadBalancer.Selection) response;
+    }
+
+    @SuppressWarnings("unchecked")
+    private LeastOutstandingLoadBalancer loadBalancer(ServiceInstanceListSupplier supplier, Duration slowStart) {
+        ObjectProvider<ServiceInstanceListSupplier> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(supplier);
+        return new LeastOutstandingLoadBalancer(provider, "core-service", slowStart, 0.1, meterRegistry);
+    }
+
+    private ServiceInstanceListSupplier supplier(Supplier<List<ServiceInstance>> current) {
+        return new ServiceInstanceListSupplier() {
+            @Override
+            public String getServiceId() {
+                return "core-service";
+            }
+
+            @Override
+            public Flux<List<ServiceInstance>> get() {
+                return Flux.defer(() -> Flux.just(List.copyOf(current.get())));
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private HealthCheckServiceInstanceListSupplier healthChecked(ServiceInstanceListSupplier delegate) {
+        LoadBalancerProperties properties = new LoadBalancerProperties();
+        properties.getHealthCheck().setInterval(Duration.ofMillis(100));
+        properties.getHealthCheck().setInitialDelay(Duration.ZERO);
+        ReactiveLoadBalancer.Factory<ServiceInstance> factory = mock(ReactiveLoadBalancer.Factory.class);
+        when(factory.getProperties(anyString())).thenReturn(properties);
+
+        WebClient webClient = WebClient.create();
+        HealthCheckServiceInstanceListSupplier supplier = new HealthCheckServiceInstanceListSupplier(
+                delegate, factory, (instance, path) -> webClient.get()
+                .uri(instance.getUri().resolve(path))
+                .exchangeToMono(response -> response.releaseBody()
+                        .thenReturn(response.statusCode().is2xxSuccessful())));
+        supplier.afterPropertiesSet();
+        return supplier;
+    }
+
+    private ServiceInstance startStub(String instanceId) {
+        AtomicInteger healthStatus = new AtomicInteger(200);
+        DisposableServer server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/actuator/health", (request, response) -> response.status(healthStatus.get()).send())
+                        .get("/**", (request, response) -> response.sendString(Mono.just(instanceId))))
+                .bindNow();
+        servers.add(server);
+        healthStatuses.add(healthStatus);
+        return new DefaultServiceInstance(instanceId, "core-service", "localhost", server.port(), false);
+    }
+}
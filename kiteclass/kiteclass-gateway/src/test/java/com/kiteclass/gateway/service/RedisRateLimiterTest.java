@@ -0,0 +1,121 @@
+package com.kiteclass.gateway.service;
+
+import com.kiteclass.gateway.config.RateLimitingProperties;
+import com.kiteclass.gateway.service.impl.LocalRateLimiter;
+import com.kiteclass.gateway.service.impl.RedisRateLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for {@link RedisRateLimiter}.
+ */
+@DisplayName("RedisRateLimiter Tests")
+class RedisRateLimiterTest {
+
+    private ReactiveStringRedisTemplate redisTemplate;
+    private RedisRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        redisTemplate = mock(ReactiveStringRedisTemplate.class);
+
+        RateLimitingProperties properties = new RateLimitingProperties();
+        properties.setTokenBatchSize(5);
+
+        rateLimiter = new RedisRateLimiter(redisTemplate, properties, new LocalRateLimiter(properties));
+    }
+
+    @Test
+    @DisplayName("Should serve a leased batch without calling Redis again")
+    void shouldServeLeasedBatchLocally() {
+        // Given - Redis grants a batch of 5 tokens
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("rate-limit:ip:1")), anyList()))
+                .thenReturn(Flux.just(List.of(5L, 95L, 0L)));
+
+        // When/Then
+        for (int i = 0; i < 5; i++) {
+            StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 1))
+                    .expectNextMatches(RateLimiter.Result::allowed)
+                    .verifyComplete();
+        }
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should reject locally while the bucket is empty")
+    void shouldRejectLocallyWhileBucketIsEmpty() {
+        // Given - Redis has no tokens left
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.just(List.of(0L, 0L, 30_000L)));
+
+        // When/Then
+        StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 1))
+                .expectNextMatches(result -> !result.allowed() && result.retryAfterSeconds() == 31)
+                .verifyComplete();
+        StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 1))
+                .expectNextMatches(result -> !result.allowed())
+                .verifyComplete();
+        verify(redisTemplate, times(1)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should ask Redis for at least the request cost and keep the lease when denied")
+    void shouldRequireCostAndKeepLeaseWhenDenied() {
+        // Given - a batch of 5 leased for cost-1 requests, then a bucket too low for cost 5
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq(List.of("100", "60000", "5", "1"))))
+                .thenReturn(Flux.just(List.of(5L, 3L, 0L)));
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), eq(List.of("100", "60000", "5", "5"))))
+                .thenReturn(Flux.just(List.of(0L, 3L, 1_200L)));
+        StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 1))
+                .expectNextMatches(RateLimiter.Result::allowed)
+                .verifyComplete();
+
+        // When/Then - the cost-5 request is denied without taking the 4 leased tokens
+        StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 5))
+                .expectNextMatches(result -> !result.allowed() && result.retryAfterSeconds() == 2)
+                .verifyComplete();
+        for (int i = 0; i < 4; i++) {
+            StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 1))
+                    .expectNextMatches(RateLimiter.Result::allowed)
+                    .verifyComplete();
+        }
+        StepVerifier.create(rateLimiter.tryConsume("ip:1", 100, 1))
+                .expectNextMatches(result -> !result.allowed())
+                .verifyComplete();
+        verify(redisTemplate, times(2)).execute(any(RedisScript.class), anyList(), anyList());
+    }
+
+    @Test
+    @DisplayName("Should fall back to local limits when Redis is unavailable")
+    void shouldFallBackWhenRedisIsUnavailable() {
+        // Given
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), anyList()))
+                .thenReturn(Flux.error(new RedisConnectionFailureException("Connection refused")));
+
+        // When/Then - local bucket of 3 still applies
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(rateLimiter.tryConsume("ip:1", 3, 1))
+                    .expectNextMatches(RateLimiter.Result::allowed)
+                    .verifyComplete();
+        }
+        StepVerifier.create(rateLimiter.tryConsume("ip:1", 3, 1))
+                .expectNextMatches(result -> !result.allowed())
+                .verifyComplete();
+    }
+}